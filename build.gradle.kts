@@ -25,6 +25,7 @@ plugins {
     id("org.asciidoctor.jvm.convert").version(Versions.Plugins.asciiDoctor)
     id("org.flywaydb.flyway").version(Versions.Plugins.flyway)
     id("nu.studer.jooq").version(Versions.Plugins.jooq)
+    id("me.champeau.jmh").version(Versions.Plugins.jmh)
     id("application")
 
     idea
@@ -49,6 +50,8 @@ allprojects {
 
 testSets {
     Configurations.Tests.testSets.forEach { create(it) }
+    // load tests are not part of fullTest and coverage, they are run explicitly via: ./gradlew loadTest
+    create(Configurations.LoadTests.testSet)
 }
 
 kotlin {
@@ -93,6 +96,9 @@ fun DependencyHandler.apiTestImplementation(dependencyNotation: Any): Dependency
 fun DependencyHandler.kaptApiTest(dependencyNotation: Any): Dependency? =
     add("kaptApiTest", dependencyNotation)
 
+fun DependencyHandler.loadTestImplementation(dependencyNotation: Any): Dependency? =
+    add("loadTestImplementation", dependencyNotation)
+
 dependencies {
     implementation("org.jetbrains.kotlin:kotlin-reflect")
     implementation("org.jetbrains.kotlin:kotlin-stdlib-jdk8")
@@ -141,6 +147,21 @@ dependencies {
     apiTestImplementation("org.springframework.restdocs:spring-restdocs-mockmvc")
     apiTestImplementation("org.springframework.security:spring-security-test")
     apiTestImplementation(sourceSets.test.get().output)
+
+    loadTestImplementation(sourceSets.test.get().output)
+    loadTestImplementation("io.zonky.test:embedded-postgres:${Versions.Dependencies.embeddedPostgres}")
+    loadTestImplementation(
+        enforcedPlatform(
+            "io.zonky.test.postgres:embedded-postgres-binaries-bom:${Versions.Dependencies.embeddedPostgresBinaries}"
+        )
+    )
+
+    jmhImplementation("io.zonky.test:embedded-postgres:${Versions.Dependencies.embeddedPostgres}")
+    jmhImplementation(
+        enforcedPlatform(
+            "io.zonky.test.postgres:embedded-postgres-binaries-bom:${Versions.Dependencies.embeddedPostgresBinaries}"
+        )
+    )
 }
 
 flyway {
@@ -177,7 +198,8 @@ jooq {
                     name = "org.jooq.codegen.KotlinGenerator"
                     database.apply {
                         inputSchema = Configurations.Database.schema
-                        excludes = "flyway_schema_history"
+                        // API call log partitions are managed at runtime and accessed only through their parent tables
+                        excludes = "flyway_schema_history|api_(read|write)_call_(p[0-9]+|default)"
                         forcedTypes = ForcedPolycodeJooqTypes.types.map {
                             ForcedType().apply {
                                 userType = it.userType
@@ -297,6 +319,32 @@ tasks["generatePolycodeJooq"].dependsOn("flywayMigratePolycode")
 
 tasks["generatePolyflowJooq"].dependsOn("flywayMigratePolyflow")
 
+jmh {
+    jmhVersion.set(Versions.Tools.jmh)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(file("$buildDir/${Configurations.Benchmarks.resultsFile}"))
+    // single benchmark can be selected via: ./gradlew jmh -PjmhIncludes=MerkleTreeBenchmark
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+}
+
+tasks.register<CompareJmhResultsTask>("jmhCompareBaseline") {
+    resultsFile.set(file("$buildDir/${Configurations.Benchmarks.resultsFile}"))
+    baselineFile.set(file(Configurations.Benchmarks.baselineFile))
+    maxRegression.set(Configurations.Benchmarks.maxRegression)
+    dependsOn(tasks["jmh"])
+}
+
+tasks.register<Copy>("jmhUpdateBaseline") {
+    val baselineFile = file(Configurations.Benchmarks.baselineFile)
+    from(file("$buildDir/${Configurations.Benchmarks.resultsFile}"))
+    into(baselineFile.parentFile)
+    rename { baselineFile.name }
+    dependsOn(tasks["jmh"])
+}
+
 tasks.register<TransformJooqClassesTask>("transformPolycodeJooqClasses") {
     jooqClassesPath.set("$buildDir/generated/sources/jooq-polycode/main/kotlin/${Configurations.Jooq.packageDir}")
     packageName.set(Configurations.Jooq.packageName)
@@ -325,6 +373,22 @@ tasks.withType<Test> {
     testLogging.exceptionFormat = TestExceptionFormat.FULL
 }
 
+tasks.named<Test>(Configurations.LoadTests.testSet) {
+    val reportDir = "$buildDir/${Configurations.LoadTests.reportDir}"
+    // load test can be configured via: ./gradlew loadTest -PloadTestDuration=PT5M -PloadTestUsers=32
+    systemProperty(
+        "loadTestDuration",
+        project.findProperty("loadTestDuration") ?: Configurations.LoadTests.defaultDuration
+    )
+    systemProperty("loadTestUsers", project.findProperty("loadTestUsers") ?: Configurations.LoadTests.defaultUsers)
+    systemProperty("loadTestReportDir", reportDir)
+    // use already running Postgres instead of the embedded one via: -PloadTestPostgresPort=5432
+    project.findProperty("loadTestPostgresPort")?.let { systemProperty("loadTestPostgresPort", it) }
+    testLogging.showStandardStreams = true
+    outputs.dir(reportDir)
+    outputs.upToDateWhen { false }
+}
+
 task("fullTest") {
     val allTests = listOf(tasks.test.get()) + Configurations.Tests.testSets.map { tasks[it] }
     for (i in 0 until (allTests.size - 1)) {
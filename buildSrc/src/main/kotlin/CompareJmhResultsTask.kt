@@ -0,0 +1,89 @@
+import groovy.json.JsonSlurper
+import org.gradle.api.DefaultTask
+import org.gradle.api.GradleException
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.TaskAction
+import java.io.File
+import java.math.BigDecimal
+
+abstract class CompareJmhResultsTask : DefaultTask() {
+
+    companion object {
+        private val HIGHER_IS_BETTER_MODES = setOf("thrpt")
+    }
+
+    private data class BenchmarkResult(val key: String, val mode: String, val score: Double, val unit: String)
+
+    @get:InputFile
+    abstract val resultsFile: RegularFileProperty
+
+    @get:Internal
+    abstract val baselineFile: RegularFileProperty
+
+    @get:Input
+    abstract val maxRegression: Property<BigDecimal>
+
+    @TaskAction
+    fun compareJmhResults() {
+        val baseline = baselineFile.get().asFile
+
+        if (!baseline.exists()) {
+            logger.warn("JMH baseline file not found: $baseline, skipping comparison")
+            return
+        }
+
+        val results = readResults(resultsFile.get().asFile)
+        val baselineResults = readResults(baseline).associateBy { it.key }
+        val allowedRegression = maxRegression.get().toDouble()
+
+        val regressions = results.mapNotNull { result ->
+            val baselineResult = baselineResults[result.key]
+
+            if (baselineResult == null || baselineResult.mode != result.mode || baselineResult.unit != result.unit) {
+                logger.lifecycle("${result.key}: no comparable baseline result, score: ${result.format()}")
+                return@mapNotNull null
+            }
+
+            val change = if (result.mode in HIGHER_IS_BETTER_MODES) {
+                (baselineResult.score - result.score) / baselineResult.score
+            } else {
+                (result.score - baselineResult.score) / baselineResult.score
+            }
+
+            val message = "${result.key}: ${baselineResult.format()} -> ${result.format()}" +
+                " (${"%+.2f".format(-change * 100.0)}%)"
+
+            logger.lifecycle(message)
+            message.takeIf { change > allowedRegression }
+        }
+
+        if (regressions.isNotEmpty()) {
+            throw GradleException(
+                "Benchmarks regressed by more than ${maxRegression.get().movePointRight(2)}% against baseline:\n" +
+                    regressions.joinToString("\n")
+            )
+        }
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun readResults(file: File): List<BenchmarkResult> =
+        (JsonSlurper().parse(file) as List<Map<String, Any?>>).map {
+            val params = (it["params"] as Map<String, Any?>?).orEmpty()
+                .entries.sortedBy { it.key }
+                .joinToString(prefix = "[", separator = ", ", postfix = "]") { "${it.key}=${it.value}" }
+            val primaryMetric = it["primaryMetric"] as Map<String, Any?>
+
+            BenchmarkResult(
+                key = if (params == "[]") it["benchmark"].toString() else "${it["benchmark"]}$params",
+                mode = it["mode"].toString(),
+                score = (primaryMetric["score"] as Number).toDouble(),
+                unit = primaryMetric["scoreUnit"].toString()
+            )
+        }
+
+    private fun BenchmarkResult.format() = "%.3f %s".format(score, unit)
+}
@@ -26,6 +26,19 @@ object Configurations {
         val minimumCoverage = BigDecimal("0.90")
     }
 
+    object LoadTests {
+        const val testSet = "loadTest"
+        const val reportDir = "reports/load-test"
+        const val defaultDuration = "PT1M"
+        const val defaultUsers = "16"
+    }
+
+    object Benchmarks {
+        const val resultsFile = "reports/jmh/results.json"
+        const val baselineFile = "src/jmh/baseline.json"
+        val maxRegression = BigDecimal("0.10")
+    }
+
     object Jooq {
         const val packageDir = "polycode/generated/jooq"
         const val packageName = "polycode.generated.jooq"
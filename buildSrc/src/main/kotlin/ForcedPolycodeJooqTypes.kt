@@ -29,6 +29,7 @@ object ForcedPolycodeJooqTypes {
         "ERC20_LOCK_REQUEST_ID",
         "FETCH_ACCOUNT_BALANCE_CACHE_ID",
         "FETCH_ERC20_ACCOUNT_BALANCE_CACHE_ID",
+        "FETCH_READONLY_CALL_CACHE_ID",
         "FETCH_TRANSACTION_INFO_CACHE_ID",
         "IMPORTED_CONTRACT_DECORATOR_ID",
         "MULTI_PAYMENT_TEMPLATE_ID",
@@ -84,6 +85,12 @@ object ForcedPolycodeJooqTypes {
             includeExpression = "artifact_json",
             includeTypes = "JSON"
         ),
+        JooqType(
+            userType = "polycode.features.functions.decoding.model.FunctionSignature",
+            converter = "polycode.util.FunctionSignatureConverter",
+            includeExpression = "function_signature",
+            includeTypes = "JSON"
+        ),
         JooqType(
             userType = "polycode.util.SignedMessage",
             includeExpression = "signed_message",
@@ -6,26 +6,33 @@ import org.junit.jupiter.api.Test
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers
+import org.springframework.web.bind.annotation.RequestMethod
 import polycode.ControllerTestBase
 import polycode.TestData
 import polycode.config.ApiRateProperties
 import polycode.config.CustomHeaders
 import polycode.exception.ErrorCode
 import polycode.features.api.access.model.result.Project
+import polycode.features.api.usage.model.response.ApiDailyUsageResponse
 import polycode.features.api.usage.model.response.ApiUsagePeriodResponse
+import polycode.features.api.usage.model.result.EndpointDailyUsage
 import polycode.features.api.usage.model.result.RequestUsage
 import polycode.generated.jooq.enums.UserIdentifierType
 import polycode.generated.jooq.id.ApiKeyId
 import polycode.generated.jooq.id.ProjectId
 import polycode.generated.jooq.id.UserId
 import polycode.generated.jooq.tables.records.ApiKeyRecord
+import polycode.generated.jooq.tables.records.ApiReadCallDailyRollupRecord
+import polycode.generated.jooq.tables.records.ApiWriteCallDailyRollupRecord
 import polycode.generated.jooq.tables.records.ProjectRecord
 import polycode.generated.jooq.tables.records.UserIdentifierRecord
 import polycode.security.WithMockUser
 import polycode.testcontainers.HardhatTestContainer
 import polycode.util.BaseUrl
 import polycode.util.WalletAddress
+import java.time.LocalDate
 import java.util.UUID
+import polycode.generated.jooq.enums.RequestMethod as DbRequestMethod
 
 class ApiUsageControllerApiTest : ControllerTestBase() {
 
@@ -41,6 +48,8 @@ class ApiUsageControllerApiTest : ControllerTestBase() {
             createdAt = TestData.TIMESTAMP
         )
         private const val API_KEY = "api-key"
+        private val FROM_DATE = LocalDate.parse("2022-01-01")
+        private val TO_DATE = LocalDate.parse("2022-01-31")
     }
 
     @Autowired
@@ -174,4 +183,97 @@ class ApiUsageControllerApiTest : ControllerTestBase() {
             expectResponseErrorCode(response, ErrorCode.NON_EXISTENT_API_KEY)
         }
     }
+
+    @Test
+    @WithMockUser
+    fun mustCorrectlyFetchDailyApiUsageForUser() {
+        suppose("some daily API usage exists") {
+            insertDailyApiUsage()
+        }
+
+        val response = suppose("request to daily API usage for user is made") {
+            val response = mockMvc.perform(
+                MockMvcRequestBuilders.get("/v1/api-usage/daily?fromDate=$FROM_DATE&toDate=$TO_DATE")
+            )
+                .andExpect(MockMvcResultMatchers.status().isOk)
+                .andReturn()
+
+            objectMapper.readValue(response.response.contentAsString, ApiDailyUsageResponse::class.java)
+        }
+
+        verify("correct response is returned") {
+            expectThat(response)
+                .isEqualTo(expectedDailyApiUsageResponse())
+        }
+    }
+
+    @Test
+    fun mustCorrectlyFetchDailyApiUsageForApiKey() {
+        suppose("some daily API usage exists") {
+            insertDailyApiUsage()
+        }
+
+        val response = suppose("request to daily API usage for API key is made") {
+            val response = mockMvc.perform(
+                MockMvcRequestBuilders.get("/v1/api-usage/daily/by-api-key?fromDate=$FROM_DATE&toDate=$TO_DATE")
+                    .header(CustomHeaders.API_KEY_HEADER, API_KEY)
+            )
+                .andExpect(MockMvcResultMatchers.status().isOk)
+                .andReturn()
+
+            objectMapper.readValue(response.response.contentAsString, ApiDailyUsageResponse::class.java)
+        }
+
+        verify("correct response is returned") {
+            expectThat(response)
+                .isEqualTo(expectedDailyApiUsageResponse())
+        }
+    }
+
+    private fun insertDailyApiUsage() {
+        dslContext.batchInsert(
+            ApiReadCallDailyRollupRecord(
+                userId = OWNER_ID,
+                requestPath = "/v1/read",
+                callDate = FROM_DATE,
+                callCount = 10L
+            ),
+            ApiReadCallDailyRollupRecord(
+                userId = OWNER_ID,
+                requestPath = "/v1/read",
+                callDate = TO_DATE.plusDays(1L),
+                callCount = 5L
+            ),
+            ApiWriteCallDailyRollupRecord(
+                userId = OWNER_ID,
+                requestMethod = DbRequestMethod.POST,
+                requestPath = "/v1/write",
+                callDate = TO_DATE,
+                callCount = 2L
+            )
+        ).execute()
+    }
+
+    private fun expectedDailyApiUsageResponse() =
+        ApiDailyUsageResponse(
+            userId = OWNER_ID,
+            fromDate = FROM_DATE,
+            toDate = TO_DATE,
+            readCalls = listOf(
+                EndpointDailyUsage(
+                    date = FROM_DATE,
+                    requestMethod = null,
+                    requestPath = "/v1/read",
+                    callCount = 10L
+                )
+            ),
+            writeCalls = listOf(
+                EndpointDailyUsage(
+                    date = TO_DATE,
+                    requestMethod = RequestMethod.POST,
+                    requestPath = "/v1/write",
+                    callCount = 2L
+                )
+            )
+        )
 }
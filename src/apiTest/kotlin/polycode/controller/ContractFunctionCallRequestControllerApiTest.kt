@@ -55,6 +55,7 @@ import polycode.util.ContractAddress
 import polycode.util.ContractBinaryData
 import polycode.util.ContractId
 import polycode.util.ContractTag
+import polycode.util.FunctionData
 import polycode.util.InterfaceId
 import polycode.util.Status
 import polycode.util.TransactionHash
@@ -378,6 +379,7 @@ class ContractFunctionCallRequestControllerApiTest : ControllerTestBase() {
                         contractAddress = contractAddress,
                         functionName = functionName,
                         functionParams = objectMapper.readTree(paramsJson),
+                        functionData = FunctionData(response.functionCallData),
                         ethAmount = ethAmount,
                         chainId = PROJECT.chainId,
                         redirectUrl = PROJECT.baseRedirectUrl.value +
@@ -503,6 +505,7 @@ class ContractFunctionCallRequestControllerApiTest : ControllerTestBase() {
                         contractAddress = contractAddress,
                         functionName = functionName,
                         functionParams = objectMapper.readTree(paramsJson),
+                        functionData = FunctionData(response.functionCallData),
                         ethAmount = ethAmount,
                         chainId = PROJECT.chainId,
                         redirectUrl = PROJECT.baseRedirectUrl.value +
@@ -623,6 +626,7 @@ class ContractFunctionCallRequestControllerApiTest : ControllerTestBase() {
                         contractAddress = contractAddress,
                         functionName = functionName,
                         functionParams = objectMapper.readTree(paramsJson),
+                        functionData = FunctionData(response.functionCallData),
                         ethAmount = ethAmount,
                         chainId = PROJECT.chainId,
                         redirectUrl = PROJECT.baseRedirectUrl.value +
@@ -749,6 +753,7 @@ class ContractFunctionCallRequestControllerApiTest : ControllerTestBase() {
                         contractAddress = contractAddress,
                         functionName = functionName,
                         functionParams = objectMapper.readTree(paramsJson),
+                        functionData = FunctionData(response.functionCallData),
                         ethAmount = ethAmount,
                         chainId = PROJECT.chainId,
                         redirectUrl = "https://custom-url/${response.id.value}",
@@ -1657,6 +1662,7 @@ class ContractFunctionCallRequestControllerApiTest : ControllerTestBase() {
                     contractAddress = ContractAddress("a"),
                     functionName = "test",
                     functionParams = TestData.EMPTY_JSON_ARRAY,
+                    functionData = FunctionData("00"),
                     ethAmount = Balance(BigInteger.TEN),
                     chainId = TestData.CHAIN_ID,
                     redirectUrl = "https://example.com/${id.value}",
@@ -1713,6 +1719,7 @@ class ContractFunctionCallRequestControllerApiTest : ControllerTestBase() {
                     contractAddress = ContractAddress("a"),
                     functionName = "test",
                     functionParams = TestData.EMPTY_JSON_ARRAY,
+                    functionData = FunctionData("00"),
                     ethAmount = Balance(BigInteger.TEN),
                     chainId = TestData.CHAIN_ID,
                     redirectUrl = "https://example.com/${id.value}",
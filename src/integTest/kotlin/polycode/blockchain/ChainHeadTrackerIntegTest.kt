@@ -0,0 +1,168 @@
+package polycode.blockchain
+
+import com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import com.github.tomakehurst.wiremock.client.WireMock.equalTo
+import com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath
+import com.github.tomakehurst.wiremock.client.WireMock.post
+import com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import org.springframework.http.MediaType
+import polycode.TestBase
+import polycode.TestData
+import polycode.blockchain.properties.ChainPropertiesHandler
+import polycode.blockchain.properties.ChainSpec
+import polycode.blockchain.rpc.RpcMetrics
+import polycode.blockchain.rpc.Web3jServiceFactory
+import polycode.config.ApplicationProperties
+import polycode.config.ChainProperties
+import polycode.config.RpcMetricsProperties
+import polycode.config.RpcRoutingProperties
+import polycode.features.payout.service.ManualFixedScheduler
+import polycode.service.ScheduledExecutorServiceProvider
+import polycode.service.UtcDateTimeProvider
+import polycode.util.BlockNumber
+import polycode.util.ChainId
+import polycode.util.UtcDateTime
+import polycode.wiremock.WireMock
+import java.math.BigInteger
+import java.time.Duration
+
+class ChainHeadTrackerIntegTest : TestBase() {
+
+    companion object {
+        private val CHAIN_ID = ChainId(1L)
+        private val POLL_INTERVAL = Duration.ofSeconds(5L)
+        private const val RPC_URL = "http://localhost:8090/"
+    }
+
+    private val meterRegistry = SimpleMeterRegistry()
+    private val scheduler = ManualFixedScheduler()
+    private val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+    private val scheduledExecutorServiceProvider = mock<ScheduledExecutorServiceProvider>()
+    private val applicationProperties = ApplicationProperties().apply {
+        chain = mapOf(
+            CHAIN_ID to ChainProperties(
+                name = "TEST_CHAIN",
+                rpcUrl = RPC_URL,
+                infuraUrl = null,
+                startBlockNumber = null,
+                minBlockConfirmationsForCaching = null,
+                chainExplorerApiUrl = null,
+                chainExplorerApiKey = null,
+                latestBlockCacheDuration = POLL_INTERVAL
+            )
+        )
+    }
+    private val tracker = ChainHeadTracker(
+        chainPropertiesHandler = ChainPropertiesHandler(
+            applicationProperties = applicationProperties,
+            web3jServiceFactory = Web3jServiceFactory(
+                rpcMetrics = RpcMetrics(meterRegistry, RpcMetricsProperties()),
+                rpcRoutingProperties = RpcRoutingProperties()
+            )
+        ),
+        utcDateTimeProvider = utcDateTimeProvider,
+        meterRegistry = meterRegistry,
+        scheduledExecutorServiceProvider = scheduledExecutorServiceProvider,
+        applicationProperties = applicationProperties
+    )
+
+    @BeforeEach
+    fun beforeEach() {
+        WireMock.start()
+    }
+
+    @AfterEach
+    fun afterEach() {
+        WireMock.stop()
+    }
+
+    @Test
+    fun mustReturnPolledChainHead() {
+        suppose("some timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        suppose("scheduler will be created") {
+            call(scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor("ChainHeadTracker-1"))
+                .willReturn(scheduler)
+        }
+
+        suppose("RPC will return block number") {
+            stubBlockNumber("0x2a")
+        }
+
+        verify("chain head is unknown before first poll") {
+            expectThat(tracker.getLatestBlockNumber(ChainSpec(CHAIN_ID, null)))
+                .isNull()
+        }
+
+        verify("polled chain head is returned") {
+            scheduler.execute()
+
+            expectThat(tracker.getLatestBlockNumber(ChainSpec(CHAIN_ID, null)))
+                .isEqualTo(BlockNumber(BigInteger.valueOf(42L)))
+            expectThat(meterRegistry.get("polycode.chain.head").gauge().value())
+                .isEqualTo(42.0)
+        }
+    }
+
+    @Test
+    fun mustNotReturnStaleChainHead() {
+        suppose("some timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        suppose("scheduler will be created") {
+            call(scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor("ChainHeadTracker-1"))
+                .willReturn(scheduler)
+        }
+
+        suppose("RPC will return block number") {
+            stubBlockNumber("0x2a")
+        }
+
+        suppose("chain head is polled") {
+            tracker.getLatestBlockNumber(ChainSpec(CHAIN_ID, null))
+            scheduler.execute()
+        }
+
+        suppose("chain head is no longer updated") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(UtcDateTime(TestData.TIMESTAMP.value + POLL_INTERVAL.multipliedBy(3L)))
+        }
+
+        verify("stale chain head is not returned") {
+            expectThat(tracker.getLatestBlockNumber(ChainSpec(CHAIN_ID, null)))
+                .isNull()
+        }
+    }
+
+    @Test
+    fun mustNotTrackChainHeadForCustomRpcUrl() {
+        verify("chain head is not tracked for custom RPC URL") {
+            expectThat(tracker.getLatestBlockNumber(ChainSpec(CHAIN_ID, RPC_URL)))
+                .isNull()
+            expectNoInteractions(scheduledExecutorServiceProvider)
+        }
+    }
+
+    private fun stubBlockNumber(result: String) {
+        WireMock.server.stubFor(
+            post(urlPathEqualTo("/"))
+                .withRequestBody(matchingJsonPath("$.method", equalTo("eth_blockNumber")))
+                .willReturn(
+                    aResponse()
+                        .withBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"$result\"}")
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                )
+        )
+    }
+}
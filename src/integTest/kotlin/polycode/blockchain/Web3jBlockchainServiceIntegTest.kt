@@ -1,5 +1,6 @@
 package polycode.blockchain
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Disabled
 import org.junit.jupiter.api.Test
@@ -19,9 +20,17 @@ import org.web3j.utils.Convert
 import org.web3j.utils.Numeric
 import polycode.TestBase
 import polycode.TestData
+import polycode.blockchain.properties.ChainPropertiesHandler
 import polycode.blockchain.properties.ChainSpec
+import polycode.blockchain.rpc.RpcMetrics
+import polycode.blockchain.rpc.Web3jServiceFactory
 import polycode.config.ApplicationProperties
+import polycode.config.BlockHeaderCacheProperties
+import polycode.config.CacheRetentionProperties
 import polycode.config.ChainProperties
+import polycode.config.ReadonlyCallCacheProperties
+import polycode.config.RpcMetricsProperties
+import polycode.config.RpcRoutingProperties
 import polycode.exception.BlockchainReadException
 import polycode.features.contract.abi.model.AddressType
 import polycode.features.contract.abi.model.BoolType
@@ -1471,14 +1480,34 @@ class Web3jBlockchainServiceIntegTest : TestBase() {
 
     private fun ChainId.toSpec() = ChainSpec(this, null)
 
-    private fun createService() =
-        Web3jBlockchainService(
+    private fun createService(): Web3jBlockchainService {
+        val chainHandler = ChainPropertiesHandler(
+            applicationProperties = hardhatProperties(),
+            web3jServiceFactory = Web3jServiceFactory(
+                rpcMetrics = RpcMetrics(SimpleMeterRegistry(), RpcMetricsProperties()),
+                rpcRoutingProperties = RpcRoutingProperties()
+            )
+        )
+
+        return Web3jBlockchainService(
             abiDecoderService = EthereumAbiDecoderService(),
             uuidProvider = RandomUuidProvider(),
             utcDateTimeProvider = CurrentUtcDateTimeProvider(),
             web3jBlockchainServiceCacheRepository = mock(),
-            applicationProperties = hardhatProperties()
+            contractCreationTransactionProvider = mock(),
+            chainHandler = chainHandler,
+            chainHeadTracker = ChainHeadTracker(
+                chainPropertiesHandler = chainHandler,
+                utcDateTimeProvider = CurrentUtcDateTimeProvider(),
+                meterRegistry = SimpleMeterRegistry(),
+                scheduledExecutorServiceProvider = mock(),
+                applicationProperties = ApplicationProperties()
+            ),
+            blockHeaderCache = BlockHeaderCache(CurrentUtcDateTimeProvider(), BlockHeaderCacheProperties()),
+            readonlyCallCacheProperties = ReadonlyCallCacheProperties(),
+            cacheRetentionProperties = CacheRetentionProperties()
         )
+    }
 
     // This is needed to make web3j work correctly with Hardhat until https://github.com/web3j/web3j/pull/1580 is merged
     private fun SimpleERC20.applyWeb3jFilterFix(startBlock: BlockNumber?, endBlock: BlockNumber) {
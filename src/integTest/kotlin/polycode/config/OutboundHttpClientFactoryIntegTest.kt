@@ -0,0 +1,101 @@
+package polycode.config
+
+import com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import com.github.tomakehurst.wiremock.client.WireMock.get
+import com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor
+import com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.springframework.boot.web.client.RestTemplateBuilder
+import org.springframework.http.HttpHeaders
+import org.springframework.http.MediaType
+import polycode.TestBase
+import polycode.wiremock.WireMock
+import java.nio.file.Path
+
+class OutboundHttpClientFactoryIntegTest : TestBase() {
+
+    companion object {
+        private const val DESTINATION = "test-destination"
+        private const val URL = "http://localhost:8090/resource"
+    }
+
+    @BeforeEach
+    fun beforeEach() {
+        WireMock.start()
+    }
+
+    @AfterEach
+    fun afterEach() {
+        WireMock.stop()
+    }
+
+    @Test
+    fun mustRecordRequestMetricsPerDestination() {
+        val meterRegistry = SimpleMeterRegistry()
+        val factory = OutboundHttpClientFactory(OutboundHttpProperties(), meterRegistry)
+        val restTemplate = RestTemplateBuilder()
+            .requestFactory { factory.requestFactory(DESTINATION) }
+            .build()
+
+        suppose("some response will be returned") {
+            stubResource(cacheControl = "no-store")
+        }
+
+        verify("request metrics are recorded for destination") {
+            restTemplate.getForObject(URL, String::class.java)
+
+            expectThat(
+                meterRegistry.get("polycode.http.client.requests")
+                    .tag("destination", DESTINATION)
+                    .tag("host", "localhost")
+                    .timer()
+                    .count()
+            ).isEqualTo(1L)
+        }
+
+        factory.destroy()
+    }
+
+    @Test
+    fun mustReturnCachedResponseAccordingToCacheControlHeader(@TempDir cacheDirectory: Path) {
+        val factory = OutboundHttpClientFactory(
+            OutboundHttpProperties(cacheDirectory = cacheDirectory),
+            SimpleMeterRegistry()
+        )
+        val restTemplate = RestTemplateBuilder()
+            .requestFactory { factory.requestFactory(DESTINATION) }
+            .build()
+
+        suppose("cacheable response will be returned") {
+            stubResource(cacheControl = "max-age=60")
+        }
+
+        verify("response is fetched only once") {
+            expectThat(restTemplate.getForObject(URL, String::class.java))
+                .isEqualTo("{\"value\":1}")
+            expectThat(restTemplate.getForObject(URL, String::class.java))
+                .isEqualTo("{\"value\":1}")
+
+            WireMock.server.verify(1, getRequestedFor(urlPathEqualTo("/resource")))
+        }
+
+        factory.destroy()
+    }
+
+    private fun stubResource(cacheControl: String) {
+        WireMock.server.stubFor(
+            get(urlPathEqualTo("/resource"))
+                .willReturn(
+                    aResponse()
+                        .withBody("{\"value\":1}")
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withHeader(HttpHeaders.CACHE_CONTROL, cacheControl)
+                        .withStatus(200)
+                )
+        )
+    }
+}
@@ -0,0 +1,168 @@
+package polycode.features.api.analytics.service
+
+import com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import com.github.tomakehurst.wiremock.client.WireMock.post
+import com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor
+import com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import org.springframework.http.MediaType
+import polycode.TestBase
+import polycode.TestData
+import polycode.config.AnalyticsQueueProperties
+import polycode.config.JsonConfig
+import polycode.config.MetaPixelProperties
+import polycode.features.api.access.model.result.UserWalletAddressIdentifier
+import polycode.features.payout.service.ManualFixedScheduler
+import polycode.generated.jooq.id.ProjectId
+import polycode.generated.jooq.id.UserId
+import polycode.service.ScheduledExecutorServiceProvider
+import polycode.service.UtcDateTimeProvider
+import polycode.util.UtcDateTime
+import polycode.util.WalletAddress
+import polycode.wiremock.WireMock
+import java.time.Duration
+import java.util.UUID
+
+class AnalyticsServiceIntegTest : TestBase() {
+
+    companion object {
+        private const val PIXEL_ID = "123"
+        private const val EVENTS_PATH = "/v[0-9.]+/$PIXEL_ID/events"
+        private val RETRY_DELAY = Duration.ofSeconds(10L)
+        private val USER_IDENTIFIER = UserWalletAddressIdentifier(
+            id = UserId(UUID.randomUUID()),
+            walletAddress = WalletAddress("a")
+        )
+        private val PROJECT_ID = ProjectId(UUID.randomUUID())
+    }
+
+    private val meterRegistry = SimpleMeterRegistry()
+    private val scheduler = ManualFixedScheduler()
+    private val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+    private val analyticsQueueProperties = AnalyticsQueueProperties(initialRetryDelay = RETRY_DELAY)
+
+    @BeforeEach
+    fun beforeEach() {
+        WireMock.start()
+    }
+
+    @AfterEach
+    fun afterEach() {
+        WireMock.stop()
+    }
+
+    @Test
+    fun mustSendQueuedEventsInSingleBatch() {
+        val service = createService()
+
+        suppose("some timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        suppose("Meta Pixel will accept events") {
+            stubEvents(status = 200, body = "{\"events_received\":2,\"messages\":[],\"fbtrace_id\":\"trace\"}")
+        }
+
+        suppose("some events are posted") {
+            service.postApiKeyCreatedEvent(USER_IDENTIFIER, PROJECT_ID, "origin", "user-agent", "127.0.0.1")
+            service.postApiKeyCreatedEvent(USER_IDENTIFIER, PROJECT_ID, "origin", "user-agent", "127.0.0.1")
+        }
+
+        verify("events are not sent on the request path") {
+            WireMock.server.verify(0, postRequestedFor(urlPathMatching(EVENTS_PATH)))
+        }
+
+        verify("events are sent in a single batch") {
+            scheduler.execute()
+
+            WireMock.server.verify(1, postRequestedFor(urlPathMatching(EVENTS_PATH)))
+            expectThat(meterRegistry.get("polycode.analytics.events.sent").counter().count())
+                .isEqualTo(2.0)
+            expectThat(meterRegistry.get("polycode.analytics.queue.depth").gauge().value())
+                .isEqualTo(0.0)
+        }
+    }
+
+    @Test
+    fun mustRetryFailedBatchAfterBackoff() {
+        val service = createService()
+
+        suppose("some timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        suppose("Meta Pixel will reject events") {
+            stubEvents(status = 500, body = "{\"error\":{\"message\":\"error\",\"code\":1}}")
+        }
+
+        suppose("some event is posted and sending fails") {
+            service.postApiKeyCreatedEvent(USER_IDENTIFIER, PROJECT_ID, "origin", "user-agent", "127.0.0.1")
+            scheduler.execute()
+        }
+
+        verify("batch is not retried before backoff delay passes") {
+            scheduler.execute()
+
+            WireMock.server.verify(1, postRequestedFor(urlPathMatching(EVENTS_PATH)))
+        }
+
+        suppose("backoff delay has passed and Meta Pixel will accept events") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(UtcDateTime(TestData.TIMESTAMP.value + RETRY_DELAY))
+            WireMock.reset()
+            stubEvents(status = 200, body = "{\"events_received\":1,\"messages\":[],\"fbtrace_id\":\"trace\"}")
+        }
+
+        verify("batch is retried") {
+            scheduler.execute()
+
+            WireMock.server.verify(1, postRequestedFor(urlPathMatching(EVENTS_PATH)))
+            expectThat(meterRegistry.get("polycode.analytics.events.sent").counter().count())
+                .isEqualTo(1.0)
+        }
+    }
+
+    private fun createService(): AnalyticsServiceImpl {
+        val scheduledExecutorServiceProvider = mock<ScheduledExecutorServiceProvider>()
+
+        suppose("scheduler will be created") {
+            call(scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor(AnalyticsServiceImpl.QUEUE_NAME))
+                .willReturn(scheduler)
+        }
+
+        return AnalyticsServiceImpl(
+            metaPixelProperties = MetaPixelProperties(
+                accessToken = "access-token",
+                pixelId = PIXEL_ID,
+                endpointBase = "http://localhost:8090"
+            ),
+            analyticsQueueProperties = analyticsQueueProperties,
+            analyticsEventQueue = AnalyticsEventQueue(
+                analyticsQueueProperties = analyticsQueueProperties,
+                objectMapper = JsonConfig().objectMapper(),
+                meterRegistry = meterRegistry
+            ),
+            utcDateTimeProvider = utcDateTimeProvider,
+            meterRegistry = meterRegistry,
+            scheduledExecutorServiceProvider = scheduledExecutorServiceProvider
+        )
+    }
+
+    private fun stubEvents(status: Int, body: String) {
+        WireMock.server.stubFor(
+            post(urlPathMatching(EVENTS_PATH))
+                .willReturn(
+                    aResponse()
+                        .withBody(body)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withStatus(status)
+                )
+        )
+    }
+}
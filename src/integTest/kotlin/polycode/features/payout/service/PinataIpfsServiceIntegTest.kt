@@ -6,6 +6,7 @@ import com.github.tomakehurst.wiremock.client.WireMock.equalTo
 import com.github.tomakehurst.wiremock.client.WireMock.equalToJson
 import com.github.tomakehurst.wiremock.client.WireMock.post
 import com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
@@ -20,6 +21,8 @@ import org.springframework.http.MediaType
 import polycode.TestBase
 import polycode.config.ContractManifestServiceProperties
 import polycode.config.IpfsProperties
+import polycode.config.OutboundHttpClientFactory
+import polycode.config.OutboundHttpProperties
 import polycode.config.WebConfig
 import polycode.exception.IpfsUploadFailedException
 import polycode.features.api.access.repository.ApiKeyRepository
@@ -34,7 +37,7 @@ import polycode.service.UuidProvider
 import polycode.wiremock.WireMock
 
 @RestClientTest
-@Import(PinataIpfsService::class, WebConfig::class)
+@Import(PinataIpfsService::class, WebConfig::class, OutboundHttpClientFactory::class, SimpleMeterRegistry::class)
 @MockBeans(
     MockBean(UuidProvider::class),
     MockBean(UtcDateTimeProvider::class),
@@ -46,7 +49,11 @@ import polycode.wiremock.WireMock
     MockBean(ProjectRepository::class)
 )
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@EnableConfigurationProperties(IpfsProperties::class, ContractManifestServiceProperties::class)
+@EnableConfigurationProperties(
+    IpfsProperties::class,
+    ContractManifestServiceProperties::class,
+    OutboundHttpProperties::class
+)
 class PinataIpfsServiceIntegTest : TestBase() {
 
     @Autowired
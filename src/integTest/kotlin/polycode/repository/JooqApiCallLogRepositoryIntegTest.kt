@@ -0,0 +1,220 @@
+package polycode.repository
+
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.autoconfigure.jooq.JooqTest
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import org.springframework.web.bind.annotation.RequestMethod
+import polycode.TestBase
+import polycode.TestData
+import polycode.config.DatabaseConfig
+import polycode.features.api.usage.model.result.ApiDailyUsage
+import polycode.features.api.usage.model.result.EndpointDailyUsage
+import polycode.features.api.usage.repository.JooqApiCallLogRepository
+import polycode.generated.jooq.enums.UserIdentifierType
+import polycode.generated.jooq.id.UserId
+import polycode.generated.jooq.tables.ApiReadCallTable
+import polycode.generated.jooq.tables.ApiWriteCallTable
+import polycode.generated.jooq.tables.records.ApiReadCallRecord
+import polycode.generated.jooq.tables.records.ApiWriteCallRecord
+import polycode.generated.jooq.tables.records.UserIdentifierRecord
+import polycode.testcontainers.SharedTestContainers
+import polycode.util.UtcDateTime
+import java.time.LocalDate
+import java.time.OffsetDateTime
+import java.util.UUID
+import kotlin.time.Duration.Companion.days
+import kotlin.time.Duration.Companion.hours
+import polycode.generated.jooq.enums.RequestMethod as DbRequestMethod
+
+@JooqTest
+@Import(JooqApiCallLogRepository::class, DatabaseConfig::class)
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JooqApiCallLogRepositoryIntegTest : TestBase() {
+
+    companion object {
+        private val USER_ID = UserId(UUID.randomUUID())
+        private val DATE = TestData.TIMESTAMP.value.toLocalDate()
+        private val FUTURE_DATE = LocalDate.parse("2100-01-01")
+        private val FUTURE_TIMESTAMP = UtcDateTime(OffsetDateTime.parse("2100-01-01T12:00:00Z"))
+        private val FUTURE_PARTITIONS = listOf(
+            "api_read_call_p21000101",
+            "api_write_call_p21000101",
+            "api_read_call_p21000102",
+            "api_write_call_p21000102"
+        )
+    }
+
+    @Suppress("unused")
+    private val postgresContainer = SharedTestContainers.postgresContainer
+
+    @Autowired
+    private lateinit var repository: JooqApiCallLogRepository
+
+    @Autowired
+    private lateinit var dslContext: DSLContext
+
+    @BeforeEach
+    fun beforeEach() {
+        postgresContainer.cleanAllDatabaseTables(dslContext)
+
+        FUTURE_PARTITIONS.forEach {
+            dslContext.execute("DROP TABLE IF EXISTS {0}", DSL.table(DSL.name("polycode", it)))
+        }
+
+        dslContext.executeInsert(
+            UserIdentifierRecord(
+                id = USER_ID,
+                userIdentifier = "user-identifier",
+                identifierType = UserIdentifierType.ETH_WALLET_ADDRESS
+            )
+        )
+    }
+
+    @Test
+    fun mustExecuteActionWhenMaintenanceLockIsAcquired() {
+        verify("action is executed under maintenance lock") {
+            var isExecuted = false
+
+            expectThat(repository.tryWithMaintenanceLock { isExecuted = true })
+                .isTrue()
+            expectThat(isExecuted)
+                .isTrue()
+        }
+    }
+
+    @Test
+    fun mustCorrectlyCreateDailyPartitionsAndMoveCallsFromDefaultPartition() {
+        suppose("some call is stored before its daily partition exists") {
+            dslContext.executeInsert(
+                ApiReadCallRecord(
+                    userId = USER_ID,
+                    requestPath = "/test",
+                    createdAt = FUTURE_TIMESTAMP
+                )
+            )
+        }
+
+        suppose("daily partitions are created") {
+            repository.createDailyPartitions(FUTURE_DATE, FUTURE_DATE.plusDays(1L))
+        }
+
+        verify("call is moved into its daily partition") {
+            expectThat(dslContext.fetchCount(DSL.table(DSL.name("polycode", "api_read_call_p21000101"))))
+                .isOne()
+            expectThat(dslContext.fetchCount(DSL.table(DSL.name("polycode", "api_read_call_default"))))
+                .isZero()
+            expectThat(dslContext.fetchCount(ApiReadCallTable))
+                .isOne()
+        }
+
+        verify("creating existing partitions again is a no-op") {
+            repository.createDailyPartitions(FUTURE_DATE, FUTURE_DATE.plusDays(1L))
+
+            expectThat(dslContext.fetchCount(ApiReadCallTable))
+                .isOne()
+        }
+    }
+
+    @Test
+    fun mustCorrectlyRollupDailyCalls() {
+        suppose("some calls are stored") {
+            dslContext.batchInsert(
+                ApiReadCallRecord(userId = USER_ID, requestPath = "/a", createdAt = TestData.TIMESTAMP),
+                ApiReadCallRecord(userId = USER_ID, requestPath = "/a", createdAt = TestData.TIMESTAMP + 1.hours),
+                ApiReadCallRecord(userId = USER_ID, requestPath = "/b", createdAt = TestData.TIMESTAMP),
+                ApiReadCallRecord(userId = USER_ID, requestPath = "/a", createdAt = TestData.TIMESTAMP + 1.days),
+                ApiWriteCallRecord(
+                    userId = USER_ID,
+                    requestMethod = DbRequestMethod.POST,
+                    requestPath = "/a",
+                    createdAt = TestData.TIMESTAMP
+                )
+            ).execute()
+        }
+
+        verify("calls are rolled up only once") {
+            expectThat(repository.rollupDailyCalls(DATE, TestData.TIMESTAMP + 1.days))
+                .isTrue()
+            expectThat(repository.rollupDailyCalls(DATE, TestData.TIMESTAMP + 1.days))
+                .isFalse()
+            expectThat(repository.getLastRolledUpDate())
+                .isEqualTo(DATE)
+            expectThat(repository.getFirstCallDate())
+                .isEqualTo(DATE)
+        }
+
+        verify("daily usage is correctly fetched") {
+            expectThat(repository.getDailyUsage(USER_ID, DATE.minusDays(1L), DATE.plusDays(1L)))
+                .isEqualTo(
+                    ApiDailyUsage(
+                        userId = USER_ID,
+                        fromDate = DATE.minusDays(1L),
+                        toDate = DATE.plusDays(1L),
+                        readCalls = listOf(
+                            EndpointDailyUsage(
+                                date = DATE,
+                                requestMethod = null,
+                                requestPath = "/a",
+                                callCount = 2L
+                            ),
+                            EndpointDailyUsage(
+                                date = DATE,
+                                requestMethod = null,
+                                requestPath = "/b",
+                                callCount = 1L
+                            )
+                        ),
+                        writeCalls = listOf(
+                            EndpointDailyUsage(
+                                date = DATE,
+                                requestMethod = RequestMethod.POST,
+                                requestPath = "/a",
+                                callCount = 1L
+                            )
+                        )
+                    )
+                )
+        }
+    }
+
+    @Test
+    fun mustCorrectlyDropDailyPartitionsBeforeDate() {
+        suppose("some daily partitions exist") {
+            repository.createDailyPartitions(FUTURE_DATE, FUTURE_DATE.plusDays(1L))
+        }
+
+        suppose("some calls are stored") {
+            dslContext.batchInsert(
+                ApiReadCallRecord(userId = USER_ID, requestPath = "/a", createdAt = FUTURE_TIMESTAMP),
+                ApiReadCallRecord(userId = USER_ID, requestPath = "/a", createdAt = FUTURE_TIMESTAMP + 1.days),
+                ApiWriteCallRecord(
+                    userId = USER_ID,
+                    requestMethod = DbRequestMethod.POST,
+                    requestPath = "/a",
+                    createdAt = FUTURE_TIMESTAMP
+                )
+            ).execute()
+        }
+
+        val droppedPartitions = suppose("partitions before some date are dropped") {
+            repository.dropDailyPartitionsBefore(FUTURE_DATE.plusDays(1L))
+        }
+
+        verify("expired partitions are dropped") {
+            expectThat(droppedPartitions)
+                .contains("api_read_call_p21000101", "api_write_call_p21000101")
+                .doesNotContain("api_read_call_p21000102", "api_write_call_p21000102")
+            expectThat(dslContext.fetchCount(ApiReadCallTable))
+                .isOne()
+            expectThat(dslContext.fetchCount(ApiWriteCallTable))
+                .isZero()
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package polycode.repository
+
+import org.jooq.DSLContext
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.autoconfigure.jooq.JooqTest
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import polycode.TestBase
+import polycode.TestData
+import polycode.config.DatabaseConfig
+import polycode.generated.jooq.id.FetchAccountBalanceCacheId
+import polycode.generated.jooq.tables.FetchAccountBalanceCacheTable
+import polycode.generated.jooq.tables.records.FetchAccountBalanceCacheRecord
+import polycode.model.BlockchainCacheTable
+import polycode.testcontainers.SharedTestContainers
+import polycode.util.Balance
+import polycode.util.BlockNumber
+import polycode.util.ChainId
+import polycode.util.UtcDateTime
+import polycode.util.WalletAddress
+import java.math.BigInteger
+import java.util.UUID
+import kotlin.time.Duration.Companion.days
+
+@JooqTest
+@Import(JooqBlockchainCacheMaintenanceRepository::class, DatabaseConfig::class)
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JooqBlockchainCacheMaintenanceRepositoryIntegTest : TestBase() {
+
+    @Suppress("unused")
+    private val postgresContainer = SharedTestContainers.postgresContainer
+
+    @Autowired
+    private lateinit var repository: JooqBlockchainCacheMaintenanceRepository
+
+    @Autowired
+    private lateinit var dslContext: DSLContext
+
+    @BeforeEach
+    fun beforeEach() {
+        postgresContainer.cleanAllDatabaseTables(dslContext)
+    }
+
+    @Test
+    fun mustDeleteExpiredEntriesInBatches() {
+        val freshId = FetchAccountBalanceCacheId(UUID.randomUUID())
+        val oldId = FetchAccountBalanceCacheId(UUID.randomUUID())
+        val idleId = FetchAccountBalanceCacheId(UUID.randomUUID())
+
+        suppose("some cache entries exist") {
+            dslContext.batchInsert(
+                accountBalanceRecord(freshId, 1L, TestData.TIMESTAMP, TestData.TIMESTAMP),
+                accountBalanceRecord(oldId, 2L, TestData.TIMESTAMP - 10.days, TestData.TIMESTAMP),
+                accountBalanceRecord(idleId, 3L, TestData.TIMESTAMP, TestData.TIMESTAMP - 2.days)
+            ).execute()
+        }
+
+        verify("nothing is deleted when no cutoff is specified") {
+            expectThat(
+                repository.deleteExpiredEntries(
+                    table = BlockchainCacheTable.FETCH_ACCOUNT_BALANCE,
+                    cachedBefore = null,
+                    accessedBefore = null,
+                    limit = 10
+                )
+            ).isZero()
+        }
+
+        verify("expired entries are deleted in batches") {
+            expectThat(
+                repository.deleteExpiredEntries(
+                    table = BlockchainCacheTable.FETCH_ACCOUNT_BALANCE,
+                    cachedBefore = TestData.TIMESTAMP - 7.days,
+                    accessedBefore = TestData.TIMESTAMP - 1.days,
+                    limit = 1
+                )
+            ).isOne()
+            expectThat(
+                repository.deleteExpiredEntries(
+                    table = BlockchainCacheTable.FETCH_ACCOUNT_BALANCE,
+                    cachedBefore = TestData.TIMESTAMP - 7.days,
+                    accessedBefore = TestData.TIMESTAMP - 1.days,
+                    limit = 1
+                )
+            ).isOne()
+            expectThat(
+                repository.deleteExpiredEntries(
+                    table = BlockchainCacheTable.FETCH_ACCOUNT_BALANCE,
+                    cachedBefore = TestData.TIMESTAMP - 7.days,
+                    accessedBefore = TestData.TIMESTAMP - 1.days,
+                    limit = 1
+                )
+            ).isZero()
+
+            expectThat(dslContext.selectFrom(FetchAccountBalanceCacheTable).fetch { it.id })
+                .containsExactly(freshId)
+        }
+    }
+
+    @Test
+    fun mustReturnTableStatsAndSharedBuffersSize() {
+        verify("table stats and shared buffers size are returned") {
+            expectThat(repository.getTableStats(BlockchainCacheTable.FETCH_READONLY_CALL).totalSizeBytes)
+                .isPositive()
+            expectThat(repository.getSharedBuffersSizeBytes())
+                .isPositive()
+        }
+    }
+
+    private fun accountBalanceRecord(
+        id: FetchAccountBalanceCacheId,
+        blockNumber: Long,
+        cachedAt: UtcDateTime,
+        lastAccessedAt: UtcDateTime
+    ) = FetchAccountBalanceCacheRecord(
+        id = id,
+        chainId = ChainId(1337L),
+        customRpcUrl = "",
+        walletAddress = WalletAddress("a"),
+        blockNumber = BlockNumber(BigInteger.valueOf(blockNumber)),
+        timestamp = TestData.TIMESTAMP,
+        assetAmount = Balance(BigInteger.TEN),
+        cachedAt = cachedAt,
+        lastAccessedAt = lastAccessedAt
+    )
+}
@@ -35,6 +35,7 @@ import polycode.util.Constants
 import polycode.util.ContractAddress
 import polycode.util.ContractBinaryData
 import polycode.util.ContractId
+import polycode.util.FunctionData
 import polycode.util.TransactionHash
 import polycode.util.WalletAddress
 import java.math.BigInteger
@@ -53,6 +54,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
         private val DEPLOYED_CONTRACT_ID = ContractDeploymentRequestId(UUID.randomUUID())
         private val CONTRACT_ADDRESS = ContractAddress("1337")
         private const val FUNCTION_NAME = "balanceOf"
+        private val FUNCTION_DATA = FunctionData("1234")
         private val ETH_AMOUNT = Balance(BigInteger("10000"))
         private val CHAIN_ID = ChainId(1337L)
         private const val REDIRECT_URL = "redirect-url"
@@ -373,6 +375,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
             contractAddress = CONTRACT_ADDRESS,
             functionName = FUNCTION_NAME,
             functionParams = TestData.EMPTY_JSON_ARRAY,
+            functionData = FUNCTION_DATA,
             ethAmount = ETH_AMOUNT,
             chainId = CHAIN_ID,
             redirectUrl = REDIRECT_URL,
@@ -396,6 +399,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
             contractAddress = CONTRACT_ADDRESS,
             functionName = FUNCTION_NAME,
             functionParams = TestData.EMPTY_JSON_ARRAY,
+            functionData = FUNCTION_DATA,
             ethAmount = ETH_AMOUNT,
             chainId = CHAIN_ID,
             redirectUrl = REDIRECT_URL,
@@ -432,6 +436,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
             contractAddress = CONTRACT_ADDRESS,
             functionName = FUNCTION_NAME,
             functionParams = TestData.EMPTY_JSON_ARRAY,
+            functionData = FUNCTION_DATA,
             ethAmount = ETH_AMOUNT,
             chainId = CHAIN_ID,
             redirectUrl = REDIRECT_URL,
@@ -465,6 +470,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
                         contractAddress = CONTRACT_ADDRESS,
                         functionName = FUNCTION_NAME,
                         functionParams = TestData.EMPTY_JSON_ARRAY,
+                        functionData = FUNCTION_DATA,
                         ethAmount = ETH_AMOUNT,
                         chainId = CHAIN_ID,
                         redirectUrl = REDIRECT_URL,
@@ -491,6 +497,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
             contractAddress = CONTRACT_ADDRESS,
             functionName = FUNCTION_NAME,
             functionParams = TestData.EMPTY_JSON_ARRAY,
+            functionData = FUNCTION_DATA,
             ethAmount = ETH_AMOUNT,
             chainId = CHAIN_ID,
             redirectUrl = REDIRECT_URL,
@@ -525,6 +532,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
                         contractAddress = CONTRACT_ADDRESS,
                         functionName = FUNCTION_NAME,
                         functionParams = TestData.EMPTY_JSON_ARRAY,
+                        functionData = FUNCTION_DATA,
                         ethAmount = ETH_AMOUNT,
                         chainId = CHAIN_ID,
                         redirectUrl = REDIRECT_URL,
@@ -551,6 +559,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
             contractAddress = CONTRACT_ADDRESS,
             functionName = FUNCTION_NAME,
             functionParams = TestData.EMPTY_JSON_ARRAY,
+            functionData = FUNCTION_DATA,
             ethAmount = ETH_AMOUNT,
             chainId = CHAIN_ID,
             redirectUrl = REDIRECT_URL,
@@ -594,6 +603,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
                         contractAddress = CONTRACT_ADDRESS,
                         functionName = FUNCTION_NAME,
                         functionParams = TestData.EMPTY_JSON_ARRAY,
+                        functionData = FUNCTION_DATA,
                         ethAmount = ETH_AMOUNT,
                         chainId = CHAIN_ID,
                         redirectUrl = REDIRECT_URL,
@@ -622,6 +632,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
         contractAddress = contractAddress,
         functionName = FUNCTION_NAME,
         functionParams = TestData.EMPTY_JSON_ARRAY,
+        functionData = FUNCTION_DATA,
         ethAmount = ETH_AMOUNT,
         chainId = CHAIN_ID,
         redirectUrl = REDIRECT_URL,
@@ -641,6 +652,7 @@ class JooqContractFunctionCallRequestRepositoryIntegTest : TestBase() {
             contractAddress = contractAddress,
             functionName = functionName,
             functionParams = functionParams,
+            functionData = functionData,
             ethAmount = ethAmount,
             chainId = chainId,
             redirectUrl = redirectUrl,
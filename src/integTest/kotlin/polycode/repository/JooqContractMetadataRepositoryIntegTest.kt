@@ -243,4 +243,64 @@ class JooqContractMetadataRepositoryIntegTest : TestBase() {
                 .isFalse()
         }
     }
+
+    @Test
+    fun mustCorrectlyCreateOrUpdateOnlyChangedContractMetadata() {
+        val projectId = ProjectId(UUID.randomUUID())
+        val unchanged = ContractMetadata(
+            id = ContractMetadataId(UUID.randomUUID()),
+            name = "unchanged",
+            description = "description",
+            contractId = ContractId("unchanged-cid"),
+            contractTags = listOf(ContractTag("tag")),
+            contractImplements = listOf(InterfaceId("trait")),
+            projectId = projectId
+        )
+        val changed = ContractMetadata(
+            id = ContractMetadataId(UUID.randomUUID()),
+            name = "changed",
+            description = "description",
+            contractId = ContractId("changed-cid"),
+            contractTags = listOf(ContractTag("tag")),
+            contractImplements = listOf(InterfaceId("trait")),
+            projectId = projectId
+        )
+
+        suppose("some contract metadata is stored into the database") {
+            repository.createOrUpdate(unchanged)
+            repository.createOrUpdate(changed)
+        }
+
+        val updated = changed.copy(id = ContractMetadataId(UUID.randomUUID()), contractTags = listOf(ContractTag("new")))
+        val created = ContractMetadata(
+            id = ContractMetadataId(UUID.randomUUID()),
+            name = "created",
+            description = "description",
+            contractId = ContractId("created-cid"),
+            contractTags = emptyList(),
+            contractImplements = emptyList(),
+            projectId = projectId
+        )
+
+        verify("only changed and new contract metadata is written") {
+            expectThat(
+                repository.createOrUpdateAll(
+                    listOf(unchanged.copy(id = ContractMetadataId(UUID.randomUUID())), updated, created)
+                )
+            ).isEqualTo(2)
+        }
+
+        verify("contract metadata is correctly stored into the database") {
+            val records = dslContext.selectFrom(ContractMetadataTable)
+                .where(ContractMetadataTable.PROJECT_ID.eq(projectId))
+                .fetch { Pair(it.contractId, it.contractTags.toList()) }
+
+            expectThat(records)
+                .containsExactlyInAnyOrder(
+                    Pair(unchanged.contractId, listOf("tag")),
+                    Pair(changed.contractId, listOf("new")),
+                    Pair(created.contractId, emptyList())
+                )
+        }
+    }
 }
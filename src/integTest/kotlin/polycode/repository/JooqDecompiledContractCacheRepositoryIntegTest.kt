@@ -0,0 +1,90 @@
+package polycode.repository
+
+import org.jooq.DSLContext
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.autoconfigure.jooq.JooqTest
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import polycode.TestBase
+import polycode.TestData
+import polycode.config.DatabaseConfig
+import polycode.features.contract.deployment.model.json.ArtifactJson
+import polycode.features.contract.deployment.model.json.ManifestJson
+import polycode.features.contract.importing.model.json.DecompiledContractJson
+import polycode.features.contract.importing.repository.JooqDecompiledContractCacheRepository
+import polycode.testcontainers.SharedTestContainers
+import polycode.util.Keccak256Hash
+import kotlin.time.Duration.Companion.days
+
+@JooqTest
+@Import(JooqDecompiledContractCacheRepository::class, DatabaseConfig::class)
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JooqDecompiledContractCacheRepositoryIntegTest : TestBase() {
+
+    companion object {
+        private val BYTECODE_HASH = Keccak256Hash.ofHexBytes("0x0123456789abcdef")
+        private val DECOMPILED_CONTRACT = DecompiledContractJson(
+            manifest = ManifestJson.EMPTY.copy(name = "name", tags = setOf("tag"), implements = setOf("interface")),
+            artifact = ArtifactJson.EMPTY.copy(contractName = "contractName", sourceName = "sourceName"),
+            infoMarkdown = "infoMd"
+        )
+    }
+
+    @Suppress("unused")
+    private val postgresContainer = SharedTestContainers.postgresContainer
+
+    @Autowired
+    private lateinit var repository: JooqDecompiledContractCacheRepository
+
+    @Autowired
+    private lateinit var dslContext: DSLContext
+
+    @BeforeEach
+    fun beforeEach() {
+        postgresContainer.cleanAllDatabaseTables(dslContext)
+    }
+
+    @Test
+    fun mustCorrectlyCacheDecompiledContract() {
+        suppose("decompiled contract is cached") {
+            repository.cacheDecompiledContract(BYTECODE_HASH, DECOMPILED_CONTRACT, TestData.TIMESTAMP)
+        }
+
+        verify("decompiled contract is correctly fetched from the database") {
+            expectThat(repository.getCachedDecompiledContract(BYTECODE_HASH))
+                .isEqualTo(DECOMPILED_CONTRACT)
+        }
+    }
+
+    @Test
+    fun mustNotOverwriteExistingCachedDecompiledContract() {
+        suppose("decompiled contract is cached") {
+            repository.cacheDecompiledContract(BYTECODE_HASH, DECOMPILED_CONTRACT, TestData.TIMESTAMP)
+        }
+
+        suppose("different decompiled contract is cached for the same bytecode hash") {
+            repository.cacheDecompiledContract(
+                bytecodeHash = BYTECODE_HASH,
+                decompiledContract = DECOMPILED_CONTRACT.copy(infoMarkdown = "otherInfoMd"),
+                cachedAt = TestData.TIMESTAMP + 1.days
+            )
+        }
+
+        verify("originally cached decompiled contract is fetched from the database") {
+            expectThat(repository.getCachedDecompiledContract(BYTECODE_HASH))
+                .isEqualTo(DECOMPILED_CONTRACT)
+        }
+    }
+
+    @Test
+    fun mustReturnNullForNonCachedDecompiledContract() {
+        verify("null is returned for non-cached decompiled contract") {
+            expectThat(repository.getCachedDecompiledContract(BYTECODE_HASH))
+                .isNull()
+        }
+    }
+}
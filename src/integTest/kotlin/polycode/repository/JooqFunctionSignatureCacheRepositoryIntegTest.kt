@@ -0,0 +1,113 @@
+package polycode.repository
+
+import org.jooq.DSLContext
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.autoconfigure.jooq.JooqTest
+import org.springframework.context.annotation.Import
+import org.springframework.test.annotation.DirtiesContext
+import polycode.TestBase
+import polycode.TestData
+import polycode.config.DatabaseConfig
+import polycode.features.contract.deployment.model.json.AbiInputOutput
+import polycode.features.functions.decoding.model.CachedFunctionSignature
+import polycode.features.functions.decoding.model.FunctionSignature
+import polycode.features.functions.decoding.repository.JooqFunctionSignatureCacheRepository
+import polycode.testcontainers.SharedTestContainers
+import kotlin.time.Duration.Companion.days
+
+@JooqTest
+@Import(JooqFunctionSignatureCacheRepository::class, DatabaseConfig::class)
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JooqFunctionSignatureCacheRepositoryIntegTest : TestBase() {
+
+    companion object {
+        private const val SELECTOR = "0xa9059cbb"
+        private val SIGNATURE = FunctionSignature(
+            name = "transfer",
+            inputs = listOf(
+                AbiInputOutput(
+                    components = null,
+                    internalType = "address",
+                    name = "to",
+                    type = "address",
+                    indexed = null
+                ),
+                AbiInputOutput(
+                    components = null,
+                    internalType = "uint256",
+                    name = "amount",
+                    type = "uint256",
+                    indexed = null
+                )
+            )
+        )
+    }
+
+    @Suppress("unused")
+    private val postgresContainer = SharedTestContainers.postgresContainer
+
+    @Autowired
+    private lateinit var repository: JooqFunctionSignatureCacheRepository
+
+    @Autowired
+    private lateinit var dslContext: DSLContext
+
+    @BeforeEach
+    fun beforeEach() {
+        postgresContainer.cleanAllDatabaseTables(dslContext)
+    }
+
+    @Test
+    fun mustCorrectlyCacheKnownFunctionSignature() {
+        suppose("function signature is cached") {
+            repository.cacheFunctionSignature(SELECTOR, SIGNATURE, TestData.TIMESTAMP)
+        }
+
+        verify("function signature is correctly fetched from the database") {
+            expectThat(repository.getCachedFunctionSignature(SELECTOR))
+                .isEqualTo(CachedFunctionSignature(SIGNATURE, TestData.TIMESTAMP))
+        }
+    }
+
+    @Test
+    fun mustCorrectlyCacheUnknownFunctionSignature() {
+        suppose("unknown function signature is cached") {
+            repository.cacheFunctionSignature(SELECTOR, null, TestData.TIMESTAMP)
+        }
+
+        verify("unknown function signature is correctly fetched from the database") {
+            expectThat(repository.getCachedFunctionSignature(SELECTOR))
+                .isEqualTo(CachedFunctionSignature(null, TestData.TIMESTAMP))
+        }
+    }
+
+    @Test
+    fun mustOverwriteExistingCachedFunctionSignature() {
+        suppose("unknown function signature is cached") {
+            repository.cacheFunctionSignature(SELECTOR, null, TestData.TIMESTAMP)
+        }
+
+        val cachedAt = TestData.TIMESTAMP + 1.days
+
+        suppose("function signature is cached again") {
+            repository.cacheFunctionSignature(SELECTOR, SIGNATURE, cachedAt)
+        }
+
+        verify("function signature is correctly overwritten in the database") {
+            expectThat(repository.getCachedFunctionSignature(SELECTOR))
+                .isEqualTo(CachedFunctionSignature(SIGNATURE, cachedAt))
+        }
+    }
+
+    @Test
+    fun mustReturnNullForNonCachedFunctionSignature() {
+        verify("null is returned for non-cached function signature") {
+            expectThat(repository.getCachedFunctionSignature(SELECTOR))
+                .isNull()
+        }
+    }
+}
@@ -5,11 +5,13 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.test.autoconfigure.jooq.JooqTest
 import org.springframework.context.annotation.Import
 import org.springframework.test.annotation.DirtiesContext
 import polycode.TestBase
 import polycode.TestData
+import polycode.config.ContractDecoratorProperties
 import polycode.config.DatabaseConfig
 import polycode.features.contract.deployment.model.filters.ContractDecoratorFilters
 import polycode.features.contract.deployment.model.json.ArtifactJson
@@ -44,6 +46,7 @@ import java.util.UUID
 )
 @DirtiesContext
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnableConfigurationProperties(ContractDecoratorProperties::class)
 class JooqImportedContractDecoratorRepositoryIntegTest : TestBase() {
 
     companion object {
@@ -264,6 +267,73 @@ class JooqImportedContractDecoratorRepositoryIntegTest : TestBase() {
         }
     }
 
+    @Test
+    fun mustReturnUpdatedImportedContractDecoratorWhenPreviouslyFetchedDecoratorIsCached() {
+        val contractId = ContractId("imported-contract")
+        val manifestJson = ManifestJson(
+            name = "name",
+            description = "description",
+            tags = setOf("tag-1"),
+            implements = setOf("trait-1"),
+            eventDecorators = emptyList(),
+            constructorDecorators = emptyList(),
+            functionDecorators = emptyList()
+        )
+        val artifactJson = ArtifactJson(
+            contractName = "imported-contract",
+            sourceName = "imported.sol",
+            abi = emptyList(),
+            bytecode = "0x0",
+            deployedBytecode = "0x0",
+            linkReferences = null,
+            deployedLinkReferences = null
+        )
+
+        suppose("imported contract decorator will be stored into the database") {
+            repository.store(
+                id = ImportedContractDecoratorId(UUID.randomUUID()),
+                projectId = PROJECT_ID_1,
+                contractId = contractId,
+                manifestJson = manifestJson,
+                artifactJson = artifactJson,
+                infoMarkdown = "markdown",
+                importedAt = TestData.TIMESTAMP,
+                previewOnly = false
+            )
+        }
+
+        verify("imported contract decorator is fetched from the database and cached") {
+            expectThat(repository.getByContractIdAndProjectId(contractId, PROJECT_ID_1)?.implements)
+                .isEqualTo(listOf(InterfaceId("trait-1")))
+            expectThat(repository.getAll(PROJECT_ID_1, ContractDecoratorFilters(OrList(), OrList())).map { it.id })
+                .isEqualTo(listOf(contractId))
+        }
+
+        val newInterfaces = listOf(InterfaceId("new-interface"))
+
+        suppose("imported contract decorator interfaces are updated") {
+            repository.updateInterfaces(contractId, PROJECT_ID_1, newInterfaces, manifestJson)
+        }
+
+        verify("updated imported contract decorator is returned") {
+            expectThat(repository.getByContractIdAndProjectId(contractId, PROJECT_ID_1)?.implements)
+                .isEqualTo(newInterfaces)
+            expectThat(
+                repository.getAll(PROJECT_ID_1, ContractDecoratorFilters(OrList(), OrList())).map { it.implements }
+            )
+                .isEqualTo(listOf(newInterfaces))
+        }
+
+        suppose("imported contract decorator is deleted from the database") {
+            postgresContainer.cleanAllDatabaseTables(dslContext)
+        }
+
+        verify("deleted imported contract decorator is not returned") {
+            expectThat(repository.getByContractIdAndProjectId(contractId, PROJECT_ID_1))
+                .isNull()
+        }
+    }
+
     @Test
     fun mustNotStoreImportedContractDecoratorWhenPreviewOnlyIsSetToTrue() {
         val id = ImportedContractDecoratorId(UUID.randomUUID())
@@ -5,20 +5,27 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.test.autoconfigure.jooq.JooqTest
+import org.springframework.boot.test.mock.mockito.MockBean
 import org.springframework.context.annotation.Import
 import org.springframework.test.annotation.DirtiesContext
 import polycode.TestBase
 import polycode.TestData
 import polycode.blockchain.properties.ChainSpec
+import polycode.config.CacheRetentionProperties
 import polycode.config.DatabaseConfig
 import polycode.generated.jooq.id.ContractDeploymentTransactionCacheId
 import polycode.generated.jooq.id.FetchAccountBalanceCacheId
 import polycode.generated.jooq.id.FetchErc20AccountBalanceCacheId
+import polycode.generated.jooq.id.FetchReadonlyCallCacheId
 import polycode.generated.jooq.id.FetchTransactionInfoCacheId
+import polycode.generated.jooq.tables.FetchAccountBalanceCacheTable
+import polycode.generated.jooq.tables.FetchReadonlyCallCacheTable
 import polycode.model.EventLog
 import polycode.model.result.BlockchainTransactionInfo
 import polycode.model.result.FullContractDeploymentTransactionInfo
+import polycode.service.UtcDateTimeProvider
 import polycode.testcontainers.SharedTestContainers
 import polycode.util.AccountBalance
 import polycode.util.Balance
@@ -32,11 +39,14 @@ import polycode.util.WalletAddress
 import polycode.util.ZeroAddress
 import java.math.BigInteger
 import java.util.UUID
+import kotlin.time.Duration.Companion.days
+import kotlin.time.Duration.Companion.minutes
 
 @JooqTest
 @Import(JooqWeb3jBlockchainServiceCacheRepository::class, DatabaseConfig::class)
 @DirtiesContext
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnableConfigurationProperties(CacheRetentionProperties::class)
 class JooqWeb3jBlockchainServiceCacheRepositoryIntegTest : TestBase() {
 
     companion object {
@@ -85,9 +95,15 @@ class JooqWeb3jBlockchainServiceCacheRepositoryIntegTest : TestBase() {
     @Autowired
     private lateinit var dslContext: DSLContext
 
+    @MockBean
+    private lateinit var utcDateTimeProvider: UtcDateTimeProvider
+
     @BeforeEach
     fun beforeEach() {
         postgresContainer.cleanAllDatabaseTables(dslContext)
+
+        call(utcDateTimeProvider.getUtcDateTime())
+            .willReturn(TestData.TIMESTAMP)
     }
 
     @Test
@@ -197,4 +213,139 @@ class JooqWeb3jBlockchainServiceCacheRepositoryIntegTest : TestBase() {
             ).isEqualTo(Pair(CONTRACT_DEPLOYMENT_TRANSACTION_INFO, listOf(EventLog("data", listOf("topic")))))
         }
     }
+
+    @Test
+    fun mustCorrectlyCacheReadonlyFunctionCall() {
+        val id = FetchReadonlyCallCacheId(UUID.randomUUID())
+        val functionData = FunctionData("abcd")
+        val rawReturnValue = "0x" + "0".repeat(63) + "1"
+
+        suppose("callReadonlyFunction call will be cached") {
+            repository.cacheReadonlyFunctionCall(
+                id = id,
+                chainSpec = CHAIN_SPEC,
+                contractAddress = CONTRACT_ADDRESS,
+                callerAddress = ACCOUNT_BALANCE.wallet,
+                functionData = functionData,
+                blockNumber = BLOCK_NUMBER,
+                rawReturnValue = rawReturnValue
+            )
+        }
+
+        verify("callReadonlyFunction call is correctly cached") {
+            expectThat(
+                repository.getCachedReadonlyFunctionCall(
+                    chainSpec = CHAIN_SPEC,
+                    contractAddress = CONTRACT_ADDRESS,
+                    callerAddress = ACCOUNT_BALANCE.wallet,
+                    functionData = functionData,
+                    blockNumber = BLOCK_NUMBER
+                )
+            ).isEqualTo(rawReturnValue)
+            expectThat(
+                repository.getCachedReadonlyFunctionCall(
+                    chainSpec = CHAIN_SPEC,
+                    contractAddress = CONTRACT_ADDRESS,
+                    callerAddress = ACCOUNT_BALANCE.wallet,
+                    functionData = FunctionData("dcba"),
+                    blockNumber = BLOCK_NUMBER
+                )
+            ).isNull()
+        }
+    }
+
+    @Test
+    fun mustUpdateLastAccessTimeOnlyAfterAccessResolutionHasPassed() {
+        val id = FetchAccountBalanceCacheId(UUID.randomUUID())
+
+        suppose("fetchAccountBalance call will be cached") {
+            repository.cacheFetchAccountBalance(
+                id = id,
+                chainSpec = CHAIN_SPEC,
+                accountBalance = ACCOUNT_BALANCE
+            )
+        }
+
+        fun getCached() = repository.getCachedFetchAccountBalance(
+            chainSpec = CHAIN_SPEC,
+            walletAddress = ACCOUNT_BALANCE.wallet,
+            blockNumber = ACCOUNT_BALANCE.blockNumber
+        )
+
+        fun lastAccessedAt() = dslContext.select(FetchAccountBalanceCacheTable.LAST_ACCESSED_AT)
+            .from(FetchAccountBalanceCacheTable)
+            .where(FetchAccountBalanceCacheTable.ID.eq(id))
+            .fetchOne(FetchAccountBalanceCacheTable.LAST_ACCESSED_AT)
+
+        verify("last access time is not updated within access resolution") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP + 30.minutes)
+
+            expectThat(getCached())
+                .isEqualTo(ACCOUNT_BALANCE)
+            expectThat(lastAccessedAt())
+                .isEqualTo(TestData.TIMESTAMP)
+        }
+
+        verify("last access time is updated after access resolution has passed") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP + 1.days)
+
+            expectThat(getCached())
+                .isEqualTo(ACCOUNT_BALANCE)
+            expectThat(lastAccessedAt())
+                .isEqualTo(TestData.TIMESTAMP + 1.days)
+        }
+    }
+
+    @Test
+    fun mustTouchCachedReadonlyFunctionCallOnlyAfterAccessResolutionHasPassed() {
+        val id = FetchReadonlyCallCacheId(UUID.randomUUID())
+        val functionData = FunctionData("abcd")
+
+        suppose("callReadonlyFunction call will be cached") {
+            repository.cacheReadonlyFunctionCall(
+                id = id,
+                chainSpec = CHAIN_SPEC,
+                contractAddress = CONTRACT_ADDRESS,
+                callerAddress = ACCOUNT_BALANCE.wallet,
+                functionData = functionData,
+                blockNumber = BLOCK_NUMBER,
+                rawReturnValue = "0x" + "0".repeat(63) + "1"
+            )
+        }
+
+        fun touch() = repository.touchReadonlyFunctionCall(
+            chainSpec = CHAIN_SPEC,
+            contractAddress = CONTRACT_ADDRESS,
+            callerAddress = ACCOUNT_BALANCE.wallet,
+            functionData = functionData,
+            blockNumber = BLOCK_NUMBER
+        )
+
+        fun lastAccessedAt() = dslContext.select(FetchReadonlyCallCacheTable.LAST_ACCESSED_AT)
+            .from(FetchReadonlyCallCacheTable)
+            .where(FetchReadonlyCallCacheTable.ID.eq(id))
+            .fetchOne(FetchReadonlyCallCacheTable.LAST_ACCESSED_AT)
+
+        verify("last access time is not updated within access resolution") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP + 30.minutes)
+
+            touch()
+
+            expectThat(lastAccessedAt())
+                .isEqualTo(TestData.TIMESTAMP)
+        }
+
+        verify("last access time is updated after access resolution has passed") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP + 1.days)
+
+            touch()
+
+            expectThat(lastAccessedAt())
+                .isEqualTo(TestData.TIMESTAMP + 1.days)
+        }
+    }
 }
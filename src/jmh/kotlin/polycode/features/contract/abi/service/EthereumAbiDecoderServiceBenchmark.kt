@@ -0,0 +1,65 @@
+package polycode.features.contract.abi.service
+
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.web3j.abi.FunctionEncoder
+import org.web3j.abi.datatypes.Address
+import org.web3j.abi.datatypes.DynamicArray
+import org.web3j.abi.datatypes.DynamicStruct
+import org.web3j.abi.datatypes.Utf8String
+import org.web3j.abi.datatypes.generated.Uint256
+import polycode.features.contract.abi.model.AbiType
+import polycode.features.contract.abi.model.AddressType
+import polycode.features.contract.abi.model.DynamicArrayType
+import polycode.features.contract.abi.model.StringType
+import polycode.features.contract.abi.model.TupleType
+import polycode.features.contract.abi.model.UintType
+import java.math.BigInteger
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class EthereumAbiDecoderServiceBenchmark {
+
+    companion object {
+        private val EVENT_LOG_TYPES: List<AbiType> = listOf(
+            UintType,
+            DynamicArrayType(TupleType(AddressType, UintType, StringType))
+        )
+    }
+
+    @Param("10", "100", "1000")
+    @JvmField
+    var entries: Int = 0
+
+    private val service = EthereumAbiDecoderService()
+    private lateinit var encodedEventLog: String
+
+    @Setup
+    fun setUp() {
+        val elements = List(entries) {
+            DynamicStruct(
+                Address(BigInteger.valueOf(it.toLong() + 1L)),
+                Uint256(BigInteger.TEN.pow(18) * BigInteger.valueOf(it.toLong())),
+                Utf8String("event log entry $it with some longer description text")
+            )
+        }
+
+        encodedEventLog = FunctionEncoder.encodeConstructor(
+            listOf(
+                Uint256(BigInteger.valueOf(entries.toLong())),
+                DynamicArray(DynamicStruct::class.java, elements)
+            )
+        )
+    }
+
+    @Benchmark
+    fun decodeLargeEventLog(): List<Any> = service.decode(EVENT_LOG_TYPES, encodedEventLog)
+}
@@ -0,0 +1,174 @@
+package polycode.features.contract.deployment
+
+import polycode.features.contract.deployment.model.json.AbiInputOutput
+import polycode.features.contract.deployment.model.json.AbiObject
+import polycode.features.contract.deployment.model.json.ArtifactJson
+import polycode.features.contract.deployment.model.json.ConstructorDecorator
+import polycode.features.contract.deployment.model.json.EventDecorator
+import polycode.features.contract.deployment.model.json.EventTypeDecorator
+import polycode.features.contract.deployment.model.json.FunctionDecorator
+import polycode.features.contract.deployment.model.json.InterfaceManifestJson
+import polycode.features.contract.deployment.model.json.ManifestJson
+import polycode.features.contract.deployment.model.json.ReturnTypeDecorator
+import polycode.features.contract.deployment.model.json.TypeDecorator
+import polycode.features.contract.deployment.model.result.ContractDecorator
+import polycode.util.ContractId
+import polycode.util.InterfaceId
+
+object ContractDecoratorFixtures {
+
+    const val INTERFACE_COUNT = 20
+    const val TAG_COUNT = 50
+
+    private const val TUPLE_SIGNATURE = "tuple(address,uint256,string)[],uint256"
+
+    private val TUPLE_INPUT = AbiInputOutput(
+        components = listOf(
+            abiInput("owner", "address"),
+            abiInput("amount", "uint256"),
+            abiInput("metadata", "string")
+        ),
+        internalType = "struct Position",
+        name = "position",
+        type = "tuple[]",
+        indexed = null
+    )
+
+    fun interfaceId(index: Int) = InterfaceId("interface.$index")
+
+    fun tag(index: Int) = "tag.$index"
+
+    fun interfaceManifest(index: Int, functions: Int) = InterfaceManifestJson(
+        name = "Interface $index",
+        description = "Interface $index description",
+        tags = setOf(tag(index % TAG_COUNT)),
+        eventDecorators = emptyList(),
+        functionDecorators = List(functions) { functionDecorator("interfaceFunction${index}_$it") }
+    )
+
+    fun artifact(functions: Int, events: Int) = ArtifactJson(
+        contractName = "BenchmarkContract",
+        sourceName = "BenchmarkContract.sol",
+        abi = listOf(functionAbi(null).copy(type = "constructor", outputs = null)) +
+            List(functions) { functionAbi("function$it") } +
+            List(INTERFACE_COUNT * functions) { functionAbi("interfaceFunction${it / functions}_${it % functions}") } +
+            List(events) { eventAbi("Event$it") },
+        bytecode = "60806040",
+        deployedBytecode = "60806040",
+        linkReferences = null,
+        deployedLinkReferences = null
+    )
+
+    fun manifest(index: Int, functions: Int, events: Int, interfaces: Int) = ManifestJson(
+        name = "Benchmark contract $index",
+        description = "Benchmark contract $index description",
+        tags = setOf(tag(index % TAG_COUNT), tag((index + 1) % TAG_COUNT)),
+        implements = List(interfaces) { interfaceId((index + it) % INTERFACE_COUNT).value }.toSet(),
+        eventDecorators = List(events) { eventDecorator("Event$it") },
+        constructorDecorators = listOf(
+            ConstructorDecorator(
+                signature = "constructor($TUPLE_SIGNATURE)",
+                description = "Constructor",
+                parameterDecorators = listOf(tupleTypeDecorator(), typeDecorator("Deadline", "uint256"))
+            )
+        ),
+        functionDecorators = List(functions) { functionDecorator("function$it") }
+    )
+
+    fun decorator(index: Int, artifact: ArtifactJson, manifest: ManifestJson) = ContractDecorator(
+        id = ContractId("benchmark.contract.$index"),
+        artifact = artifact,
+        manifest = manifest,
+        imported = false,
+        interfacesProvider = null
+    )
+
+    private fun abiInput(name: String, type: String) = AbiInputOutput(
+        components = null,
+        internalType = type,
+        name = name,
+        type = type,
+        indexed = null
+    )
+
+    private fun functionAbi(name: String?) = AbiObject(
+        anonymous = null,
+        inputs = listOf(TUPLE_INPUT, abiInput("deadline", "uint256")),
+        outputs = listOf(abiInput("result", "bool")),
+        stateMutability = "nonpayable",
+        name = name,
+        type = "function"
+    )
+
+    private fun eventAbi(name: String) = AbiObject(
+        anonymous = false,
+        inputs = listOf(abiInput("from", "address").copy(indexed = true), abiInput("value", "uint256")),
+        outputs = null,
+        stateMutability = null,
+        name = name,
+        type = "event"
+    )
+
+    private fun typeDecorator(name: String, type: String) = TypeDecorator(
+        name = name,
+        description = "$name description",
+        recommendedTypes = listOf(type),
+        parameters = null,
+        hints = null
+    )
+
+    private fun tupleTypeDecorator() = TypeDecorator(
+        name = "Positions",
+        description = "Positions description",
+        recommendedTypes = emptyList(),
+        parameters = listOf(
+            typeDecorator("Owner", "address"),
+            typeDecorator("Amount", "uint256"),
+            typeDecorator("Metadata", "string")
+        ),
+        hints = null
+    )
+
+    private fun functionDecorator(name: String) = FunctionDecorator(
+        signature = "$name($TUPLE_SIGNATURE)",
+        name = name,
+        description = "$name description",
+        parameterDecorators = listOf(tupleTypeDecorator(), typeDecorator("Deadline", "uint256")),
+        returnDecorators = listOf(
+            ReturnTypeDecorator(
+                name = "Result",
+                description = "Result description",
+                solidityType = "bool",
+                recommendedTypes = emptyList(),
+                parameters = null,
+                hints = null
+            )
+        ),
+        emittableEvents = emptyList(),
+        readOnly = false
+    )
+
+    private fun eventDecorator(name: String) = EventDecorator(
+        signature = "$name(address,uint256)",
+        name = name,
+        description = "$name description",
+        parameterDecorators = listOf(
+            EventTypeDecorator(
+                name = "From",
+                description = "From description",
+                indexed = true,
+                recommendedTypes = emptyList(),
+                parameters = null,
+                hints = null
+            ),
+            EventTypeDecorator(
+                name = "Value",
+                description = "Value description",
+                indexed = false,
+                recommendedTypes = emptyList(),
+                parameters = null,
+                hints = null
+            )
+        )
+    )
+}
@@ -0,0 +1,65 @@
+package polycode.features.contract.deployment.model.result
+
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import polycode.features.contract.deployment.ContractDecoratorFixtures
+import polycode.features.contract.deployment.model.json.ArtifactJson
+import polycode.features.contract.deployment.model.json.InterfaceManifestJson
+import polycode.features.contract.deployment.model.json.ManifestJson
+import polycode.util.ContractId
+import polycode.util.InterfaceId
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class ContractDecoratorBenchmark {
+
+    companion object {
+        private const val EVENTS = 20
+        private const val INTERFACES = 5
+    }
+
+    @Param("10", "100")
+    @JvmField
+    var functions: Int = 0
+
+    private lateinit var artifact: ArtifactJson
+    private lateinit var manifest: ManifestJson
+    private lateinit var interfaces: Map<InterfaceId, InterfaceManifestJson>
+
+    @Setup
+    fun setUp() {
+        artifact = ContractDecoratorFixtures.artifact(functions, EVENTS)
+        manifest = ContractDecoratorFixtures.manifest(0, functions, EVENTS, INTERFACES)
+        interfaces = (0 until ContractDecoratorFixtures.INTERFACE_COUNT).associate {
+            Pair(ContractDecoratorFixtures.interfaceId(it), ContractDecoratorFixtures.interfaceManifest(it, functions))
+        }
+    }
+
+    @Benchmark
+    fun decorateContract(): ContractDecorator =
+        ContractDecorator(
+            id = ContractId("benchmark.contract"),
+            artifact = artifact,
+            manifest = manifest,
+            imported = false,
+            interfacesProvider = interfaces::get
+        )
+
+    @Benchmark
+    fun decorateImportedContract(): ContractDecorator =
+        ContractDecorator(
+            id = ContractId("benchmark.contract"),
+            artifact = artifact,
+            manifest = manifest,
+            imported = true,
+            interfacesProvider = interfaces::get
+        )
+}
@@ -0,0 +1,74 @@
+package polycode.features.contract.deployment.repository
+
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import polycode.features.contract.deployment.ContractDecoratorFixtures
+import polycode.features.contract.deployment.model.filters.ContractDecoratorFilters
+import polycode.features.contract.deployment.model.result.ContractDecorator
+import polycode.model.filters.AndList
+import polycode.model.filters.OrList
+import polycode.util.ContractTag
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class InMemoryContractDecoratorRepositoryBenchmark {
+
+    companion object {
+        private const val FUNCTIONS = 5
+        private const val EVENTS = 5
+        private const val INTERFACES = 3
+        private val NO_FILTERS = ContractDecoratorFilters(
+            contractTags = OrList(),
+            contractImplements = OrList()
+        )
+        private val TAG_FILTERS = ContractDecoratorFilters(
+            contractTags = OrList(
+                AndList(ContractTag(ContractDecoratorFixtures.tag(1))),
+                AndList(ContractTag(ContractDecoratorFixtures.tag(2)), ContractTag(ContractDecoratorFixtures.tag(3)))
+            ),
+            contractImplements = OrList()
+        )
+        private val TAG_AND_INTERFACE_FILTERS = ContractDecoratorFilters(
+            contractTags = OrList(AndList(ContractTag(ContractDecoratorFixtures.tag(1)))),
+            contractImplements = OrList(AndList(ContractDecoratorFixtures.interfaceId(2)))
+        )
+    }
+
+    @Param("1000", "10000")
+    @JvmField
+    var decorators: Int = 0
+
+    private val repository = InMemoryContractDecoratorRepository()
+
+    @Setup
+    fun setUp() {
+        val artifact = ContractDecoratorFixtures.artifact(FUNCTIONS, EVENTS)
+
+        repeat(decorators) {
+            repository.store(
+                ContractDecoratorFixtures.decorator(
+                    index = it,
+                    artifact = artifact,
+                    manifest = ContractDecoratorFixtures.manifest(it, FUNCTIONS, EVENTS, INTERFACES)
+                )
+            )
+        }
+    }
+
+    @Benchmark
+    fun getAllWithoutFilters(): List<ContractDecorator> = repository.getAll(NO_FILTERS)
+
+    @Benchmark
+    fun getAllByTags(): List<ContractDecorator> = repository.getAll(TAG_FILTERS)
+
+    @Benchmark
+    fun getAllByTagsAndInterfaces(): List<ContractDecorator> = repository.getAll(TAG_AND_INTERFACE_FILTERS)
+}
@@ -0,0 +1,127 @@
+package polycode.features.payout.repository
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres
+import mu.KLogging
+import org.flywaydb.core.Flyway
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.jooq.Table
+import org.jooq.impl.DSL
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import polycode.features.payout.util.HashFunction
+import polycode.features.payout.util.MerkleTree
+import polycode.features.payout.util.PayoutAccountBalance
+import polycode.generated.jooq.id.MerkleTreeRootId
+import polycode.generated.jooq.tables.MerkleTreeLeafNodeTable
+import polycode.generated.jooq.tables.MerkleTreeRootTable
+import polycode.service.CurrentUtcDateTimeProvider
+import polycode.service.RandomUuidProvider
+import polycode.service.TimeOrderedUuidProvider
+import polycode.util.Balance
+import polycode.util.BlockNumber
+import polycode.util.ChainId
+import polycode.util.ContractAddress
+import polycode.util.WalletAddress
+import java.math.BigInteger
+import java.util.concurrent.TimeUnit
+
+/**
+ * Compares bulk Merkle leaf inserts with random UUIDs and time-ordered UUIDv7 primary keys. Each invocation stores the
+ * whole tree again, so the leaf table and its primary key index keep growing during the run, which is where the
+ * locality of time-ordered keys shows. Table and index sizes after the fill are logged on teardown, since key locality
+ * also affects index bloat. Runs against an embedded Postgres instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class JooqMerkleTreeRepositoryBenchmark {
+
+    companion object : KLogging() {
+        private const val LEAVES = 10_000
+        private val CHAIN_ID = ChainId(1L)
+        private val ASSET_CONTRACT_ADDRESS = ContractAddress("a")
+    }
+
+    @Param("random", "time-ordered")
+    @JvmField
+    var uuidGenerator: String = ""
+
+    private lateinit var postgres: EmbeddedPostgres
+    private lateinit var dslContext: DSLContext
+    private lateinit var repository: JooqMerkleTreeRepository
+    private lateinit var tree: MerkleTree
+    private var blockNumber = 0L
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        postgres = EmbeddedPostgres.builder().start()
+
+        Flyway.configure()
+            .dataSource(postgres.postgresDatabase)
+            .createSchemas(true)
+            .schemas("polycode")
+            .defaultSchema("polycode")
+            .locations("classpath:db/polycode-migration")
+            .load()
+            .migrate()
+
+        val uuidProvider = if (uuidGenerator == "time-ordered") {
+            TimeOrderedUuidProvider(CurrentUtcDateTimeProvider())
+        } else {
+            RandomUuidProvider()
+        }
+
+        dslContext = DSL.using(postgres.postgresDatabase, SQLDialect.POSTGRES)
+        repository = JooqMerkleTreeRepository(dslContext, uuidProvider)
+        tree = MerkleTree(
+            List(LEAVES) {
+                PayoutAccountBalance(
+                    address = WalletAddress(BigInteger.valueOf(it.toLong() + 1L).toString(16)),
+                    balance = Balance(BigInteger.valueOf(it.toLong() * 1_000L + 1L))
+                )
+            },
+            HashFunction.KECCAK_256
+        )
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        logTableSizes(MerkleTreeLeafNodeTable)
+        logTableSizes(MerkleTreeRootTable)
+        postgres.close()
+    }
+
+    @Benchmark
+    fun storeTree(): MerkleTreeRootId {
+        blockNumber += 1L
+
+        return repository.storeTree(
+            tree = tree,
+            chainId = CHAIN_ID,
+            assetContractAddress = ASSET_CONTRACT_ADDRESS,
+            blockNumber = BlockNumber(BigInteger.valueOf(blockNumber))
+        )
+    }
+
+    private fun logTableSizes(table: Table<*>) {
+        val sizes = dslContext.resultQuery(
+            "SELECT pg_catalog.pg_relation_size({0}::REGCLASS), pg_catalog.pg_indexes_size({0}::REGCLASS)",
+            DSL.value(table.qualifiedName.toString())
+        ).fetchOne()
+
+        logger.info {
+            "Table sizes after fill, uuidGenerator: $uuidGenerator, table: ${table.name}," +
+                " relationSizeBytes: ${sizes?.get(0, Long::class.java)}," +
+                " indexesSizeBytes: ${sizes?.get(1, Long::class.java)}"
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package polycode.features.payout.util
+
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import polycode.util.Balance
+import polycode.util.WalletAddress
+import java.math.BigInteger
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class MerkleTreeBenchmark {
+
+    @Param("1000", "100000")
+    @JvmField
+    var leaves: Int = 0
+
+    private lateinit var balances: List<PayoutAccountBalance>
+    private lateinit var tree: MerkleTree
+    private var index = 0
+
+    @Setup
+    fun setUp() {
+        balances = List(leaves) {
+            PayoutAccountBalance(
+                address = WalletAddress(BigInteger.valueOf(it.toLong() + 1L).toString(16)),
+                balance = Balance(BigInteger.valueOf(it.toLong() * 1_000L + 1L))
+            )
+        }
+        tree = MerkleTree(balances, HashFunction.KECCAK_256)
+    }
+
+    @Benchmark
+    fun buildTree(): MerkleTree = MerkleTree(balances, HashFunction.KECCAK_256)
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    fun pathToLeaf(): List<MerkleTree.Companion.PathSegment>? {
+        index = (index + 1) % leaves
+        return tree.pathTo(balances[index])
+    }
+}
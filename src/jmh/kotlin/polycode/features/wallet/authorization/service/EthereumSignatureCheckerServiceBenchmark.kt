@@ -0,0 +1,38 @@
+package polycode.features.wallet.authorization.service
+
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import polycode.util.SignedMessage
+import polycode.util.WalletAddress
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class EthereumSignatureCheckerServiceBenchmark {
+
+    companion object {
+        private const val MESSAGE = "Verification message ID to sign: 7d86b0ac-a9a6-40fc-ac6d-2a29ca687f73"
+        private val SIGNER = WalletAddress("0x865f603F42ca1231e5B5F90e15663b0FE19F0b21")
+        private val SIGNATURE = SignedMessage(
+            "0xfc90c8aa9f2164234b8826144d8ecfc287b5d7c168d0e9d284baf76dbef55c4c5761cf46e34b7cdb72cc97f1fb1c19f315ee7a" +
+                "430dd6111fa6c693b41c96c5501c"
+        )
+        private val OTHER_SIGNATURE = SignedMessage(
+            "0x653d99ce15acbfe1cb0c967ecac59781a6d5192b2c50d3ae89c8fdc14c60e37e24704719abb1d34572335861ff48d0d22adaf5" +
+                "145339de09afc8820d82fba77b1b"
+        )
+    }
+
+    private val service = EthereumSignatureCheckerService()
+
+    @Benchmark
+    fun matchingSignature(): Boolean = service.signatureMatches(MESSAGE, SIGNATURE, SIGNER)
+
+    @Benchmark
+    fun mismatchingSignature(): Boolean = service.signatureMatches(MESSAGE, OTHER_SIGNATURE, SIGNER)
+}
@@ -0,0 +1,75 @@
+package polycode.util.json
+
+import com.fasterxml.jackson.databind.ObjectReader
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import polycode.config.JsonConfig
+import polycode.features.functions.encoding.model.FunctionArgument
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class FunctionArgumentJsonDeserializerBenchmark {
+
+    companion object {
+        private const val TUPLE_ARRAY_WIDTH = 3
+        private const val UINT_ARRAY_SIZE = 100
+        private const val ADDRESS_ARRAY_SIZE = 1_000
+        private const val ADDRESS_LENGTH = 40
+        private const val HEX_RADIX = 16
+    }
+
+    @Param("1", "3", "5")
+    @JvmField
+    var depth: Int = 0
+
+    private val reader: ObjectReader = JsonConfig().objectMapper().readerForListOf(FunctionArgument::class.java)
+    private lateinit var json: String
+    private lateinit var addressArrayJson: String
+
+    @Setup
+    fun setUp() {
+        val uintArray = List(UINT_ARRAY_SIZE) { it }.joinToString(prefix = "[", separator = ",", postfix = "]")
+
+        json = listOf(
+            "{\"type\":\"address\",\"value\":\"0x865f603f42ca1231e5b5f90e15663b0fe19f0b21\"}",
+            "{\"type\":\"uint256[]\",\"value\":$uintArray}",
+            "{\"type\":\"tuple\",\"value\":${tupleValue(depth)}}"
+        ).joinToString(prefix = "[", separator = ",", postfix = "]")
+
+        val addressArray = List(ADDRESS_ARRAY_SIZE) { "\"0x${it.toString(HEX_RADIX).padStart(ADDRESS_LENGTH, '0')}\"" }
+            .joinToString(prefix = "[", separator = ",", postfix = "]")
+
+        addressArrayJson = "[{\"type\":\"address[]\",\"value\":$addressArray}]"
+    }
+
+    @Benchmark
+    fun deserializeNestedTupleArguments(): List<FunctionArgument> = reader.readValue(json)
+
+    @Benchmark
+    fun deserializeLargeAddressArrayArgument(): List<FunctionArgument> = reader.readValue(addressArrayJson)
+
+    private fun tupleValue(depth: Int): String {
+        val elements = listOf(
+            "{\"type\":\"address\",\"value\":\"0x0000000000000000000000000000000000000${depth}ab\"}",
+            "{\"type\":\"uint256\",\"value\":$depth}",
+            "{\"type\":\"string\",\"value\":\"nested tuple at depth $depth\"}",
+            "{\"type\":\"bool\",\"value\":true}"
+        )
+        val nested = if (depth > 0) {
+            val children = List(TUPLE_ARRAY_WIDTH) { tupleValue(depth - 1) }.joinToString(separator = ",")
+            listOf("{\"type\":\"tuple[]\",\"value\":[$children]}")
+        } else {
+            emptyList()
+        }
+
+        return (elements + nested).joinToString(prefix = "[", separator = ",", postfix = "]")
+    }
+}
@@ -0,0 +1,265 @@
+package polycode.loadtest
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.node.ArrayNode
+import com.fasterxml.jackson.databind.node.ObjectNode
+import com.github.tomakehurst.wiremock.WireMockServer
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder
+import com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import com.github.tomakehurst.wiremock.client.WireMock.anyUrl
+import com.github.tomakehurst.wiremock.client.WireMock.post
+import com.github.tomakehurst.wiremock.common.FileSource
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration
+import com.github.tomakehurst.wiremock.extension.Parameters
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer
+import com.github.tomakehurst.wiremock.http.Request
+import com.github.tomakehurst.wiremock.http.ResponseDefinition
+import org.web3j.crypto.Hash
+import java.math.BigInteger
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Programmable JSON-RPC node stand-in which answers the calls made by the application with synthetic, but
+ * well-formed responses. Latency, node errors and "log response size exceeded" failures can be injected per RPC
+ * method, which makes it possible to reproduce production latency behaviour without Hardhat or a real RPC node.
+ */
+class JsonRpcStandIn(private val chainId: Long) {
+
+    companion object {
+        private const val TRANSFORMER_NAME = "json-rpc-stand-in"
+        private const val HEX_RADIX = 16
+        private const val VALUE_LENGTH = 64
+        private const val START_BLOCK = 1_000_000L
+        private const val GENESIS_TIMESTAMP = 1_600_000_000L
+        private const val NODE_ERROR_CODE = -32000
+        private const val LIMIT_EXCEEDED_CODE = -32005
+        private const val METHOD_NOT_FOUND_CODE = -32601
+        private const val HTTP_OK = 200
+        private const val HTTP_SERVICE_UNAVAILABLE = 503
+        private const val ZERO_ADDRESS = "0x0000000000000000000000000000000000000000"
+        private val ZERO_HASH = "0x" + "0".repeat(VALUE_LENGTH)
+        private val TRANSFER_TOPIC = Hash.sha3String("Transfer(address,address,uint256)")
+        private val TOKEN_AMOUNT = BigInteger.TEN.pow(18)
+        const val LOG_RESPONSE_SIZE_EXCEEDED_MESSAGE = "Log response size exceeded. You can make eth_getLogs " +
+            "requests with up to a 2K block range and no limit on the response size, or you can request any block " +
+            "range with a cap of 10K logs in the response."
+    }
+
+    data class Behaviour(
+        val latency: Duration = Duration.ZERO,
+        val latencyJitter: Duration = Duration.ZERO,
+        val errorRate: Double = 0.0,
+        val httpErrorRate: Double = 0.0,
+        val logResponseSizeExceededRate: Double = 0.0
+    )
+
+    private class JsonRpcException(val code: Int, override val message: String) : RuntimeException(message)
+
+    private val objectMapper = ObjectMapper()
+    private val handlers = ConcurrentHashMap<String, (JsonNode) -> Any?>()
+    private val behaviours = ConcurrentHashMap<String, Behaviour>()
+    private val callCounts = ConcurrentHashMap<String, LongAdder>()
+    private val startedAt = System.nanoTime()
+
+    @Volatile
+    var defaultBehaviour = Behaviour()
+
+    @Volatile
+    var blockTime: Duration = Duration.ofSeconds(2L)
+
+    @Volatile
+    var transferLogsPerQuery = 50
+
+    val server = WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort().extensions(Transformer()))
+
+    val port: Int
+        get() = server.port()
+
+    init {
+        registerDefaultHandlers()
+    }
+
+    fun start() {
+        server.start()
+        server.stubFor(post(anyUrl()).willReturn(aResponse().withTransformers(TRANSFORMER_NAME)))
+    }
+
+    fun stop() = server.stop()
+
+    fun handle(method: String, handler: (JsonNode) -> Any?) {
+        handlers[method] = handler
+    }
+
+    fun behaviour(method: String, behaviour: Behaviour) {
+        behaviours[method] = behaviour
+    }
+
+    fun reset() {
+        behaviours.clear()
+        callCounts.clear()
+        handlers.clear()
+        defaultBehaviour = Behaviour()
+        registerDefaultHandlers()
+    }
+
+    fun callCounts(): Map<String, Long> = callCounts.mapValues { it.value.sum() }.toSortedMap()
+
+    fun headBlockNumber(): BigInteger {
+        val elapsed = Duration.ofNanos(System.nanoTime() - startedAt)
+        return BigInteger.valueOf(START_BLOCK + elapsed.toMillis() / blockTime.toMillis())
+    }
+
+    private fun registerDefaultHandlers() {
+        handle("eth_chainId") { chainId.toHex() }
+        handle("net_version") { chainId.toString() }
+        handle("eth_blockNumber") { headBlockNumber().toHex() }
+        handle("eth_getBlockByNumber") { block(it[0].asBlockNumber()) }
+        handle("eth_gasPrice") { BigInteger.valueOf(1_000_000_000L).toHex() }
+        handle("eth_maxPriorityFeePerGas") { BigInteger.valueOf(1_000_000_000L).toHex() }
+        handle("eth_estimateGas") { BigInteger.valueOf(21_000L).toHex() }
+        handle("eth_getTransactionCount") { BigInteger.ZERO.toHex() }
+        handle("eth_getBalance") { TOKEN_AMOUNT.toHex() }
+        handle("eth_getCode") { "0x6080604052" }
+        handle("eth_getStorageAt") { ZERO_HASH }
+        handle("eth_call") { "0x" + TOKEN_AMOUNT.toString(HEX_RADIX).padStart(VALUE_LENGTH, '0') }
+        handle("eth_getTransactionByHash") { null }
+        handle("eth_getTransactionReceipt") { null }
+        handle("eth_getLogs") { transferLogs(it[0]) }
+    }
+
+    private fun processRequest(body: JsonNode): Pair<JsonNode, Long> =
+        if (body is ArrayNode) {
+            val responses = body.map { processCall(it) }
+            Pair(objectMapper.createArrayNode().addAll(responses.map { it.first }), responses.maxOf { it.second })
+        } else {
+            processCall(body)
+        }
+
+    private fun processCall(call: JsonNode): Pair<JsonNode, Long> {
+        val method = call["method"]?.asText().orEmpty()
+        val behaviour = behaviours[method] ?: defaultBehaviour
+        val random = ThreadLocalRandom.current()
+        val response = objectMapper.createObjectNode()
+            .put("jsonrpc", "2.0")
+            .set<ObjectNode>("id", call["id"])
+
+        callCounts.computeIfAbsent(method) { LongAdder() }.increment()
+
+        try {
+            if (method == "eth_getLogs" && random.nextDouble() < behaviour.logResponseSizeExceededRate) {
+                throw JsonRpcException(LIMIT_EXCEEDED_CODE, LOG_RESPONSE_SIZE_EXCEEDED_MESSAGE)
+            }
+
+            if (random.nextDouble() < behaviour.errorRate) {
+                throw JsonRpcException(NODE_ERROR_CODE, "injected node error")
+            }
+
+            val handler = handlers[method]
+                ?: throw JsonRpcException(METHOD_NOT_FOUND_CODE, "the method $method does not exist/is not available")
+
+            response.set<ObjectNode>("result", objectMapper.valueToTree(handler(call["params"])))
+        } catch (e: JsonRpcException) {
+            response.set<ObjectNode>(
+                "error",
+                objectMapper.createObjectNode()
+                    .put("code", e.code)
+                    .put("message", e.message)
+            )
+        }
+
+        val jitter = behaviour.latencyJitter.toMillis().takeIf { it > 0L }?.let { random.nextLong(it) } ?: 0L
+
+        return Pair(response, behaviour.latency.toMillis() + jitter)
+    }
+
+    private fun block(number: BigInteger) = mapOf(
+        "number" to number.toHex(),
+        "hash" to hash("block", number),
+        "parentHash" to hash("block", number - BigInteger.ONE),
+        "nonce" to "0x0000000000000000",
+        "sha3Uncles" to ZERO_HASH,
+        "logsBloom" to "0x" + "0".repeat(VALUE_LENGTH * 8),
+        "transactionsRoot" to ZERO_HASH,
+        "stateRoot" to ZERO_HASH,
+        "receiptsRoot" to ZERO_HASH,
+        "miner" to ZERO_ADDRESS,
+        "mixHash" to ZERO_HASH,
+        "difficulty" to "0x0",
+        "totalDifficulty" to "0x0",
+        "extraData" to "0x",
+        "size" to "0x0",
+        "gasLimit" to BigInteger.valueOf(30_000_000L).toHex(),
+        "gasUsed" to "0x0",
+        "baseFeePerGas" to BigInteger.valueOf(1_000_000_000L).toHex(),
+        "timestamp" to (BigInteger.valueOf(GENESIS_TIMESTAMP) + number * BigInteger.valueOf(blockTime.seconds)).toHex(),
+        "transactions" to emptyList<Any>(),
+        "uncles" to emptyList<Any>()
+    )
+
+    private fun transferLogs(filter: JsonNode): List<Map<String, Any>> {
+        val address = filter["address"]?.let { if (it.isArray) it[0] else it }?.asText() ?: ZERO_ADDRESS
+        val blockNumber = filter["fromBlock"]?.asBlockNumber() ?: headBlockNumber()
+
+        return List(transferLogsPerQuery) {
+            val holder = BigInteger.valueOf(it.toLong() + 1L).toString(HEX_RADIX).padStart(VALUE_LENGTH, '0')
+
+            mapOf(
+                "address" to address,
+                "topics" to listOf(TRANSFER_TOPIC, ZERO_HASH, "0x$holder"),
+                "data" to "0x" + TOKEN_AMOUNT.toString(HEX_RADIX).padStart(VALUE_LENGTH, '0'),
+                "blockNumber" to blockNumber.toHex(),
+                "blockHash" to hash("block", blockNumber),
+                "transactionHash" to hash("tx", BigInteger.valueOf(it.toLong())),
+                "transactionIndex" to BigInteger.valueOf(it.toLong()).toHex(),
+                "logIndex" to BigInteger.valueOf(it.toLong()).toHex(),
+                "removed" to false
+            )
+        }
+    }
+
+    private fun JsonNode.asBlockNumber(): BigInteger =
+        when (val value = asText()) {
+            "latest", "pending", "safe", "finalized", "" -> headBlockNumber()
+            "earliest" -> BigInteger.ZERO
+            else -> BigInteger(value.removePrefix("0x"), HEX_RADIX)
+        }
+
+    private fun hash(prefix: String, number: BigInteger) = Hash.sha3String("$prefix-$number")
+
+    private fun Long.toHex() = BigInteger.valueOf(this).toHex()
+
+    private fun BigInteger.toHex() = "0x" + toString(HEX_RADIX)
+
+    private inner class Transformer : ResponseDefinitionTransformer() {
+
+        override fun getName(): String = TRANSFORMER_NAME
+
+        override fun applyGlobally(): Boolean = false
+
+        override fun transform(
+            request: Request,
+            responseDefinition: ResponseDefinition,
+            files: FileSource,
+            parameters: Parameters
+        ): ResponseDefinition {
+            val body = objectMapper.readTree(request.bodyAsString)
+            val (response, delay) = processRequest(body)
+            val httpError = ThreadLocalRandom.current().nextDouble() < defaultBehaviour.httpErrorRate ||
+                body.methods().any { ThreadLocalRandom.current().nextDouble() < (behaviours[it]?.httpErrorRate ?: 0.0) }
+
+            return ResponseDefinitionBuilder.like(responseDefinition).but()
+                .withStatus(if (httpError) HTTP_SERVICE_UNAVAILABLE else HTTP_OK)
+                .withHeader("Content-Type", "application/json")
+                .withBody(if (httpError) "{\"error\":\"injected service unavailable\"}" else response.toString())
+                .withFixedDelay(delay.toInt())
+                .build()
+        }
+
+        private fun JsonNode.methods(): List<String> =
+            if (this is ArrayNode) mapNotNull { it["method"]?.asText() } else listOfNotNull(this["method"]?.asText())
+    }
+}
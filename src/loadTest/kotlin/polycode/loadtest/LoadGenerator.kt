@@ -0,0 +1,144 @@
+package polycode.loadtest
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import mu.KLogging
+import polycode.config.CustomHeaders
+import java.net.URI
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * HTTP client which records latency of each request under the provided endpoint name, so that requests with
+ * different path variables are grouped into the same endpoint in the report.
+ */
+class LoadTestClient(
+    private val baseUrl: String,
+    private val apiKey: String,
+    private val recorder: LatencyRecorder
+) {
+
+    companion object {
+        private val REQUEST_TIMEOUT = Duration.ofSeconds(30L)
+        private const val HTTP_BAD_REQUEST = 400
+    }
+
+    private val objectMapper = ObjectMapper()
+    private val httpClient = HttpClient.newBuilder()
+        .connectTimeout(REQUEST_TIMEOUT)
+        .build()
+
+    fun get(endpoint: String, path: String): JsonNode? =
+        send(endpoint, request(path).GET().build())
+
+    fun post(endpoint: String, path: String, body: String): JsonNode? =
+        send(
+            endpoint,
+            request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build()
+        )
+
+    private fun request(path: String) = HttpRequest.newBuilder(URI.create("$baseUrl$path"))
+        .header(CustomHeaders.API_KEY_HEADER, apiKey)
+        .timeout(REQUEST_TIMEOUT)
+
+    @Suppress("TooGenericExceptionCaught")
+    private fun send(endpoint: String, request: HttpRequest): JsonNode? {
+        val start = System.nanoTime()
+
+        return try {
+            val response = httpClient.send(request, HttpResponse.BodyHandlers.ofString())
+            val success = response.statusCode() < HTTP_BAD_REQUEST
+
+            recorder.record(endpoint, Duration.ofNanos(System.nanoTime() - start), success)
+
+            if (success) objectMapper.readTree(response.body()) else null
+        } catch (e: Exception) {
+            recorder.record(endpoint, Duration.ofNanos(System.nanoTime() - start), false)
+            null
+        }
+    }
+}
+
+data class WeightedScenario(val name: String, val weight: Int, val action: (LoadTestClient) -> Unit)
+
+/**
+ * Runs weighted scenarios from the specified number of virtual users for the specified duration. Each virtual user
+ * repeatedly picks a random scenario according to scenario weights and executes it.
+ */
+class LoadGenerator(
+    private val users: Int,
+    private val duration: Duration,
+    private val rampUp: Duration = Duration.ofSeconds(5L)
+) {
+
+    companion object : KLogging()
+
+    private val failedIterations = AtomicInteger()
+
+    fun run(client: LoadTestClient, scenarios: List<WeightedScenario>) {
+        val totalWeight = scenarios.sumOf { it.weight }
+        val executor = Executors.newFixedThreadPool(users)
+        val finished = CountDownLatch(users)
+        val deadline = System.nanoTime() + duration.toNanos()
+
+        logger.info { "Starting load test with $users users for $duration" }
+
+        repeat(users) { user ->
+            executor.execute {
+                try {
+                    Thread.sleep(rampUp.toMillis() * user / users)
+
+                    while (System.nanoTime() < deadline) {
+                        scenarios.pick(ThreadLocalRandom.current().nextInt(totalWeight)).runSafely(client)
+                    }
+                } finally {
+                    finished.countDown()
+                }
+            }
+        }
+
+        finished.await(duration.plus(rampUp).toMillis() * 2L, TimeUnit.MILLISECONDS)
+        executor.shutdownNow()
+
+        if (failedIterations.get() > 0) {
+            logger.warn { "Scenario iterations failed with an exception: ${failedIterations.get()}" }
+        }
+    }
+
+    // exception in a single iteration must not stop the virtual user for the rest of the load test
+    @Suppress("TooGenericExceptionCaught")
+    private fun WeightedScenario.runSafely(client: LoadTestClient) {
+        try {
+            action(client)
+        } catch (e: InterruptedException) {
+            throw e
+        } catch (e: Exception) {
+            logger.debug(e) { "Scenario iteration failed: $name" }
+            failedIterations.incrementAndGet()
+        }
+    }
+
+    private fun List<WeightedScenario>.pick(value: Int): WeightedScenario {
+        var remaining = value
+
+        for (scenario in this) {
+            remaining -= scenario.weight
+
+            if (remaining < 0) {
+                return scenario
+            }
+        }
+
+        return last()
+    }
+}
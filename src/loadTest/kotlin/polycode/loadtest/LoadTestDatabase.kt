@@ -0,0 +1,36 @@
+package polycode.loadtest
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres
+
+/**
+ * Postgres instance used by load tests. By default, an embedded Postgres process is started, so that no Docker is
+ * needed. An already running instance can be used instead by providing its port via `loadTestPostgresPort` system
+ * property; that instance must have a `test` database owned by `test` user with `test` password.
+ */
+object LoadTestDatabase {
+
+    private const val DATABASE = "test"
+
+    val port: Int by lazy {
+        System.getProperty("loadTestPostgresPort")?.toInt() ?: startEmbeddedPostgres()
+    }
+
+    fun init() {
+        System.setProperty("POSTGRES_PORT", port.toString())
+    }
+
+    private fun startEmbeddedPostgres(): Int {
+        val postgres = EmbeddedPostgres.builder().start()
+
+        postgres.postgresDatabase.connection.use { connection ->
+            connection.createStatement().use {
+                it.execute("CREATE ROLE $DATABASE WITH LOGIN SUPERUSER PASSWORD '$DATABASE'")
+                it.execute("CREATE DATABASE $DATABASE OWNER $DATABASE")
+            }
+        }
+
+        Runtime.getRuntime().addShutdownHook(Thread { postgres.close() })
+
+        return postgres.port
+    }
+}
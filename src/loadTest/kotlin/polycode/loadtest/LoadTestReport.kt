@@ -0,0 +1,117 @@
+package polycode.loadtest
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.PropertyNamingStrategies
+import com.fasterxml.jackson.databind.SerializationFeature
+import mu.KLogging
+import java.io.File
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+import kotlin.math.ceil
+
+class LatencyRecorder {
+
+    private class EndpointSamples {
+        val latencies = ArrayList<Long>()
+        val errors = LongAdder()
+    }
+
+    private val samples = ConcurrentHashMap<String, EndpointSamples>()
+
+    fun record(endpoint: String, latency: Duration, success: Boolean) {
+        val endpointSamples = samples.computeIfAbsent(endpoint) { EndpointSamples() }
+
+        synchronized(endpointSamples) {
+            endpointSamples.latencies.add(latency.toNanos())
+        }
+
+        if (!success) {
+            endpointSamples.errors.increment()
+        }
+    }
+
+    fun report(duration: Duration, rpcCalls: Map<String, Long>): LoadTestReport {
+        val seconds = duration.toMillis() / 1_000.0
+        val endpoints = samples.toSortedMap().map { (endpoint, endpointSamples) ->
+            val latencies = synchronized(endpointSamples) { endpointSamples.latencies.sorted() }
+
+            EndpointReport(
+                endpoint = endpoint,
+                requests = latencies.size.toLong(),
+                errors = endpointSamples.errors.sum(),
+                throughput = latencies.size / seconds,
+                p50Millis = latencies.percentile(0.50),
+                p90Millis = latencies.percentile(0.90),
+                p99Millis = latencies.percentile(0.99),
+                maxMillis = latencies.percentile(1.0)
+            )
+        }
+
+        return LoadTestReport(
+            durationSeconds = seconds,
+            totalRequests = endpoints.sumOf { it.requests },
+            totalErrors = endpoints.sumOf { it.errors },
+            endpoints = endpoints,
+            rpcCalls = rpcCalls
+        )
+    }
+
+    private fun List<Long>.percentile(percentile: Double): Double =
+        if (isEmpty()) {
+            0.0
+        } else {
+            val index = (ceil(percentile * size).toInt() - 1).coerceIn(0, size - 1)
+            this[index] / 1_000_000.0
+        }
+}
+
+data class EndpointReport(
+    val endpoint: String,
+    val requests: Long,
+    val errors: Long,
+    val throughput: Double,
+    val p50Millis: Double,
+    val p90Millis: Double,
+    val p99Millis: Double,
+    val maxMillis: Double
+)
+
+data class LoadTestReport(
+    val durationSeconds: Double,
+    val totalRequests: Long,
+    val totalErrors: Long,
+    val endpoints: List<EndpointReport>,
+    val rpcCalls: Map<String, Long>
+) {
+    companion object : KLogging() {
+        private val objectMapper = ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .enable(SerializationFeature.INDENT_OUTPUT)
+    }
+
+    fun log() {
+        val header = String.format(
+            "%-44s %9s %7s %9s %9s %9s %9s %9s",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"
+        )
+        val rows = endpoints.map {
+            String.format(
+                "%-44s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                it.endpoint, it.requests, it.errors, it.throughput, it.p50Millis, it.p90Millis, it.p99Millis,
+                it.maxMillis
+            )
+        }
+        val rpc = rpcCalls.map { "  ${it.key}: ${it.value}" }
+
+        logger.info {
+            (listOf("Load test finished in $durationSeconds s, $totalRequests requests, $totalErrors errors", header) +
+                rows + "RPC calls:" + rpc).joinToString("\n")
+        }
+    }
+
+    fun write(directory: File, name: String): File {
+        directory.mkdirs()
+        return File(directory, "$name.json").also { objectMapper.writeValue(it, this) }
+    }
+}
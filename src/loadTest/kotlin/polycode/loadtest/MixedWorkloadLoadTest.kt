@@ -0,0 +1,256 @@
+package polycode.loadtest
+
+import com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import com.github.tomakehurst.wiremock.client.WireMock.post
+import com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo
+import mu.KLogging
+import org.jooq.DSLContext
+import org.junit.jupiter.api.AfterAll
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.boot.test.web.server.LocalServerPort
+import org.springframework.http.MediaType
+import polycode.TestBase
+import polycode.TestData
+import polycode.generated.jooq.enums.UserIdentifierType
+import polycode.generated.jooq.id.ApiKeyId
+import polycode.generated.jooq.id.ProjectId
+import polycode.generated.jooq.id.UserId
+import polycode.generated.jooq.tables.records.ApiKeyRecord
+import polycode.generated.jooq.tables.records.ProjectRecord
+import polycode.generated.jooq.tables.records.UserIdentifierRecord
+import polycode.util.BaseUrl
+import polycode.wiremock.WireMock
+import java.io.File
+import java.math.BigInteger
+import java.time.Duration
+import java.util.UUID
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Mixed workload of status polling, readonly contract calls and asset snapshots against the full application, which
+ * is backed by a Postgres instance and a JSON-RPC node stand-in. Run via: `./gradlew loadTest`.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = [
+        "polycode.api-rate.free-tier-write-requests=1000000000",
+        "polycode.api-rate.free-tier-read-requests=1000000000",
+        "polycode.chain[31337].latest-block-cache-duration=5s",
+        "polycode.create-payout-queue.polling=500",
+        "polycode.create-payout-queue.initial-delay=1000"
+    ]
+)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MixedWorkloadLoadTest : TestBase() {
+
+    companion object : KLogging() {
+        // random values allow repeated runs against the same database
+        private val API_KEY = "load-test-api-key-${UUID.randomUUID()}"
+        private const val BALANCE_REQUESTS = 100
+        private const val CONTRACTS = 20
+        private const val CACHED_BLOCKS = 10
+        private const val SNAPSHOT_POLLS = 10
+        private val SNAPSHOT_POLL_INTERVAL = Duration.ofMillis(500L)
+        private val PROJECT_ID = ProjectId(UUID.randomUUID())
+        private val OWNER_ID = UserId(UUID.randomUUID())
+        private val CALLER_ADDRESS = "0x" + "a".repeat(40)
+
+        private val standIn = JsonRpcStandIn(TestData.CHAIN_ID.value)
+
+        init {
+            LoadTestDatabase.init()
+            standIn.start()
+            System.setProperty("HARDHAT_PORT", standIn.port.toString())
+            System.setProperty("MANIFEST_SERVICE_PORT", standIn.port.toString())
+        }
+    }
+
+    @LocalServerPort
+    private var port: Int = 0
+
+    @Autowired
+    private lateinit var dslContext: DSLContext
+
+    private val balanceRequestIds = CopyOnWriteArrayList<String>()
+    private val skippedStatusPolls = AtomicInteger()
+
+    @BeforeAll
+    fun beforeAll() {
+        WireMock.start()
+
+        dslContext.executeInsert(
+            UserIdentifierRecord(
+                id = OWNER_ID,
+                userIdentifier = "load-test-user-${OWNER_ID.value}",
+                identifierType = UserIdentifierType.ETH_WALLET_ADDRESS
+            )
+        )
+
+        dslContext.executeInsert(
+            ProjectRecord(
+                id = PROJECT_ID,
+                ownerId = OWNER_ID,
+                baseRedirectUrl = BaseUrl("https://example.com/"),
+                chainId = TestData.CHAIN_ID,
+                customRpcUrl = null,
+                createdAt = TestData.TIMESTAMP
+            )
+        )
+
+        dslContext.executeInsert(
+            ApiKeyRecord(
+                id = ApiKeyId(UUID.randomUUID()),
+                projectId = PROJECT_ID,
+                apiKey = API_KEY,
+                createdAt = TestData.TIMESTAMP
+            )
+        )
+
+        WireMock.server.stubFor(
+            post(urlPathEqualTo("/pinning/pinJSONToIPFS"))
+                .willReturn(
+                    aResponse()
+                        .withBody("{\"IpfsHash\":\"load-test-ipfs-hash\",\"PinSize\":1}")
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                )
+        )
+    }
+
+    @AfterAll
+    fun afterAll() {
+        WireMock.stop()
+        standIn.stop()
+    }
+
+    @Test
+    fun mixedWorkload() {
+        // defaults are provided by the Gradle task, so that they are defined in a single place
+        val duration = Duration.parse(requiredProperty("loadTestDuration"))
+        val users = requiredProperty("loadTestUsers").toInt()
+        val recorder = LatencyRecorder()
+        val client = LoadTestClient("http://localhost:$port", API_KEY, recorder)
+
+        suppose("JSON-RPC node has production-like latency and occasionally fails") {
+            standIn.defaultBehaviour = JsonRpcStandIn.Behaviour(
+                latency = Duration.ofMillis(30L),
+                latencyJitter = Duration.ofMillis(70L),
+                errorRate = 0.01
+            )
+            standIn.behaviour(
+                "eth_getLogs",
+                JsonRpcStandIn.Behaviour(
+                    latency = Duration.ofMillis(200L),
+                    latencyJitter = Duration.ofMillis(300L),
+                    logResponseSizeExceededRate = 0.2
+                )
+            )
+        }
+
+        suppose("some balance requests exist") {
+            repeat(BALANCE_REQUESTS) {
+                client.post("POST /v1/balance", "/v1/balance", "{\"asset_type\":\"NATIVE\"}")
+                    ?.get("id")?.asText()?.let { balanceRequestIds.add(it) }
+            }
+        }
+
+        val scenarios = listOf(
+            WeightedScenario("status polling", 50) { statusPoll(it) },
+            WeightedScenario("readonly calls", 40) { readonlyCall(it) },
+            WeightedScenario("asset snapshots", 2) { assetSnapshot(it) }
+        )
+
+        LoadGenerator(users, duration).run(client, scenarios)
+
+        val report = recorder.report(duration, standIn.callCounts())
+        val reportDir = File(requiredProperty("loadTestReportDir"))
+
+        report.log()
+        report.write(reportDir, "mixed-workload")
+        logger.info { "Skipped status polls due to missing balance requests: ${skippedStatusPolls.get()}" }
+
+        verify("load test has executed requests") {
+            expectThat(report.totalRequests)
+                .isPositive()
+            expectThat(balanceRequestIds.isNotEmpty())
+                .isTrue()
+        }
+    }
+
+    private fun statusPoll(client: LoadTestClient) {
+        val id = balanceRequestIds.randomOrNull()
+
+        if (id == null) {
+            skippedStatusPolls.incrementAndGet()
+            return
+        }
+
+        client.get("GET /v1/balance/{id}", "/v1/balance/$id")
+    }
+
+    private fun readonlyCall(client: LoadTestClient) {
+        val random = ThreadLocalRandom.current()
+        val contractAddress = address(random.nextInt(CONTRACTS))
+        // fixed block numbers are served from the cache, latest block calls always reach the node
+        val blockNumber = if (random.nextBoolean()) {
+            "\"block_number\":\"${BigInteger.valueOf(random.nextInt(CACHED_BLOCKS).toLong() + 1L)}\","
+        } else {
+            ""
+        }
+
+        client.post(
+            "POST /v1/readonly-function-call",
+            "/v1/readonly-function-call",
+            """
+                {
+                    "contract_address": "$contractAddress",
+                    $blockNumber
+                    "function_name": "balanceOf",
+                    "function_params": [{"type": "address", "value": "$CALLER_ADDRESS"}],
+                    "output_params": ["uint256"],
+                    "caller_address": "$CALLER_ADDRESS"
+                }
+            """.trimIndent()
+        )
+    }
+
+    private fun assetSnapshot(client: LoadTestClient) {
+        val random = ThreadLocalRandom.current()
+        val response = client.post(
+            "POST /v1/asset-snapshots",
+            "/v1/asset-snapshots",
+            """
+                {
+                    "name": "load-test-snapshot",
+                    "asset_address": "${address(random.nextInt(CONTRACTS))}",
+                    "payout_block_number": "${standIn.headBlockNumber()}",
+                    "ignored_holder_addresses": []
+                }
+            """.trimIndent()
+        )
+        val id = response?.get("id")?.asText() ?: return
+
+        repeat(SNAPSHOT_POLLS) {
+            Thread.sleep(SNAPSHOT_POLL_INTERVAL.toMillis())
+
+            val status = client.get("GET /v1/asset-snapshots/{id}", "/v1/asset-snapshots/$id")
+                ?.get("status")?.asText()
+
+            if (status != "PENDING") {
+                return
+            }
+        }
+    }
+
+    private fun address(index: Int) = "0x" + index.toString().padStart(40, '0')
+
+    private fun requiredProperty(name: String): String =
+        System.getProperty(name)
+            ?: throw IllegalStateException("Missing system property: $name, run load test via: ./gradlew loadTest")
+}
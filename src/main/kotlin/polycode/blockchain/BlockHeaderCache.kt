@@ -0,0 +1,90 @@
+package polycode.blockchain
+
+import mu.KLogging
+import org.springframework.stereotype.Component
+import polycode.blockchain.properties.ChainSpec
+import polycode.config.BlockHeaderCacheProperties
+import polycode.service.UtcDateTimeProvider
+import polycode.util.BlockNumber
+import polycode.util.LruCache
+import polycode.util.UtcDateTime
+import java.math.BigInteger
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+
+data class BlockHeader(
+    val number: BlockNumber,
+    val hash: String,
+    val parentHash: String,
+    val timestamp: UtcDateTime
+)
+
+/**
+ * Per-chain LRU cache of block headers. Final headers (the ones with enough block confirmations) are kept until
+ * evicted, while unconfirmed headers are only returned within the provided validity duration. Unconfirmed headers
+ * which no longer link to a newly cached header are removed, so that reorganized blocks are fetched again.
+ */
+@Component
+class BlockHeaderCache(
+    private val utcDateTimeProvider: UtcDateTimeProvider,
+    private val blockHeaderCacheProperties: BlockHeaderCacheProperties
+) {
+
+    companion object : KLogging() {
+        private data class CachedBlockHeader(
+            val header: BlockHeader,
+            val cachedAt: UtcDateTime,
+            val isFinal: Boolean
+        )
+    }
+
+    private val caches = ConcurrentHashMap<ChainSpec, LruCache<BlockNumber, CachedBlockHeader>>()
+
+    fun get(chainSpec: ChainSpec, blockNumber: BlockNumber, unconfirmedValidity: Duration): BlockHeader? {
+        val cached = caches[chainSpec]?.get(blockNumber) ?: return null
+        val isValid = cached.isFinal ||
+            (cached.cachedAt.value + unconfirmedValidity).isBefore(utcDateTimeProvider.getUtcDateTime().value).not()
+
+        return cached.header.takeIf { isValid }
+    }
+
+    fun put(chainSpec: ChainSpec, header: BlockHeader, isFinal: Boolean) {
+        val cache = caches.computeIfAbsent(chainSpec) { LruCache(blockHeaderCacheProperties.maxSizePerChain) }
+
+        synchronized(cache) {
+            cache.removeReorganizedParent(chainSpec, header)
+            cache.removeReorganizedDescendants(chainSpec, header)
+            cache[header.number] = CachedBlockHeader(header, utcDateTimeProvider.getUtcDateTime(), isFinal)
+        }
+    }
+
+    private fun LruCache<BlockNumber, CachedBlockHeader>.removeReorganizedParent(
+        chainSpec: ChainSpec,
+        header: BlockHeader
+    ) {
+        val parentNumber = BlockNumber(header.number.value - BigInteger.ONE)
+        val parent = this[parentNumber]
+
+        if (parent != null && parent.isFinal.not() && parent.header.hash != header.parentHash) {
+            logger.info { "Reorg detected at block: ${parentNumber.value}, chainSpec: $chainSpec" }
+            remove(parentNumber)
+        }
+    }
+
+    private fun LruCache<BlockNumber, CachedBlockHeader>.removeReorganizedDescendants(
+        chainSpec: ChainSpec,
+        header: BlockHeader
+    ) {
+        var childNumber = BlockNumber(header.number.value + BigInteger.ONE)
+        val child = this[childNumber]
+
+        if (child != null && child.isFinal.not() && child.header.parentHash != header.hash) {
+            logger.info { "Reorg detected at block: ${childNumber.value}, chainSpec: $chainSpec" }
+
+            while (this[childNumber]?.isFinal == false) {
+                remove(childNumber)
+                childNumber = BlockNumber(childNumber.value + BigInteger.ONE)
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package polycode.blockchain
+
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import mu.KLogging
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.stereotype.Service
+import polycode.config.CacheRetentionProperties
+import polycode.config.CacheTableRetention
+import polycode.model.BlockchainCacheTable
+import polycode.model.result.CacheTableStats
+import polycode.repository.BlockchainCacheMaintenanceRepository
+import polycode.service.ScheduledExecutorServiceProvider
+import polycode.service.UtcDateTimeProvider
+import polycode.util.UtcDateTime
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+/**
+ * Periodically evicts blockchain call cache entries which are older than the configured maximum age or which were not
+ * accessed within the configured maximum idle time. Entries are deleted in small batches with a pause between them, so
+ * that eviction does not hold locks for long or compete with cache writers. Row counts and table sizes are exposed as
+ * metrics, together with the size of shared buffers, which the cache tables should fit into.
+ */
+@Service
+class BlockchainCacheMaintenanceService(
+    private val blockchainCacheMaintenanceRepository: BlockchainCacheMaintenanceRepository,
+    private val utcDateTimeProvider: UtcDateTimeProvider,
+    private val cacheRetentionProperties: CacheRetentionProperties,
+    meterRegistry: MeterRegistry,
+    scheduledExecutorServiceProvider: ScheduledExecutorServiceProvider
+) : DisposableBean {
+
+    companion object : KLogging() {
+        const val QUEUE_NAME = "BlockchainCacheMaintenance"
+    }
+
+    private val retentions = mapOf(
+        BlockchainCacheTable.FETCH_ACCOUNT_BALANCE to cacheRetentionProperties.accountBalance,
+        BlockchainCacheTable.FETCH_ERC20_ACCOUNT_BALANCE to cacheRetentionProperties.erc20AccountBalance,
+        BlockchainCacheTable.FETCH_TRANSACTION_INFO to cacheRetentionProperties.transactionInfo,
+        BlockchainCacheTable.FETCH_READONLY_CALL to cacheRetentionProperties.readonlyCall,
+        BlockchainCacheTable.CONTRACT_DEPLOYMENT_TRANSACTION to cacheRetentionProperties.contractDeploymentTransaction
+    )
+    private val tableStats = ConcurrentHashMap<BlockchainCacheTable, CacheTableStats>()
+    private val evictedEntries = BlockchainCacheTable.values().associateWith {
+        Counter.builder("polycode.cache.table.evicted")
+            .description("Number of evicted blockchain call cache entries")
+            .tag("table", it.tableName)
+            .register(meterRegistry)
+    }
+
+    @Volatile
+    private var sharedBuffersSizeBytes: Long? = null
+
+    private val executorService = scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor(QUEUE_NAME)
+
+    init {
+        BlockchainCacheTable.values().forEach { table ->
+            Gauge.builder("polycode.cache.table.rows") { tableStats[table]?.estimatedRows?.toDouble() ?: Double.NaN }
+                .description("Estimated number of blockchain call cache entries")
+                .tag("table", table.tableName)
+                .register(meterRegistry)
+
+            Gauge.builder("polycode.cache.table.size") { tableStats[table]?.totalSizeBytes?.toDouble() ?: Double.NaN }
+                .description("Total size of blockchain call cache table, including indexes")
+                .tag("table", table.tableName)
+                .baseUnit("bytes")
+                .register(meterRegistry)
+        }
+
+        Gauge.builder("polycode.cache.shared.buffers") { sharedBuffersSizeBytes?.toDouble() ?: Double.NaN }
+            .description("Size of database shared buffers")
+            .baseUnit("bytes")
+            .register(meterRegistry)
+
+        executorService.scheduleAtFixedRate(
+            command = { performMaintenance() },
+            initialDelay = cacheRetentionProperties.maintenanceInterval.toMillis(),
+            period = cacheRetentionProperties.maintenanceInterval.toMillis(),
+            unit = TimeUnit.MILLISECONDS
+        )
+    }
+
+    override fun destroy() {
+        logger.info { "Shutting down blockchain cache maintenance executor service..." }
+        executorService.shutdown()
+    }
+
+    @Suppress("TooGenericExceptionCaught")
+    private fun performMaintenance() {
+        try {
+            retentions.forEach { (table, retention) -> evictExpiredEntries(table, retention) }
+            updateTableStats()
+        } catch (e: Throwable) {
+            logger.error(e) { "Failed to perform blockchain cache maintenance" }
+        }
+    }
+
+    private fun evictExpiredEntries(table: BlockchainCacheTable, retention: CacheTableRetention) {
+        val now = utcDateTimeProvider.getUtcDateTime()
+        val cachedBefore = retention.maxAge?.let { UtcDateTime(now.value - it) }
+        val accessedBefore = retention.maxIdle?.let { UtcDateTime(now.value - it) }
+
+        if (cachedBefore == null && accessedBefore == null) {
+            return
+        }
+
+        val batchSize = cacheRetentionProperties.deleteBatchSize
+        var batches = 0
+        var evicted = 0L
+
+        do {
+            if (batches > 0) {
+                Thread.sleep(cacheRetentionProperties.deleteBatchPause.toMillis())
+            }
+
+            val deleted = blockchainCacheMaintenanceRepository.deleteExpiredEntries(
+                table = table,
+                cachedBefore = cachedBefore,
+                accessedBefore = accessedBefore,
+                limit = batchSize
+            )
+
+            evicted += deleted
+            batches += 1
+        } while (deleted >= batchSize && batches < cacheRetentionProperties.maxDeleteBatchesPerRun)
+
+        evictedEntries[table]?.increment(evicted.toDouble())
+
+        if (evicted > 0L) {
+            logger.info { "Evicted $evicted expired entries from ${table.tableName} in $batches batches" }
+        }
+    }
+
+    private fun updateTableStats() {
+        BlockchainCacheTable.values().forEach {
+            tableStats[it] = blockchainCacheMaintenanceRepository.getTableStats(it)
+        }
+
+        val sharedBuffers = blockchainCacheMaintenanceRepository.getSharedBuffersSizeBytes()
+        val totalCacheSize = tableStats.values.sumOf { it.totalSizeBytes }
+
+        sharedBuffersSizeBytes = sharedBuffers
+
+        if (totalCacheSize > sharedBuffers) {
+            logger.warn {
+                "Blockchain call cache tables ($totalCacheSize bytes) no longer fit into shared buffers" +
+                    " ($sharedBuffers bytes), consider shortening cache retention"
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package polycode.blockchain
 
 import polycode.blockchain.properties.ChainSpec
 import polycode.features.contract.readcall.model.params.ExecuteReadonlyFunctionCallParams
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchResult
 import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallResult
 import polycode.features.payout.model.params.GetPayoutsForInvestorParams
 import polycode.features.payout.model.result.PayoutForInvestor
@@ -51,6 +52,12 @@ interface BlockchainService {
         blockParameter: BlockParameter = BlockName.LATEST
     ): ReadonlyFunctionCallResult
 
+    fun callReadonlyFunctions(
+        chainSpec: ChainSpec,
+        params: List<ExecuteReadonlyFunctionCallParams>,
+        blockParameter: BlockParameter = BlockName.LATEST
+    ): ReadonlyFunctionCallBatchResult
+
     fun findContractDeploymentTransaction(
         chainSpec: ChainSpec,
         contractAddress: ContractAddress,
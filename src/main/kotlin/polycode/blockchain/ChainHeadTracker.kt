@@ -0,0 +1,118 @@
+package polycode.blockchain
+
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import mu.KLogging
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.stereotype.Service
+import polycode.blockchain.properties.ChainPropertiesHandler
+import polycode.blockchain.properties.ChainSpec
+import polycode.blockchain.rpc.RoutingWeb3jService
+import polycode.config.ApplicationProperties
+import polycode.service.FixedScheduler
+import polycode.service.ScheduledExecutorServiceProvider
+import polycode.service.UtcDateTimeProvider
+import polycode.util.BlockNumber
+import polycode.util.ChainId
+import polycode.util.UtcDateTime
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+@Service
+class ChainHeadTracker(
+    private val chainPropertiesHandler: ChainPropertiesHandler,
+    private val utcDateTimeProvider: UtcDateTimeProvider,
+    private val meterRegistry: MeterRegistry,
+    private val scheduledExecutorServiceProvider: ScheduledExecutorServiceProvider,
+    applicationProperties: ApplicationProperties
+) : DisposableBean {
+
+    companion object : KLogging() {
+        private const val THREAD_PREFIX = "ChainHeadTracker"
+        private const val MILLIS_PER_SECOND = 1_000.0
+
+        private data class ChainHead(val blockNumber: BlockNumber, val updatedAt: UtcDateTime)
+    }
+
+    private val heads = ConcurrentHashMap<ChainId, ChainHead>()
+    private val pollIntervals = applicationProperties.chain
+        .mapValues { it.value.latestBlockCacheDuration }
+        .filterValues { it.isZero.not() }
+    private val maxHeadAges = applicationProperties.chain
+        .mapValues { it.value.latestBlockCacheDuration.multipliedBy(it.value.maxHeadAgePollIntervals) }
+    private val schedulers = ConcurrentHashMap<ChainId, FixedScheduler>()
+
+    override fun destroy() {
+        logger.info { "Shutting down chain head tracker executor services..." }
+        schedulers.values.forEach { it.shutdown() }
+    }
+
+    // returns null when the tracked head is older than the configured number of poll intervals, in which case callers
+    // fall back to fetching the latest block number directly from the RPC
+    fun getLatestBlockNumber(chainSpec: ChainSpec): BlockNumber? {
+        val pollInterval = pollIntervals[chainSpec.chainId]
+        val maxHeadAge = maxHeadAges[chainSpec.chainId]
+
+        if (chainSpec.customRpcUrl != null || pollInterval == null || maxHeadAge == null) {
+            return null
+        }
+
+        schedulers.computeIfAbsent(chainSpec.chainId) { startTracking(it, pollInterval) }
+
+        val headAge = headAge(chainSpec.chainId)
+
+        return heads[chainSpec.chainId]?.blockNumber?.takeIf { headAge != null && headAge <= maxHeadAge }
+    }
+
+    private fun startTracking(chainId: ChainId, pollInterval: Duration): FixedScheduler {
+        logger.info { "Starting chain head tracking for chainId: $chainId, poll interval: $pollInterval" }
+
+        Gauge.builder("polycode.chain.head.lag") { headAge(chainId)?.toMillis()?.div(MILLIS_PER_SECOND) ?: Double.NaN }
+            .description("Time since the chain head was last updated")
+            .tag("chain", chainId.value.toString())
+            .baseUnit("seconds")
+            .register(meterRegistry)
+
+        Gauge.builder("polycode.chain.head") { heads[chainId]?.blockNumber?.value?.toDouble() ?: Double.NaN }
+            .description("Latest known block number")
+            .tag("chain", chainId.value.toString())
+            .register(meterRegistry)
+
+        return scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor("$THREAD_PREFIX-${chainId.value}")
+            .apply {
+                scheduleAtFixedRate(
+                    command = { pollHead(chainId) },
+                    initialDelay = 0L,
+                    period = pollInterval.toMillis(),
+                    unit = TimeUnit.MILLISECONDS
+                )
+            }
+    }
+
+    @Suppress("TooGenericExceptionCaught")
+    private fun pollHead(chainId: ChainId) {
+        try {
+            val blockchainProperties = chainPropertiesHandler.getBlockchainProperties(ChainSpec(chainId, null))
+            val web3jService = blockchainProperties.web3jService
+            val blockNumber = if (web3jService is RoutingWeb3jService) {
+                web3jService.refreshBlockNumbers()
+            } else {
+                blockchainProperties.web3j.ethBlockNumber().send().takeIf { !it.hasError() }?.blockNumber
+            }
+
+            if (blockNumber != null) {
+                val newHead = ChainHead(BlockNumber(blockNumber), utcDateTimeProvider.getUtcDateTime())
+
+                heads.merge(chainId, newHead) { old, new ->
+                    if (new.blockNumber.value >= old.blockNumber.value) new else old.copy(updatedAt = new.updatedAt)
+                }
+            }
+        } catch (e: Exception) {
+            logger.warn(e) { "Unable to fetch latest block number for chainId: $chainId" }
+        }
+    }
+
+    private fun headAge(chainId: ChainId): Duration? =
+        heads[chainId]?.let { Duration.between(it.updatedAt.value, utcDateTimeProvider.getUtcDateTime().value) }
+}
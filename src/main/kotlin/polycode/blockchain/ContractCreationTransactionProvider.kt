@@ -0,0 +1,9 @@
+package polycode.blockchain
+
+import polycode.blockchain.properties.ChainSpec
+import polycode.util.ContractAddress
+import polycode.util.TransactionHash
+
+interface ContractCreationTransactionProvider {
+    fun getContractCreationTransactionHash(chainSpec: ChainSpec, contractAddress: ContractAddress): TransactionHash?
+}
@@ -0,0 +1,80 @@
+package polycode.blockchain
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies
+import com.fasterxml.jackson.databind.annotation.JsonNaming
+import mu.KLogging
+import org.springframework.stereotype.Service
+import org.springframework.web.client.RestClientException
+import org.springframework.web.client.RestTemplate
+import polycode.blockchain.properties.ChainSpec
+import polycode.config.ApplicationProperties
+import polycode.util.ContractAddress
+import polycode.util.TransactionHash
+
+@Service
+class ExternalContractCreationTransactionProvider(
+    private val chainExplorerRestTemplate: RestTemplate,
+    private val applicationProperties: ApplicationProperties
+) : ContractCreationTransactionProvider {
+
+    companion object : KLogging() {
+        private const val QUERY_PARAMS =
+            "?module=contract&action=getcontractcreation&contractaddresses={contractAddress}"
+        private const val API_KEY_QUERY_PARAM = "&apikey={apiKey}"
+
+        internal data class Response(
+            val status: String?,
+            val message: String?,
+            val result: List<ContractCreationResponse>?
+        )
+
+        @JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy::class)
+        internal data class ContractCreationResponse(
+            val contractAddress: String?,
+            val contractCreator: String?,
+            val txHash: String?
+        )
+    }
+
+    override fun getContractCreationTransactionHash(
+        chainSpec: ChainSpec,
+        contractAddress: ContractAddress
+    ): TransactionHash? {
+        val chainProperties = applicationProperties.chain[chainSpec.chainId]
+        val chainExplorerApiUrl = chainProperties?.chainExplorerApiUrl
+        val chainExplorerApiKey = chainProperties?.chainExplorerApiKey?.takeIf { it.isNotBlank() }
+
+        // some explorers can be used without an API key, only with stricter rate limits
+        return if (chainExplorerApiUrl != null) {
+            getContractCreation(
+                contractAddress = contractAddress.rawValue,
+                apiUrl = chainExplorerApiUrl,
+                apiKey = chainExplorerApiKey
+            )
+                ?.takeIf { it.contractAddress?.let { ca -> ContractAddress(ca) } == contractAddress }
+                ?.txHash
+                ?.let { TransactionHash(it) }
+        } else {
+            logger.debug { "Chain explorer not set for chainSpec: $chainSpec" }
+            null
+        }
+    }
+
+    private fun getContractCreation(
+        contractAddress: String,
+        apiUrl: String,
+        apiKey: String?
+    ): ContractCreationResponse? =
+        try {
+            val queryParams = QUERY_PARAMS.replace("{contractAddress}", contractAddress) +
+                (apiKey?.let { API_KEY_QUERY_PARAM.replace("{apiKey}", it) } ?: "")
+
+            chainExplorerRestTemplate.getForEntity(
+                apiUrl + queryParams,
+                Response::class.java
+            ).body?.result?.firstOrNull()
+        } catch (e: RestClientException) {
+            logger.warn(e) { "Fetching contract creation failed, contractAddress: $contractAddress, apiUrl: $apiUrl" }
+            null
+        }
+}
@@ -10,19 +10,27 @@ import org.web3j.protocol.core.Request
 import org.web3j.protocol.core.Response
 import org.web3j.protocol.core.methods.request.Transaction
 import org.web3j.protocol.core.methods.response.EthBlock
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt
+import org.web3j.protocol.core.methods.response.EthTransaction
 import org.web3j.protocol.core.methods.response.TransactionReceipt
 import org.web3j.tx.ReadonlyTransactionManager
 import org.web3j.tx.gas.DefaultGasProvider
 import polycode.blockchain.properties.ChainPropertiesHandler
+import polycode.blockchain.properties.ChainPropertiesWithServices
 import polycode.blockchain.properties.ChainSpec
-import polycode.config.ApplicationProperties
+import polycode.config.CacheRetentionProperties
+import polycode.config.ReadonlyCallCacheProperties
 import polycode.exception.AbiDecodingException
 import polycode.exception.BlockchainEventReadException
 import polycode.exception.BlockchainReadException
+import polycode.exception.ErrorCode
+import polycode.exception.ErrorResponse
 import polycode.exception.TemporaryBlockchainReadException
 import polycode.features.contract.abi.model.StaticBytesType
 import polycode.features.contract.abi.service.AbiDecoderService
 import polycode.features.contract.readcall.model.params.ExecuteReadonlyFunctionCallParams
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchItemResult
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchResult
 import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallResult
 import polycode.features.payout.model.params.GetPayoutsForInvestorParams
 import polycode.features.payout.model.result.PayoutForInvestor
@@ -30,6 +38,7 @@ import polycode.features.payout.util.PayoutAccountBalance
 import polycode.generated.jooq.id.ContractDeploymentTransactionCacheId
 import polycode.generated.jooq.id.FetchAccountBalanceCacheId
 import polycode.generated.jooq.id.FetchErc20AccountBalanceCacheId
+import polycode.generated.jooq.id.FetchReadonlyCallCacheId
 import polycode.generated.jooq.id.FetchTransactionInfoCacheId
 import polycode.model.DeserializableEvent
 import polycode.model.EventLog
@@ -45,14 +54,16 @@ import polycode.service.UtcDateTimeProvider
 import polycode.service.UuidProvider
 import polycode.util.AccountBalance
 import polycode.util.Balance
-import polycode.util.BinarySearch
+import polycode.util.BlockName
 import polycode.util.BlockNumber
 import polycode.util.BlockParameter
 import polycode.util.ContractAddress
 import polycode.util.ContractBinaryData
 import polycode.util.EthStorageSlot
 import polycode.util.FunctionData
+import polycode.util.KarySearch
 import polycode.util.Keccak256Hash
+import polycode.util.LruCache
 import polycode.util.TransactionHash
 import polycode.util.UtcDateTime
 import polycode.util.WalletAddress
@@ -61,6 +72,7 @@ import polycode.util.bind
 import polycode.util.shortCircuiting
 import java.math.BigInteger
 import java.time.Duration
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ConcurrentHashMap
 
 @Service
@@ -70,11 +82,17 @@ class Web3jBlockchainService(
     private val uuidProvider: UuidProvider,
     private val utcDateTimeProvider: UtcDateTimeProvider,
     private val web3jBlockchainServiceCacheRepository: Web3jBlockchainServiceCacheRepository,
-    applicationProperties: ApplicationProperties
+    private val contractCreationTransactionProvider: ContractCreationTransactionProvider,
+    private val chainHandler: ChainPropertiesHandler,
+    private val chainHeadTracker: ChainHeadTracker,
+    private val blockHeaderCache: BlockHeaderCache,
+    private val readonlyCallCacheProperties: ReadonlyCallCacheProperties,
+    private val cacheRetentionProperties: CacheRetentionProperties
 ) : BlockchainService {
 
     companion object : KLogging() {
         private const val ETH_VALUE_LENGTH = 64
+        private const val DEPLOYMENT_SEARCH_PIVOTS_PER_ROUND = 15
         private val BYTES_32 = StaticBytesType(32)
 
         private data class BlockDescriptor(
@@ -83,6 +101,26 @@ class Web3jBlockchainService(
             val timestamp: UtcDateTime
         )
 
+        private data class DeploymentTransaction(
+            val receipt: TransactionReceipt,
+            val input: String,
+            val value: BigInteger,
+            val blockNumber: BigInteger
+        )
+
+        private data class ReadonlyCallCacheKey(
+            val chainSpec: ChainSpec,
+            val contractAddress: ContractAddress,
+            val callerAddress: WalletAddress,
+            val functionData: FunctionData,
+            val blockNumber: BlockNumber
+        )
+
+        private data class CachedReadonlyCall(
+            val rawReturnValue: String,
+            val touchedAt: UtcDateTime
+        )
+
         private data class CachedBlockNumber(
             val blockNumber: BlockNumber,
             val cachedAt: UtcDateTime
@@ -92,8 +130,11 @@ class Web3jBlockchainService(
         }
     }
 
-    private val chainHandler = ChainPropertiesHandler(applicationProperties)
     private val latestBlockCache = ConcurrentHashMap<ChainSpec, CachedBlockNumber>()
+    private val latestBlockFetches = ConcurrentHashMap<ChainSpec, CompletableFuture<CachedBlockNumber?>>()
+    private val readonlyCallCache = LruCache<ReadonlyCallCacheKey, CachedReadonlyCall>(
+        readonlyCallCacheProperties.memoryCacheSize
+    )
 
     override fun readStorageSlot(
         chainSpec: ChainSpec,
@@ -124,10 +165,9 @@ class Web3jBlockchainService(
                 " blockParameter: $blockParameter"
         }
         val blockchainProperties = chainHandler.getBlockchainProperties(chainSpec)
-        val blockDescriptor = blockchainProperties.web3j.getBlockDescriptor(
+        val blockDescriptor = blockchainProperties.getBlockDescriptor(
             blockParameter = blockParameter,
-            chainSpec = chainSpec,
-            cacheDuration = blockchainProperties.latestBlockCacheDuration
+            chainSpec = chainSpec
         )
 
         return web3jBlockchainServiceCacheRepository.getCachedFetchAccountBalance(
@@ -171,10 +211,9 @@ class Web3jBlockchainService(
                 " walletAddress: $walletAddress, blockParameter: $blockParameter"
         }
         val blockchainProperties = chainHandler.getBlockchainProperties(chainSpec)
-        val blockDescriptor = blockchainProperties.web3j.getBlockDescriptor(
+        val blockDescriptor = blockchainProperties.getBlockDescriptor(
             blockParameter = blockParameter,
-            chainSpec = chainSpec,
-            cacheDuration = blockchainProperties.latestBlockCacheDuration
+            chainSpec = chainSpec
         )
 
         return web3jBlockchainServiceCacheRepository.getCachedFetchErc20AccountBalance(
@@ -241,8 +280,11 @@ class Web3jBlockchainService(
                     ?.transactionReceipt?.orElse(null).bind()
                 val blockConfirmations = currentBlockNumber.value - transaction.blockNumber.bind()
                 val txBlockNumber = transaction.blockNumber
-                val timestamp = web3j.ethGetBlockByNumber(DefaultBlockParameter.valueOf(txBlockNumber), false)
-                    .sendSafely()?.block?.timestamp?.let { UtcDateTime.ofEpochSeconds(it.longValueExact()) }.bind()
+                val timestamp = blockchainProperties.getBlockHeader(
+                    chainSpec = chainSpec,
+                    blockNumber = BlockNumber(txBlockNumber),
+                    currentBlockNumber = currentBlockNumber
+                )?.timestamp.bind()
                 val eventLogs = receipt.extractLogs()
                 val txInfo = BlockchainTransactionInfo(
                     hash = TransactionHash(transaction.hash),
@@ -282,19 +324,18 @@ class Web3jBlockchainService(
             "Executing read-only function call, chainSpec: $chainSpec, params: $params, blockParameter: $blockParameter"
         }
         val blockchainProperties = chainHandler.getBlockchainProperties(chainSpec)
-        val blockDescriptor = blockchainProperties.web3j.getBlockDescriptor(
+        val blockDescriptor = blockchainProperties.getBlockDescriptor(
             blockParameter = blockParameter,
-            chainSpec = chainSpec,
-            cacheDuration = blockchainProperties.latestBlockCacheDuration
+            chainSpec = chainSpec
         )
-        val functionCallResponse = blockchainProperties.web3j.ethCall(
-            Transaction.createEthCallTransaction(
-                params.callerAddress.rawValue,
-                params.contractAddress.rawValue,
-                params.functionData.value
-            ),
+        val cacheKey = params.cacheKey(chainSpec, blockDescriptor.blockNumber)
+        val shouldCache = blockchainProperties.shouldCache(blockDescriptor.blockConfirmations)
+        val cachedFunctionCallResponse = if (shouldCache) getCachedReadonlyCall(cacheKey) else null
+        val functionCallResponse = cachedFunctionCallResponse ?: blockchainProperties.web3j.ethCall(
+            params.toEthCallTransaction(),
             blockDescriptor.blockNumber.toWeb3Parameter()
         ).sendSafely()?.value?.takeIf { it != "0x" }
+            ?.also { if (shouldCache) cacheReadonlyCall(cacheKey, it) }
             ?: throw BlockchainReadException(
                 "Unable to call function ${params.functionName} on contract with address: ${params.contractAddress}"
             )
@@ -311,7 +352,45 @@ class Web3jBlockchainService(
         )
     }
 
-    @Suppress("LongMethod", "ComplexMethod")
+    override fun callReadonlyFunctions(
+        chainSpec: ChainSpec,
+        params: List<ExecuteReadonlyFunctionCallParams>,
+        blockParameter: BlockParameter
+    ): ReadonlyFunctionCallBatchResult {
+        logger.debug {
+            "Executing read-only function calls, chainSpec: $chainSpec, params: $params," +
+                " blockParameter: $blockParameter"
+        }
+        val blockchainProperties = chainHandler.getBlockchainProperties(chainSpec)
+        val blockDescriptor = blockchainProperties.getBlockDescriptor(
+            blockParameter = blockParameter,
+            chainSpec = chainSpec
+        )
+        val shouldCache = blockchainProperties.shouldCache(blockDescriptor.blockConfirmations)
+        val cacheKeys = params.map { it.cacheKey(chainSpec, blockDescriptor.blockNumber) }
+        val functionCallResponses = cacheKeys.map { if (shouldCache) getCachedReadonlyCall(it) else null }
+            .toMutableList()
+        val uncachedIndices = functionCallResponses.indices.filter { functionCallResponses[it] == null }
+        val web3j = blockchainProperties.web3j
+        val blockNumberParameter = blockDescriptor.blockNumber.toWeb3Parameter()
+
+        web3j.sendBatchSafely(
+            uncachedIndices.map { web3j.ethCall(params[it].toEthCallTransaction(), blockNumberParameter) }
+        ).zip(uncachedIndices).forEach { (response, index) ->
+            functionCallResponses[index] = response?.value?.takeIf { it != "0x" }
+                ?.also { if (shouldCache) cacheReadonlyCall(cacheKeys[index], it) }
+        }
+
+        return ReadonlyFunctionCallBatchResult(
+            blockNumber = blockDescriptor.blockNumber,
+            timestamp = blockDescriptor.timestamp,
+            results = params.zip(functionCallResponses) { callParams, response ->
+                callParams.toBatchItemResult(response)
+            }
+        )
+    }
+
+    @Suppress("LongMethod")
     override fun findContractDeploymentTransaction(
         chainSpec: ChainSpec,
         contractAddress: ContractAddress,
@@ -328,54 +407,25 @@ class Web3jBlockchainService(
             contractAddress = contractAddress
         )?.let { it.first.withEvents { it.second.extractEvents(events) } } ?: run {
             val currentBlockNumber = web3j.latestBlockNumber(chainSpec, blockchainProperties.latestBlockCacheDuration)
-
-            val searchResult = BinarySearch(
-                lowerBound = BigInteger.ZERO,
-                upperBound = currentBlockNumber.value,
-                getValue = { currentBlock ->
-                    web3j.ethGetTransactionCount(
-                        contractAddress.rawValue,
-                        DefaultBlockParameter.valueOf(currentBlock)
-                    ).sendSafely()?.transactionCount ?: BigInteger.ZERO
-                },
-                updateLowerBound = { txCount -> txCount == BigInteger.ZERO },
-                updateUpperBound = { txCount -> txCount != BigInteger.ZERO }
-            )
-            val contractDeploymentBlock = listOf(searchResult, searchResult + BigInteger.ONE).find {
-                web3j.ethGetTransactionCount(
-                    contractAddress.rawValue,
-                    DefaultBlockParameter.valueOf(it)
-                ).sendSafely()?.transactionCount != BigInteger.ZERO
-            }
-
-            val deployTx = contractDeploymentBlock?.let {
-                web3j.ethGetBlockByNumber(DefaultBlockParameter.valueOf(it), true).sendSafely()?.block?.transactions
-            }
-                ?.mapNotNull { it as? EthBlock.TransactionObject }
-                ?.filter { it.to == null || it.to?.let { t -> WalletAddress(t) } == ZeroAddress.toWalletAddress() }
-                ?.asSequence()
-                ?.mapNotNull {
-                    web3j.ethGetTransactionReceipt(it.hash).sendSafely()?.transactionReceipt?.orElse(null)?.pairWith(it)
-                }
-                ?.find {
-                    it.first.isStatusOK &&
-                        it.first.contractAddress?.let { ca -> ContractAddress(ca) } == contractAddress
-                }
             val binary = web3j.ethGetCode(contractAddress.rawValue, currentBlockNumber.toWeb3Parameter()).sendSafely()
                 ?.code?.let { ContractBinaryData(it) }?.takeIf { it.value.isNotEmpty() }
+            val deployTx = binary?.let {
+                web3j.findExplorerDeploymentTransaction(chainSpec, contractAddress)
+                    ?: web3j.searchDeploymentTransaction(contractAddress, currentBlockNumber)
+            }
 
             val result = binary?.let {
                 deployTx?.let {
-                    val eventLogs = deployTx.first.extractLogs()
+                    val eventLogs = deployTx.receipt.extractLogs()
 
                     FullContractDeploymentTransactionInfo(
-                        hash = TransactionHash(deployTx.first.transactionHash),
-                        from = WalletAddress(deployTx.first.from),
-                        deployedContractAddress = ContractAddress(deployTx.first.contractAddress),
-                        data = FunctionData(deployTx.second.input),
-                        value = Balance(deployTx.second.value),
+                        hash = TransactionHash(deployTx.receipt.transactionHash),
+                        from = WalletAddress(deployTx.receipt.from),
+                        deployedContractAddress = ContractAddress(deployTx.receipt.contractAddress),
+                        data = FunctionData(deployTx.input),
+                        value = Balance(deployTx.value),
                         binary = binary,
-                        blockNumber = BlockNumber(contractDeploymentBlock),
+                        blockNumber = BlockNumber(deployTx.blockNumber),
                         events = eventLogs.extractEvents(events)
                     ) to eventLogs
                 } ?: (ContractBinaryInfo(deployedContractAddress = contractAddress, binary = binary) to emptyList())
@@ -457,40 +507,232 @@ class Web3jBlockchainService(
             ?: throw BlockchainReadException("Failed reading payout data for investor")
     }
 
-    private fun Web3j.getBlockDescriptor(
-        blockParameter: BlockParameter,
+    private fun Web3j.findExplorerDeploymentTransaction(
         chainSpec: ChainSpec,
-        cacheDuration: Duration
-    ): BlockDescriptor {
-        val block = ethGetBlockByNumber(blockParameter.toWeb3Parameter(), false).sendSafely()?.block
-        val blockNumber = block?.number?.let { BlockNumber(it) }
-        val currentBlockNumber = latestBlockNumber(chainSpec, cacheDuration)
-        val timestamp = block?.timestamp?.let { UtcDateTime.ofEpochSeconds(it.longValueExact()) }
-
-        return if (blockNumber != null && timestamp != null) {
-            BlockDescriptor(
-                blockNumber = blockNumber,
-                blockConfirmations = (currentBlockNumber.value - blockNumber.value).max(BigInteger.ZERO),
-                timestamp = timestamp
+        contractAddress: ContractAddress
+    ): DeploymentTransaction? {
+        val txHash = contractCreationTransactionProvider.getContractCreationTransactionHash(chainSpec, contractAddress)
+            ?: return null
+        val responses = sendBatchSafely(
+            listOf(ethGetTransactionByHash(txHash.value), ethGetTransactionReceipt(txHash.value))
+        )
+        val transaction = (responses[0] as? EthTransaction)?.transaction?.orElse(null)
+        val receipt = (responses[1] as? EthGetTransactionReceipt)?.transactionReceipt?.orElse(null)
+
+        return if (transaction != null && receipt?.isDeploymentOf(contractAddress) == true) {
+            DeploymentTransaction(receipt, transaction.input, transaction.value, receipt.blockNumber)
+        } else {
+            logger.debug {
+                "Chain explorer did not return usable contract creation transaction, falling back to block search," +
+                    " chainSpec: $chainSpec, contractAddress: $contractAddress, txHash: $txHash"
+            }
+            null
+        }
+    }
+
+    private fun Web3j.searchDeploymentTransaction(
+        contractAddress: ContractAddress,
+        currentBlockNumber: BlockNumber
+    ): DeploymentTransaction? {
+        fun transactionCounts(blocks: List<BigInteger>): List<BigInteger?> =
+            sendBatchSafely(
+                blocks.map { ethGetTransactionCount(contractAddress.rawValue, DefaultBlockParameter.valueOf(it)) }
+            ).map { it?.transactionCount }
+
+        val searchResult = KarySearch(
+            lowerBound = BigInteger.ZERO,
+            upperBound = currentBlockNumber.value,
+            pivotsPerRound = DEPLOYMENT_SEARCH_PIVOTS_PER_ROUND,
+            getValues = { blocks -> transactionCounts(blocks).map { it ?: BigInteger.ZERO } },
+            updateLowerBound = { txCount -> txCount == BigInteger.ZERO },
+            updateUpperBound = { txCount -> txCount != BigInteger.ZERO }
+        )
+        val candidateBlocks = listOf(searchResult, searchResult + BigInteger.ONE)
+        val contractDeploymentBlock = candidateBlocks.zip(transactionCounts(candidateBlocks))
+            .find { it.second != BigInteger.ZERO }
+            ?.first
+            ?: return null
+
+        val creationTransactions = ethGetBlockByNumber(DefaultBlockParameter.valueOf(contractDeploymentBlock), true)
+            .sendSafely()?.block?.transactions.orEmpty()
+            .mapNotNull { it as? EthBlock.TransactionObject }
+            .filter { it.to == null || it.to?.let { t -> WalletAddress(t) } == ZeroAddress.toWalletAddress() }
+        val receipts = sendBatchSafely(creationTransactions.map { ethGetTransactionReceipt(it.hash) })
+            .map { it?.transactionReceipt?.orElse(null) }
+
+        return creationTransactions.zip(receipts)
+            .firstNotNullOfOrNull { (transaction, receipt) ->
+                receipt?.takeIf { it.isDeploymentOf(contractAddress) }
+                    ?.let { DeploymentTransaction(it, transaction.input, transaction.value, contractDeploymentBlock) }
+            }
+    }
+
+    private fun TransactionReceipt.isDeploymentOf(contractAddress: ContractAddress): Boolean =
+        isStatusOK && this.contractAddress?.let { ContractAddress(it) } == contractAddress
+
+    private fun ExecuteReadonlyFunctionCallParams.cacheKey(chainSpec: ChainSpec, blockNumber: BlockNumber) =
+        ReadonlyCallCacheKey(
+            chainSpec = chainSpec,
+            contractAddress = contractAddress,
+            callerAddress = callerAddress,
+            functionData = functionData,
+            blockNumber = blockNumber
+        )
+
+    private fun ExecuteReadonlyFunctionCallParams.toEthCallTransaction(): Transaction =
+        Transaction.createEthCallTransaction(callerAddress.rawValue, contractAddress.rawValue, functionData.value)
+
+    private fun ExecuteReadonlyFunctionCallParams.toBatchItemResult(
+        functionCallResponse: String?
+    ): ReadonlyFunctionCallBatchItemResult {
+        val result = ReadonlyFunctionCallBatchItemResult(
+            deployedContractId = null,
+            contractAddress = contractAddress,
+            rawReturnValue = functionCallResponse,
+            returnValues = null,
+            error = null
+        )
+
+        return if (functionCallResponse == null) {
+            result.copy(
+                error = ErrorResponse(
+                    errorCode = ErrorCode.BLOCKCHAIN_READ_ERROR,
+                    message = "Unable to call function $functionName on contract with address: $contractAddress"
+                )
             )
         } else {
-            throw TemporaryBlockchainReadException()
+            try {
+                result.copy(
+                    returnValues = abiDecoderService.decode(
+                        types = outputParams.map { it.deserializedType },
+                        encodedInput = functionCallResponse
+                    )
+                )
+            } catch (e: AbiDecodingException) {
+                result.copy(error = ErrorResponse(e.errorCode, e.message))
+            }
         }
     }
 
-    private fun Web3j.latestBlockNumber(chainSpec: ChainSpec, cacheDuration: Duration): BlockNumber {
+    private fun getCachedReadonlyCall(cacheKey: ReadonlyCallCacheKey): String? =
+        readonlyCallCache[cacheKey]?.also { touchPersistedReadonlyCall(cacheKey, it) }?.rawReturnValue
+            ?: cacheKey.takeIf { readonlyCallCacheProperties.persistent }?.let {
+                web3jBlockchainServiceCacheRepository.getCachedReadonlyFunctionCall(
+                    chainSpec = it.chainSpec,
+                    contractAddress = it.contractAddress,
+                    callerAddress = it.callerAddress,
+                    functionData = it.functionData,
+                    blockNumber = it.blockNumber
+                )
+            }?.also { readonlyCallCache[cacheKey] = CachedReadonlyCall(it, utcDateTimeProvider.getUtcDateTime()) }
+
+    // memory cache hits never reach the database, so last access time of persisted call is refreshed once per access
+    // resolution; otherwise cache retention would delete persisted calls which are served from memory the most
+    private fun touchPersistedReadonlyCall(cacheKey: ReadonlyCallCacheKey, cachedCall: CachedReadonlyCall) {
         val now = utcDateTimeProvider.getUtcDateTime()
-        val cachedBlockNumber = latestBlockCache[chainSpec]?.takeIf { it.shouldInvalidate(now, cacheDuration).not() }
-            ?.blockNumber
+        val touchDue = (cachedCall.touchedAt.value + cacheRetentionProperties.accessResolution).isBefore(now.value)
+
+        if (readonlyCallCacheProperties.persistent && touchDue) {
+            readonlyCallCache[cacheKey] = cachedCall.copy(touchedAt = now)
+            web3jBlockchainServiceCacheRepository.touchReadonlyFunctionCall(
+                chainSpec = cacheKey.chainSpec,
+                contractAddress = cacheKey.contractAddress,
+                callerAddress = cacheKey.callerAddress,
+                functionData = cacheKey.functionData,
+                blockNumber = cacheKey.blockNumber
+            )
+        }
+    }
 
-        return if (cachedBlockNumber != null) {
-            cachedBlockNumber
+    private fun cacheReadonlyCall(cacheKey: ReadonlyCallCacheKey, rawReturnValue: String) {
+        readonlyCallCache[cacheKey] = CachedReadonlyCall(rawReturnValue, utcDateTimeProvider.getUtcDateTime())
+
+        if (readonlyCallCacheProperties.persistent) {
+            web3jBlockchainServiceCacheRepository.cacheReadonlyFunctionCall(
+                id = uuidProvider.getUuid(FetchReadonlyCallCacheId),
+                chainSpec = cacheKey.chainSpec,
+                contractAddress = cacheKey.contractAddress,
+                callerAddress = cacheKey.callerAddress,
+                functionData = cacheKey.functionData,
+                blockNumber = cacheKey.blockNumber,
+                rawReturnValue = rawReturnValue
+            )
+        }
+    }
+
+    private fun ChainPropertiesWithServices.getBlockDescriptor(
+        blockParameter: BlockParameter,
+        chainSpec: ChainSpec
+    ): BlockDescriptor {
+        val currentBlockNumber = web3j.latestBlockNumber(chainSpec, latestBlockCacheDuration)
+        val blockHeader = when (blockParameter) {
+            is BlockNumber -> getBlockHeader(chainSpec, blockParameter, currentBlockNumber)
+            // tracked head is the highest one across endpoints, so routed endpoint may not have that block yet
+            BlockName.LATEST -> getBlockHeader(chainSpec, currentBlockNumber, currentBlockNumber)
+                ?: web3j.fetchBlockHeader(blockParameter)
+            else -> web3j.fetchBlockHeader(blockParameter)
+        } ?: throw TemporaryBlockchainReadException()
+
+        return BlockDescriptor(
+            blockNumber = blockHeader.number,
+            blockConfirmations = (currentBlockNumber.value - blockHeader.number.value).max(BigInteger.ZERO),
+            timestamp = blockHeader.timestamp
+        )
+    }
+
+    private fun ChainPropertiesWithServices.getBlockHeader(
+        chainSpec: ChainSpec,
+        blockNumber: BlockNumber,
+        currentBlockNumber: BlockNumber
+    ): BlockHeader? {
+        val cachedBlockHeader = blockHeaderCache.get(chainSpec, blockNumber, latestBlockCacheDuration)
+
+        return cachedBlockHeader ?: web3j.fetchBlockHeader(blockNumber)?.also {
+            val blockConfirmations = (currentBlockNumber.value - it.number.value).max(BigInteger.ZERO)
+            blockHeaderCache.put(chainSpec, it, shouldCache(blockConfirmations))
+        }
+    }
+
+    private fun Web3j.fetchBlockHeader(blockParameter: BlockParameter): BlockHeader? =
+        ethGetBlockByNumber(blockParameter.toWeb3Parameter(), false).sendSafely()?.block
+            ?.takeIf { it.number != null && it.hash != null && it.timestamp != null }
+            ?.let {
+                BlockHeader(
+                    number = BlockNumber(it.number),
+                    hash = it.hash,
+                    parentHash = it.parentHash,
+                    timestamp = UtcDateTime.ofEpochSeconds(it.timestamp.longValueExact())
+                )
+            }
+
+    private fun Web3j.latestBlockNumber(chainSpec: ChainSpec, cacheDuration: Duration): BlockNumber =
+        chainHeadTracker.getLatestBlockNumber(chainSpec) ?: fetchLatestBlockNumber(chainSpec, cacheDuration)
+
+    private fun Web3j.fetchLatestBlockNumber(chainSpec: ChainSpec, cacheDuration: Duration): BlockNumber {
+        val now = utcDateTimeProvider.getUtcDateTime()
+
+        latestBlockCache[chainSpec]?.takeIf { it.shouldInvalidate(now, cacheDuration).not() }?.let {
+            return it.blockNumber
+        }
+
+        // concurrent requests for the same chain wait for a single fetch, which is done outside of any map lock
+        val fetch = CompletableFuture<CachedBlockNumber?>()
+        val ongoingFetch = latestBlockFetches.putIfAbsent(chainSpec, fetch)
+        val cachedBlockNumber = if (ongoingFetch != null) {
+            ongoingFetch.join()
         } else {
-            val ethLatestBlockNumber = ethBlockNumber().sendSafely()?.blockNumber?.let { BlockNumber(it) }
-                ?: throw TemporaryBlockchainReadException()
-            latestBlockCache[chainSpec] = CachedBlockNumber(ethLatestBlockNumber, now)
-            ethLatestBlockNumber
+            try {
+                ethBlockNumber().sendSafely()?.blockNumber
+                    ?.let { CachedBlockNumber(BlockNumber(it), now) }
+                    ?.also { latestBlockCache[chainSpec] = it }
+                    .also { fetch.complete(it) }
+            } finally {
+                fetch.complete(null)
+                latestBlockFetches.remove(chainSpec, fetch)
+            }
         }
+
+        return cachedBlockNumber?.blockNumber ?: throw TemporaryBlockchainReadException()
     }
 
     private fun IERC20.findAccounts(
@@ -658,6 +900,31 @@ class Web3jBlockchainService(
         }
     }
 
+    @Suppress("TooGenericExceptionCaught", "UNCHECKED_CAST")
+    private fun <T : Response<*>> Web3j.sendBatchSafely(requests: List<Request<*, out T>>): List<T?> =
+        if (requests.isEmpty()) {
+            emptyList()
+        } else {
+            try {
+                val batch = newBatch()
+                requests.forEach { batch.add(it) }
+                val responsesById = batch.send().responses.associateBy { it.id }
+
+                requests.map { responsesById[it.id]?.withoutError() as? T }
+            } catch (ex: Exception) {
+                logger.warn("Failed batch blockchain call, sending requests one by one", ex)
+                requests.map { it.sendSafely() }
+            }
+        }
+
+    private fun Response<*>.withoutError(): Response<*>? =
+        if (hasError()) {
+            logger.warn { "Web3j batch call errors: ${error.message}" }
+            null
+        } else {
+            this
+        }
+
     @Suppress("TooGenericExceptionCaught")
     private fun <T> RemoteFunctionCall<T>.sendSafely(): T? =
         try {
@@ -666,6 +933,4 @@ class Web3jBlockchainService(
             logger.warn("Failed smart contract call", ex)
             null
         }
-
-    private fun <T, U> T.pairWith(that: U) = Pair(this, that)
 }
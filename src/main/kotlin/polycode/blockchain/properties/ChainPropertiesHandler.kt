@@ -1,7 +1,8 @@
 package polycode.blockchain.properties
 
+import org.springframework.stereotype.Component
 import org.web3j.protocol.Web3j
-import org.web3j.protocol.http.HttpService
+import polycode.blockchain.rpc.Web3jServiceFactory
 import polycode.config.ApplicationProperties
 import polycode.config.ChainProperties
 import polycode.exception.UnsupportedChainIdException
@@ -9,7 +10,11 @@ import polycode.util.ChainId
 import java.time.Duration
 import java.util.concurrent.ConcurrentHashMap
 
-class ChainPropertiesHandler(private val applicationProperties: ApplicationProperties) {
+@Component
+class ChainPropertiesHandler(
+    private val applicationProperties: ApplicationProperties,
+    private val web3jServiceFactory: Web3jServiceFactory
+) {
 
     private val blockchainPropertiesMap = ConcurrentHashMap<ChainId, ChainPropertiesWithServices>()
 
@@ -17,14 +22,17 @@ class ChainPropertiesHandler(private val applicationProperties: ApplicationPrope
         val chainProperties = applicationProperties.chain[chainSpec.chainId]
 
         return if (chainSpec.customRpcUrl != null) {
+            val web3jService = web3jServiceFactory.create(chainSpec.chainId, listOf(chainSpec.customRpcUrl))
+
             ChainPropertiesWithServices(
-                web3j = Web3j.build(HttpService(chainSpec.customRpcUrl)),
+                web3j = Web3j.build(web3jService),
+                web3jService = web3jService,
                 latestBlockCacheDuration = chainProperties?.latestBlockCacheDuration ?: Duration.ZERO,
                 minBlockConfirmationsForCaching = chainProperties?.minBlockConfirmationsForCaching
             )
         } else if (chainProperties != null) {
             blockchainPropertiesMap.computeIfAbsent(chainSpec.chainId) {
-                generateBlockchainProperties(chainProperties)
+                generateBlockchainProperties(chainSpec.chainId, chainProperties)
             }
         } else {
             throw UnsupportedChainIdException(chainSpec.chainId)
@@ -38,10 +46,17 @@ class ChainPropertiesHandler(private val applicationProperties: ApplicationPrope
             "${chainProperties.infuraUrl}${applicationProperties.infuraId}"
         }
 
-    private fun generateBlockchainProperties(chainProperties: ChainProperties): ChainPropertiesWithServices {
-        val rpcUrl = getChainRpcUrl(chainProperties)
+    internal fun getChainRpcUrls(chainProperties: ChainProperties): List<String> =
+        (listOf(getChainRpcUrl(chainProperties)) + chainProperties.additionalRpcUrls).distinct()
+
+    private fun generateBlockchainProperties(
+        chainId: ChainId,
+        chainProperties: ChainProperties
+    ): ChainPropertiesWithServices {
+        val web3jService = web3jServiceFactory.create(chainId, getChainRpcUrls(chainProperties))
         return ChainPropertiesWithServices(
-            web3j = Web3j.build(HttpService(rpcUrl)),
+            web3j = Web3j.build(web3jService),
+            web3jService = web3jService,
             latestBlockCacheDuration = chainProperties.latestBlockCacheDuration,
             minBlockConfirmationsForCaching = chainProperties.minBlockConfirmationsForCaching
         )
@@ -1,11 +1,13 @@
 package polycode.blockchain.properties
 
 import org.web3j.protocol.Web3j
+import org.web3j.protocol.Web3jService
 import java.math.BigInteger
 import java.time.Duration
 
 data class ChainPropertiesWithServices(
     val web3j: Web3j,
+    val web3jService: Web3jService,
     val latestBlockCacheDuration: Duration,
     val minBlockConfirmationsForCaching: BigInteger?
 ) {
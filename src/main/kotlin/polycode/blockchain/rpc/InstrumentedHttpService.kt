@@ -0,0 +1,59 @@
+package polycode.blockchain.rpc
+
+import org.web3j.protocol.core.BatchRequest
+import org.web3j.protocol.core.BatchResponse
+import org.web3j.protocol.core.Request
+import org.web3j.protocol.core.Response
+import org.web3j.protocol.http.HttpService
+import polycode.util.ChainId
+import java.io.FilterInputStream
+import java.io.InputStream
+
+class InstrumentedHttpService(
+    url: String,
+    private val chainId: ChainId,
+    private val rpcMetrics: RpcMetrics
+) : HttpService(url) {
+
+    companion object {
+        private const val BATCH_METHOD = "batch"
+    }
+
+    override fun <T : Response<*>> send(request: Request<*, *>, responseType: Class<T>): T =
+        rpcMetrics.record(chainId, request.method, { it.hasError() }) { super.send(request, responseType) }
+
+    override fun sendBatch(batchRequest: BatchRequest): BatchResponse =
+        rpcMetrics.record(chainId, BATCH_METHOD, { it.responses.any { r -> r.hasError() } }) {
+            super.sendBatch(batchRequest)
+        }
+
+    override fun performIO(payload: String): InputStream {
+        rpcMetrics.recordRequestSize(chainId, payload.length.toLong())
+        return CountingInputStream(super.performIO(payload)) { rpcMetrics.recordResponseSize(chainId, it) }
+    }
+
+    private class CountingInputStream(
+        input: InputStream,
+        private val onClose: (Long) -> Unit
+    ) : FilterInputStream(input) {
+
+        private var count = 0L
+        private var closed = false
+
+        override fun read(): Int = super.read().also { if (it >= 0) count += 1 }
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int =
+            super.read(b, off, len).also { if (it > 0) count += it }
+
+        override fun skip(n: Long): Long = super.skip(n).also { count += it }
+
+        override fun close() {
+            super.close()
+
+            if (!closed) {
+                closed = true
+                onClose(count)
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package polycode.blockchain.rpc
+
+class LatencyWindow(private val size: Int) {
+
+    private val samples = LongArray(size)
+    private var count = 0L
+
+    @Synchronized
+    fun record(latencyNanos: Long) {
+        samples[(count % size).toInt()] = latencyNanos
+        count += 1
+    }
+
+    @Synchronized
+    fun percentile(percentile: Double): Long? {
+        val numSamples = minOf(count, size.toLong()).toInt()
+
+        if (numSamples == 0) {
+            return null
+        }
+
+        val sorted = samples.copyOf(numSamples).apply { sort() }
+        val index = (percentile * (numSamples - 1)).toInt().coerceIn(0, numSamples - 1)
+
+        return sorted[index]
+    }
+}
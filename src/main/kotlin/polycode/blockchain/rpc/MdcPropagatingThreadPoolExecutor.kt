@@ -0,0 +1,42 @@
+package polycode.blockchain.rpc
+
+import org.slf4j.MDC
+import java.util.concurrent.SynchronousQueue
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+/**
+ * Bounded thread pool without a task queue which runs each task with the MDC of the submitting thread, so that log
+ * messages from pooled threads keep the correlation ID of the request. Tasks submitted while all threads are busy are
+ * rejected.
+ */
+class MdcPropagatingThreadPoolExecutor(
+    maxThreads: Int,
+    threadFactory: ThreadFactory
+) : ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, SynchronousQueue(), threadFactory) {
+
+    companion object {
+        private const val KEEP_ALIVE_SECONDS = 60L
+    }
+
+    init {
+        allowCoreThreadTimeOut(true)
+    }
+
+    override fun execute(command: Runnable) {
+        val submitterContext = MDC.getCopyOfContextMap()
+
+        super.execute {
+            val previousContext = MDC.getCopyOfContextMap()
+
+            submitterContext?.let { MDC.setContextMap(it) } ?: MDC.clear()
+
+            try {
+                command.run()
+            } finally {
+                previousContext?.let { MDC.setContextMap(it) } ?: MDC.clear()
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package polycode.blockchain.rpc
+
+import io.reactivex.Flowable
+import mu.KLogging
+import org.web3j.protocol.Web3jService
+import org.web3j.protocol.core.BatchRequest
+import org.web3j.protocol.core.BatchResponse
+import org.web3j.protocol.core.Request
+import org.web3j.protocol.core.Response
+import org.web3j.protocol.core.methods.response.EthBlockNumber
+import org.web3j.protocol.websocket.events.Notification
+import org.web3j.utils.Async
+import polycode.config.RpcRoutingProperties
+import java.io.IOException
+import java.math.BigInteger
+import java.util.concurrent.Callable
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorCompletionService
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+/**
+ * Routes JSON-RPC requests to multiple endpoints of the same chain. Endpoints are ordered by their health score;
+ * unhealthy endpoints and endpoints lagging behind the chain head are used only as a last resort. Failed requests are
+ * retried on the next endpoint, and read requests are additionally hedged: if the first endpoint does not respond
+ * within the configured percentile of recent latencies, the same request is sent to the next endpoint and the first
+ * successful response is used. Responses with node-side JSON-RPC errors (rate limits, missing block headers, internal
+ * errors) count as failures; if all endpoints fail this way, the last error response is returned to the caller.
+ */
+@Suppress("TooManyFunctions")
+class RoutingWeb3jService(
+    private val endpoints: List<RpcEndpoint>,
+    private val rpcRoutingProperties: RpcRoutingProperties,
+    private val executorService: ExecutorService
+) : Web3jService {
+
+    companion object : KLogging() {
+        private val READ_METHODS = setOf(
+            "eth_blockNumber",
+            "eth_call",
+            "eth_chainId",
+            "eth_estimateGas",
+            "eth_gasPrice",
+            "eth_getBalance",
+            "eth_getBlockByHash",
+            "eth_getBlockByNumber",
+            "eth_getCode",
+            "eth_getLogs",
+            "eth_getStorageAt",
+            "eth_getTransactionByHash",
+            "eth_getTransactionCount",
+            "eth_getTransactionReceipt",
+            "net_version"
+        )
+        private const val INTERNAL_ERROR_CODE = -32603
+        private val SERVER_ERROR_CODES = -32099..-32000
+
+        // server error codes are also used for errors caused by the request itself, which no endpoint can resolve
+        private val REQUEST_ERROR_MESSAGES = listOf("revert", "nonce", "insufficient funds", "already known", "gas")
+    }
+
+    private val latencyWindow = LatencyWindow(rpcRoutingProperties.latencyWindowSize)
+
+    override fun <T : Response<*>> send(request: Request<*, *>, responseType: Class<T>): T =
+        route(request.method in READ_METHODS) { endpoint ->
+            endpoint.service.send(request, responseType).also {
+                if (it is EthBlockNumber && !it.hasError()) {
+                    endpoint.observeBlockNumber(it.blockNumber)
+                }
+            }
+        }
+
+    override fun <T : Response<*>> sendAsync(request: Request<*, *>, responseType: Class<T>): CompletableFuture<T> =
+        Async.run { send(request, responseType) }
+
+    override fun sendBatch(batchRequest: BatchRequest): BatchResponse =
+        route(batchRequest.requests.all { it.method in READ_METHODS }) { it.service.sendBatch(batchRequest) }
+
+    override fun sendBatchAsync(batchRequest: BatchRequest): CompletableFuture<BatchResponse> =
+        Async.run { sendBatch(batchRequest) }
+
+    // subscriptions are long-lived and cannot be failed over, so they are kept on the best endpoint
+    override fun <T : Notification<*>> subscribe(
+        request: Request<*, *>,
+        unsubscribeMethod: String,
+        responseType: Class<T>
+    ): Flowable<T> = orderedEndpoints().first().service.subscribe(request, unsubscribeMethod, responseType)
+
+    fun refreshBlockNumbers(): BigInteger? {
+        endpoints.forEachIndexed { index, endpoint ->
+            try {
+                attempt(endpoint) {
+                    Request("eth_blockNumber", emptyList<String>(), it.service, EthBlockNumber::class.java).send()
+                }.takeIf { !it.hasError() }?.let { endpoint.observeBlockNumber(it.blockNumber) }
+            } catch (e: IOException) {
+                logger.warn { "Unable to fetch block number from endpoint #$index: ${e.message}" }
+            }
+        }
+
+        return endpoints.mapNotNull { it.latestBlockNumber }.maxOrNull()
+    }
+
+    override fun close() = endpoints.forEach { it.service.close() }
+
+    private fun <T> route(isRead: Boolean, call: (RpcEndpoint) -> T): T {
+        val candidates = orderedEndpoints()
+
+        return if (isRead && candidates.size > 1) {
+            sendHedged(candidates, call)
+        } else {
+            sendWithFailover(candidates, call)
+        }
+    }
+
+    private fun orderedEndpoints(): List<RpcEndpoint> {
+        val now = System.nanoTime()
+        val chainHead = endpoints.mapNotNull { it.latestBlockNumber }.maxOrNull()
+        val (usable, fallback) = endpoints.sortedBy { it.score }
+            .partition { it.isHealthy(now) && !it.isLagging(chainHead) }
+
+        return usable + fallback
+    }
+
+    private fun <T> sendWithFailover(candidates: List<RpcEndpoint>, call: (RpcEndpoint) -> T): T {
+        var lastException: IOException? = null
+
+        for (endpoint in candidates) {
+            try {
+                return attempt(endpoint, call)
+            } catch (e: IOException) {
+                logger.warn { "RPC request failed on endpoint #${endpoints.indexOf(endpoint)}: ${e.message}" }
+                lastException = e.preferErrorResponse(lastException)
+            }
+        }
+
+        return failure(lastException)
+    }
+
+    private fun <T> sendHedged(candidates: List<RpcEndpoint>, call: (RpcEndpoint) -> T): T {
+        val hedgedRequest = HedgedRequest(candidates, call)
+
+        try {
+            return hedgedRequest.await(hedgeDelayNanos())
+        } finally {
+            hedgedRequest.cancel()
+        }
+    }
+
+    private fun <T> attempt(endpoint: RpcEndpoint, call: (RpcEndpoint) -> T): T {
+        val startTime = System.nanoTime()
+        val result = try {
+            call(endpoint)
+        } catch (e: IOException) {
+            if (!Thread.currentThread().isInterrupted) {
+                endpoint.recordFailure(System.nanoTime() - startTime)
+            }
+
+            throw e
+        }
+
+        val latency = System.nanoTime() - startTime
+        val error = result.nodeError()
+
+        if (error != null) {
+            endpoint.recordFailure(latency)
+            throw ErrorResponseException(result, error)
+        }
+
+        endpoint.recordSuccess(latency)
+        latencyWindow.record(latency)
+
+        return result
+    }
+
+    private fun Any?.nodeError(): Response.Error? =
+        when (this) {
+            is Response<*> -> error?.takeIf { it.isNodeError() }
+            is BatchResponse -> responses.firstNotNullOfOrNull { it.error?.takeIf { e -> e.isNodeError() } }
+            else -> null
+        }
+
+    private fun Response.Error.isNodeError(): Boolean {
+        val isServerError = code == INTERNAL_ERROR_CODE || code in SERVER_ERROR_CODES
+        val errorMessage = message.orEmpty().lowercase()
+        return isServerError && REQUEST_ERROR_MESSAGES.none { errorMessage.contains(it) }
+    }
+
+    // error responses are more useful to the caller than exceptions, since they contain the error reported by the node
+    private fun IOException.preferErrorResponse(previous: IOException?): IOException =
+        if (previous is ErrorResponseException && this !is ErrorResponseException) previous else this
+
+    @Suppress("UNCHECKED_CAST")
+    private fun <T> failure(exception: IOException?): T =
+        when (exception) {
+            is ErrorResponseException -> exception.response as T
+            null -> throw IOException("No RPC endpoints available")
+            else -> throw exception
+        }
+
+    private fun hedgeDelayNanos(): Long {
+        val minDelay = rpcRoutingProperties.minHedgeDelay.toNanos()
+        val maxDelay = rpcRoutingProperties.maxHedgeDelay.toNanos()
+        return latencyWindow.percentile(rpcRoutingProperties.hedgeDelayPercentile)?.coerceIn(minDelay, maxDelay)
+            ?: maxDelay
+    }
+
+    private inner class HedgedRequest<T>(
+        private val candidates: List<RpcEndpoint>,
+        private val call: (RpcEndpoint) -> T
+    ) {
+        private val completionService = ExecutorCompletionService<T>(executorService)
+        private val futures = ArrayList<Future<T>>(candidates.size)
+        private var completed = 0
+        private var isSaturated = false
+
+        private val hasMoreCandidates: Boolean
+            get() = !isSaturated && futures.size < candidates.size
+
+        fun await(hedgeDelayNanos: Long): T {
+            var lastException: IOException? = null
+
+            submitNext()
+
+            while (completed < futures.size) {
+                val future = if (hasMoreCandidates) {
+                    completionService.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS)
+                } else {
+                    completionService.take()
+                }
+
+                if (future == null) {
+                    logger.debug { "Hedging RPC request to endpoint #${endpoints.indexOf(candidates[futures.size])}" }
+                    submitNext()
+                    continue
+                }
+
+                completed += 1
+
+                val exception = future.exceptionOrNull() ?: return future.get()
+
+                if (exception !is IOException) {
+                    throw exception
+                }
+
+                lastException = exception.preferErrorResponse(lastException)
+
+                if (hasMoreCandidates) {
+                    submitNext()
+                }
+            }
+
+            // hedging threads are exhausted, so remaining endpoints are tried sequentially on the calling thread
+            return if (futures.size < candidates.size) {
+                sendWithFailover(candidates.subList(futures.size, candidates.size), call)
+            } else {
+                failure(lastException)
+            }
+        }
+
+        fun cancel() = futures.forEach { it.cancel(true) }
+
+        private fun submitNext() {
+            val endpoint = candidates[futures.size]
+
+            try {
+                futures.add(completionService.submit(Callable { attempt(endpoint, call) }))
+            } catch (e: RejectedExecutionException) {
+                logger.debug { "RPC hedging thread pool is saturated" }
+                isSaturated = true
+            }
+        }
+
+        private fun Future<T>.exceptionOrNull(): Throwable? =
+            try {
+                get()
+                null
+            } catch (e: ExecutionException) {
+                e.cause ?: e
+            }
+    }
+
+    private class ErrorResponseException(val response: Any?, error: Response.Error) :
+        IOException("JSON-RPC error response, code: ${error.code}, message: ${error.message}")
+}
@@ -0,0 +1,63 @@
+package polycode.blockchain.rpc
+
+import org.web3j.protocol.Web3jService
+import polycode.config.RpcRoutingProperties
+import java.math.BigInteger
+
+class RpcEndpoint(
+    val service: Web3jService,
+    private val rpcRoutingProperties: RpcRoutingProperties
+) {
+
+    companion object {
+        private const val EWMA_ALPHA = 0.2
+        private const val ERROR_RATE_PENALTY = 10.0
+    }
+
+    @Volatile
+    var latestBlockNumber: BigInteger? = null
+        private set
+
+    private var latencyEwmaNanos: Double? = null
+    private var errorRateEwma = 0.0
+    private var unhealthyUntilNanos: Long? = null
+
+    val score: Double
+        @Synchronized
+        get() = (latencyEwmaNanos ?: 0.0) * (1.0 + ERROR_RATE_PENALTY * errorRateEwma)
+
+    @Synchronized
+    fun recordSuccess(latencyNanos: Long) {
+        latencyEwmaNanos = ewma(latencyEwmaNanos ?: latencyNanos.toDouble(), latencyNanos.toDouble())
+        errorRateEwma = ewma(errorRateEwma, 0.0)
+    }
+
+    @Synchronized
+    fun recordFailure(latencyNanos: Long) {
+        latencyEwmaNanos = ewma(latencyEwmaNanos ?: latencyNanos.toDouble(), latencyNanos.toDouble())
+        errorRateEwma = ewma(errorRateEwma, 1.0)
+
+        if (errorRateEwma >= rpcRoutingProperties.unhealthyErrorRate) {
+            unhealthyUntilNanos = System.nanoTime() + rpcRoutingProperties.unhealthyCooldown.toNanos()
+            errorRateEwma = 0.0
+        }
+    }
+
+    @Synchronized
+    fun isHealthy(nowNanos: Long): Boolean = unhealthyUntilNanos?.let { nowNanos - it >= 0L } ?: true
+
+    fun isLagging(chainHead: BigInteger?): Boolean {
+        val blockNumber = latestBlockNumber
+        return chainHead != null && blockNumber != null &&
+            chainHead - blockNumber > BigInteger.valueOf(rpcRoutingProperties.maxHeadLag)
+    }
+
+    @Synchronized
+    fun observeBlockNumber(blockNumber: BigInteger) {
+        if (latestBlockNumber?.let { blockNumber > it } != false) {
+            latestBlockNumber = blockNumber
+        }
+    }
+
+    private fun ewma(current: Double, sample: Double): Double = current + EWMA_ALPHA * (sample - current)
+}
@@ -0,0 +1,110 @@
+package polycode.blockchain.rpc
+
+import io.micrometer.core.instrument.DistributionSummary
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Tags
+import io.micrometer.core.instrument.Timer
+import mu.KLogging
+import org.springframework.stereotype.Component
+import polycode.config.RpcMetricsProperties
+import polycode.util.ChainId
+import java.io.IOException
+import java.io.InterruptedIOException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@Component
+class RpcMetrics(
+    private val meterRegistry: MeterRegistry,
+    private val rpcMetricsProperties: RpcMetricsProperties
+) {
+
+    companion object : KLogging() {
+        private const val REQUESTS_METRIC = "polycode.rpc.requests"
+        private const val ERRORS_METRIC = "polycode.rpc.errors"
+        private const val IN_FLIGHT_METRIC = "polycode.rpc.in.flight"
+        private const val REQUEST_SIZE_METRIC = "polycode.rpc.request.size"
+        private const val RESPONSE_SIZE_METRIC = "polycode.rpc.response.size"
+        private const val CHAIN_TAG = "chain"
+        private const val METHOD_TAG = "method"
+        private const val OUTCOME_TAG = "outcome"
+        private const val ERROR_TYPE_TAG = "type"
+
+        private enum class Outcome(val tagValue: String) {
+            SUCCESS("success"),
+            RPC_ERROR("rpc_error"),
+            TIMEOUT("timeout"),
+            IO_ERROR("io_error"),
+            FAILURE("failure")
+        }
+    }
+
+    private val inFlightRequests = ConcurrentHashMap<ChainId, AtomicInteger>()
+
+    fun <T> record(chainId: ChainId, method: String, isRpcError: (T) -> Boolean, call: () -> T): T {
+        val inFlight = inFlightRequests(chainId)
+        val startTime = System.nanoTime()
+        var outcome = Outcome.FAILURE
+
+        inFlight.incrementAndGet()
+
+        try {
+            return call().also { outcome = if (isRpcError(it)) Outcome.RPC_ERROR else Outcome.SUCCESS }
+        } catch (e: InterruptedIOException) {
+            outcome = Outcome.TIMEOUT
+            throw e
+        } catch (e: IOException) {
+            outcome = Outcome.IO_ERROR
+            throw e
+        } finally {
+            inFlight.decrementAndGet()
+            recordCall(chainId, method, outcome, System.nanoTime() - startTime)
+        }
+    }
+
+    fun recordRequestSize(chainId: ChainId, bytes: Long) =
+        sizeSummary(REQUEST_SIZE_METRIC, chainId).record(bytes.toDouble())
+
+    fun recordResponseSize(chainId: ChainId, bytes: Long) =
+        sizeSummary(RESPONSE_SIZE_METRIC, chainId).record(bytes.toDouble())
+
+    private fun recordCall(chainId: ChainId, method: String, outcome: Outcome, durationNanos: Long) {
+        Timer.builder(REQUESTS_METRIC)
+            .description("Duration of JSON-RPC calls")
+            .tags(chainTags(chainId).and(METHOD_TAG, method, OUTCOME_TAG, outcome.tagValue))
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(durationNanos, TimeUnit.NANOSECONDS)
+
+        if (outcome != Outcome.SUCCESS) {
+            meterRegistry.counter(ERRORS_METRIC, chainTags(chainId).and(ERROR_TYPE_TAG, outcome.tagValue)).increment()
+        }
+
+        val durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos)
+
+        if (durationMillis >= rpcMetricsProperties.slowCallThreshold.toMillis() &&
+            ThreadLocalRandom.current().nextDouble() < rpcMetricsProperties.slowCallSampleRate
+        ) {
+            logger.warn {
+                "Slow RPC call, chainId: $chainId, method: $method, outcome: ${outcome.tagValue}," +
+                    " duration: $durationMillis ms"
+            }
+        }
+    }
+
+    private fun inFlightRequests(chainId: ChainId): AtomicInteger =
+        inFlightRequests.computeIfAbsent(chainId) {
+            meterRegistry.gauge(IN_FLIGHT_METRIC, chainTags(chainId), AtomicInteger())
+        }
+
+    private fun sizeSummary(name: String, chainId: ChainId): DistributionSummary =
+        DistributionSummary.builder(name)
+            .baseUnit("bytes")
+            .tags(chainTags(chainId))
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+
+    private fun chainTags(chainId: ChainId): Tags = Tags.of(CHAIN_TAG, chainId.value.toString())
+}
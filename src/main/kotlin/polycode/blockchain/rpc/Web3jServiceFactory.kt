@@ -0,0 +1,37 @@
+package polycode.blockchain.rpc
+
+import io.micrometer.core.instrument.util.NamedThreadFactory
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.stereotype.Component
+import org.web3j.protocol.Web3jService
+import polycode.config.RpcRoutingProperties
+import polycode.util.ChainId
+
+@Component
+class Web3jServiceFactory(
+    private val rpcMetrics: RpcMetrics,
+    private val rpcRoutingProperties: RpcRoutingProperties
+) : DisposableBean {
+
+    private val hedgingExecutorService = MdcPropagatingThreadPoolExecutor(
+        maxThreads = rpcRoutingProperties.hedgingThreadPoolSize,
+        threadFactory = NamedThreadFactory("rpc-hedging")
+    )
+
+    fun create(chainId: ChainId, rpcUrls: List<String>): Web3jService =
+        if (rpcUrls.size == 1) {
+            InstrumentedHttpService(rpcUrls.first(), chainId, rpcMetrics)
+        } else {
+            RoutingWeb3jService(
+                endpoints = rpcUrls.map {
+                    RpcEndpoint(InstrumentedHttpService(it, chainId, rpcMetrics), rpcRoutingProperties)
+                },
+                rpcRoutingProperties = rpcRoutingProperties,
+                executorService = hedgingExecutorService
+            )
+        }
+
+    override fun destroy() {
+        hedgingExecutorService.shutdownNow()
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan
 import org.springframework.boot.context.properties.ConstructorBinding
 import org.springframework.context.annotation.Configuration
+import org.springframework.util.unit.DataSize
 import polycode.util.ChainId
 import polycode.util.WalletAddress
 import java.math.BigInteger
@@ -13,6 +14,8 @@ import java.nio.file.Path
 import java.security.interfaces.RSAPrivateCrtKey
 import java.time.Duration
 import kotlin.time.Duration.Companion.days
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.milliseconds
 import kotlin.time.Duration.Companion.minutes
 import kotlin.time.Duration.Companion.seconds
 import kotlin.time.toJavaDuration
@@ -30,7 +33,8 @@ class ApplicationProperties {
 data class JwtProperties(
     val privateKey: RSAPrivateCrtKey,
     val tokenValidity: Duration,
-    val walletLoginRequestValidity: Duration
+    val walletLoginRequestValidity: Duration,
+    val verifiedTokenCacheSize: Int = 10_000
 )
 
 @ConstructorBinding
@@ -50,7 +54,78 @@ data class ChainProperties(
     val minBlockConfirmationsForCaching: BigInteger?,
     val chainExplorerApiUrl: String?,
     val chainExplorerApiKey: String?,
-    val latestBlockCacheDuration: Duration = 5.seconds.toJavaDuration()
+    val latestBlockCacheDuration: Duration = 5.seconds.toJavaDuration(),
+    val maxHeadAgePollIntervals: Long = 2L,
+    val additionalRpcUrls: List<String> = emptyList()
+)
+
+@ConstructorBinding
+@ConfigurationProperties(prefix = "polycode.rpc-metrics")
+data class RpcMetricsProperties(
+    val slowCallThreshold: Duration = 2.seconds.toJavaDuration(),
+    val slowCallSampleRate: Double = 1.0
+)
+
+@ConstructorBinding
+@ConfigurationProperties(prefix = "polycode.rpc-routing")
+data class RpcRoutingProperties(
+    val minHedgeDelay: Duration = 50.milliseconds.toJavaDuration(),
+    val maxHedgeDelay: Duration = 2.seconds.toJavaDuration(),
+    val hedgeDelayPercentile: Double = 0.95,
+    val latencyWindowSize: Int = 128,
+    val maxHeadLag: Long = 5L,
+    val unhealthyErrorRate: Double = 0.5,
+    val unhealthyCooldown: Duration = 30.seconds.toJavaDuration(),
+    val hedgingThreadPoolSize: Int = 64
+)
+
+@ConstructorBinding
+@ConfigurationProperties(prefix = "polycode.block-header-cache")
+data class BlockHeaderCacheProperties(
+    val maxSizePerChain: Int = 10_000
+)
+
+@ConstructorBinding
+@ConfigurationProperties(prefix = "polycode.readonly-call-cache")
+data class ReadonlyCallCacheProperties(
+    val memoryCacheSize: Int = 10_000,
+    val persistent: Boolean = true
+)
+
+@ConstructorBinding
+@ConfigurationProperties(prefix = "polycode.cache-retention")
+data class CacheRetentionProperties(
+    val maintenanceInterval: Duration = 10.minutes.toJavaDuration(),
+    val deleteBatchSize: Int = 1_000,
+    val maxDeleteBatchesPerRun: Int = 100,
+    val deleteBatchPause: Duration = 100.milliseconds.toJavaDuration(),
+    val accessResolution: Duration = 1.hours.toJavaDuration(),
+    val accountBalance: CacheTableRetention = CacheTableRetention(
+        maxAge = 7.days.toJavaDuration(),
+        maxIdle = 1.days.toJavaDuration()
+    ),
+    val erc20AccountBalance: CacheTableRetention = CacheTableRetention(
+        maxAge = 7.days.toJavaDuration(),
+        maxIdle = 1.days.toJavaDuration()
+    ),
+    val readonlyCall: CacheTableRetention = CacheTableRetention(
+        maxAge = 7.days.toJavaDuration(),
+        maxIdle = 1.days.toJavaDuration()
+    ),
+    val transactionInfo: CacheTableRetention = CacheTableRetention(
+        maxAge = 90.days.toJavaDuration(),
+        maxIdle = 30.days.toJavaDuration()
+    ),
+    val contractDeploymentTransaction: CacheTableRetention = CacheTableRetention(
+        maxAge = null,
+        maxIdle = 30.days.toJavaDuration()
+    )
+)
+
+@ConstructorBinding
+data class CacheTableRetention(
+    val maxAge: Duration?,
+    val maxIdle: Duration?
 )
 
 @ConstructorBinding
@@ -67,14 +142,31 @@ data class ContractDecoratorProperties(
     val interfacesDirectory: Path?,
     val ignoredDirs: List<String> = listOf(".git"),
     val fillChangePollInterval: Duration = 1.minutes.toJavaDuration(),
-    val fileChangeQuietInterval: Duration = 30.seconds.toJavaDuration()
+    val fileChangeQuietInterval: Duration = 30.seconds.toJavaDuration(),
+    val catalogResponseCacheMaxSize: DataSize = DataSize.ofMegabytes(64L),
+    val importedDecoratorCacheSize: Int = 1_000
 )
 
 @ConstructorBinding
 @ConfigurationProperties(prefix = "polycode.meta-pixel-properties")
 data class MetaPixelProperties(
     val accessToken: String?,
-    val pixelId: String?
+    val pixelId: String?,
+    val endpointBase: String? = null
+)
+
+@ConstructorBinding
+@ConfigurationProperties(prefix = "polycode.analytics-queue")
+data class AnalyticsQueueProperties(
+    val capacity: Int = 10_000,
+    val batchSize: Int = 100,
+    val flushInterval: Duration = 5.seconds.toJavaDuration(),
+    val maxSendAttempts: Int = 5,
+    val initialRetryDelay: Duration = 1.seconds.toJavaDuration(),
+    val maxRetryDelay: Duration = 5.minutes.toJavaDuration(),
+    val spillDirectory: Path? = null,
+    val maxSpilledEvents: Int = 100_000,
+    val shutdownTimeout: Duration = 10.seconds.toJavaDuration()
 )
 
 @ConstructorBinding
@@ -82,7 +174,29 @@ data class MetaPixelProperties(
 data class ContractManifestServiceProperties(
     val baseUrl: String?,
     val decompileContractPath: String = "/decompile-contract",
-    val functionSignaturePath: String = "/function-signature/{signature}"
+    val functionSignaturePath: String = "/function-signature/{signature}",
+    val functionSignatureCacheSize: Int = 10_000,
+    val unknownFunctionSignatureCacheDuration: Duration = 1.days.toJavaDuration(),
+    val decompiledContractCacheSize: Int = 1_000
+)
+
+@ConstructorBinding
+@ConfigurationProperties(prefix = "polycode.outbound-http")
+data class OutboundHttpProperties(
+    val connectTimeout: Duration = 5.seconds.toJavaDuration(),
+    val readTimeout: Duration = 30.seconds.toJavaDuration(),
+    val maxIdleConnections: Int = 10,
+    val keepAlive: Duration = 5.minutes.toJavaDuration(),
+    val cacheDirectory: Path? = null,
+    val maxCacheSizeBytes: Long = 50L * 1024L * 1024L,
+    val destinations: Map<String, OutboundHttpDestinationProperties> = emptyMap()
+)
+
+data class OutboundHttpDestinationProperties(
+    val connectTimeout: Duration? = null,
+    val readTimeout: Duration? = null,
+    val maxIdleConnections: Int? = null,
+    val keepAlive: Duration? = null
 )
 
 @ConstructorBinding
@@ -93,6 +207,14 @@ data class ApiRateProperties(
     val freeTierReadRequests: Long = 500_000L
 )
 
+@ConstructorBinding
+@ConfigurationProperties(prefix = "polycode.api-call-log")
+data class ApiCallLogProperties(
+    val maintenanceInterval: Duration = 1.hours.toJavaDuration(),
+    val partitionsAhead: Int = 7,
+    val retentionDays: Long = 90L
+)
+
 @ConstructorBinding
 @ConfigurationProperties(prefix = "polycode.admin")
 data class AdminProperties(
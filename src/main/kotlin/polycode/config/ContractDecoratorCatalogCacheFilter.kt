@@ -0,0 +1,185 @@
+package polycode.config
+
+import mu.KLogging
+import org.springframework.http.HttpHeaders
+import org.springframework.http.HttpMethod
+import org.springframework.http.HttpStatus
+import org.springframework.http.InvalidMediaTypeException
+import org.springframework.http.MediaType
+import org.springframework.stereotype.Component
+import org.springframework.web.filter.OncePerRequestFilter
+import org.springframework.web.util.ContentCachingResponseWrapper
+import polycode.config.interceptors.CorrelationIdInterceptor
+import polycode.features.contract.deployment.repository.ContractDecoratorRepository
+import polycode.service.UuidProvider
+import polycode.util.LruCache
+import java.io.ByteArrayOutputStream
+import java.net.URLEncoder
+import java.nio.charset.StandardCharsets
+import java.security.MessageDigest
+import java.util.HexFormat
+import java.util.concurrent.atomic.AtomicReference
+import java.util.zip.GZIPOutputStream
+import javax.servlet.FilterChain
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+
+@Component
+class ContractDecoratorCatalogCacheFilter(
+    private val contractDecoratorRepository: ContractDecoratorRepository,
+    private val uuidProvider: UuidProvider,
+    contractDecoratorProperties: ContractDecoratorProperties
+) : OncePerRequestFilter() {
+
+    companion object : KLogging() {
+        private const val CATALOG_PATH = "/v1/deployable-contracts"
+        private const val PROJECT_ID_PARAM = "projectId"
+        private const val TAGS_PARAM = "tags"
+        private const val IMPLEMENTS_PARAM = "implements"
+        private const val AND_SEPARATOR = " AND "
+        private const val GZIP_ENCODING = "gzip"
+        private const val GZIP_THRESHOLD_BYTES = 1_024
+        private val PRODUCED_MEDIA_TYPES = listOf(MediaType.APPLICATION_JSON, MediaType.TEXT_MARKDOWN)
+
+        private class CachedResponse(val contentType: String?, val body: ByteArray) {
+            val eTag = "\"${HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body))}\""
+            val gzippedBody: ByteArray? = if (body.size >= GZIP_THRESHOLD_BYTES) body.gzip() else null
+        }
+
+        private class CatalogSnapshot(val revision: Long, val responses: LruCache<String, CachedResponse>)
+
+        private fun ByteArray.gzip(): ByteArray {
+            val output = ByteArrayOutputStream(size / 2)
+            GZIPOutputStream(output).use { it.write(this) }
+            return output.toByteArray()
+        }
+    }
+
+    private val cacheMaxBytes = contractDecoratorProperties.catalogResponseCacheMaxSize.toBytes()
+    private val correlationIdInterceptor = CorrelationIdInterceptor(uuidProvider)
+    private val currentSnapshot = AtomicReference(CatalogSnapshot(-1L, newCache()))
+
+    override fun shouldNotFilter(request: HttpServletRequest): Boolean =
+        request.method != HttpMethod.GET.name ||
+            (request.requestURI != CATALOG_PATH && request.requestURI.startsWith("$CATALOG_PATH/").not()) ||
+            request.getParameter(PROJECT_ID_PARAM) != null ||
+            request.acceptedMediaTypes().isEmpty()
+
+    override fun doFilterInternal(
+        request: HttpServletRequest,
+        response: HttpServletResponse,
+        filterChain: FilterChain
+    ) {
+        val snapshot = getSnapshot()
+        val cacheKey = request.cacheKey()
+        val cachedResponse = snapshot.responses[cacheKey]
+
+        if (cachedResponse != null) {
+            // cache hits do not reach the handler interceptors, so correlation ID is handled in the same way here
+            correlationIdInterceptor.preHandle(request, response, this)
+
+            try {
+                logger.debug { "Serving cached catalog response, key: $cacheKey, revision: ${snapshot.revision}" }
+                cachedResponse.writeTo(request, response)
+            } finally {
+                correlationIdInterceptor.afterCompletion(request, response, this, null)
+            }
+        } else {
+            val responseWrapper = ContentCachingResponseWrapper(response)
+            filterChain.doFilter(request, responseWrapper)
+
+            if (responseWrapper.status == HttpStatus.OK.value()) {
+                val newResponse = CachedResponse(responseWrapper.contentType, responseWrapper.contentAsByteArray)
+                snapshot.responses[cacheKey] = newResponse
+                newResponse.writeTo(request, response)
+            } else {
+                responseWrapper.copyBodyToResponse()
+            }
+        }
+    }
+
+    private fun getSnapshot(): CatalogSnapshot {
+        val revision = contractDecoratorRepository.revision
+        return currentSnapshot.updateAndGet {
+            if (it.revision == revision) it else CatalogSnapshot(revision, newCache())
+        }
+    }
+
+    private fun newCache() = LruCache<String, CachedResponse>(
+        maxSize = Int.MAX_VALUE,
+        maxWeight = cacheMaxBytes
+    ) { key, value -> key.length.toLong() + value.body.size + (value.gzippedBody?.size ?: 0) }
+
+    // cache key contains only normalized parameters which are used by catalog endpoints, so that unknown or permuted
+    // parameters cannot be used to fill up the cache with copies of the same response
+    private fun HttpServletRequest.cacheKey(): String =
+        listOf(TAGS_PARAM, IMPLEMENTS_PARAM).joinToString(
+            prefix = requestURI,
+            separator = "",
+            postfix = "|accept=" + acceptedMediaTypes().joinToString(separator = ",")
+        ) {
+            "|$it=" + getParameterValues(it).normalizeFilter()
+        }
+
+    // response depends on content negotiation, so Accept header is reduced to media types which catalog endpoints
+    // can produce; requests which accept none of them are left to the regular content negotiation
+    private fun HttpServletRequest.acceptedMediaTypes(): List<MediaType> {
+        val acceptedMediaTypes = try {
+            MediaType.parseMediaTypes(getHeaders(HttpHeaders.ACCEPT).toList()).ifEmpty { listOf(MediaType.ALL) }
+        } catch (e: InvalidMediaTypeException) {
+            emptyList()
+        }
+
+        return PRODUCED_MEDIA_TYPES.filter { producedType ->
+            acceptedMediaTypes.any { it.qualityValue > 0.0 && it.isCompatibleWith(producedType) }
+        }
+    }
+
+    private fun Array<String>?.normalizeFilter(): String {
+        // same as Spring conversion of request parameters into a list: single value is split by commas
+        val values = this?.singleOrNull()?.split(',')?.map { it.trim() } ?: this?.toList().orEmpty()
+
+        return values
+            .map { orValue ->
+                orValue.split(AND_SEPARATOR)
+                    .map { URLEncoder.encode(it, StandardCharsets.UTF_8) }
+                    .toSortedSet()
+                    .joinToString(separator = ",", prefix = "(", postfix = ")")
+            }
+            .toSortedSet()
+            .joinToString(separator = "")
+    }
+
+    private fun CachedResponse.writeTo(request: HttpServletRequest, response: HttpServletResponse) {
+        response.setHeader(HttpHeaders.ETAG, eTag)
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+
+        if (request.matchesETag(eTag)) {
+            response.status = HttpStatus.NOT_MODIFIED.value()
+        } else {
+            val gzippedResponseBody = gzippedBody?.takeIf { request.acceptsGzip() }
+            val responseBody = gzippedResponseBody ?: body
+
+            if (gzippedResponseBody != null) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING)
+            }
+
+            contentType?.let { response.contentType = it }
+            response.status = HttpStatus.OK.value()
+            response.setContentLength(responseBody.size)
+            response.outputStream.write(responseBody)
+        }
+    }
+
+    private fun HttpServletRequest.matchesETag(eTag: String): Boolean =
+        getHeaders(HttpHeaders.IF_NONE_MATCH).toList()
+            .flatMap { it.split(',') }
+            .map { it.trim().removePrefix("W/") }
+            .any { it == eTag || it == "*" }
+
+    private fun HttpServletRequest.acceptsGzip(): Boolean =
+        getHeaders(HttpHeaders.ACCEPT_ENCODING).toList()
+            .flatMap { it.split(',') }
+            .any { it.substringBefore(';').trim().equals(GZIP_ENCODING, ignoreCase = true) }
+}
@@ -21,7 +21,14 @@ import polycode.util.Constants
 import polycode.util.ContractId
 import polycode.util.InterfaceId
 import java.io.File
+import java.nio.ByteBuffer
 import java.nio.file.Path
+import java.security.MessageDigest
+import java.util.HexFormat
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 import kotlin.io.path.isDirectory
 import kotlin.io.path.isRegularFile
 import kotlin.io.path.listDirectoryEntries
@@ -41,19 +48,39 @@ class ContractDecoratorFileChangeListener(
     private val ignoredDirs: List<String>
 ) : FileChangeListener {
 
-    companion object : KLogging()
+    companion object : KLogging() {
+        private const val MAX_LOADER_THREADS = 8
+
+        private data class DecoratorDir(val dir: Path, val parts: List<String>, val setName: String)
+    }
+
+    private val contentHashes = ConcurrentHashMap<ContractId, String>()
 
     init {
-        interfacesDir?.let { processNestedInterfaces(it, it) }
-
-        contractsDir.listDirectoryEntries()
-            .filter { it.filterDirs() }
-            .forEach { set ->
-                logger.info { "Processing contract decorators in ${set.name}..." }
-                set.listDirectoryEntries()
-                    .filter { entry -> entry.filterDirs() }
-                    .forEach { dir -> processNestedDecorators(dir, emptyList(), set.name) }
+        val loaderThreads = Runtime.getRuntime().availableProcessors().coerceIn(1, MAX_LOADER_THREADS)
+        val executorService = Executors.newFixedThreadPool(loaderThreads)
+
+        try {
+            interfacesDir?.let { rootDir ->
+                executorService.processAll(collectNestedInterfaces(rootDir)) { processContractInterface(rootDir, it) }
             }
+
+            val decoratorDirs = contractsDir.listDirectoryEntries()
+                .filter { it.filterDirs() }
+                .flatMap { set ->
+                    logger.info { "Processing contract decorators in ${set.name}..." }
+                    set.listDirectoryEntries()
+                        .filter { entry -> entry.filterDirs() }
+                        .flatMap { dir -> collectNestedDecorators(dir, emptyList(), set.name) }
+                }
+            val contractMetadata = executorService.processAll(decoratorDirs) {
+                loadContractDecorator(it.dir, it.parts, it.setName)
+            }
+
+            contractMetadataRepository.createOrUpdateAll(contractMetadata.filterNotNull())
+        } finally {
+            executorService.shutdown()
+        }
     }
 
     @Suppress("MagicNumber")
@@ -107,16 +134,17 @@ class ContractDecoratorFileChangeListener(
 
     private fun Path.filterDirs(): Boolean = this.isDirectory() && !ignoredDirs.contains(this.name)
 
-    private fun processNestedInterfaces(interfacesRootDir: Path, dir: Path) {
+    private fun collectNestedInterfaces(dir: Path): List<Path> =
         dir.listDirectoryEntries()
-            .forEach {
+            .flatMap {
                 if (it.filterManifestFiles()) {
-                    processContractInterface(interfacesRootDir, it)
+                    listOf(it)
                 } else if (it.filterDirs()) {
-                    processNestedInterfaces(interfacesRootDir, it)
+                    collectNestedInterfaces(it)
+                } else {
+                    emptyList()
                 }
             }
-    }
 
     private fun processContractInterface(interfacesRootDir: Path, manifest: Path) {
         val relativePath = manifest.relativeTo(interfacesRootDir)
@@ -125,7 +153,14 @@ class ContractDecoratorFileChangeListener(
 
         val infoMd = manifest.parent.resolve(manifest.name.removeSuffix("manifest.json") + "info.md").toFile()
         val infoMarkdown = infoMd.takeIf { it.isFile }?.readText() ?: ""
-        val manifestJson = objectMapper.tryParse(id.value, "interface", manifest.toFile(), InterfaceManifestJson::class)
+        val manifestFile = manifest.toFile()
+        val manifestJson = objectMapper.tryParse(
+            id = id.value,
+            type = "interface",
+            file = manifestFile,
+            content = manifestFile.takeIf { it.isFile }?.readBytes(),
+            valueType = InterfaceManifestJson::class
+        )
 
         if (manifestJson != null) {
             contractInterfacesRepository.store(id, manifestJson)
@@ -135,15 +170,26 @@ class ContractDecoratorFileChangeListener(
         }
     }
 
-    private fun processNestedDecorators(dir: Path, parts: List<String>, setName: String) {
+    private fun collectNestedDecorators(dir: Path, parts: List<String>, setName: String): List<DecoratorDir> =
         if (dir.resolve("artifact.json").isRegularFile() || dir.resolve("manifest.json").isRegularFile()) {
-            processContractDecorator(dir, parts, setName)
+            listOf(DecoratorDir(dir, parts, setName))
         } else if (dir.filterDirs()) {
-            dir.listDirectoryEntries().forEach { processNestedDecorators(it, parts + dir.name, setName) }
+            dir.listDirectoryEntries().flatMap { collectNestedDecorators(it, parts + dir.name, setName) }
+        } else {
+            emptyList()
         }
-    }
 
     private fun processContractDecorator(contractDecoratorDir: Path, parts: List<String>, setName: String) {
+        loadContractDecorator(contractDecoratorDir, parts, setName)
+            ?.let { contractMetadataRepository.createOrUpdate(it) }
+    }
+
+    @Suppress("ReturnCount")
+    private fun loadContractDecorator(
+        contractDecoratorDir: Path,
+        parts: List<String>,
+        setName: String
+    ): ContractMetadata? {
         val nestedParts = parts.joinToString("/")
         val id = ContractId("$setName/$nestedParts/${contractDecoratorDir.name}".replace("//", "/"))
         logger.info { "Processing contract decorator $id..." }
@@ -151,9 +197,19 @@ class ContractDecoratorFileChangeListener(
         val artifact = contractDecoratorDir.resolve("artifact.json").toFile()
         val manifest = contractDecoratorDir.resolve("manifest.json").toFile()
         val infoMd = contractDecoratorDir.resolve("info.md").toFile()
-        val artifactJson = objectMapper.tryParse(id.value, "decorator", artifact, ArtifactJson::class)
-        val manifestJson = objectMapper.tryParse(id.value, "decorator", manifest, ManifestJson::class)
-        val infoMarkdown = infoMd.takeIf { it.isFile }?.readText() ?: ""
+        val artifactBytes = artifact.takeIf { it.isFile }?.readBytes()
+        val manifestBytes = manifest.takeIf { it.isFile }?.readBytes()
+        val infoMdBytes = infoMd.takeIf { it.isFile }?.readBytes()
+        val contentHash = contentHash(artifactBytes, manifestBytes, infoMdBytes)
+
+        if (contentHashes[id] == contentHash && contractDecoratorRepository.getById(id) != null) {
+            logger.info { "Contract decorator $id is unchanged, skipping..." }
+            return null
+        }
+
+        val artifactJson = objectMapper.tryParse(id.value, "decorator", artifact, artifactBytes, ArtifactJson::class)
+        val manifestJson = objectMapper.tryParse(id.value, "decorator", manifest, manifestBytes, ManifestJson::class)
+        val infoMarkdown = infoMdBytes?.decodeToString() ?: ""
 
         if (artifactJson != null && manifestJson != null) {
             try {
@@ -169,33 +225,53 @@ class ContractDecoratorFileChangeListener(
                 contractDecoratorRepository.store(decorator.id, manifestJson)
                 contractDecoratorRepository.store(decorator.id, artifactJson)
                 contractDecoratorRepository.store(decorator.id, infoMarkdown)
-                contractMetadataRepository.createOrUpdate(
-                    ContractMetadata(
-                        id = uuidProvider.getUuid(ContractMetadataId),
-                        name = decorator.name,
-                        description = decorator.description,
-                        contractId = decorator.id,
-                        contractTags = decorator.tags,
-                        contractImplements = decorator.implements,
-                        projectId = Constants.NIL_PROJECT_ID
-                    )
+                contentHashes[id] = contentHash
+
+                return ContractMetadata(
+                    id = uuidProvider.getUuid(ContractMetadataId),
+                    name = decorator.name,
+                    description = decorator.description,
+                    contractId = decorator.id,
+                    contractTags = decorator.tags,
+                    contractImplements = decorator.implements,
+                    projectId = Constants.NIL_PROJECT_ID
                 )
             } catch (e: ContractDecoratorException) {
                 logger.warn(e) { "${e.message} for contract decorator: $id, skipping..." }
-                contractDecoratorRepository.delete(id)
             } catch (e: ContractInterfaceNotFoundException) {
                 logger.warn(e) { "${e.message} for contract decorator: $id, skipping..." }
-                contractDecoratorRepository.delete(id)
             }
-        } else {
-            contractDecoratorRepository.delete(id)
         }
+
+        contentHashes.remove(id)
+        contractDecoratorRepository.delete(id)
+        return null
     }
 
-    private fun <T : Any> ObjectMapper.tryParse(id: String, type: String, file: File, valueType: KClass<T>): T? =
-        if (file.isFile) {
+    private fun contentHash(vararg contents: ByteArray?): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+
+        contents.forEach {
+            digest.update(ByteBuffer.allocate(Int.SIZE_BYTES).putInt(it?.size ?: -1).array())
+            it?.let { bytes -> digest.update(bytes) }
+        }
+
+        return HexFormat.of().formatHex(digest.digest())
+    }
+
+    private fun <T, R> ExecutorService.processAll(items: List<T>, action: (T) -> R): List<R> =
+        items.map { submit(Callable { action(it) }) }.map { it.get() }
+
+    private fun <T : Any> ObjectMapper.tryParse(
+        id: String,
+        type: String,
+        file: File,
+        content: ByteArray?,
+        valueType: KClass<T>
+    ): T? =
+        if (content != null) {
             try {
-                readValue(file, valueType.java)
+                readValue(content, valueType.java)
             } catch (e: DatabindException) {
                 logger.warn(e) { "Unable to parse ${file.name} for contract $type: $id, skipping..." }
                 null
@@ -0,0 +1,83 @@
+package polycode.config
+
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Tags
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpMetricsEventListener
+import mu.KLogging
+import okhttp3.Cache
+import okhttp3.ConnectionPool
+import okhttp3.OkHttpClient
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.http.client.ClientHttpRequestFactory
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory
+import org.springframework.stereotype.Component
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+/**
+ * Creates outbound HTTP clients with a separate connection pool per destination. Timeouts and pool sizes can be
+ * overridden per destination via `polycode.outbound-http.destinations.<destination>`, otherwise global values are used.
+ * All clients record `polycode.http.client.requests` metrics tagged by destination and host. If cache directory is
+ * configured, GET responses are cached on disk according to their `Cache-Control` headers.
+ */
+@Component
+class OutboundHttpClientFactory(
+    private val outboundHttpProperties: OutboundHttpProperties,
+    private val meterRegistry: MeterRegistry
+) : DisposableBean {
+
+    companion object : KLogging() {
+        private const val REQUESTS_METRIC = "polycode.http.client.requests"
+        private const val DESTINATION_TAG = "destination"
+    }
+
+    private val baseClient = OkHttpClient.Builder()
+        .retryOnConnectionFailure(true)
+        .build()
+    private val clients = ConcurrentHashMap<String, OkHttpClient>()
+
+    fun requestFactory(destination: String): ClientHttpRequestFactory =
+        OkHttp3ClientHttpRequestFactory(client(destination))
+
+    fun client(destination: String): OkHttpClient = clients.computeIfAbsent(destination) { createClient(it) }
+
+    override fun destroy() {
+        logger.info { "Shutting down outbound HTTP clients..." }
+
+        clients.values.forEach {
+            it.dispatcher.executorService.shutdown()
+            it.connectionPool.evictAll()
+            it.cache?.close()
+        }
+    }
+
+    private fun createClient(destination: String): OkHttpClient {
+        val overrides = outboundHttpProperties.destinations[destination]
+        val connectTimeout = overrides?.connectTimeout ?: outboundHttpProperties.connectTimeout
+        val readTimeout = overrides?.readTimeout ?: outboundHttpProperties.readTimeout
+        val maxIdleConnections = overrides?.maxIdleConnections ?: outboundHttpProperties.maxIdleConnections
+        val keepAlive = overrides?.keepAlive ?: outboundHttpProperties.keepAlive
+
+        logger.info {
+            "Creating outbound HTTP client for destination: $destination, connectTimeout: $connectTimeout," +
+                " readTimeout: $readTimeout, maxIdleConnections: $maxIdleConnections, keepAlive: $keepAlive"
+        }
+
+        return baseClient.newBuilder()
+            .connectTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .readTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .connectionPool(ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+            .eventListener(
+                OkHttpMetricsEventListener.builder(meterRegistry, REQUESTS_METRIC)
+                    .tags(Tags.of(DESTINATION_TAG, destination))
+                    .includeHostTag(true)
+                    .build()
+            )
+            .cache(
+                outboundHttpProperties.cacheDirectory?.let {
+                    Cache(it.resolve(destination).toFile(), outboundHttpProperties.maxCacheSizeBytes)
+                }
+            )
+            .build()
+    }
+}
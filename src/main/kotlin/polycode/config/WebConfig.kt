@@ -25,6 +25,7 @@ import polycode.service.UtcDateTimeProvider
 import polycode.service.UuidProvider
 
 @Configuration
+@Suppress("LongParameterList")
 class WebConfig(
     private val uuidProvider: UuidProvider,
     private val utcDateTimeProvider: UtcDateTimeProvider,
@@ -34,7 +35,8 @@ class WebConfig(
     private val userIdResolverRepository: UserIdResolverRepository,
     private val polyflowUserRepository: PolyflowUserRepository,
     private val projectRepository: ProjectRepository,
-    private val objectMapper: ObjectMapper
+    private val objectMapper: ObjectMapper,
+    private val outboundHttpClientFactory: OutboundHttpClientFactory
 ) : WebMvcConfigurer {
 
     companion object {
@@ -42,9 +44,17 @@ class WebConfig(
             "application property polycode.contract-manifest-service.base-url is not set"
     }
 
-    @Bean("basicJsonRestTemplate")
-    fun basicJsonRestTemplate(): RestTemplate =
+    @Bean("blacklistRestTemplate")
+    fun blacklistRestTemplate(): RestTemplate =
         RestTemplateBuilder()
+            .requestFactory { outboundHttpClientFactory.requestFactory("blacklist") }
+            .additionalMessageConverters(MappingJackson2HttpMessageConverter(objectMapper))
+            .build()
+
+    @Bean("chainExplorerRestTemplate")
+    fun chainExplorerRestTemplate(): RestTemplate =
+        RestTemplateBuilder()
+            .requestFactory { outboundHttpClientFactory.requestFactory("chain-explorer") }
             .additionalMessageConverters(MappingJackson2HttpMessageConverter(objectMapper))
             .build()
 
@@ -54,6 +64,17 @@ class WebConfig(
     ): RestTemplate =
         RestTemplateBuilder()
             .rootUri(contractManifestServiceProperties.baseUrl ?: throw BeanCreationException(MISSING_PROPERTY_MESSAGE))
+            .requestFactory { outboundHttpClientFactory.requestFactory("contract-manifest-service") }
+            .additionalMessageConverters(MappingJackson2HttpMessageConverter(objectMapper))
+            .build()
+
+    @Bean("functionSignatureRestTemplate")
+    fun functionSignatureRestTemplate(
+        contractManifestServiceProperties: ContractManifestServiceProperties
+    ): RestTemplate =
+        RestTemplateBuilder()
+            .rootUri(contractManifestServiceProperties.baseUrl ?: throw BeanCreationException(MISSING_PROPERTY_MESSAGE))
+            .requestFactory { outboundHttpClientFactory.requestFactory("function-signature") }
             .additionalMessageConverters(MappingJackson2HttpMessageConverter(objectMapper))
             .build()
 
@@ -61,6 +82,7 @@ class WebConfig(
     fun pinataRestTemplate(ipfsProperties: IpfsProperties): RestTemplate =
         RestTemplateBuilder()
             .rootUri(ipfsProperties.url)
+            .requestFactory { outboundHttpClientFactory.requestFactory("pinata") }
             .defaultHeader("pinata_api_key", ipfsProperties.apiKey)
             .defaultHeader("pinata_secret_api_key", ipfsProperties.secretApiKey)
             .additionalMessageConverters(MappingJackson2HttpMessageConverter(objectMapper))
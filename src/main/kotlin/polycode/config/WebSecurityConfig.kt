@@ -1,6 +1,7 @@
 package polycode.config
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import io.micrometer.core.instrument.MeterRegistry
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.Configuration
@@ -19,6 +20,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource
 import polycode.config.authentication.AuthenticationEntryPointExceptionHandler
 import polycode.config.authentication.JwtAuthenticationFilter
 import polycode.config.authentication.JwtAuthenticationProvider
+import polycode.config.authentication.VerifiedJwtCache
+import polycode.service.UtcDateTimeProvider
 import java.security.KeyFactory
 import java.security.interfaces.RSAPublicKey
 import java.security.spec.RSAPublicKeySpec
@@ -29,12 +32,24 @@ import java.security.spec.RSAPublicKeySpec
 class WebSecurityConfig(private val objectMapper: ObjectMapper) {
 
     @Autowired
-    fun authBuilder(authBuilder: AuthenticationManagerBuilder, jwtProperties: JwtProperties) {
+    fun authBuilder(
+        authBuilder: AuthenticationManagerBuilder,
+        jwtProperties: JwtProperties,
+        utcDateTimeProvider: UtcDateTimeProvider,
+        meterRegistry: MeterRegistry
+    ) {
         val spec = RSAPublicKeySpec(jwtProperties.privateKey.modulus, jwtProperties.privateKey.publicExponent)
         val keyFactory = KeyFactory.getInstance("RSA")
         val publicKey = keyFactory.generatePublic(spec) as RSAPublicKey
 
-        authBuilder.authenticationProvider(JwtAuthenticationProvider(publicKey))
+        val verifiedJwtCache = VerifiedJwtCache(
+            publicKey = publicKey,
+            utcDateTimeProvider = utcDateTimeProvider,
+            maxSize = jwtProperties.verifiedTokenCacheSize,
+            meterRegistry = meterRegistry
+        )
+
+        authBuilder.authenticationProvider(JwtAuthenticationProvider(verifiedJwtCache))
     }
 
     @Bean
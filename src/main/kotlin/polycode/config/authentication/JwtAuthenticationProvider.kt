@@ -6,9 +6,8 @@ import org.springframework.security.core.Authentication
 import org.springframework.security.core.context.SecurityContextHolder
 import org.springframework.security.core.userdetails.UsernameNotFoundException
 import polycode.exception.JwtTokenException
-import java.security.interfaces.RSAPublicKey
 
-class JwtAuthenticationProvider(private val publicKey: RSAPublicKey) : AuthenticationProvider {
+class JwtAuthenticationProvider(private val verifiedJwtCache: VerifiedJwtCache) : AuthenticationProvider {
 
     companion object : KLogging()
 
@@ -17,7 +16,7 @@ class JwtAuthenticationProvider(private val publicKey: RSAPublicKey) : Authentic
 
         if (token is String) {
             try {
-                return JwtTokenUtils.decodeToken(token, publicKey)
+                return verifiedJwtCache.getOrVerify(token)
             } catch (e: JwtTokenException) {
                 logger.info(e) { "Invalid JWT" }
                 SecurityContextHolder.clearContext()
@@ -0,0 +1,92 @@
+package polycode.config.authentication
+
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.FunctionCounter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import polycode.service.UtcDateTimeProvider
+import polycode.util.LruCache
+import java.security.MessageDigest
+import java.security.interfaces.RSAPublicKey
+import java.util.HexFormat
+import java.util.concurrent.TimeUnit
+
+/**
+ * Bounded cache of successfully verified JWT tokens, keyed by SHA-256 digest of the public key and the token. Since the
+ * public key is a part of the cache key, tokens verified using a rotated key are never returned. Tokens are returned
+ * only until they expire, after which they are verified again (which will fail due to expiration).
+ */
+class VerifiedJwtCache(
+    private val publicKey: RSAPublicKey,
+    private val utcDateTimeProvider: UtcDateTimeProvider,
+    maxSize: Int,
+    meterRegistry: MeterRegistry
+) {
+
+    companion object {
+        private const val CACHE_METRIC = "polycode.jwt.cache"
+        private const val VERIFICATION_METRIC = "polycode.jwt.verification"
+        private const val SAVED_VERIFICATION_METRIC = "polycode.jwt.verification.saved"
+    }
+
+    private val cache = LruCache<String, JwtAuthToken>(maxSize)
+    private val publicKeyBytes = publicKey.encoded
+
+    private val hits = Counter.builder(CACHE_METRIC)
+        .description("Number of JWT cache lookups")
+        .tag("result", "hit")
+        .register(meterRegistry)
+    private val misses = Counter.builder(CACHE_METRIC)
+        .description("Number of JWT cache lookups")
+        .tag("result", "miss")
+        .register(meterRegistry)
+    private val verificationTimer = Timer.builder(VERIFICATION_METRIC)
+        .description("Duration of JWT signature verification and claims parsing")
+        .register(meterRegistry)
+
+    init {
+        FunctionCounter.builder(SAVED_VERIFICATION_METRIC, this) { it.savedVerificationSeconds() }
+            .description("Estimated JWT verification time saved by cache hits")
+            .baseUnit("seconds")
+            .register(meterRegistry)
+    }
+
+    fun getOrVerify(token: String): JwtAuthToken {
+        val key = digest(token)
+        val cached = cache[key]
+
+        if (cached != null && cached.token == token && cached.isNotExpired()) {
+            hits.increment()
+            return cached
+        }
+
+        misses.increment()
+
+        if (cached != null) {
+            cache.remove(key)
+        }
+
+        val sample = Timer.start()
+        val verifiedToken = try {
+            JwtTokenUtils.decodeToken(token, publicKey)
+        } finally {
+            sample.stop(verificationTimer)
+        }
+
+        cache[key] = verifiedToken
+
+        return verifiedToken
+    }
+
+    private fun JwtAuthToken.isNotExpired(): Boolean =
+        utcDateTimeProvider.getUtcDateTime().value.isBefore(validUntil.value)
+
+    private fun digest(token: String): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+        digest.update(publicKeyBytes)
+        return HexFormat.of().formatHex(digest.digest(token.toByteArray()))
+    }
+
+    private fun savedVerificationSeconds(): Double =
+        hits.count() * verificationTimer.mean(TimeUnit.SECONDS)
+}
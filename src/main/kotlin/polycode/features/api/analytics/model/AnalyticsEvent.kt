@@ -0,0 +1,11 @@
+package polycode.features.api.analytics.model
+
+data class AnalyticsEvent(
+    val eventName: String,
+    val eventTime: Long,
+    val externalId: String,
+    val userAgent: String?,
+    val remoteAddr: String?,
+    val sourceUrl: String?,
+    val customProperties: Map<String, String>
+)
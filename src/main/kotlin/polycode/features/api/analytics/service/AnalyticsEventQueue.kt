@@ -0,0 +1,200 @@
+package polycode.features.api.analytics.service
+
+import com.fasterxml.jackson.core.JsonProcessingException
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import mu.KLogging
+import org.springframework.stereotype.Component
+import polycode.config.AnalyticsQueueProperties
+import polycode.features.api.analytics.model.AnalyticsEvent
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.nio.file.StandardOpenOption
+
+/**
+ * Bounded in-memory queue of analytics events. When the queue is full, the oldest event is dropped to make room for
+ * the new one, or moved to a bounded overflow buffer if spill directory is configured. Offering an event never touches
+ * the disk: overflow buffer is appended to the spill file by the sender thread via `spillOverflow()`. Spilled events
+ * are moved back into memory once the in-memory queue is drained, which also restores events spilled before
+ * application restart.
+ */
+@Component
+class AnalyticsEventQueue(
+    private val analyticsQueueProperties: AnalyticsQueueProperties,
+    private val objectMapper: ObjectMapper,
+    meterRegistry: MeterRegistry
+) {
+
+    companion object : KLogging() {
+        private const val SPILL_FILE_NAME = "analytics-events.jsonl"
+        private const val SPILL_TMP_FILE_NAME = "analytics-events.jsonl.tmp"
+    }
+
+    private val events = ArrayDeque<AnalyticsEvent>()
+    private val overflow = ArrayDeque<AnalyticsEvent>()
+
+    // spill file is guarded by a separate lock so that disk access never blocks offering of new events
+    private val spillLock = Any()
+    private val spillFile = analyticsQueueProperties.spillDirectory?.resolve(SPILL_FILE_NAME)
+    private var spilledEvents = spillFile?.takeIf { Files.exists(it) }?.let { countLines(it) } ?: 0
+
+    private val dropped = Counter.builder("polycode.analytics.queue.dropped")
+        .description("Number of analytics events dropped due to full queue")
+        .register(meterRegistry)
+
+    init {
+        Gauge.builder("polycode.analytics.queue.depth", this) { it.size.toDouble() }
+            .description("Number of analytics events in memory queue")
+            .register(meterRegistry)
+        Gauge.builder("polycode.analytics.queue.spilled", this) { it.spilledEventCount().toDouble() }
+            .description("Number of analytics events in spill file")
+            .register(meterRegistry)
+    }
+
+    val size: Int
+        get() = synchronized(this) { events.size }
+
+    fun offer(event: AnalyticsEvent) {
+        synchronized(this) {
+            if (events.size >= analyticsQueueProperties.capacity) {
+                val oldest = events.removeFirst()
+
+                if (spillFile != null && overflow.size < analyticsQueueProperties.capacity) {
+                    overflow.addLast(oldest)
+                } else {
+                    dropped.increment()
+                }
+            }
+
+            events.addLast(event)
+        }
+    }
+
+    fun pollBatch(maxSize: Int): List<AnalyticsEvent> {
+        val isDrained = synchronized(this) {
+            if (events.isEmpty()) {
+                events.addAll(overflow)
+                overflow.clear()
+            }
+
+            events.isEmpty()
+        }
+
+        if (isDrained) {
+            val restored = restoreSpilled()
+
+            synchronized(this) {
+                restored.asReversed().forEach { events.addFirst(it) }
+            }
+        }
+
+        return synchronized(this) {
+            List(minOf(maxSize, events.size)) { events.removeFirst() }
+        }
+    }
+
+    fun spillOverflow() {
+        val toSpill = synchronized(this) {
+            overflow.toList().also { overflow.clear() }
+        }
+
+        if (toSpill.isNotEmpty() && !spill(toSpill)) {
+            dropped.increment(toSpill.size.toDouble())
+        }
+    }
+
+    fun spillRemaining(pending: List<AnalyticsEvent>) {
+        val remaining = synchronized(this) {
+            (pending + overflow + events).also {
+                overflow.clear()
+                events.clear()
+            }
+        }
+
+        if (remaining.isEmpty()) {
+            return
+        }
+
+        if (spill(remaining)) {
+            logger.info { "Spilled ${remaining.size} analytics events to disk" }
+        } else {
+            logger.warn { "Dropping ${remaining.size} analytics events which could not be spilled to disk" }
+            dropped.increment(remaining.size.toDouble())
+        }
+    }
+
+    private fun spill(toSpill: List<AnalyticsEvent>): Boolean {
+        synchronized(spillLock) {
+            if (spillFile == null || spilledEvents + toSpill.size > analyticsQueueProperties.maxSpilledEvents) {
+                return false
+            }
+
+            return try {
+                Files.createDirectories(spillFile.parent)
+                Files.write(
+                    spillFile,
+                    toSpill.map { objectMapper.writeValueAsString(it) },
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND
+                )
+                spilledEvents += toSpill.size
+                true
+            } catch (e: IOException) {
+                logger.warn(e) { "Unable to spill analytics events to file: $spillFile" }
+                false
+            }
+        }
+    }
+
+    private fun restoreSpilled(): List<AnalyticsEvent> {
+        synchronized(spillLock) {
+            if (spillFile == null || spilledEvents == 0) {
+                return emptyList()
+            }
+
+            return try {
+                val lines = Files.readAllLines(spillFile)
+                val (restored, remaining) = lines.withIndex()
+                    .partition { it.index < analyticsQueueProperties.capacity }
+                val tmpFile = spillFile.resolveSibling(SPILL_TMP_FILE_NAME)
+
+                Files.write(tmpFile, remaining.map { it.value })
+                Files.move(tmpFile, spillFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+
+                spilledEvents = remaining.size
+
+                logger.info {
+                    "Restored ${restored.size} spilled analytics events, ${remaining.size} remaining on disk"
+                }
+
+                restored.mapNotNull { it.value.parseEvent() }
+            } catch (e: IOException) {
+                logger.warn(e) { "Unable to restore spilled analytics events from file: $spillFile" }
+                emptyList()
+            }
+        }
+    }
+
+    private fun spilledEventCount(): Int = synchronized(spillLock) { spilledEvents }
+
+    private fun String.parseEvent(): AnalyticsEvent? =
+        try {
+            objectMapper.readValue(this, AnalyticsEvent::class.java)
+        } catch (e: JsonProcessingException) {
+            logger.warn { "Dropping malformed spilled analytics event: ${e.message}" }
+            dropped.increment()
+            null
+        }
+
+    private fun countLines(file: Path): Int =
+        try {
+            Files.lines(file).use { it.count().toInt() }
+        } catch (e: IOException) {
+            logger.warn(e) { "Unable to read analytics event spill file: $file" }
+            0
+        }
+}
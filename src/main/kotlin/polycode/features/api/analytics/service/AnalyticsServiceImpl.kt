@@ -1,27 +1,83 @@
 package polycode.features.api.analytics.service
 
 import com.facebook.ads.sdk.APIContext
-import com.facebook.ads.sdk.APIException
 import com.facebook.ads.sdk.serverside.CustomData
 import com.facebook.ads.sdk.serverside.Event
 import com.facebook.ads.sdk.serverside.EventRequest
 import com.facebook.ads.sdk.serverside.UserData
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
 import mu.KLogging
+import org.springframework.beans.factory.DisposableBean
 import org.springframework.stereotype.Service
+import polycode.config.AnalyticsQueueProperties
 import polycode.config.MetaPixelProperties
 import polycode.features.api.access.model.result.UserIdentifier
+import polycode.features.api.analytics.model.AnalyticsEvent
 import polycode.generated.jooq.id.ProjectId
+import polycode.service.ScheduledExecutorServiceProvider
+import polycode.service.UtcDateTimeProvider
+import polycode.util.UtcDateTime
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
 
 @Service
+@Suppress("LongParameterList")
 class AnalyticsServiceImpl(
-    private val metaPixelProperties: MetaPixelProperties
-) : AnalyticsService {
+    private val metaPixelProperties: MetaPixelProperties,
+    private val analyticsQueueProperties: AnalyticsQueueProperties,
+    private val analyticsEventQueue: AnalyticsEventQueue,
+    private val utcDateTimeProvider: UtcDateTimeProvider,
+    meterRegistry: MeterRegistry,
+    scheduledExecutorServiceProvider: ScheduledExecutorServiceProvider
+) : AnalyticsService, DisposableBean {
 
     companion object : KLogging() {
-        private const val SECONDS_IN_MILLISECOND = 1_000L
+        const val QUEUE_NAME = "AnalyticsEventSender"
+        private const val API_KEY_CREATED_EVENT_NAME = "Login"
+        private const val MAX_BACKOFF_SHIFT = 20
+
+        private data class PendingBatch(
+            val events: List<AnalyticsEvent>,
+            val attempts: Int,
+            val nextAttemptAt: UtcDateTime
+        )
     }
 
     private val context: APIContext? = createApiContext(metaPixelProperties)
+    private val executorService = scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor(QUEUE_NAME)
+    private val sentEvents = Counter.builder("polycode.analytics.events.sent")
+        .description("Number of analytics events successfully sent")
+        .register(meterRegistry)
+    private val failedEvents = Counter.builder("polycode.analytics.events.failed")
+        .description("Number of analytics events dropped after exhausting send attempts")
+        .register(meterRegistry)
+
+    // batch being sent or waiting for retry; taken over by destroy() once the sender thread is stopped
+    private val pendingBatch = AtomicReference<PendingBatch?>()
+
+    init {
+        executorService.scheduleAtFixedRate(
+            command = { sendEvents() },
+            initialDelay = analyticsQueueProperties.flushInterval.toMillis(),
+            period = analyticsQueueProperties.flushInterval.toMillis(),
+            unit = TimeUnit.MILLISECONDS
+        )
+    }
+
+    override fun destroy() {
+        logger.info { "Shutting down analytics event sender executor service..." }
+        executorService.shutdown()
+
+        val shutdownTimeout = analyticsQueueProperties.shutdownTimeout.toMillis()
+
+        if (!executorService.awaitTermination(shutdownTimeout, TimeUnit.MILLISECONDS)) {
+            logger.warn { "Analytics event sender did not terminate in time, in-flight events may be sent twice" }
+        }
+
+        analyticsEventQueue.spillRemaining(pendingBatch.getAndSet(null)?.events.orEmpty())
+    }
 
     override fun postApiKeyCreatedEvent(
         userIdentifier: UserIdentifier,
@@ -35,46 +91,114 @@ class AnalyticsServiceImpl(
             return
         }
 
-        val pixelId = metaPixelProperties.pixelId
-
-        if (pixelId === null) {
+        if (metaPixelProperties.pixelId === null) {
             logger.warn { "Failed to post 'API Key Created' event to Meta Pixel. Missing pixelId configuration!" }
             return
         }
 
         logger.info {
-            "Posting 'API Key Created' event to Meta Pixel for userIdentifier: $userIdentifier, " +
+            "Queueing 'API Key Created' event for Meta Pixel for userIdentifier: $userIdentifier, " +
                 "projectId: $projectId, origin: $origin, userAgent: $userAgent, remoteAddr: $remoteAddr"
         }
 
-        val event = Event()
-            .eventName("Login")
-            .eventTime(System.currentTimeMillis() / SECONDS_IN_MILLISECOND)
-            .userData(
-                UserData()
-                    .externalId(userIdentifier.id.toString())
-                    .clientUserAgent(userAgent)
-                    .clientIpAddress(remoteAddr)
-            )
-            .eventSourceUrl(origin)
-            .customData(
-                CustomData().customProperties(
-                    hashMapOf(
-                        "wallet" to userIdentifier.userIdentifier,
-                        "projectId" to projectId.value.toString()
-                    )
+        analyticsEventQueue.offer(
+            AnalyticsEvent(
+                eventName = API_KEY_CREATED_EVENT_NAME,
+                eventTime = utcDateTimeProvider.getUtcDateTime().value.toEpochSecond(),
+                externalId = userIdentifier.id.toString(),
+                userAgent = userAgent,
+                remoteAddr = remoteAddr,
+                sourceUrl = origin,
+                customProperties = mapOf(
+                    "wallet" to userIdentifier.userIdentifier,
+                    "projectId" to projectId.value.toString()
                 )
             )
+        )
+    }
+
+    @Suppress("TooGenericExceptionCaught")
+    private fun sendEvents() {
         try {
-            val eventRequest = EventRequest(pixelId, context).addDataItem(event)
-            val response = eventRequest.execute()
-            logger.debug { "'API Key Created' event posted successfully to Meta Pixel. Response: $response" }
-        } catch (e: APIException) {
-            logger.warn { "Failed to post 'API Key Created' event to Meta Pixel. Exception: $e" }
+            analyticsEventQueue.spillOverflow()
+
+            do {
+                val sent = sendNextBatch()
+            } while (sent && analyticsEventQueue.size > 0)
+        } catch (e: Throwable) {
+            logger.error(e) { "Failed to send analytics events" }
+        }
+    }
+
+    private fun sendNextBatch(): Boolean {
+        val now = utcDateTimeProvider.getUtcDateTime()
+        val pending = pendingBatch.get()
+
+        if (pending != null && now.value.isBefore(pending.nextAttemptAt.value)) {
+            return false
         }
+
+        // attempt is counted and batch is published before sending, so that it is spilled on shutdown even if sending
+        // does not finish in time, and so that it is eventually dropped even if sending fails in some unexpected way
+        val events = pending?.events ?: analyticsEventQueue.pollBatch(analyticsQueueProperties.batchSize)
+        val attempts = (pending?.attempts ?: 0) + 1
+        val inFlight = PendingBatch(events, attempts, UtcDateTime(now.value + retryDelay(attempts)))
+        pendingBatch.compareAndSet(pending, inFlight)
+
+        val isSent = events.isEmpty() || postBatch(events)
+
+        val next = if (isSent) {
+            sentEvents.increment(events.size.toDouble())
+            null
+        } else if (attempts >= analyticsQueueProperties.maxSendAttempts) {
+            logger.warn { "Dropping ${events.size} analytics events after $attempts failed send attempts" }
+            failedEvents.increment(events.size.toDouble())
+            null
+        } else {
+            inFlight
+        }
+
+        // batch taken over by destroy() must not be brought back
+        pendingBatch.compareAndSet(inFlight, next)
+
+        return isSent
     }
 
+    // any failure of the Meta Pixel SDK, not only API errors, must go through retry accounting
+    @Suppress("TooGenericExceptionCaught")
+    private fun postBatch(batch: List<AnalyticsEvent>): Boolean =
+        try {
+            val eventRequest = EventRequest(metaPixelProperties.pixelId, context)
+                .data(batch.map { it.toMetaPixelEvent() })
+            val response = eventRequest.execute()
+            logger.debug { "Posted ${batch.size} analytics events to Meta Pixel. Response: $response" }
+            true
+        } catch (e: Exception) {
+            logger.warn { "Failed to post ${batch.size} analytics events to Meta Pixel. Exception: $e" }
+            false
+        }
+
+    private fun retryDelay(attempt: Int): Duration =
+        analyticsQueueProperties.initialRetryDelay.multipliedBy(1L shl (attempt - 1).coerceAtMost(MAX_BACKOFF_SHIFT))
+            .coerceAtMost(analyticsQueueProperties.maxRetryDelay)
+
+    private fun AnalyticsEvent.toMetaPixelEvent(): Event =
+        Event()
+            .eventName(eventName)
+            .eventTime(eventTime)
+            .userData(
+                UserData()
+                    .externalId(externalId)
+                    .clientUserAgent(userAgent)
+                    .clientIpAddress(remoteAddr)
+            )
+            .eventSourceUrl(sourceUrl)
+            .customData(CustomData().customProperties(HashMap(customProperties)))
+
     private fun createApiContext(metaPixelProperties: MetaPixelProperties): APIContext? {
-        return metaPixelProperties.accessToken?.let { APIContext(it) }
+        return metaPixelProperties.accessToken?.let { accessToken ->
+            metaPixelProperties.endpointBase?.let { APIContext(it, it, accessToken, null, null) }
+                ?: APIContext(accessToken)
+        }
     }
 }
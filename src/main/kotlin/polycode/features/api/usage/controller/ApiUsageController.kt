@@ -1,24 +1,35 @@
 package polycode.features.api.usage.controller
 
+import org.springframework.format.annotation.DateTimeFormat
 import org.springframework.http.ResponseEntity
 import org.springframework.validation.annotation.Validated
 import org.springframework.web.bind.annotation.GetMapping
+import org.springframework.web.bind.annotation.RequestParam
 import org.springframework.web.bind.annotation.RestController
 import polycode.config.binding.annotation.ApiKeyBinding
 import polycode.config.binding.annotation.UserIdentifierBinding
 import polycode.features.api.access.model.result.Project
 import polycode.features.api.access.model.result.UserIdentifier
+import polycode.features.api.usage.model.response.ApiDailyUsageResponse
 import polycode.features.api.usage.model.response.ApiUsagePeriodResponse
+import polycode.features.api.usage.repository.ApiCallLogRepository
 import polycode.features.api.usage.repository.ApiRateLimitRepository
+import polycode.generated.jooq.id.UserId
 import polycode.service.UtcDateTimeProvider
+import java.time.LocalDate
 
 @Validated
 @RestController
 class ApiUsageController(
     private val apiRateLimitRepository: ApiRateLimitRepository,
+    private val apiCallLogRepository: ApiCallLogRepository,
     private val utcDateTimeProvider: UtcDateTimeProvider
 ) {
 
+    companion object {
+        private const val DEFAULT_DAILY_USAGE_DAYS = 30L
+    }
+
     @GetMapping("/v1/api-usage")
     fun getCurrentApiUsageInfoForUser(
         @UserIdentifierBinding userIdentifier: UserIdentifier
@@ -40,4 +51,32 @@ class ApiUsageController(
         )
         return ResponseEntity.ok(ApiUsagePeriodResponse(usage))
     }
+
+    @GetMapping("/v1/api-usage/daily")
+    fun getDailyApiUsageInfoForUser(
+        @UserIdentifierBinding userIdentifier: UserIdentifier,
+        @RequestParam("fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) fromDate: LocalDate?,
+        @RequestParam("toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) toDate: LocalDate?
+    ): ResponseEntity<ApiDailyUsageResponse> = getDailyApiUsage(userIdentifier.id, fromDate, toDate)
+
+    @GetMapping("/v1/api-usage/daily/by-api-key")
+    fun getDailyApiUsageInfoForApiKey(
+        @ApiKeyBinding project: Project,
+        @RequestParam("fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) fromDate: LocalDate?,
+        @RequestParam("toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) toDate: LocalDate?
+    ): ResponseEntity<ApiDailyUsageResponse> = getDailyApiUsage(project.ownerId, fromDate, toDate)
+
+    private fun getDailyApiUsage(
+        userId: UserId,
+        fromDate: LocalDate?,
+        toDate: LocalDate?
+    ): ResponseEntity<ApiDailyUsageResponse> {
+        val endDate = toDate ?: utcDateTimeProvider.getUtcDateTime().value.toLocalDate()
+        val usage = apiCallLogRepository.getDailyUsage(
+            userId = userId,
+            fromDate = fromDate ?: endDate.minusDays(DEFAULT_DAILY_USAGE_DAYS),
+            toDate = endDate
+        )
+        return ResponseEntity.ok(ApiDailyUsageResponse(usage))
+    }
 }
@@ -0,0 +1,22 @@
+package polycode.features.api.usage.model.response
+
+import polycode.features.api.usage.model.result.ApiDailyUsage
+import polycode.features.api.usage.model.result.EndpointDailyUsage
+import polycode.generated.jooq.id.UserId
+import java.time.LocalDate
+
+data class ApiDailyUsageResponse(
+    val userId: UserId,
+    val fromDate: LocalDate,
+    val toDate: LocalDate,
+    val readCalls: List<EndpointDailyUsage>,
+    val writeCalls: List<EndpointDailyUsage>
+) {
+    constructor(apiDailyUsage: ApiDailyUsage) : this(
+        userId = apiDailyUsage.userId,
+        fromDate = apiDailyUsage.fromDate,
+        toDate = apiDailyUsage.toDate,
+        readCalls = apiDailyUsage.readCalls,
+        writeCalls = apiDailyUsage.writeCalls
+    )
+}
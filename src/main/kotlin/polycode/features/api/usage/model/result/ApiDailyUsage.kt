@@ -0,0 +1,20 @@
+package polycode.features.api.usage.model.result
+
+import org.springframework.web.bind.annotation.RequestMethod
+import polycode.generated.jooq.id.UserId
+import java.time.LocalDate
+
+data class ApiDailyUsage(
+    val userId: UserId,
+    val fromDate: LocalDate,
+    val toDate: LocalDate,
+    val readCalls: List<EndpointDailyUsage>,
+    val writeCalls: List<EndpointDailyUsage>
+)
+
+data class EndpointDailyUsage(
+    val date: LocalDate,
+    val requestMethod: RequestMethod?,
+    val requestPath: String,
+    val callCount: Long
+)
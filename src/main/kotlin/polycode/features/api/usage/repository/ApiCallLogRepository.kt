@@ -0,0 +1,16 @@
+package polycode.features.api.usage.repository
+
+import polycode.features.api.usage.model.result.ApiDailyUsage
+import polycode.generated.jooq.id.UserId
+import polycode.util.UtcDateTime
+import java.time.LocalDate
+
+interface ApiCallLogRepository {
+    fun tryWithMaintenanceLock(action: () -> Unit): Boolean
+    fun createDailyPartitions(fromDate: LocalDate, toDate: LocalDate)
+    fun getFirstCallDate(): LocalDate?
+    fun getLastRolledUpDate(): LocalDate?
+    fun rollupDailyCalls(date: LocalDate, currentTime: UtcDateTime): Boolean
+    fun dropDailyPartitionsBefore(date: LocalDate): List<String>
+    fun getDailyUsage(userId: UserId, fromDate: LocalDate, toDate: LocalDate): ApiDailyUsage
+}
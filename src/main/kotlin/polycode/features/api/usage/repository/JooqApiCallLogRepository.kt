@@ -0,0 +1,308 @@
+package polycode.features.api.usage.repository
+
+import mu.KLogging
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+import org.jooq.impl.SQLDataType
+import org.springframework.dao.DataAccessException
+import org.springframework.stereotype.Repository
+import org.springframework.web.bind.annotation.RequestMethod
+import polycode.features.api.usage.model.result.ApiDailyUsage
+import polycode.features.api.usage.model.result.EndpointDailyUsage
+import polycode.generated.jooq.id.UserId
+import polycode.generated.jooq.tables.ApiCallRollupDayTable
+import polycode.generated.jooq.tables.ApiReadCallDailyRollupTable
+import polycode.generated.jooq.tables.ApiReadCallTable
+import polycode.generated.jooq.tables.ApiWriteCallDailyRollupTable
+import polycode.generated.jooq.tables.ApiWriteCallTable
+import polycode.generated.jooq.tables.records.ApiCallRollupDayRecord
+import polycode.util.UtcDateTime
+import java.time.LocalDate
+import java.time.ZoneOffset
+import java.time.format.DateTimeFormatter
+
+/**
+ * API call logs are stored in tables partitioned by day (UTC), where each partition is named after the day it holds.
+ * Calls which do not fall into any daily partition are stored into the default partition, and are moved into the
+ * daily partition once it is created.
+ */
+@Repository
+@Suppress("TooManyFunctions")
+class JooqApiCallLogRepository(private val dslContext: DSLContext) : ApiCallLogRepository {
+
+    companion object : KLogging() {
+        private const val SCHEMA = "polycode"
+        private val PARTITIONED_TABLES = listOf(ApiReadCallTable.name, ApiWriteCallTable.name)
+        private val PARTITION_NAME_REGEX = "^(?:${PARTITIONED_TABLES.joinToString("|")})_p([0-9]{8})$".toRegex()
+        private val MAINTENANCE_LOCK_KEY = "polycode.api_call_log_maintenance".hashCode().toLong()
+    }
+
+    override fun tryWithMaintenanceLock(action: () -> Unit): Boolean {
+        logger.debug { "Try to acquire API call log maintenance lock" }
+
+        // lock is held by this transaction until the action completes, so only one instance performs maintenance
+        return dslContext.transactionResult { configuration ->
+            val isLocked = DSL.using(configuration)
+                .resultQuery("SELECT pg_try_advisory_xact_lock({0})", DSL.inline(MAINTENANCE_LOCK_KEY))
+                .fetchOne(0, Boolean::class.java) == true
+
+            if (isLocked) {
+                action()
+            }
+
+            isLocked
+        }
+    }
+
+    override fun createDailyPartitions(fromDate: LocalDate, toDate: LocalDate) {
+        logger.info { "Create daily API call log partitions, fromDate: $fromDate, toDate: $toDate" }
+
+        val existingPartitions = getPartitionNames().toSet()
+
+        fromDate.datesUntil(toDate.plusDays(1L)).forEach { date ->
+            PARTITIONED_TABLES.forEach { table ->
+                val partition = "${table}_p${date.format(DateTimeFormatter.BASIC_ISO_DATE)}"
+
+                if (partition !in existingPartitions) {
+                    try {
+                        createPartition(table, partition, date)
+                    } catch (e: DataAccessException) {
+                        logger.warn(e) { "Failed to create API call log partition: $partition" }
+                    }
+                }
+            }
+        }
+    }
+
+    override fun getFirstCallDate(): LocalDate? {
+        logger.debug { "Get first API call date" }
+
+        val firstReadCall = dslContext.select(DSL.min(ApiReadCallTable.CREATED_AT))
+            .from(ApiReadCallTable)
+            .fetchOne()
+            ?.value1()
+        val firstWriteCall = dslContext.select(DSL.min(ApiWriteCallTable.CREATED_AT))
+            .from(ApiWriteCallTable)
+            .fetchOne()
+            ?.value1()
+
+        return listOfNotNull(firstReadCall, firstWriteCall)
+            .minByOrNull { it.value }
+            ?.value
+            ?.toLocalDate()
+    }
+
+    override fun getLastRolledUpDate(): LocalDate? {
+        logger.debug { "Get last rolled up API call date" }
+        return dslContext.select(DSL.max(ApiCallRollupDayTable.CALL_DATE))
+            .from(ApiCallRollupDayTable)
+            .fetchOne()
+            ?.value1()
+    }
+
+    override fun rollupDailyCalls(date: LocalDate, currentTime: UtcDateTime): Boolean {
+        logger.info { "Rollup daily API calls, date: $date, currentTime: $currentTime" }
+
+        return dslContext.transactionResult { configuration ->
+            val transactionContext = DSL.using(configuration)
+
+            // concurrent maintenance runs are serialized on the inserted date; only the first one performs the rollup
+            val isNotRolledUp = transactionContext.insertInto(ApiCallRollupDayTable)
+                .set(ApiCallRollupDayRecord(callDate = date, rolledUpAt = currentTime))
+                .onConflictDoNothing()
+                .execute() > 0
+
+            if (isNotRolledUp) {
+                transactionContext.rollupReadCalls(date)
+                transactionContext.rollupWriteCalls(date)
+            }
+
+            isNotRolledUp
+        }
+    }
+
+    override fun dropDailyPartitionsBefore(date: LocalDate): List<String> {
+        logger.info { "Drop daily API call log partitions before date: $date" }
+
+        val expiredPartitions = getPartitionNames().filter { partition ->
+            PARTITION_NAME_REGEX.matchEntire(partition)
+                ?.let { LocalDate.parse(it.groupValues[1], DateTimeFormatter.BASIC_ISO_DATE) }
+                ?.isBefore(date) == true
+        }
+
+        expiredPartitions.forEach {
+            logger.info { "Dropping API call log partition: $it" }
+            dslContext.execute("DROP TABLE {0}", DSL.table(DSL.name(SCHEMA, it)))
+        }
+
+        // remaining expired calls can only be located in the default partitions
+        val cutoff = date.utcStartOfDay()
+
+        dslContext.deleteFrom(ApiReadCallTable)
+            .where(ApiReadCallTable.CREATED_AT.lt(cutoff))
+            .execute()
+        dslContext.deleteFrom(ApiWriteCallTable)
+            .where(ApiWriteCallTable.CREATED_AT.lt(cutoff))
+            .execute()
+
+        return expiredPartitions
+    }
+
+    override fun getDailyUsage(userId: UserId, fromDate: LocalDate, toDate: LocalDate): ApiDailyUsage {
+        logger.debug { "Get daily API usage, userId: $userId, fromDate: $fromDate, toDate: $toDate" }
+
+        val readCalls = dslContext.selectFrom(ApiReadCallDailyRollupTable)
+            .where(
+                DSL.and(
+                    ApiReadCallDailyRollupTable.USER_ID.eq(userId),
+                    ApiReadCallDailyRollupTable.CALL_DATE.between(fromDate, toDate)
+                )
+            )
+            .orderBy(ApiReadCallDailyRollupTable.CALL_DATE.asc(), ApiReadCallDailyRollupTable.REQUEST_PATH.asc())
+            .fetch {
+                EndpointDailyUsage(
+                    date = it.callDate,
+                    requestMethod = null,
+                    requestPath = it.requestPath,
+                    callCount = it.callCount
+                )
+            }
+
+        val writeCalls = dslContext.selectFrom(ApiWriteCallDailyRollupTable)
+            .where(
+                DSL.and(
+                    ApiWriteCallDailyRollupTable.USER_ID.eq(userId),
+                    ApiWriteCallDailyRollupTable.CALL_DATE.between(fromDate, toDate)
+                )
+            )
+            .orderBy(
+                ApiWriteCallDailyRollupTable.CALL_DATE.asc(),
+                ApiWriteCallDailyRollupTable.REQUEST_PATH.asc(),
+                ApiWriteCallDailyRollupTable.REQUEST_METHOD.asc()
+            )
+            .fetch {
+                EndpointDailyUsage(
+                    date = it.callDate,
+                    requestMethod = RequestMethod.valueOf(it.requestMethod.name),
+                    requestPath = it.requestPath,
+                    callCount = it.callCount
+                )
+            }
+
+        return ApiDailyUsage(
+            userId = userId,
+            fromDate = fromDate,
+            toDate = toDate,
+            readCalls = readCalls,
+            writeCalls = writeCalls
+        )
+    }
+
+    private fun getPartitionNames(): List<String> =
+        dslContext.resultQuery(
+            "SELECT child.relname FROM pg_catalog.pg_inherits AS inheritance " +
+                "JOIN pg_catalog.pg_class AS parent ON inheritance.inhparent = parent.oid " +
+                "JOIN pg_catalog.pg_class AS child ON inheritance.inhrelid = child.oid " +
+                "JOIN pg_catalog.pg_namespace AS namespace ON parent.relnamespace = namespace.oid " +
+                "WHERE namespace.nspname = {0} AND parent.relname IN ({1})",
+            DSL.inline(SCHEMA),
+            DSL.list(PARTITIONED_TABLES.map { DSL.inline(it) })
+        ).fetch(0, String::class.java)
+
+    private fun createPartition(table: String, partition: String, date: LocalDate) {
+        logger.info { "Creating API call log partition: $partition" }
+
+        val parentTable = DSL.table(DSL.name(SCHEMA, table))
+        val partitionTable = DSL.table(DSL.name(SCHEMA, partition))
+        val defaultPartitionTable = DSL.table(DSL.name(SCHEMA, "${table}_default"))
+        val dayStart = DSL.inline(date.utcStartOfDay().value.toString())
+        val dayEnd = DSL.inline(date.plusDays(1L).utcStartOfDay().value.toString())
+
+        dslContext.transaction { configuration ->
+            val transactionContext = DSL.using(configuration)
+
+            transactionContext.execute(
+                "CREATE TABLE IF NOT EXISTS {0} (LIKE {1} INCLUDING DEFAULTS)",
+                partitionTable,
+                parentTable
+            )
+
+            // calls which were stored before the partition existed must be moved out of the default partition,
+            // otherwise the partition cannot be attached
+            transactionContext.execute(
+                "WITH moved AS (DELETE FROM {0} WHERE created_at >= {1}::TIMESTAMPTZ " +
+                    "AND created_at < {2}::TIMESTAMPTZ RETURNING *) INSERT INTO {3} SELECT * FROM moved",
+                defaultPartitionTable,
+                dayStart,
+                dayEnd,
+                partitionTable
+            )
+
+            transactionContext.execute(
+                "ALTER TABLE {0} ATTACH PARTITION {1} FOR VALUES FROM ({2}) TO ({3})",
+                parentTable,
+                partitionTable,
+                dayStart,
+                dayEnd
+            )
+        }
+    }
+
+    private fun DSLContext.rollupReadCalls(date: LocalDate) {
+        val dayStart = date.utcStartOfDay()
+        val dayEnd = date.plusDays(1L).utcStartOfDay()
+
+        insertInto(
+            ApiReadCallDailyRollupTable,
+            ApiReadCallDailyRollupTable.USER_ID,
+            ApiReadCallDailyRollupTable.REQUEST_PATH,
+            ApiReadCallDailyRollupTable.CALL_DATE,
+            ApiReadCallDailyRollupTable.CALL_COUNT
+        )
+            .select(
+                select(
+                    ApiReadCallTable.USER_ID,
+                    ApiReadCallTable.REQUEST_PATH,
+                    DSL.value(date),
+                    DSL.count().cast(SQLDataType.BIGINT)
+                )
+                    .from(ApiReadCallTable)
+                    .where(ApiReadCallTable.CREATED_AT.ge(dayStart), ApiReadCallTable.CREATED_AT.lt(dayEnd))
+                    .groupBy(ApiReadCallTable.USER_ID, ApiReadCallTable.REQUEST_PATH)
+            )
+            .execute()
+    }
+
+    private fun DSLContext.rollupWriteCalls(date: LocalDate) {
+        val dayStart = date.utcStartOfDay()
+        val dayEnd = date.plusDays(1L).utcStartOfDay()
+
+        insertInto(
+            ApiWriteCallDailyRollupTable,
+            ApiWriteCallDailyRollupTable.USER_ID,
+            ApiWriteCallDailyRollupTable.REQUEST_METHOD,
+            ApiWriteCallDailyRollupTable.REQUEST_PATH,
+            ApiWriteCallDailyRollupTable.CALL_DATE,
+            ApiWriteCallDailyRollupTable.CALL_COUNT
+        )
+            .select(
+                select(
+                    ApiWriteCallTable.USER_ID,
+                    ApiWriteCallTable.REQUEST_METHOD,
+                    ApiWriteCallTable.REQUEST_PATH,
+                    DSL.value(date),
+                    DSL.count().cast(SQLDataType.BIGINT)
+                )
+                    .from(ApiWriteCallTable)
+                    .where(ApiWriteCallTable.CREATED_AT.ge(dayStart), ApiWriteCallTable.CREATED_AT.lt(dayEnd))
+                    .groupBy(
+                        ApiWriteCallTable.USER_ID,
+                        ApiWriteCallTable.REQUEST_METHOD,
+                        ApiWriteCallTable.REQUEST_PATH
+                    )
+            )
+            .execute()
+    }
+
+    private fun LocalDate.utcStartOfDay(): UtcDateTime = UtcDateTime(atStartOfDay().atOffset(ZoneOffset.UTC))
+}
@@ -0,0 +1,102 @@
+package polycode.features.api.usage.service
+
+import mu.KLogging
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.stereotype.Service
+import polycode.config.ApiCallLogProperties
+import polycode.config.ApiRateProperties
+import polycode.features.api.usage.repository.ApiCallLogRepository
+import polycode.service.ScheduledExecutorServiceProvider
+import polycode.service.UtcDateTimeProvider
+import java.time.LocalDate
+import java.util.concurrent.TimeUnit
+import kotlin.time.Duration.Companion.days
+import kotlin.time.toKotlinDuration
+
+/**
+ * Periodically creates upcoming daily API call log partitions, rolls up calls of each completed day into per-user,
+ * per-endpoint daily aggregates and drops partitions which are older than the configured retention. Partitions are
+ * only dropped once the days they hold have been rolled up. Maintenance runs under a database lock, so when multiple
+ * instances are running, only one of them performs each maintenance run.
+ */
+@Service
+class ApiCallLogMaintenanceService(
+    private val apiCallLogRepository: ApiCallLogRepository,
+    private val utcDateTimeProvider: UtcDateTimeProvider,
+    private val apiCallLogProperties: ApiCallLogProperties,
+    apiRateProperties: ApiRateProperties,
+    scheduledExecutorServiceProvider: ScheduledExecutorServiceProvider
+) : DisposableBean {
+
+    companion object : KLogging() {
+        const val QUEUE_NAME = "ApiCallLogMaintenance"
+    }
+
+    private val executorService = scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor(QUEUE_NAME)
+
+    init {
+        val usagePeriod = apiRateProperties.usagePeriodDuration.toKotlinDuration()
+
+        require(apiCallLogProperties.retentionDays.days >= usagePeriod) {
+            "API call log retention of ${apiCallLogProperties.retentionDays} days is shorter than API usage period " +
+                "of $usagePeriod; calls of the current usage period would be dropped"
+        }
+
+        executorService.scheduleAtFixedRate(
+            command = { performMaintenance() },
+            initialDelay = 0L,
+            period = apiCallLogProperties.maintenanceInterval.toMillis(),
+            unit = TimeUnit.MILLISECONDS
+        )
+    }
+
+    override fun destroy() {
+        logger.info { "Shutting down API call log maintenance executor service..." }
+        executorService.shutdown()
+    }
+
+    @Suppress("TooGenericExceptionCaught")
+    private fun performMaintenance() {
+        try {
+            val isPerformed = apiCallLogRepository.tryWithMaintenanceLock {
+                val today = utcDateTimeProvider.getUtcDateTime().value.toLocalDate()
+
+                apiCallLogRepository.createDailyPartitions(
+                    fromDate = today,
+                    toDate = today.plusDays(apiCallLogProperties.partitionsAhead.toLong())
+                )
+
+                rollupCompletedDays(today)
+                dropExpiredPartitions(today)
+            }
+
+            if (!isPerformed) {
+                logger.debug { "API call log maintenance is already being performed by another instance" }
+            }
+        } catch (e: Throwable) {
+            logger.error(e) { "Failed to perform API call log maintenance" }
+        }
+    }
+
+    private fun rollupCompletedDays(today: LocalDate) {
+        val firstDate = apiCallLogRepository.getLastRolledUpDate()?.plusDays(1L)
+            ?: apiCallLogRepository.getFirstCallDate()
+            ?: return
+
+        firstDate.datesUntil(today).forEach {
+            apiCallLogRepository.rollupDailyCalls(it, utcDateTimeProvider.getUtcDateTime())
+        }
+    }
+
+    private fun dropExpiredPartitions(today: LocalDate) {
+        val lastRolledUpDate = apiCallLogRepository.getLastRolledUpDate() ?: return
+        val retentionCutoff = today.minusDays(apiCallLogProperties.retentionDays)
+        val droppedPartitions = apiCallLogRepository.dropDailyPartitionsBefore(
+            minOf(retentionCutoff, lastRolledUpDate.plusDays(1L))
+        )
+
+        if (droppedPartitions.isNotEmpty()) {
+            logger.info { "Dropped expired API call log partitions: $droppedPartitions" }
+        }
+    }
+}
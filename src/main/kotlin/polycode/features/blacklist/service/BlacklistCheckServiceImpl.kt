@@ -19,7 +19,7 @@ import java.util.concurrent.TimeoutException
 @Service
 class BlacklistCheckServiceImpl(
     private val blacklistedAddressRepository: BlacklistedAddressRepository,
-    private val basicJsonRestTemplate: RestTemplate,
+    private val blacklistRestTemplate: RestTemplate,
     private val blacklistApiProperties: BlacklistApiProperties
 ) : BlacklistCheckService, DisposableBean {
 
@@ -53,7 +53,7 @@ class BlacklistCheckServiceImpl(
                 logger.info { "API checking address for suspicious activities: $address" }
 
                 val suspiciousActivities = try {
-                    basicJsonRestTemplate.getForEntity(
+                    blacklistRestTemplate.getForEntity(
                         "${blacklistApiProperties.url.removeSuffix("/")}/${address.rawValue}",
                         Array<SuspiciousActivityResponse>::class.java
                     ).body?.toList().orEmpty()
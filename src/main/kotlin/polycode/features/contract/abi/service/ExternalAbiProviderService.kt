@@ -27,7 +27,7 @@ import polycode.util.ContractAddress
 @Service
 @Suppress("TooManyFunctions")
 class ExternalAbiProviderService(
-    private val basicJsonRestTemplate: RestTemplate,
+    private val chainExplorerRestTemplate: RestTemplate,
     private val objectMapper: ObjectMapper,
     private val applicationProperties: ApplicationProperties
 ) : AbiProviderService {
@@ -124,7 +124,7 @@ class ExternalAbiProviderService(
 
     private fun getCode(contractAddress: String, apiUrl: String, apiKey: String): ContractSourceResponse? =
         try {
-            basicJsonRestTemplate.getForEntity(
+            chainExplorerRestTemplate.getForEntity(
                 apiUrl + QUERY_PARAMS.replace("{contractAddress}", contractAddress).replace("{apiKey}", apiKey),
                 Response::class.java
             ).body?.result?.firstOrNull()
@@ -8,6 +8,8 @@ import polycode.util.ContractId
 
 @Suppress("TooManyFunctions")
 interface ContractDecoratorRepository {
+    val revision: Long
+
     fun store(contractDecorator: ContractDecorator): ContractDecorator
     fun store(id: ContractId, manifestJson: ManifestJson): ManifestJson
     fun store(id: ContractId, artifactJson: ArtifactJson): ArtifactJson
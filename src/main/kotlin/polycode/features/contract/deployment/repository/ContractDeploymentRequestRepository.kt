@@ -22,6 +22,14 @@ interface ContractDeploymentRequestRepository {
         projectId: ProjectId
     ): ContractDeploymentRequest?
 
+    fun getAllByIdentifiers(
+        ids: Set<ContractDeploymentRequestId>,
+        aliases: Set<String>,
+        contractAddresses: Set<ContractAddress>,
+        chainId: ChainId,
+        projectId: ProjectId
+    ): List<ContractDeploymentRequest>
+
     fun getAllByProjectId(
         projectId: ProjectId,
         filters: ContractDeploymentRequestFilters
@@ -7,6 +7,7 @@ import polycode.util.InterfaceId
 
 interface ContractMetadataRepository {
     fun createOrUpdate(contractMetadata: ContractMetadata): Boolean
+    fun createOrUpdateAll(contractMetadata: List<ContractMetadata>): Int
     fun updateInterfaces(contractId: ContractId, projectId: ProjectId, interfaces: List<InterfaceId>): Boolean
     fun exists(contractId: ContractId, projectId: ProjectId): Boolean
 }
@@ -9,7 +9,14 @@ import polycode.features.contract.deployment.model.result.ContractDecorator
 import polycode.model.filters.AndList
 import polycode.model.filters.OrList
 import polycode.util.ContractId
+import polycode.util.ContractTag
+import polycode.util.InterfaceId
+import java.util.BitSet
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
 
 @Repository
 @Suppress("TooManyFunctions")
@@ -22,27 +29,47 @@ class InMemoryContractDecoratorRepository : ContractDecoratorRepository {
     private val artifactJsonStorage = ConcurrentHashMap<ContractId, ArtifactJson>()
     private val infoMarkdownStorage = ConcurrentHashMap<ContractId, String>()
 
+    private val currentRevision = AtomicLong()
+    private val indexLock = ReentrantReadWriteLock()
+    private val ordinals = HashMap<ContractId, Int>()
+    private val decoratorsByOrdinal = ArrayList<ContractDecorator?>()
+    private val freeOrdinals = ArrayDeque<Int>()
+    private val allOrdinals = BitSet()
+    private val tagIndex = HashMap<ContractTag, BitSet>()
+    private val interfaceIndex = HashMap<InterfaceId, BitSet>()
+
+    override val revision: Long
+        get() = currentRevision.get()
+
     override fun store(contractDecorator: ContractDecorator): ContractDecorator {
         logger.info { "Storing contract decorator with ID: ${contractDecorator.id}" }
-        storage[contractDecorator.id] = contractDecorator
+        indexLock.write {
+            removeFromIndex(contractDecorator.id)
+            addToIndex(contractDecorator)
+            storage[contractDecorator.id] = contractDecorator
+        }
+        currentRevision.incrementAndGet()
         return contractDecorator
     }
 
     override fun store(id: ContractId, manifestJson: ManifestJson): ManifestJson {
         logger.info { "Storing contract manifest.json with ID: $id" }
         manifestJsonStorage[id] = manifestJson
+        currentRevision.incrementAndGet()
         return manifestJson
     }
 
     override fun store(id: ContractId, artifactJson: ArtifactJson): ArtifactJson {
         logger.info { "Storing contract artifact.json with ID: $id" }
         artifactJsonStorage[id] = artifactJson
+        currentRevision.incrementAndGet()
         return artifactJson
     }
 
     override fun store(id: ContractId, infoMd: String): String {
         logger.info { "Storing contract info.md with ID: $id" }
         infoMarkdownStorage[id] = infoMd
+        currentRevision.incrementAndGet()
         return infoMd
     }
 
@@ -51,7 +78,10 @@ class InMemoryContractDecoratorRepository : ContractDecoratorRepository {
         manifestJsonStorage.remove(id)
         artifactJsonStorage.remove(id)
         infoMarkdownStorage.remove(id)
-        return storage.remove(id) != null
+        return indexLock.write {
+            removeFromIndex(id)
+            storage.remove(id) != null
+        }.also { currentRevision.incrementAndGet() }
     }
 
     override fun getById(id: ContractId): ContractDecorator? {
@@ -76,10 +106,14 @@ class InMemoryContractDecoratorRepository : ContractDecoratorRepository {
 
     override fun getAll(filters: ContractDecoratorFilters): List<ContractDecorator> {
         logger.debug { "Get all contract decorators, filters: $filters" }
-        return storage.values
-            .filterBy(filters.contractTags) { it.tags }
-            .filterBy(filters.contractImplements) { it.implements }
-            .toList()
+        return indexLock.read {
+            val matching = allOrdinals.clone() as BitSet
+
+            tagIndex.evaluate(filters.contractTags)?.let { matching.and(it) }
+            interfaceIndex.evaluate(filters.contractImplements)?.let { matching.and(it) }
+
+            matching.stream().toArray().mapNotNull { decoratorsByOrdinal[it] }
+        }
     }
 
     override fun getAllManifestJsonFiles(filters: ContractDecoratorFilters): List<ManifestJson> {
@@ -97,19 +131,50 @@ class InMemoryContractDecoratorRepository : ContractDecoratorRepository {
         return getAll(filters).mapNotNull { infoMarkdownStorage[it.id] }
     }
 
-    private fun <T> Collection<ContractDecorator>.filterBy(
-        orList: OrList<AndList<T>>,
-        values: (ContractDecorator) -> List<T>
-    ): Collection<ContractDecorator> {
+    private fun addToIndex(contractDecorator: ContractDecorator) {
+        val ordinal = freeOrdinals.removeFirstOrNull() ?: decoratorsByOrdinal.size.also { decoratorsByOrdinal.add(null) }
+
+        ordinals[contractDecorator.id] = ordinal
+        decoratorsByOrdinal[ordinal] = contractDecorator
+        allOrdinals.set(ordinal)
+        contractDecorator.tags.forEach { tagIndex.getOrPut(it) { BitSet() }.set(ordinal) }
+        contractDecorator.implements.forEach { interfaceIndex.getOrPut(it) { BitSet() }.set(ordinal) }
+    }
+
+    private fun removeFromIndex(id: ContractId) {
+        val ordinal = ordinals.remove(id) ?: return
+        val contractDecorator = decoratorsByOrdinal[ordinal]
+
+        contractDecorator?.tags?.forEach { tagIndex.clearOrdinal(it, ordinal) }
+        contractDecorator?.implements?.forEach { interfaceIndex.clearOrdinal(it, ordinal) }
+        allOrdinals.clear(ordinal)
+        decoratorsByOrdinal[ordinal] = null
+        freeOrdinals.addLast(ordinal)
+    }
+
+    private fun <T> HashMap<T, BitSet>.clearOrdinal(key: T, ordinal: Int) {
+        val keyOrdinals = this[key] ?: return
+        keyOrdinals.clear(ordinal)
+
+        if (keyOrdinals.isEmpty) {
+            remove(key)
+        }
+    }
+
+    private fun <T> Map<T, BitSet>.evaluate(orList: OrList<AndList<T>>): BitSet? {
         val conditions = orList.list.map { it.list }
 
         return if (conditions.isEmpty()) {
-            this
+            null
         } else {
-            filter { decorator ->
-                val decoratorValues = values(decorator)
-                conditions.map { condition -> decoratorValues.containsAll(condition) }.contains(true)
+            conditions.fold(BitSet()) { union, condition ->
+                union.apply { or(intersect(condition)) }
             }
         }
     }
+
+    private fun <T> Map<T, BitSet>.intersect(values: List<T>): BitSet =
+        values.fold(allOrdinals.clone() as BitSet) { intersection, value ->
+            intersection.apply { and(this@intersect[value] ?: BitSet()) }
+        }
 }
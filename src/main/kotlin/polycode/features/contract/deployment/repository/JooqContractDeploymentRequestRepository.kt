@@ -160,6 +160,40 @@ class JooqContractDeploymentRequestRepository(
             .fetchOne { it.toModel() }
     }
 
+    override fun getAllByIdentifiers(
+        ids: Set<ContractDeploymentRequestId>,
+        aliases: Set<String>,
+        contractAddresses: Set<ContractAddress>,
+        chainId: ChainId,
+        projectId: ProjectId
+    ): List<ContractDeploymentRequest> {
+        logger.debug {
+            "Get contract deployment requests by ids: $ids, aliases: $aliases, contractAddresses: $contractAddresses," +
+                " chainId: $chainId, projectId: $projectId"
+        }
+
+        return dslContext.selectWithJoin()
+            .where(
+                DSL.and(
+                    ContractDeploymentRequestTable.DELETED.eq(false),
+                    DSL.or(
+                        ContractDeploymentRequestTable.ID.`in`(ids),
+                        DSL.and(
+                            ContractDeploymentRequestTable.PROJECT_ID.eq(projectId),
+                            ContractDeploymentRequestTable.ALIAS.`in`(aliases)
+                        ),
+                        DSL.and(
+                            ContractDeploymentRequestTable.PROJECT_ID.eq(projectId),
+                            ContractDeploymentRequestTable.CHAIN_ID.eq(chainId),
+                            ContractDeploymentRequestTable.CONTRACT_ADDRESS.`in`(contractAddresses)
+                        )
+                    )
+                )
+            )
+            .orderBy(ContractDeploymentRequestTable.CREATED_AT.asc())
+            .fetch { it.toModel() }
+    }
+
     override fun getAllByProjectId(
         projectId: ProjectId,
         filters: ContractDeploymentRequestFilters
@@ -2,6 +2,7 @@ package polycode.features.contract.deployment.repository
 
 import mu.KLogging
 import org.jooq.DSLContext
+import org.jooq.InsertReturningStep
 import org.jooq.impl.DSL
 import org.springframework.stereotype.Repository
 import polycode.generated.jooq.id.ProjectId
@@ -14,32 +15,46 @@ import polycode.util.InterfaceId
 @Repository
 class JooqContractMetadataRepository(private val dslContext: DSLContext) : ContractMetadataRepository {
 
-    companion object : KLogging()
+    companion object : KLogging() {
+        private const val BATCH_SIZE = 500
+    }
 
     override fun createOrUpdate(contractMetadata: ContractMetadata): Boolean {
         logger.info { "Create or update contract metadata: $contractMetadata" }
-        val tags = contractMetadata.contractTags.map { it.value }.toTypedArray()
-        val implements = contractMetadata.contractImplements.map { it.value }.toTypedArray()
+        return upsertQuery(contractMetadata).execute() > 0
+    }
 
-        return dslContext.insertInto(ContractMetadataTable)
-            .set(
-                ContractMetadataRecord(
-                    id = contractMetadata.id,
-                    contractId = contractMetadata.contractId,
-                    contractTags = tags,
-                    contractImplements = implements,
-                    name = contractMetadata.name,
-                    description = contractMetadata.description,
-                    projectId = contractMetadata.projectId
+    override fun createOrUpdateAll(contractMetadata: List<ContractMetadata>): Int {
+        logger.info { "Create or update ${contractMetadata.size} contract metadata entries" }
+
+        val existingRecords = if (contractMetadata.isEmpty()) {
+            emptyMap()
+        } else {
+            dslContext.selectFrom(ContractMetadataTable)
+                .where(
+                    DSL.and(
+                        ContractMetadataTable.CONTRACT_ID.`in`(contractMetadata.map { it.contractId }.toSet()),
+                        ContractMetadataTable.PROJECT_ID.`in`(contractMetadata.map { it.projectId }.toSet())
+                    )
                 )
-            )
-            .onConflict(ContractMetadataTable.CONTRACT_ID, ContractMetadataTable.PROJECT_ID)
-            .doUpdate()
-            .set(ContractMetadataTable.NAME, contractMetadata.name)
-            .set(ContractMetadataTable.DESCRIPTION, contractMetadata.description)
-            .set(ContractMetadataTable.CONTRACT_TAGS, tags)
-            .set(ContractMetadataTable.CONTRACT_IMPLEMENTS, implements)
-            .execute() > 0
+                .fetch()
+                .associateBy { Pair(it.contractId, it.projectId) }
+        }
+
+        val changedMetadata = contractMetadata.filterNot {
+            existingRecords[Pair(it.contractId, it.projectId)]?.matches(it) == true
+        }
+
+        logger.info {
+            "Skipping ${contractMetadata.size - changedMetadata.size} unchanged contract metadata entries," +
+                " writing ${changedMetadata.size} entries"
+        }
+
+        changedMetadata.chunked(BATCH_SIZE).forEach { chunk ->
+            dslContext.batch(chunk.map { upsertQuery(it) }).execute()
+        }
+
+        return changedMetadata.size
     }
 
     override fun updateInterfaces(
@@ -73,4 +88,34 @@ class JooqContractMetadataRepository(private val dslContext: DSLContext) : Contr
             )
         )
     }
+
+    private fun upsertQuery(contractMetadata: ContractMetadata): InsertReturningStep<ContractMetadataRecord> {
+        val tags = contractMetadata.contractTags.map { it.value }.toTypedArray()
+        val implements = contractMetadata.contractImplements.map { it.value }.toTypedArray()
+
+        return dslContext.insertInto(ContractMetadataTable)
+            .set(
+                ContractMetadataRecord(
+                    id = contractMetadata.id,
+                    contractId = contractMetadata.contractId,
+                    contractTags = tags,
+                    contractImplements = implements,
+                    name = contractMetadata.name,
+                    description = contractMetadata.description,
+                    projectId = contractMetadata.projectId
+                )
+            )
+            .onConflict(ContractMetadataTable.CONTRACT_ID, ContractMetadataTable.PROJECT_ID)
+            .doUpdate()
+            .set(ContractMetadataTable.NAME, contractMetadata.name)
+            .set(ContractMetadataTable.DESCRIPTION, contractMetadata.description)
+            .set(ContractMetadataTable.CONTRACT_TAGS, tags)
+            .set(ContractMetadataTable.CONTRACT_IMPLEMENTS, implements)
+    }
+
+    private fun ContractMetadataRecord.matches(contractMetadata: ContractMetadata): Boolean =
+        name == contractMetadata.name &&
+            description == contractMetadata.description &&
+            contractTags?.toList() == contractMetadata.contractTags.map { it.value } &&
+            contractImplements?.toList() == contractMetadata.contractImplements.map { it.value }
 }
@@ -5,6 +5,7 @@ import org.jooq.Condition
 import org.jooq.DSLContext
 import org.jooq.impl.DSL
 import org.springframework.stereotype.Repository
+import polycode.config.ContractDecoratorProperties
 import polycode.features.contract.deployment.model.filters.ContractDecoratorFilters
 import polycode.features.contract.deployment.model.json.ArtifactJson
 import polycode.features.contract.deployment.model.json.ManifestJson
@@ -19,16 +20,33 @@ import polycode.model.filters.OrList
 import polycode.util.ContractId
 import polycode.util.ContractTag
 import polycode.util.InterfaceId
+import polycode.util.LruCache
 import polycode.util.UtcDateTime
 
 @Repository
 @Suppress("TooManyFunctions")
 class JooqImportedContractDecoratorRepository(
     private val dslContext: DSLContext,
-    private val contractInterfacesRepository: ContractInterfacesRepository
+    private val contractInterfacesRepository: ContractInterfacesRepository,
+    contractDecoratorProperties: ContractDecoratorProperties
 ) : ImportedContractDecoratorRepository {
 
-    companion object : KLogging()
+    companion object : KLogging() {
+        private data class CacheKey(val projectId: ProjectId, val contractId: ContractId)
+
+        private data class DecoratorVersion(
+            val id: ImportedContractDecoratorId,
+            val contractId: ContractId,
+            val implements: List<String>,
+            val interfacesRevision: Long
+        )
+
+        private data class CachedDecorator(val version: DecoratorVersion, val decorator: ContractDecorator)
+    }
+
+    private val decoratorCache = LruCache<CacheKey, CachedDecorator>(
+        contractDecoratorProperties.importedDecoratorCacheSize
+    )
 
     override fun store(
         id: ImportedContractDecoratorId,
@@ -59,6 +77,7 @@ class JooqImportedContractDecoratorRepository(
             )
 
             dslContext.executeInsert(record)
+            decoratorCache.remove(CacheKey(projectId, contractId))
         }
 
         return ContractDecorator(
@@ -80,6 +99,7 @@ class JooqImportedContractDecoratorRepository(
             "Update imported contract decorator interfaces, contractId: $contractId, projectId: $projectId," +
                 " interfaces: $interfaces"
         }
+        decoratorCache.remove(CacheKey(projectId, contractId))
         return dslContext.update(ImportedContractDecoratorTable)
             .set(ImportedContractDecoratorTable.CONTRACT_IMPLEMENTS, interfaces.map { it.value }.toTypedArray())
             .set(
@@ -97,23 +117,12 @@ class JooqImportedContractDecoratorRepository(
 
     override fun getByContractIdAndProjectId(contractId: ContractId, projectId: ProjectId): ContractDecorator? {
         logger.debug { "Get imported contract decorator by contract id: $contractId" }
-        return dslContext.selectFrom(ImportedContractDecoratorTable)
-            .where(
-                DSL.and(
-                    ImportedContractDecoratorTable.CONTRACT_ID.eq(contractId),
-                    ImportedContractDecoratorTable.PROJECT_ID.eq(projectId)
-                )
+        return selectDecoratorVersions(
+            DSL.and(
+                ImportedContractDecoratorTable.CONTRACT_ID.eq(contractId),
+                ImportedContractDecoratorTable.PROJECT_ID.eq(projectId)
             )
-            .fetchOne()
-            ?.let {
-                ContractDecorator(
-                    id = it.contractId,
-                    artifact = it.artifactJson,
-                    manifest = it.manifestJson,
-                    imported = true,
-                    interfacesProvider = contractInterfacesRepository::getById
-                )
-            }
+        ).firstOrNull()?.let { materialize(projectId, listOf(it)).firstOrNull() }
     }
 
     override fun getManifestJsonByContractIdAndProjectId(contractId: ContractId, projectId: ProjectId): ManifestJson? {
@@ -160,18 +169,7 @@ class JooqImportedContractDecoratorRepository(
 
     override fun getAll(projectId: ProjectId, filters: ContractDecoratorFilters): List<ContractDecorator> {
         logger.debug { "Get imported contract decorators by projectId: $projectId, filters: $filters" }
-        return dslContext.selectFrom(ImportedContractDecoratorTable)
-            .where(createConditions(projectId, filters))
-            .orderBy(ImportedContractDecoratorTable.IMPORTED_AT.asc())
-            .fetch {
-                ContractDecorator(
-                    id = it.contractId,
-                    artifact = it.artifactJson,
-                    manifest = it.manifestJson,
-                    imported = true,
-                    interfacesProvider = contractInterfacesRepository::getById
-                )
-            }
+        return materialize(projectId, selectDecoratorVersions(DSL.and(createConditions(projectId, filters))))
     }
 
     override fun getAllManifestJsonFiles(projectId: ProjectId, filters: ContractDecoratorFilters): List<ManifestJson> {
@@ -201,6 +199,65 @@ class JooqImportedContractDecoratorRepository(
             .fetch { it.value1() }
     }
 
+    private fun selectDecoratorVersions(condition: Condition): List<DecoratorVersion> {
+        val interfacesRevision = contractInterfacesRepository.revision
+
+        return dslContext.select(
+            ImportedContractDecoratorTable.ID,
+            ImportedContractDecoratorTable.CONTRACT_ID,
+            ImportedContractDecoratorTable.CONTRACT_IMPLEMENTS
+        )
+            .from(ImportedContractDecoratorTable)
+            .where(condition)
+            .orderBy(ImportedContractDecoratorTable.IMPORTED_AT.asc())
+            .fetch {
+                DecoratorVersion(
+                    id = it.value1(),
+                    contractId = it.value2(),
+                    implements = it.value3()?.filterNotNull().orEmpty(),
+                    interfacesRevision = interfacesRevision
+                )
+            }
+    }
+
+    private fun materialize(projectId: ProjectId, versions: List<DecoratorVersion>): List<ContractDecorator> {
+        val cachedDecorators = versions.associate {
+            it.id to decoratorCache[CacheKey(projectId, it.contractId)]?.takeIf { c -> c.version == it }?.decorator
+        }
+        val missingVersions = versions.filter { cachedDecorators[it.id] == null }.associateBy { it.id }
+        val loadedDecorators = if (missingVersions.isEmpty()) {
+            emptyMap()
+        } else {
+            // info.md and filter columns are not needed to build decorators, so they are not loaded
+            dslContext.select(
+                ImportedContractDecoratorTable.ID,
+                ImportedContractDecoratorTable.CONTRACT_ID,
+                ImportedContractDecoratorTable.ARTIFACT_JSON,
+                ImportedContractDecoratorTable.MANIFEST_JSON
+            )
+                .from(ImportedContractDecoratorTable)
+                .where(ImportedContractDecoratorTable.ID.`in`(missingVersions.keys))
+                .fetch()
+                .associate { record ->
+                    val decorator = ContractDecorator(
+                        id = record.value2(),
+                        artifact = record.value3(),
+                        manifest = record.value4(),
+                        imported = true,
+                        interfacesProvider = contractInterfacesRepository::getById
+                    )
+
+                    missingVersions[record.value1()]?.let {
+                        decoratorCache[CacheKey(projectId, record.value2())] = CachedDecorator(it, decorator)
+                    }
+
+                    record.value1() to decorator
+                }
+        }
+
+        return versions.mapNotNull { cachedDecorators[it.id] ?: loadedDecorators[it.id] }
+    }
+
     private fun createConditions(projectId: ProjectId, filters: ContractDecoratorFilters) =
         listOfNotNull(
             ImportedContractDecoratorTable.PROJECT_ID.eq(projectId),
@@ -10,4 +10,9 @@ interface DeployedContractIdentifierResolverService {
         identifier: DeployedContractIdentifier,
         project: Project
     ): Pair<ContractDeploymentRequestId?, ContractAddress>
+
+    fun resolveContractIdsAndAddresses(
+        identifiers: Collection<DeployedContractIdentifier>,
+        project: Project
+    ): Map<DeployedContractIdentifier, Pair<ContractDeploymentRequestId?, ContractAddress>>
 }
@@ -57,6 +57,42 @@ class DeployedContractIdentifierResolverServiceImpl(
             }
         }
 
+    override fun resolveContractIdsAndAddresses(
+        identifiers: Collection<DeployedContractIdentifier>,
+        project: Project
+    ): Map<DeployedContractIdentifier, Pair<ContractDeploymentRequestId?, ContractAddress>> {
+        logger.info { "Fetching deployed contracts by identifiers: $identifiers, projectId: ${project.id}" }
+
+        val deploymentRequests = contractDeploymentRequestRepository.getAllByIdentifiers(
+            ids = identifiers.filterIsInstance<DeployedContractIdIdentifier>().map { it.id }.toSet(),
+            aliases = identifiers.filterIsInstance<DeployedContractAliasIdentifier>().map { it.alias }.toSet(),
+            contractAddresses = identifiers.filterIsInstance<DeployedContractAddressIdentifier>()
+                .map { it.contractAddress }.toSet(),
+            chainId = project.chainId,
+            projectId = project.id
+        )
+        val byId = deploymentRequests.associateBy { it.id }
+        val byAlias = deploymentRequests.filter { it.projectId == project.id }.associateBy { it.alias }
+        val byContractAddress = deploymentRequests
+            .filter { it.projectId == project.id && it.chainId == project.chainId && it.contractAddress != null }
+            .reversed() // requests are ordered by creation time, so the oldest one must be associated last
+            .associateBy { it.contractAddress }
+
+        return identifiers.toSet().mapNotNull { identifier ->
+            val idAndAddress = when (identifier) {
+                is DeployedContractIdIdentifier -> byId[identifier.id]?.resolvedIdAndAddress(project)
+                is DeployedContractAliasIdentifier -> byAlias[identifier.alias]?.resolvedIdAndAddress(project)
+                is DeployedContractAddressIdentifier ->
+                    Pair(byContractAddress[identifier.contractAddress]?.id, identifier.contractAddress)
+            }
+
+            idAndAddress?.let { Pair(identifier, it) }
+        }.toMap()
+    }
+
+    private fun ContractDeploymentRequest.resolvedIdAndAddress(project: Project): IdAndAddress? =
+        setContractAddressIfNecessary(project).contractAddress?.let { Pair(id, it) }
+
     private fun ContractDeploymentRequest.deployedContractIdAndAddress(): IdAndAddress =
         Pair(id, contractAddress ?: throw ContractNotYetDeployedException(id, alias))
 
@@ -2,9 +2,11 @@ package polycode.features.contract.functioncall.model.params
 
 import polycode.generated.jooq.id.ContractDeploymentRequestId
 import polycode.util.ContractAddress
+import polycode.util.FunctionData
 
 data class PreStoreContractFunctionCallRequestParams(
     val createParams: CreateContractFunctionCallRequestParams,
     val deployedContractId: ContractDeploymentRequestId?,
-    val contractAddress: ContractAddress
+    val contractAddress: ContractAddress,
+    val functionData: FunctionData
 )
@@ -11,6 +11,7 @@ import polycode.model.params.ParamsFactory
 import polycode.util.Balance
 import polycode.util.ChainId
 import polycode.util.ContractAddress
+import polycode.util.FunctionData
 import polycode.util.UtcDateTime
 import polycode.util.WalletAddress
 import java.util.UUID
@@ -22,6 +23,7 @@ data class StoreContractFunctionCallRequestParams(
     val contractAddress: ContractAddress,
     val functionName: String,
     val functionParams: JsonNode,
+    val functionData: FunctionData,
     val ethAmount: Balance,
     val chainId: ChainId,
     val redirectUrl: String,
@@ -48,6 +50,7 @@ data class StoreContractFunctionCallRequestParams(
             functionParams = objectMapper.createArrayNode().addAll(
                 params.createParams.functionParams.mapNotNull { it.rawJson }
             ),
+            functionData = params.functionData,
             ethAmount = params.createParams.ethAmount,
             chainId = project.chainId,
             redirectUrl = project.createRedirectUrl(params.createParams.redirectUrl, id, PATH),
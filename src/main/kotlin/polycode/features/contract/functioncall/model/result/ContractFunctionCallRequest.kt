@@ -23,6 +23,7 @@ data class ContractFunctionCallRequest(
     val contractAddress: ContractAddress,
     val functionName: String,
     val functionParams: JsonNode,
+    val functionData: FunctionData?,
     val ethAmount: Balance,
     val chainId: ChainId,
     val redirectUrl: String,
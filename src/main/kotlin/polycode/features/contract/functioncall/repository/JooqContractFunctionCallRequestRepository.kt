@@ -31,6 +31,7 @@ class JooqContractFunctionCallRequestRepository(
             contractAddress = params.contractAddress,
             functionName = params.functionName,
             functionParams = params.functionParams,
+            functionData = params.functionData,
             ethAmount = params.ethAmount,
             chainId = params.chainId,
             redirectUrl = params.redirectUrl,
@@ -95,6 +96,7 @@ class JooqContractFunctionCallRequestRepository(
             contractAddress = contractAddress,
             functionName = functionName,
             functionParams = functionParams,
+            functionData = functionData,
             ethAmount = ethAmount,
             chainId = chainId,
             redirectUrl = redirectUrl,
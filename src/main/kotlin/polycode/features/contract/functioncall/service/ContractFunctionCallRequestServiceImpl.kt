@@ -64,7 +64,8 @@ class ContractFunctionCallRequestServiceImpl(
             params = PreStoreContractFunctionCallRequestParams(
                 createParams = params,
                 deployedContractId = deployedContractId,
-                contractAddress = contractAddress
+                contractAddress = contractAddress,
+                functionData = data
             ),
             project = project
         ).addCautionIfNeeded()
@@ -130,7 +131,7 @@ class ContractFunctionCallRequestServiceImpl(
             customRpcUrl = project.customRpcUrl,
             events = decorator?.getDeserializableEvents(objectMapper).orEmpty()
         )
-        val data = functionEncoderService.encode(
+        val data = functionData ?: functionEncoderService.encode( // function data is not stored for legacy requests
             functionName = functionName,
             arguments = objectMapper.treeToValue(functionParams, Array<FunctionArgument>::class.java).toList()
         )
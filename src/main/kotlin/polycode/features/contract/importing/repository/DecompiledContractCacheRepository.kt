@@ -0,0 +1,15 @@
+package polycode.features.contract.importing.repository
+
+import polycode.features.contract.importing.model.json.DecompiledContractJson
+import polycode.util.Keccak256Hash
+import polycode.util.UtcDateTime
+
+interface DecompiledContractCacheRepository {
+    fun cacheDecompiledContract(
+        bytecodeHash: Keccak256Hash,
+        decompiledContract: DecompiledContractJson,
+        cachedAt: UtcDateTime
+    )
+
+    fun getCachedDecompiledContract(bytecodeHash: Keccak256Hash): DecompiledContractJson?
+}
@@ -0,0 +1,50 @@
+package polycode.features.contract.importing.repository
+
+import mu.KLogging
+import org.jooq.DSLContext
+import org.springframework.stereotype.Repository
+import polycode.features.contract.importing.model.json.DecompiledContractJson
+import polycode.generated.jooq.tables.DecompiledContractCacheTable
+import polycode.generated.jooq.tables.records.DecompiledContractCacheRecord
+import polycode.util.Keccak256Hash
+import polycode.util.UtcDateTime
+
+@Repository
+class JooqDecompiledContractCacheRepository(private val dslContext: DSLContext) : DecompiledContractCacheRepository {
+
+    companion object : KLogging()
+
+    override fun cacheDecompiledContract(
+        bytecodeHash: Keccak256Hash,
+        decompiledContract: DecompiledContractJson,
+        cachedAt: UtcDateTime
+    ) {
+        logger.info { "Caching decompiled contract, bytecodeHash: $bytecodeHash, cachedAt: $cachedAt" }
+        dslContext.insertInto(DecompiledContractCacheTable)
+            .set(
+                DecompiledContractCacheRecord(
+                    bytecodeHash = bytecodeHash.value,
+                    manifestJson = decompiledContract.manifest,
+                    artifactJson = decompiledContract.artifact,
+                    infoMarkdown = decompiledContract.infoMarkdown,
+                    cachedAt = cachedAt
+                )
+            )
+            .onConflictDoNothing()
+            .execute()
+    }
+
+    override fun getCachedDecompiledContract(bytecodeHash: Keccak256Hash): DecompiledContractJson? {
+        logger.debug { "Get cached decompiled contract, bytecodeHash: $bytecodeHash" }
+        return dslContext.selectFrom(DecompiledContractCacheTable)
+            .where(DecompiledContractCacheTable.BYTECODE_HASH.eq(bytecodeHash.value))
+            .fetchOne()
+            ?.let {
+                DecompiledContractJson(
+                    manifest = it.manifestJson,
+                    artifact = it.artifactJson,
+                    infoMarkdown = it.infoMarkdown
+                )
+            }
+    }
+}
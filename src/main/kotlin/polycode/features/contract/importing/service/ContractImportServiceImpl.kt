@@ -54,6 +54,7 @@ class ContractImportServiceImpl(
     private val abiDecoderService: AbiDecoderService,
     private val contractDecompilerService: ContractDecompilerService,
     private val abiProviderService: AbiProviderService,
+    private val decompiledContractCacheService: DecompiledContractCacheService,
     private val functionEncoderService: FunctionEncoderService,
     private val contractDeploymentRequestRepository: ContractDeploymentRequestRepository,
     private val contractMetadataRepository: ContractMetadataRepository,
@@ -591,11 +592,31 @@ class ContractImportServiceImpl(
         deployedBytecode: ContractBinaryData,
         contractAddress: ContractAddress,
         chainSpec: ChainSpec
-    ): DecompiledContractJson =
-        abiProviderService.getContractAbi(
+    ): DecompiledContractJson {
+        val cachedContract = decompiledContractCacheService.getCachedDecompiledContract(deployedBytecode)
+
+        if (cachedContract != null) {
+            logger.debug {
+                "Using cached decompiled contract, contractAddress: $contractAddress, chainSpec: $chainSpec"
+            }
+
+            return cachedContract.copy(
+                artifact = cachedContract.artifact.copy(
+                    bytecode = bytecode,
+                    deployedBytecode = deployedBytecode.value
+                )
+            )
+        }
+
+        val decompiledContract = abiProviderService.getContractAbi(
             bytecode = bytecode,
             deployedBytecode = deployedBytecode.value,
             contractAddress = contractAddress,
             chainSpec = chainSpec
         ) ?: contractDecompilerService.decompile(deployedBytecode)
+
+        decompiledContractCacheService.cacheDecompiledContract(deployedBytecode, decompiledContract)
+
+        return decompiledContract
+    }
 }
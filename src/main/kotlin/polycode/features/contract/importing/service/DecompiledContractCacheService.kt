@@ -0,0 +1,9 @@
+package polycode.features.contract.importing.service
+
+import polycode.features.contract.importing.model.json.DecompiledContractJson
+import polycode.util.ContractBinaryData
+
+interface DecompiledContractCacheService {
+    fun getCachedDecompiledContract(deployedBytecode: ContractBinaryData): DecompiledContractJson?
+    fun cacheDecompiledContract(deployedBytecode: ContractBinaryData, decompiledContract: DecompiledContractJson)
+}
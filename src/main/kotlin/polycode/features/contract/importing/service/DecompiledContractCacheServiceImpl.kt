@@ -0,0 +1,54 @@
+package polycode.features.contract.importing.service
+
+import mu.KLogging
+import org.springframework.stereotype.Service
+import polycode.config.ContractManifestServiceProperties
+import polycode.features.contract.importing.model.json.DecompiledContractJson
+import polycode.features.contract.importing.repository.DecompiledContractCacheRepository
+import polycode.service.UtcDateTimeProvider
+import polycode.util.ContractBinaryData
+import polycode.util.Keccak256Hash
+import polycode.util.LruCache
+
+@Service
+class DecompiledContractCacheServiceImpl(
+    private val decompiledContractCacheRepository: DecompiledContractCacheRepository,
+    private val utcDateTimeProvider: UtcDateTimeProvider,
+    contractManifestServiceProperties: ContractManifestServiceProperties
+) : DecompiledContractCacheService {
+
+    companion object : KLogging()
+
+    private val decompiledContractCache = LruCache<Keccak256Hash, DecompiledContractJson>(
+        contractManifestServiceProperties.decompiledContractCacheSize
+    )
+
+    override fun getCachedDecompiledContract(deployedBytecode: ContractBinaryData): DecompiledContractJson? {
+        val bytecodeHash = Keccak256Hash.ofHexBytes(deployedBytecode.withPrefix)
+        logger.debug { "Get cached decompiled contract, bytecodeHash: $bytecodeHash" }
+
+        return decompiledContractCache[bytecodeHash]
+            ?: decompiledContractCacheRepository.getCachedDecompiledContract(bytecodeHash)
+                ?.also { decompiledContractCache[bytecodeHash] = it }
+    }
+
+    override fun cacheDecompiledContract(
+        deployedBytecode: ContractBinaryData,
+        decompiledContract: DecompiledContractJson
+    ) {
+        val bytecodeHash = Keccak256Hash.ofHexBytes(deployedBytecode.withPrefix)
+        logger.debug { "Caching decompiled contract, bytecodeHash: $bytecodeHash" }
+
+        // bytecode is derived from the imported contract, so only the ABI and manifest are worth storing
+        val strippedContract = decompiledContract.copy(
+            artifact = decompiledContract.artifact.copy(bytecode = "", deployedBytecode = "")
+        )
+
+        decompiledContractCacheRepository.cacheDecompiledContract(
+            bytecodeHash = bytecodeHash,
+            decompiledContract = strippedContract,
+            cachedAt = utcDateTimeProvider.getUtcDateTime()
+        )
+        decompiledContractCache[bytecodeHash] = strippedContract
+    }
+}
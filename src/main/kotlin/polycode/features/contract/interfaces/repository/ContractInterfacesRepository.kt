@@ -6,6 +6,8 @@ import polycode.features.contract.interfaces.model.filters.ContractInterfaceFilt
 import polycode.util.InterfaceId
 
 interface ContractInterfacesRepository {
+    val revision: Long
+
     fun store(id: InterfaceId, interfaceManifestJson: InterfaceManifestJson): InterfaceManifestJson
     fun store(id: InterfaceId, infoMd: String): String
     fun delete(id: InterfaceId): Boolean
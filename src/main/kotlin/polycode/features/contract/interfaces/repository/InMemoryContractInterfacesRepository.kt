@@ -11,18 +11,42 @@ import polycode.model.filters.OrList
 import polycode.util.ContractTag
 import polycode.util.InterfaceId
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
 
 @Repository
 class InMemoryContractInterfacesRepository : ContractInterfacesRepository {
 
-    companion object : KLogging()
+    companion object : KLogging() {
+        private class IndexedInterface(
+            val manifest: InterfaceManifestJson,
+            val functionSignatures: Set<String>,
+            val eventSignatures: Set<String>
+        )
+    }
 
     private val storage = ConcurrentHashMap<InterfaceId, InterfaceManifestJson>()
     private val infoMarkdownStorage = ConcurrentHashMap<InterfaceId, String>()
+    private val currentRevision = AtomicLong()
+    private val indexLock = ReentrantReadWriteLock()
+    private val indexedInterfaces = HashMap<InterfaceId, IndexedInterface>()
+    private val functionSignatureIndex = HashMap<String, MutableSet<InterfaceId>>()
+    private val eventSignatureIndex = HashMap<String, MutableSet<InterfaceId>>()
+    private val interfacesWithoutFunctions = HashSet<InterfaceId>()
+
+    override val revision: Long
+        get() = currentRevision.get()
 
     override fun store(id: InterfaceId, interfaceManifestJson: InterfaceManifestJson): InterfaceManifestJson {
         logger.info { "Storing contract interface with ID: $id" }
-        storage[id] = interfaceManifestJson
+        indexLock.write {
+            removeFromIndex(id)
+            addToIndex(id, interfaceManifestJson)
+            storage[id] = interfaceManifestJson
+        }
+        currentRevision.incrementAndGet()
         return interfaceManifestJson
     }
 
@@ -35,7 +59,10 @@ class InMemoryContractInterfacesRepository : ContractInterfacesRepository {
     override fun delete(id: InterfaceId): Boolean {
         logger.info { "Deleting contract interface with ID: $id" }
         infoMarkdownStorage.remove(id)
-        return storage.remove(id) != null
+        return indexLock.write {
+            removeFromIndex(id)
+            storage.remove(id) != null
+        }.also { currentRevision.incrementAndGet() }
     }
 
     override fun getById(id: InterfaceId): InterfaceManifestJson? {
@@ -74,34 +101,75 @@ class InMemoryContractInterfacesRepository : ContractInterfacesRepository {
         abiEventSignatures: Set<String>
     ): List<InterfaceManifestJsonWithId> {
         logger.debug { "Get all partially matching contract interfaces" }
-        return storage.entries.mapNotNull {
-            val id = it.key
-            val interfaceDecorator = it.value
-            val matchingFunctions = findMatches(interfaceDecorator.functionDecorators, abiFunctionSignatures)
-            // events do not need to match interface definition
-            val matchingEvents = findMatches(interfaceDecorator.eventDecorators, abiEventSignatures) ?: emptyList()
-
-            matchingFunctions?.let {
-                InterfaceManifestJsonWithId(
-                    id = id,
-                    name = interfaceDecorator.name,
-                    description = interfaceDecorator.description,
-                    tags = interfaceDecorator.tags,
-                    matchingEventDecorators = matchingEvents,
-                    matchingFunctionDecorators = matchingFunctions
-                )
+        return indexLock.read {
+            // interface matches only if all of its function signatures are present in the ABI
+            val matchingIds = interfacesWithoutFunctions + functionSignatureIndex.countMatches(abiFunctionSignatures)
+                .filter { it.value == indexedInterfaces[it.key]?.functionSignatures?.size }
+                .keys
+            val eventMatchCounts = eventSignatureIndex.countMatches(abiEventSignatures)
+
+            matchingIds.mapNotNull { id ->
+                indexedInterfaces[id]?.let {
+                    // events do not need to match interface definition
+                    val matchingEvents = it.manifest.eventDecorators.takeIf { _ ->
+                        (eventMatchCounts[id] ?: 0) == it.eventSignatures.size
+                    } ?: emptyList()
+
+                    InterfaceManifestJsonWithId(
+                        id = id,
+                        name = it.manifest.name,
+                        description = it.manifest.description,
+                        tags = it.manifest.tags,
+                        matchingEventDecorators = matchingEvents,
+                        matchingFunctionDecorators = it.manifest.functionDecorators
+                    )
+                }
             }
         }
     }
 
-    private fun <T : OverridableDecorator> findMatches(
-        interfaceDecorators: List<T>,
-        abiSignatures: Set<String>
-    ): List<T>? {
-        val interfaceDecoratorSignatures = interfaceDecorators.map { it.signature }.toSet()
-        return interfaceDecorators.takeIf { abiSignatures.containsAll(interfaceDecoratorSignatures) }
+    private fun addToIndex(id: InterfaceId, manifest: InterfaceManifestJson) {
+        val indexedInterface = IndexedInterface(
+            manifest = manifest,
+            functionSignatures = manifest.functionDecorators.signatures(),
+            eventSignatures = manifest.eventDecorators.signatures()
+        )
+
+        indexedInterfaces[id] = indexedInterface
+        indexedInterface.functionSignatures.forEach { functionSignatureIndex.getOrPut(it) { HashSet() }.add(id) }
+        indexedInterface.eventSignatures.forEach { eventSignatureIndex.getOrPut(it) { HashSet() }.add(id) }
+
+        if (indexedInterface.functionSignatures.isEmpty()) {
+            interfacesWithoutFunctions.add(id)
+        }
+    }
+
+    private fun removeFromIndex(id: InterfaceId) {
+        val indexedInterface = indexedInterfaces.remove(id) ?: return
+
+        functionSignatureIndex.removeFromEntries(indexedInterface.functionSignatures, id)
+        eventSignatureIndex.removeFromEntries(indexedInterface.eventSignatures, id)
+        interfacesWithoutFunctions.remove(id)
     }
 
+    private fun <T : OverridableDecorator> List<T>.signatures(): Set<String> = mapTo(HashSet()) { it.signature }
+
+    private fun HashMap<String, MutableSet<InterfaceId>>.countMatches(signatures: Set<String>): Map<InterfaceId, Int> {
+        val counts = HashMap<InterfaceId, Int>()
+        signatures.forEach { signature ->
+            this[signature]?.forEach { counts.merge(it, 1, Int::plus) }
+        }
+        return counts
+    }
+
+    private fun HashMap<String, MutableSet<InterfaceId>>.removeFromEntries(signatures: Set<String>, id: InterfaceId) =
+        signatures.forEach { signature ->
+            this[signature]?.let {
+                it.remove(id)
+                if (it.isEmpty()) remove(signature)
+            }
+        }
+
     private fun <T> Collection<Map.Entry<InterfaceId, InterfaceManifestJson>>.filterBy(
         orList: OrList<AndList<T>>,
         values: (InterfaceManifestJson) -> List<T>
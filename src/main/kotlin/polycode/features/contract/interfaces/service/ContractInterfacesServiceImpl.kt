@@ -191,17 +191,18 @@ class ContractInterfacesServiceImpl(
         )
     }
 
-    private fun List<WithNumOfMatches>.takeWithoutOverlaps(functionSignatures: Set<String>): List<InterfaceId> =
-        if (isEmpty()) {
-            emptyList()
-        } else {
-            val firstElem = first()
-            val firstElemSignatures = firstElem.manifest.matchingFunctionDecorators.map { it.signature }.toSet()
-
-            val matchingFirstElement = firstElem.takeIf { functionSignatures.containsAll(firstElemSignatures) }
-            val newFunctionSignatures = matchingFirstElement?.let { functionSignatures - firstElemSignatures }
-                ?: functionSignatures
-
-            listOfNotNull(matchingFirstElement?.manifest?.id) + drop(1).takeWithoutOverlaps(newFunctionSignatures)
+    private fun List<WithNumOfMatches>.takeWithoutOverlaps(functionSignatures: Set<String>): List<InterfaceId> {
+        val remainingSignatures = functionSignatures.toHashSet()
+
+        return mapNotNull {
+            val interfaceSignatures = it.manifest.matchingFunctionDecorators.mapTo(HashSet()) { f -> f.signature }
+
+            if (remainingSignatures.containsAll(interfaceSignatures)) {
+                remainingSignatures.removeAll(interfaceSignatures)
+                it.manifest.id
+            } else {
+                null
+            }
         }
+    }
 }
@@ -10,8 +10,11 @@ import polycode.config.binding.annotation.ApiKeyBinding
 import polycode.config.interceptors.annotation.ApiWriteLimitedMapping
 import polycode.config.interceptors.annotation.IdType
 import polycode.features.api.access.model.result.Project
+import polycode.features.contract.readcall.model.params.CreateReadonlyFunctionCallBatchParams
 import polycode.features.contract.readcall.model.params.CreateReadonlyFunctionCallParams
+import polycode.features.contract.readcall.model.request.ReadonlyFunctionCallBatchRequest
 import polycode.features.contract.readcall.model.request.ReadonlyFunctionCallRequest
+import polycode.features.contract.readcall.model.response.ReadonlyFunctionCallBatchResponse
 import polycode.features.contract.readcall.model.response.ReadonlyFunctionCallResponse
 import polycode.features.contract.readcall.service.ContractReadonlyFunctionCallService
 import javax.validation.Valid
@@ -39,4 +42,21 @@ class ContractReadonlyFunctionCallController(
             )
         )
     }
+
+    @ApiWriteLimitedMapping(IdType.PROJECT_ID, RequestMethod.POST, "/v1/readonly-function-call/batch")
+    fun callReadonlyContractFunctions(
+        @ApiKeyBinding project: Project,
+        @Valid @RequestBody requestBody: ReadonlyFunctionCallBatchRequest
+    ): ResponseEntity<ReadonlyFunctionCallBatchResponse> {
+        val params = CreateReadonlyFunctionCallBatchParams(requestBody)
+        val result = contractReadonlyFunctionCallService.callReadonlyContractFunctions(params, project)
+        return ResponseEntity.ok(
+            ReadonlyFunctionCallBatchResponse(
+                result = result,
+                outputParams = requestBody.calls.map { call ->
+                    objectMapper.createArrayNode().apply { addAll(call.outputParams.map { it.rawJson }) }
+                }
+            )
+        )
+    }
 }
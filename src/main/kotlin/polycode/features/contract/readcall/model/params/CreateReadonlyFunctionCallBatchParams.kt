@@ -0,0 +1,25 @@
+package polycode.features.contract.readcall.model.params
+
+import polycode.features.contract.deployment.model.params.DeployedContractIdentifier
+import polycode.features.contract.readcall.model.request.ReadonlyFunctionCallBatchRequest
+import polycode.util.BlockNumber
+import polycode.util.WalletAddress
+
+data class CreateReadonlyFunctionCallBatchParams(
+    val blockNumber: BlockNumber?,
+    val calls: List<CreateReadonlyFunctionCallParams>
+) {
+    constructor(requestBody: ReadonlyFunctionCallBatchRequest) : this(
+        blockNumber = requestBody.blockNumber?.let { BlockNumber(it) },
+        calls = requestBody.calls.map {
+            CreateReadonlyFunctionCallParams(
+                identifier = DeployedContractIdentifier(it),
+                blockNumber = requestBody.blockNumber?.let { BlockNumber(it) },
+                functionName = it.functionName,
+                functionParams = it.functionParams,
+                outputParams = it.outputParams,
+                callerAddress = WalletAddress(it.callerAddress)
+            )
+        }
+    )
+}
@@ -0,0 +1,60 @@
+package polycode.features.contract.readcall.model.response
+
+import com.fasterxml.jackson.annotation.JsonIgnore
+import com.fasterxml.jackson.databind.JsonNode
+import polycode.exception.ErrorResponse
+import polycode.features.contract.readcall.model.params.OutputParameterSchema
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchItemResult
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchResult
+import polycode.generated.jooq.id.ContractDeploymentRequestId
+import polycode.util.annotation.SchemaIgnore
+import polycode.util.annotation.SchemaName
+import java.math.BigInteger
+import java.time.OffsetDateTime
+
+data class ReadonlyFunctionCallBatchResponse(
+    val blockNumber: BigInteger,
+    val timestamp: OffsetDateTime,
+    val results: List<ReadonlyFunctionCallBatchItemResponse>
+) {
+    companion object {
+        operator fun invoke(result: ReadonlyFunctionCallBatchResult, outputParams: List<JsonNode>) =
+            ReadonlyFunctionCallBatchResponse(
+                blockNumber = result.blockNumber.value,
+                timestamp = result.timestamp.value,
+                results = result.results.zip(outputParams) { itemResult, itemOutputParams ->
+                    ReadonlyFunctionCallBatchItemResponse(itemResult, itemOutputParams)
+                }
+            )
+    }
+}
+
+data class ReadonlyFunctionCallBatchItemResponse(
+    val deployedContractId: ContractDeploymentRequestId?,
+    val contractAddress: String?,
+    @SchemaIgnore
+    val outputParams: JsonNode,
+    @SchemaIgnore
+    val returnValues: List<Any>?,
+    val rawReturnValue: String?,
+    val error: ErrorResponse?
+) {
+    constructor(result: ReadonlyFunctionCallBatchItemResult, outputParams: JsonNode) : this(
+        deployedContractId = result.deployedContractId,
+        contractAddress = result.contractAddress?.rawValue,
+        outputParams = outputParams,
+        returnValues = result.returnValues,
+        rawReturnValue = result.rawReturnValue,
+        error = result.error
+    )
+
+    @Suppress("unused") // used for JSON schema generation
+    @JsonIgnore
+    @SchemaName("output_params")
+    private val schemaOutputStructParams: List<OutputParameterSchema> = emptyList()
+
+    @Suppress("unused") // used for JSON schema generation
+    @JsonIgnore
+    @SchemaName("return_values")
+    private val schemaReturnValues: List<ReturnValueTypes> = emptyList()
+}
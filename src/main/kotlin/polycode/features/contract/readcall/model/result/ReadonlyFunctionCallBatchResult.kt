@@ -0,0 +1,21 @@
+package polycode.features.contract.readcall.model.result
+
+import polycode.exception.ErrorResponse
+import polycode.generated.jooq.id.ContractDeploymentRequestId
+import polycode.util.BlockNumber
+import polycode.util.ContractAddress
+import polycode.util.UtcDateTime
+
+data class ReadonlyFunctionCallBatchResult(
+    val blockNumber: BlockNumber,
+    val timestamp: UtcDateTime,
+    val results: List<ReadonlyFunctionCallBatchItemResult>
+)
+
+data class ReadonlyFunctionCallBatchItemResult(
+    val deployedContractId: ContractDeploymentRequestId?,
+    val contractAddress: ContractAddress?,
+    val rawReturnValue: String?,
+    val returnValues: List<Any>?,
+    val error: ErrorResponse?
+)
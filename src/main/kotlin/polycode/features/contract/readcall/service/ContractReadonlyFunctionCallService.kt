@@ -1,7 +1,9 @@
 package polycode.features.contract.readcall.service
 
 import polycode.features.api.access.model.result.Project
+import polycode.features.contract.readcall.model.params.CreateReadonlyFunctionCallBatchParams
 import polycode.features.contract.readcall.model.params.CreateReadonlyFunctionCallParams
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchResult
 import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallResult
 import polycode.util.WithDeployedContractIdAndAddress
 
@@ -10,4 +12,9 @@ interface ContractReadonlyFunctionCallService {
         params: CreateReadonlyFunctionCallParams,
         project: Project
     ): WithDeployedContractIdAndAddress<ReadonlyFunctionCallResult>
+
+    fun callReadonlyContractFunctions(
+        params: CreateReadonlyFunctionCallBatchParams,
+        project: Project
+    ): ReadonlyFunctionCallBatchResult
 }
@@ -4,13 +4,21 @@ import mu.KLogging
 import org.springframework.stereotype.Service
 import polycode.blockchain.BlockchainService
 import polycode.blockchain.properties.ChainSpec
+import polycode.exception.ErrorCode
+import polycode.exception.ErrorResponse
+import polycode.exception.ServiceException
 import polycode.features.api.access.model.result.Project
 import polycode.features.contract.deployment.service.DeployedContractIdentifierResolverService
+import polycode.features.contract.readcall.model.params.CreateReadonlyFunctionCallBatchParams
 import polycode.features.contract.readcall.model.params.CreateReadonlyFunctionCallParams
 import polycode.features.contract.readcall.model.params.ExecuteReadonlyFunctionCallParams
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchItemResult
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchResult
 import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallResult
 import polycode.features.functions.encoding.service.FunctionEncoderService
+import polycode.generated.jooq.id.ContractDeploymentRequestId
 import polycode.util.BlockName
+import polycode.util.ContractAddress
 import polycode.util.WithDeployedContractIdAndAddress
 
 @Service
@@ -20,7 +28,14 @@ class ContractReadonlyFunctionCallServiceImpl(
     private val blockchainService: BlockchainService
 ) : ContractReadonlyFunctionCallService {
 
-    companion object : KLogging()
+    companion object : KLogging() {
+        private data class PreparedCall(
+            val deployedContractId: ContractDeploymentRequestId?,
+            val contractAddress: ContractAddress?,
+            val executeParams: ExecuteReadonlyFunctionCallParams?,
+            val error: ErrorResponse?
+        )
+    }
 
     override fun callReadonlyContractFunction(
         params: CreateReadonlyFunctionCallParams,
@@ -56,4 +71,91 @@ class ContractReadonlyFunctionCallServiceImpl(
             contractAddress = contractAddress
         )
     }
+
+    override fun callReadonlyContractFunctions(
+        params: CreateReadonlyFunctionCallBatchParams,
+        project: Project
+    ): ReadonlyFunctionCallBatchResult {
+        logger.info { "Calling contract read-only functions, params: $params, project: $project" }
+
+        val resolvedIdentifiers = deployedContractIdentifierResolverService.resolveContractIdsAndAddresses(
+            identifiers = params.calls.map { it.identifier },
+            project = project
+        )
+        val preparedCalls = params.calls.map { it.prepare(resolvedIdentifiers[it.identifier]) }
+        val batchResult = blockchainService.callReadonlyFunctions(
+            chainSpec = ChainSpec(
+                chainId = project.chainId,
+                customRpcUrl = project.customRpcUrl
+            ),
+            params = preparedCalls.mapNotNull { it.executeParams },
+            blockParameter = params.blockNumber ?: BlockName.LATEST
+        )
+        val executedResults = batchResult.results.iterator()
+
+        return batchResult.copy(
+            results = preparedCalls.map {
+                if (it.executeParams != null) {
+                    executedResults.next().copy(deployedContractId = it.deployedContractId)
+                } else {
+                    ReadonlyFunctionCallBatchItemResult(
+                        deployedContractId = it.deployedContractId,
+                        contractAddress = it.contractAddress,
+                        rawReturnValue = null,
+                        returnValues = null,
+                        error = it.error
+                    )
+                }
+            }
+        )
+    }
+
+    @Suppress("TooGenericExceptionCaught")
+    private fun CreateReadonlyFunctionCallParams.prepare(
+        idAndAddress: Pair<ContractDeploymentRequestId?, ContractAddress>?
+    ): PreparedCall =
+        if (idAndAddress == null) {
+            PreparedCall(
+                deployedContractId = null,
+                contractAddress = null,
+                executeParams = null,
+                error = ErrorResponse(
+                    errorCode = ErrorCode.RESOURCE_NOT_FOUND,
+                    message = "Deployed contract not found or not yet deployed for identifier: $identifier"
+                )
+            )
+        } else {
+            val preparedCall = PreparedCall(
+                deployedContractId = idAndAddress.first,
+                contractAddress = idAndAddress.second,
+                executeParams = null,
+                error = null
+            )
+
+            // single call with arguments which cannot be encoded must not fail the whole batch
+            try {
+                preparedCall.copy(
+                    executeParams = ExecuteReadonlyFunctionCallParams(
+                        contractAddress = idAndAddress.second,
+                        callerAddress = callerAddress,
+                        functionName = functionName,
+                        functionData = functionEncoderService.encode(
+                            functionName = functionName,
+                            arguments = functionParams
+                        ),
+                        outputParams = outputParams
+                    )
+                )
+            } catch (e: ServiceException) {
+                preparedCall.copy(error = ErrorResponse(e.errorCode, e.message))
+            } catch (e: RuntimeException) {
+                logger.debug(e) { "Unable to encode function call, functionName: $functionName" }
+                preparedCall.copy(
+                    error = ErrorResponse(
+                        errorCode = ErrorCode.INVALID_REQUEST_BODY,
+                        message = "Unable to encode arguments for function: $functionName"
+                    )
+                )
+            }
+        }
 }
@@ -0,0 +1,14 @@
+package polycode.features.functions.decoding.model
+
+import polycode.features.contract.deployment.model.json.AbiInputOutput
+import polycode.util.UtcDateTime
+
+data class FunctionSignature(
+    val name: String,
+    val inputs: List<AbiInputOutput>
+)
+
+data class CachedFunctionSignature(
+    val signature: FunctionSignature?,
+    val cachedAt: UtcDateTime
+)
@@ -0,0 +1,10 @@
+package polycode.features.functions.decoding.repository
+
+import polycode.features.functions.decoding.model.CachedFunctionSignature
+import polycode.features.functions.decoding.model.FunctionSignature
+import polycode.util.UtcDateTime
+
+interface FunctionSignatureCacheRepository {
+    fun cacheFunctionSignature(selector: String, signature: FunctionSignature?, cachedAt: UtcDateTime)
+    fun getCachedFunctionSignature(selector: String): CachedFunctionSignature?
+}
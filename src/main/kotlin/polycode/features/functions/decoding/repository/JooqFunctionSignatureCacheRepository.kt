@@ -0,0 +1,46 @@
+package polycode.features.functions.decoding.repository
+
+import mu.KLogging
+import org.jooq.DSLContext
+import org.springframework.stereotype.Repository
+import polycode.features.functions.decoding.model.CachedFunctionSignature
+import polycode.features.functions.decoding.model.FunctionSignature
+import polycode.generated.jooq.tables.FunctionSignatureCacheTable
+import polycode.generated.jooq.tables.records.FunctionSignatureCacheRecord
+import polycode.util.UtcDateTime
+
+@Repository
+class JooqFunctionSignatureCacheRepository(private val dslContext: DSLContext) : FunctionSignatureCacheRepository {
+
+    companion object : KLogging()
+
+    override fun cacheFunctionSignature(selector: String, signature: FunctionSignature?, cachedAt: UtcDateTime) {
+        logger.info { "Caching function signature, selector: $selector, signature: $signature, cachedAt: $cachedAt" }
+        dslContext.insertInto(FunctionSignatureCacheTable)
+            .set(
+                FunctionSignatureCacheRecord(
+                    functionSelector = selector.lowercase(),
+                    functionSignature = signature,
+                    cachedAt = cachedAt
+                )
+            )
+            .onConflict(FunctionSignatureCacheTable.FUNCTION_SELECTOR)
+            .doUpdate()
+            .set(FunctionSignatureCacheTable.FUNCTION_SIGNATURE, signature)
+            .set(FunctionSignatureCacheTable.CACHED_AT, cachedAt)
+            .execute()
+    }
+
+    override fun getCachedFunctionSignature(selector: String): CachedFunctionSignature? {
+        logger.debug { "Get cached function signature, selector: $selector" }
+        return dslContext.selectFrom(FunctionSignatureCacheTable)
+            .where(FunctionSignatureCacheTable.FUNCTION_SELECTOR.eq(selector.lowercase()))
+            .fetchOne()
+            ?.let {
+                CachedFunctionSignature(
+                    signature = it.functionSignature,
+                    cachedAt = it.cachedAt
+                )
+            }
+    }
+}
@@ -4,23 +4,33 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.node.ArrayNode
 import mu.KLogging
 import org.springframework.stereotype.Service
+import org.springframework.web.client.HttpClientErrorException
 import org.springframework.web.client.RestClientException
 import org.springframework.web.client.RestTemplate
 import polycode.config.ContractManifestServiceProperties
 import polycode.exception.AbiDecodingException
+import polycode.features.contract.abi.model.AbiType
 import polycode.features.contract.abi.model.Tuple
 import polycode.features.contract.abi.service.AbiDecoderService
 import polycode.features.contract.deployment.model.json.AbiInputOutput
 import polycode.features.contract.readcall.model.params.OutputParameter
 import polycode.features.functions.decoding.model.EthFunction
+import polycode.features.functions.decoding.model.FunctionSignature
+import polycode.features.functions.decoding.repository.FunctionSignatureCacheRepository
 import polycode.features.functions.encoding.model.FunctionArgument
+import polycode.service.UtcDateTimeProvider
 import polycode.util.FunctionData
+import polycode.util.LruCache
+import polycode.util.UtcDateTime
+import java.time.Duration
 
 @Service
 class ExternalFunctionDecoderService(
-    private val externalContractDecompilerServiceRestTemplate: RestTemplate,
+    private val functionSignatureRestTemplate: RestTemplate,
     private val contractManifestServiceProperties: ContractManifestServiceProperties,
     private val abiDecoderService: AbiDecoderService,
+    private val functionSignatureCacheRepository: FunctionSignatureCacheRepository,
+    private val utcDateTimeProvider: UtcDateTimeProvider,
     private val objectMapper: ObjectMapper
 ) : FunctionDecoderService {
 
@@ -28,7 +38,7 @@ class ExternalFunctionDecoderService(
         private const val SIGNATURE_PLACEHOLDER = "{signature}"
         private const val SIGNATURE_LENGTH = 10
 
-        private data class Response(
+        internal data class Response(
             val name: String,
             val inputs: List<AbiInputOutput>
         )
@@ -36,30 +46,32 @@ class ExternalFunctionDecoderService(
         // TODO duplicate in ContractImportServiceImpl
         private data class OutputParams(val params: List<OutputParameter>)
         private data class TypeAndValue(val type: String, val value: Any)
+
+        private data class ResolvedFunctionSignature(
+            val signature: FunctionSignature?,
+            val inputTypes: List<AbiType>,
+            val cachedAt: UtcDateTime
+        ) {
+            fun shouldInvalidate(now: UtcDateTime, unknownSignatureCacheDuration: Duration) =
+                signature == null && (cachedAt.value + unknownSignatureCacheDuration).isBefore(now.value)
+        }
     }
 
+    private val signatureCache = LruCache<String, ResolvedFunctionSignature>(
+        contractManifestServiceProperties.functionSignatureCacheSize
+    )
+
     override fun decode(data: FunctionData): EthFunction? {
         val signature = data.value.take(SIGNATURE_LENGTH)
         val callData = data.value.drop(SIGNATURE_LENGTH)
 
-        val responseBody: Response? = try {
-            externalContractDecompilerServiceRestTemplate.getForEntity(
-                contractManifestServiceProperties.functionSignaturePath.replace(SIGNATURE_PLACEHOLDER, signature),
-                Response::class.java
-            ).body
-        } catch (e: RestClientException) {
-            null
-        }
-
-        return responseBody?.let {
-            val functionInputTypes = responseBody.inputs
-                .joinToString(separator = ",") { it.toSolidityTypeJson() }
-                .let { objectMapper.readValue("{\"params\":[$it]}", OutputParams::class.java) }
-                .params
+        return resolveFunctionSignature(signature)?.takeIf { it.signature != null }?.let { resolvedSignature ->
+            val functionSignature = resolvedSignature.signature!!
+            val functionInputTypes = resolvedSignature.inputTypes
 
             val decodedFunctionParams = try {
                 abiDecoderService.decode(
-                    types = functionInputTypes.map { it.deserializedType },
+                    types = functionInputTypes,
                     encodedInput = callData
                 )
             } catch (e: AbiDecodingException) {
@@ -71,16 +83,67 @@ class ExternalFunctionDecoderService(
             }
 
             EthFunction(
-                name = responseBody.name,
+                name = functionSignature.name,
                 arguments = decodedFunctionParams?.let {
-                    objectMapper.valueToTree<ArrayNode>(inputArgs(responseBody.inputs, decodedFunctionParams)).map {
-                        objectMapper.treeToValue(it, FunctionArgument::class.java)
-                    }
+                    objectMapper.valueToTree<ArrayNode>(inputArgs(functionSignature.inputs, decodedFunctionParams))
+                        .map { objectMapper.treeToValue(it, FunctionArgument::class.java) }
                 }
             )
         }
     }
 
+    private fun resolveFunctionSignature(selector: String): ResolvedFunctionSignature? {
+        val now = utcDateTimeProvider.getUtcDateTime()
+        val unknownSignatureCacheDuration = contractManifestServiceProperties.unknownFunctionSignatureCacheDuration
+
+        signatureCache[selector]?.takeIf { it.shouldInvalidate(now, unknownSignatureCacheDuration).not() }
+            ?.let { return it }
+
+        val resolvedSignature = functionSignatureCacheRepository.getCachedFunctionSignature(selector)
+            ?.let { it.signature.resolve(it.cachedAt) }
+            ?.takeIf { it.shouldInvalidate(now, unknownSignatureCacheDuration).not() }
+            ?: fetchFunctionSignature(selector, now)
+
+        return resolvedSignature?.also { signatureCache[selector] = it }
+    }
+
+    private fun fetchFunctionSignature(selector: String, now: UtcDateTime): ResolvedFunctionSignature? {
+        val signature = try {
+            functionSignatureRestTemplate.getForEntity(
+                contractManifestServiceProperties.functionSignaturePath.replace(SIGNATURE_PLACEHOLDER, selector),
+                Response::class.java
+            ).body?.let { FunctionSignature(name = it.name, inputs = it.inputs) }
+        } catch (e: HttpClientErrorException.NotFound) {
+            logger.debug { "Unknown function signature for selector: $selector" }
+            null
+        } catch (e: RestClientException) {
+            // other errors (e.g. rate limiting) are not cached so that known signatures are not hidden by them
+            logger.warn(e) { "Unable to fetch function signature for selector: $selector" }
+            return null
+        }
+
+        functionSignatureCacheRepository.cacheFunctionSignature(
+            selector = selector,
+            signature = signature,
+            cachedAt = now
+        )
+
+        return signature.resolve(now)
+    }
+
+    private fun FunctionSignature?.resolve(cachedAt: UtcDateTime) =
+        ResolvedFunctionSignature(
+            signature = this,
+            inputTypes = this?.inputs?.toAbiTypes().orEmpty(),
+            cachedAt = cachedAt
+        )
+
+    private fun List<AbiInputOutput>.toAbiTypes(): List<AbiType> =
+        joinToString(separator = ",") { it.toSolidityTypeJson() }
+            .let { objectMapper.readValue("{\"params\":[$it]}", OutputParams::class.java) }
+            .params
+            .map { it.deserializedType }
+
     private fun AbiInputOutput.toSolidityTypeJson(): String =
         if (type.startsWith("tuple")) {
             val elems = components.orEmpty().joinToString(separator = ",") { it.toSolidityTypeJson() }
@@ -0,0 +1,9 @@
+package polycode.model
+
+enum class BlockchainCacheTable(val tableName: String) {
+    FETCH_ACCOUNT_BALANCE("fetch_account_balance_cache"),
+    FETCH_ERC20_ACCOUNT_BALANCE("fetch_erc20_account_balance_cache"),
+    FETCH_TRANSACTION_INFO("fetch_transaction_info_cache"),
+    FETCH_READONLY_CALL("fetch_readonly_call_cache"),
+    CONTRACT_DEPLOYMENT_TRANSACTION("contract_deployment_transaction_cache")
+}
@@ -0,0 +1,6 @@
+package polycode.model.result
+
+data class CacheTableStats(
+    val estimatedRows: Long,
+    val totalSizeBytes: Long
+)
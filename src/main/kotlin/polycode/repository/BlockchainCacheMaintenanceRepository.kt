@@ -0,0 +1,17 @@
+package polycode.repository
+
+import polycode.model.BlockchainCacheTable
+import polycode.model.result.CacheTableStats
+import polycode.util.UtcDateTime
+
+interface BlockchainCacheMaintenanceRepository {
+    fun deleteExpiredEntries(
+        table: BlockchainCacheTable,
+        cachedBefore: UtcDateTime?,
+        accessedBefore: UtcDateTime?,
+        limit: Int
+    ): Int
+
+    fun getTableStats(table: BlockchainCacheTable): CacheTableStats
+    fun getSharedBuffersSizeBytes(): Long
+}
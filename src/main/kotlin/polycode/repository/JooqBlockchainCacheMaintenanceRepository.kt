@@ -0,0 +1,131 @@
+package polycode.repository
+
+import mu.KLogging
+import org.jooq.Condition
+import org.jooq.DSLContext
+import org.jooq.Record
+import org.jooq.Table
+import org.jooq.TableField
+import org.jooq.impl.DSL
+import org.springframework.stereotype.Repository
+import polycode.generated.jooq.tables.ContractDeploymentTransactionCacheTable
+import polycode.generated.jooq.tables.FetchAccountBalanceCacheTable
+import polycode.generated.jooq.tables.FetchErc20AccountBalanceCacheTable
+import polycode.generated.jooq.tables.FetchReadonlyCallCacheTable
+import polycode.generated.jooq.tables.FetchTransactionInfoCacheTable
+import polycode.model.BlockchainCacheTable
+import polycode.model.result.CacheTableStats
+import polycode.util.UtcDateTime
+
+@Repository
+class JooqBlockchainCacheMaintenanceRepository(private val dslContext: DSLContext) :
+    BlockchainCacheMaintenanceRepository {
+
+    companion object : KLogging() {
+        private const val SCHEMA = "polycode"
+    }
+
+    override fun deleteExpiredEntries(
+        table: BlockchainCacheTable,
+        cachedBefore: UtcDateTime?,
+        accessedBefore: UtcDateTime?,
+        limit: Int
+    ): Int {
+        logger.debug {
+            "Delete expired cache entries, table: $table, cachedBefore: $cachedBefore," +
+                " accessedBefore: $accessedBefore, limit: $limit"
+        }
+
+        if (cachedBefore == null && accessedBefore == null) {
+            return 0
+        }
+
+        fun expired(cachedAtField: TableField<*, UtcDateTime>, lastAccessedAtField: TableField<*, UtcDateTime>) =
+            expiredCondition(cachedAtField, lastAccessedAtField, cachedBefore, accessedBefore)
+
+        return when (table) {
+            BlockchainCacheTable.FETCH_ACCOUNT_BALANCE ->
+                FetchAccountBalanceCacheTable.run {
+                    deleteBatch(this, ID, expired(CACHED_AT, LAST_ACCESSED_AT), limit)
+                }
+
+            BlockchainCacheTable.FETCH_ERC20_ACCOUNT_BALANCE ->
+                FetchErc20AccountBalanceCacheTable.run {
+                    deleteBatch(this, ID, expired(CACHED_AT, LAST_ACCESSED_AT), limit)
+                }
+
+            BlockchainCacheTable.FETCH_TRANSACTION_INFO ->
+                FetchTransactionInfoCacheTable.run {
+                    deleteBatch(this, ID, expired(CACHED_AT, LAST_ACCESSED_AT), limit)
+                }
+
+            BlockchainCacheTable.FETCH_READONLY_CALL ->
+                FetchReadonlyCallCacheTable.run {
+                    deleteBatch(this, ID, expired(CACHED_AT, LAST_ACCESSED_AT), limit)
+                }
+
+            BlockchainCacheTable.CONTRACT_DEPLOYMENT_TRANSACTION ->
+                ContractDeploymentTransactionCacheTable.run {
+                    deleteBatch(this, ID, expired(CACHED_AT, LAST_ACCESSED_AT), limit)
+                }
+        }
+    }
+
+    override fun getTableStats(table: BlockchainCacheTable): CacheTableStats {
+        logger.debug { "Get cache table stats, table: $table" }
+
+        // row count is an estimate maintained by (auto)vacuum and analyze, which avoids full table scans
+        val stats = dslContext.resultQuery(
+            "SELECT class.reltuples::BIGINT, pg_catalog.pg_total_relation_size(class.oid) " +
+                "FROM pg_catalog.pg_class AS class " +
+                "JOIN pg_catalog.pg_namespace AS namespace ON class.relnamespace = namespace.oid " +
+                "WHERE namespace.nspname = {0} AND class.relname = {1}",
+            DSL.value(SCHEMA),
+            DSL.value(table.tableName)
+        ).fetchOne()
+
+        return CacheTableStats(
+            estimatedRows = stats?.get(0, Long::class.java)?.coerceAtLeast(0L) ?: 0L,
+            totalSizeBytes = stats?.get(1, Long::class.java) ?: 0L
+        )
+    }
+
+    override fun getSharedBuffersSizeBytes(): Long {
+        logger.debug { "Get shared buffers size" }
+        return dslContext.resultQuery("SELECT pg_catalog.pg_size_bytes(pg_catalog.current_setting('shared_buffers'))")
+            .fetchOne(0, Long::class.java) ?: 0L
+    }
+
+    private fun expiredCondition(
+        cachedAtField: TableField<*, UtcDateTime>,
+        lastAccessedAtField: TableField<*, UtcDateTime>,
+        cachedBefore: UtcDateTime?,
+        accessedBefore: UtcDateTime?
+    ): Condition =
+        DSL.or(
+            listOfNotNull(
+                cachedBefore?.let { cachedAtField.lt(it) },
+                accessedBefore?.let { lastAccessedAtField.lt(it) }
+            )
+        )
+
+    // rows locked by concurrent transactions are skipped instead of waited on, they will be deleted in some later batch
+    private fun <R : Record, I> deleteBatch(
+        table: Table<R>,
+        idField: TableField<R, I>,
+        condition: Condition,
+        limit: Int
+    ): Int =
+        dslContext.deleteFrom(table)
+            .where(
+                idField.`in`(
+                    dslContext.select(idField)
+                        .from(table)
+                        .where(condition)
+                        .limit(limit)
+                        .forUpdate()
+                        .skipLocked()
+                )
+            )
+            .execute()
+}
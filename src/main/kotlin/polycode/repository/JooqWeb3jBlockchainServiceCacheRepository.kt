@@ -2,21 +2,28 @@ package polycode.repository
 
 import mu.KLogging
 import org.jooq.DSLContext
+import org.jooq.Record
+import org.jooq.Table
+import org.jooq.TableField
 import org.jooq.impl.DSL
 import org.springframework.dao.DuplicateKeyException
 import org.springframework.stereotype.Repository
 import polycode.blockchain.properties.ChainSpec
+import polycode.config.CacheRetentionProperties
 import polycode.generated.jooq.id.ContractDeploymentTransactionCacheId
 import polycode.generated.jooq.id.FetchAccountBalanceCacheId
 import polycode.generated.jooq.id.FetchErc20AccountBalanceCacheId
+import polycode.generated.jooq.id.FetchReadonlyCallCacheId
 import polycode.generated.jooq.id.FetchTransactionInfoCacheId
 import polycode.generated.jooq.tables.ContractDeploymentTransactionCacheTable
 import polycode.generated.jooq.tables.FetchAccountBalanceCacheTable
 import polycode.generated.jooq.tables.FetchErc20AccountBalanceCacheTable
+import polycode.generated.jooq.tables.FetchReadonlyCallCacheTable
 import polycode.generated.jooq.tables.FetchTransactionInfoCacheTable
 import polycode.generated.jooq.tables.records.ContractDeploymentTransactionCacheRecord
 import polycode.generated.jooq.tables.records.FetchAccountBalanceCacheRecord
 import polycode.generated.jooq.tables.records.FetchErc20AccountBalanceCacheRecord
+import polycode.generated.jooq.tables.records.FetchReadonlyCallCacheRecord
 import polycode.generated.jooq.tables.records.FetchTransactionInfoCacheRecord
 import polycode.generated.jooq.udt.records.EventLogRecord
 import polycode.model.EventLog
@@ -24,17 +31,26 @@ import polycode.model.result.BlockchainTransactionInfo
 import polycode.model.result.ContractBinaryInfo
 import polycode.model.result.ContractDeploymentTransactionInfo
 import polycode.model.result.FullContractDeploymentTransactionInfo
+import polycode.service.UtcDateTimeProvider
 import polycode.util.AccountBalance
 import polycode.util.BlockNumber
+import polycode.util.CompactHexCodec
 import polycode.util.ContractAddress
 import polycode.util.ContractBinaryData
+import polycode.util.FunctionData
+import polycode.util.Keccak256Hash
 import polycode.util.TransactionHash
+import polycode.util.UtcDateTime
 import polycode.util.WalletAddress
 import java.math.BigInteger
 
 @Repository
-class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLContext) :
-    Web3jBlockchainServiceCacheRepository {
+@Suppress("TooManyFunctions")
+class JooqWeb3jBlockchainServiceCacheRepository(
+    private val dslContext: DSLContext,
+    private val utcDateTimeProvider: UtcDateTimeProvider,
+    private val cacheRetentionProperties: CacheRetentionProperties
+) : Web3jBlockchainServiceCacheRepository {
 
     companion object : KLogging()
 
@@ -47,6 +63,8 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
             "Caching fetchAccountBalance call, id: $id, chainSpec: $chainSpec, accountBalance: $accountBalance"
         }
 
+        val now = utcDateTimeProvider.getUtcDateTime()
+
         try {
             dslContext.executeInsert(
                 FetchAccountBalanceCacheRecord(
@@ -56,7 +74,9 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
                     walletAddress = accountBalance.wallet,
                     blockNumber = accountBalance.blockNumber,
                     timestamp = accountBalance.timestamp,
-                    assetAmount = accountBalance.amount
+                    assetAmount = accountBalance.amount,
+                    cachedAt = now,
+                    lastAccessedAt = now
                 )
             )
         } catch (_: DuplicateKeyException) {
@@ -78,6 +98,8 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
                 " contractAddress: $contractAddress, accountBalance: $accountBalance"
         }
 
+        val now = utcDateTimeProvider.getUtcDateTime()
+
         try {
             dslContext.executeInsert(
                 FetchErc20AccountBalanceCacheRecord(
@@ -88,7 +110,9 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
                     walletAddress = accountBalance.wallet,
                     blockNumber = accountBalance.blockNumber,
                     timestamp = accountBalance.timestamp,
-                    assetAmount = accountBalance.amount
+                    assetAmount = accountBalance.amount,
+                    cachedAt = now,
+                    lastAccessedAt = now
                 )
             )
         } catch (_: DuplicateKeyException) {
@@ -112,6 +136,8 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
                 " blockNumber: $blockNumber"
         }
 
+        val now = utcDateTimeProvider.getUtcDateTime()
+
         try {
             dslContext.executeInsert(
                 FetchTransactionInfoCacheRecord(
@@ -132,7 +158,9 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
                             logData = it.data,
                             logTopics = it.topics.toTypedArray()
                         )
-                    }.toTypedArray()
+                    }.toTypedArray(),
+                    cachedAt = now,
+                    lastAccessedAt = now
                 )
             )
         } catch (_: DuplicateKeyException) {
@@ -143,6 +171,45 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
         }
     }
 
+    override fun cacheReadonlyFunctionCall(
+        id: FetchReadonlyCallCacheId,
+        chainSpec: ChainSpec,
+        contractAddress: ContractAddress,
+        callerAddress: WalletAddress,
+        functionData: FunctionData,
+        blockNumber: BlockNumber,
+        rawReturnValue: String
+    ) {
+        logger.debug {
+            "Caching callReadonlyFunction call, id: $id, chainSpec: $chainSpec, contractAddress: $contractAddress," +
+                " callerAddress: $callerAddress, blockNumber: $blockNumber"
+        }
+
+        val now = utcDateTimeProvider.getUtcDateTime()
+
+        try {
+            dslContext.executeInsert(
+                FetchReadonlyCallCacheRecord(
+                    id = id,
+                    chainId = chainSpec.chainId,
+                    customRpcUrl = chainSpec.customRpcUrl ?: "",
+                    contractAddress = contractAddress,
+                    callerAddress = callerAddress,
+                    functionDataHash = functionData.hash(),
+                    blockNumber = blockNumber,
+                    returnData = CompactHexCodec.encode(rawReturnValue.removePrefix("0x")),
+                    cachedAt = now,
+                    lastAccessedAt = now
+                )
+            )
+        } catch (_: DuplicateKeyException) {
+            logger.info {
+                "Already cached callReadonlyFunction call, id: $id, chainSpec: $chainSpec," +
+                    " contractAddress: $contractAddress, callerAddress: $callerAddress, blockNumber: $blockNumber"
+            }
+        }
+    }
+
     override fun cacheContractDeploymentTransaction(
         id: ContractDeploymentTransactionCacheId,
         chainSpec: ChainSpec,
@@ -158,6 +225,8 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
 
         val fullTransactionInfo = contractDeploymentTransactionInfo as? FullContractDeploymentTransactionInfo
 
+        val now = utcDateTimeProvider.getUtcDateTime()
+
         try {
             dslContext.executeInsert(
                 ContractDeploymentTransactionCacheRecord(
@@ -176,7 +245,9 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
                             logData = it.data,
                             logTopics = it.topics.toTypedArray()
                         )
-                    }.toTypedArray()
+                    }.toTypedArray(),
+                    cachedAt = now,
+                    lastAccessedAt = now
                 )
             )
         } catch (_: DuplicateKeyException) {
@@ -208,6 +279,7 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
                 )
             )
             .fetchOne()
+            ?.also { FetchAccountBalanceCacheTable.run { touch(ID, LAST_ACCESSED_AT, it.id, it.lastAccessedAt) } }
             ?.let {
                 AccountBalance(
                     wallet = it.walletAddress,
@@ -240,6 +312,7 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
                 )
             )
             .fetchOne()
+            ?.also { FetchErc20AccountBalanceCacheTable.run { touch(ID, LAST_ACCESSED_AT, it.id, it.lastAccessedAt) } }
             ?.let {
                 AccountBalance(
                     wallet = it.walletAddress,
@@ -269,6 +342,7 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
                 )
             )
             .fetchOne()
+            ?.also { FetchTransactionInfoCacheTable.run { touch(ID, LAST_ACCESSED_AT, it.id, it.lastAccessedAt) } }
             ?.let {
                 Pair(
                     BlockchainTransactionInfo(
@@ -293,6 +367,71 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
             }
     }
 
+    override fun getCachedReadonlyFunctionCall(
+        chainSpec: ChainSpec,
+        contractAddress: ContractAddress,
+        callerAddress: WalletAddress,
+        functionData: FunctionData,
+        blockNumber: BlockNumber
+    ): String? {
+        logger.debug {
+            "Get cached callReadonlyFunction call, chainSpec: $chainSpec, contractAddress: $contractAddress," +
+                " callerAddress: $callerAddress, blockNumber: $blockNumber"
+        }
+
+        return dslContext.select(
+            FetchReadonlyCallCacheTable.ID,
+            FetchReadonlyCallCacheTable.RETURN_DATA,
+            FetchReadonlyCallCacheTable.LAST_ACCESSED_AT
+        )
+            .from(FetchReadonlyCallCacheTable)
+            .where(
+                DSL.and(
+                    FetchReadonlyCallCacheTable.CHAIN_ID.eq(chainSpec.chainId),
+                    FetchReadonlyCallCacheTable.CUSTOM_RPC_URL.eq(chainSpec.customRpcUrl ?: ""),
+                    FetchReadonlyCallCacheTable.CONTRACT_ADDRESS.eq(contractAddress),
+                    FetchReadonlyCallCacheTable.CALLER_ADDRESS.eq(callerAddress),
+                    FetchReadonlyCallCacheTable.FUNCTION_DATA_HASH.eq(functionData.hash()),
+                    FetchReadonlyCallCacheTable.BLOCK_NUMBER.eq(blockNumber)
+                )
+            )
+            .fetchOne()
+            ?.also { FetchReadonlyCallCacheTable.run { touch(ID, LAST_ACCESSED_AT, it.value1(), it.value3()) } }
+            ?.let { "0x" + CompactHexCodec.decode(it.value2()) }
+    }
+
+    override fun touchReadonlyFunctionCall(
+        chainSpec: ChainSpec,
+        contractAddress: ContractAddress,
+        callerAddress: WalletAddress,
+        functionData: FunctionData,
+        blockNumber: BlockNumber
+    ) {
+        logger.debug {
+            "Touch cached callReadonlyFunction call, chainSpec: $chainSpec, contractAddress: $contractAddress," +
+                " callerAddress: $callerAddress, blockNumber: $blockNumber"
+        }
+
+        val now = utcDateTimeProvider.getUtcDateTime()
+
+        dslContext.update(FetchReadonlyCallCacheTable)
+            .set(FetchReadonlyCallCacheTable.LAST_ACCESSED_AT, now)
+            .where(
+                DSL.and(
+                    FetchReadonlyCallCacheTable.CHAIN_ID.eq(chainSpec.chainId),
+                    FetchReadonlyCallCacheTable.CUSTOM_RPC_URL.eq(chainSpec.customRpcUrl ?: ""),
+                    FetchReadonlyCallCacheTable.CONTRACT_ADDRESS.eq(contractAddress),
+                    FetchReadonlyCallCacheTable.CALLER_ADDRESS.eq(callerAddress),
+                    FetchReadonlyCallCacheTable.FUNCTION_DATA_HASH.eq(functionData.hash()),
+                    FetchReadonlyCallCacheTable.BLOCK_NUMBER.eq(blockNumber),
+                    FetchReadonlyCallCacheTable.LAST_ACCESSED_AT.lt(
+                        UtcDateTime(now.value - cacheRetentionProperties.accessResolution)
+                    )
+                )
+            )
+            .execute()
+    }
+
     override fun getCachedContractDeploymentTransaction(
         chainSpec: ChainSpec,
         contractAddress: ContractAddress
@@ -311,6 +450,9 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
                 )
             )
             .fetchOne()
+            ?.also {
+                ContractDeploymentTransactionCacheTable.run { touch(ID, LAST_ACCESSED_AT, it.id, it.lastAccessedAt) }
+            }
             ?.let {
                 Pair(
                     it.toModel(),
@@ -324,6 +466,25 @@ class JooqWeb3jBlockchainServiceCacheRepository(private val dslContext: DSLConte
             }
     }
 
+    // last access time is only updated once per access resolution to avoid turning every cache hit into a write
+    private fun <R : Record, I> Table<R>.touch(
+        idField: TableField<R, I>,
+        lastAccessedAtField: TableField<R, UtcDateTime>,
+        id: I,
+        lastAccessedAt: UtcDateTime
+    ) {
+        val now = utcDateTimeProvider.getUtcDateTime()
+
+        if ((lastAccessedAt.value + cacheRetentionProperties.accessResolution).isBefore(now.value)) {
+            dslContext.update(this)
+                .set(lastAccessedAtField, now)
+                .where(idField.eq(id))
+                .execute()
+        }
+    }
+
+    private fun FunctionData.hash(): String = Keccak256Hash.ofHexBytes(value).value
+
     @Suppress("ComplexCondition") // needed to get non-null check
     private fun ContractDeploymentTransactionCacheRecord.toModel(): ContractDeploymentTransactionInfo {
         val hash = txHash
@@ -4,6 +4,7 @@ import polycode.blockchain.properties.ChainSpec
 import polycode.generated.jooq.id.ContractDeploymentTransactionCacheId
 import polycode.generated.jooq.id.FetchAccountBalanceCacheId
 import polycode.generated.jooq.id.FetchErc20AccountBalanceCacheId
+import polycode.generated.jooq.id.FetchReadonlyCallCacheId
 import polycode.generated.jooq.id.FetchTransactionInfoCacheId
 import polycode.model.EventLog
 import polycode.model.result.BlockchainTransactionInfo
@@ -11,9 +12,11 @@ import polycode.model.result.ContractDeploymentTransactionInfo
 import polycode.util.AccountBalance
 import polycode.util.BlockNumber
 import polycode.util.ContractAddress
+import polycode.util.FunctionData
 import polycode.util.TransactionHash
 import polycode.util.WalletAddress
 
+@Suppress("TooManyFunctions")
 interface Web3jBlockchainServiceCacheRepository {
     fun cacheFetchAccountBalance(id: FetchAccountBalanceCacheId, chainSpec: ChainSpec, accountBalance: AccountBalance)
     fun cacheFetchErc20AccountBalance(
@@ -33,6 +36,17 @@ interface Web3jBlockchainServiceCacheRepository {
         eventLogs: List<EventLog>
     )
 
+    @Suppress("LongParameterList")
+    fun cacheReadonlyFunctionCall(
+        id: FetchReadonlyCallCacheId,
+        chainSpec: ChainSpec,
+        contractAddress: ContractAddress,
+        callerAddress: WalletAddress,
+        functionData: FunctionData,
+        blockNumber: BlockNumber,
+        rawReturnValue: String
+    )
+
     fun cacheContractDeploymentTransaction(
         id: ContractDeploymentTransactionCacheId,
         chainSpec: ChainSpec,
@@ -60,6 +74,22 @@ interface Web3jBlockchainServiceCacheRepository {
         currentBlockNumber: BlockNumber
     ): Pair<BlockchainTransactionInfo, List<EventLog>>?
 
+    fun getCachedReadonlyFunctionCall(
+        chainSpec: ChainSpec,
+        contractAddress: ContractAddress,
+        callerAddress: WalletAddress,
+        functionData: FunctionData,
+        blockNumber: BlockNumber
+    ): String?
+
+    fun touchReadonlyFunctionCall(
+        chainSpec: ChainSpec,
+        contractAddress: ContractAddress,
+        callerAddress: WalletAddress,
+        functionData: FunctionData,
+        blockNumber: BlockNumber
+    )
+
     fun getCachedContractDeploymentTransaction(
         chainSpec: ChainSpec,
         contractAddress: ContractAddress,
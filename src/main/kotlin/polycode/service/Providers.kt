@@ -1,6 +1,7 @@
 package polycode.service
 
 import io.micrometer.core.instrument.util.NamedThreadFactory
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.stereotype.Service
 import polycode.generated.jooq.id.DatabaseIdWrapper
 import polycode.util.UtcDateTime
@@ -9,6 +10,7 @@ import java.time.OffsetDateTime
 import java.util.UUID
 import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
 
 interface UuidProvider {
     fun <T> getUuid(wrapper: DatabaseIdWrapper<T>): T
@@ -16,11 +18,49 @@ interface UuidProvider {
 }
 
 @Service
+@ConditionalOnProperty(name = ["polycode.uuid.generator"], havingValue = "random", matchIfMissing = true)
 class RandomUuidProvider : UuidProvider {
     override fun <T> getUuid(wrapper: DatabaseIdWrapper<T>): T = wrapper.wrap(UUID.randomUUID())
     override fun getRawUuid(): UUID = UUID.randomUUID()
 }
 
+/**
+ * Generates UUIDv7 values: 48-bit Unix millisecond timestamp followed by a 12-bit counter and 62 random bits. The
+ * timestamp and counter are advanced together using CAS, so values are strictly increasing even when many are
+ * generated within the same millisecond. When the counter overflows, the timestamp part runs ahead of the clock until
+ * the clock catches up.
+ */
+@Service
+@ConditionalOnProperty(name = ["polycode.uuid.generator"], havingValue = "time-ordered")
+class TimeOrderedUuidProvider(private val utcDateTimeProvider: UtcDateTimeProvider) : UuidProvider {
+
+    companion object {
+        private const val COUNTER_BITS = 12
+        private const val TIMESTAMP_SHIFT = 16
+        private const val VERSION_BITS = 0x7000L
+        private const val COUNTER_MASK = 0xFFFL
+        private const val VARIANT_BITS = Long.MIN_VALUE
+        private const val RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL
+        private val secureRandom = ThreadLocal.withInitial { SecureRandom() }
+    }
+
+    private val lastTimestampAndCounter = AtomicLong()
+
+    override fun <T> getUuid(wrapper: DatabaseIdWrapper<T>): T = wrapper.wrap(getRawUuid())
+
+    override fun getRawUuid(): UUID {
+        val clockValue = utcDateTimeProvider.getUtcDateTime().value.toInstant().toEpochMilli() shl COUNTER_BITS
+        val timestampAndCounter = lastTimestampAndCounter.updateAndGet { maxOf(clockValue, it + 1L) }
+        val timestamp = timestampAndCounter ushr COUNTER_BITS
+        val counter = timestampAndCounter and COUNTER_MASK
+
+        return UUID(
+            (timestamp shl TIMESTAMP_SHIFT) or VERSION_BITS or counter,
+            VARIANT_BITS or (secureRandom.get().nextLong() and RANDOM_MASK)
+        )
+    }
+}
+
 interface UtcDateTimeProvider {
     fun getUtcDateTime(): UtcDateTime
 }
@@ -47,6 +87,7 @@ class SecureRandomProvider : RandomProvider {
 interface FixedScheduler {
     fun scheduleAtFixedRate(command: Runnable, initialDelay: Long, period: Long, unit: TimeUnit)
     fun shutdown()
+    fun awaitTermination(timeout: Long, unit: TimeUnit): Boolean
 }
 
 interface ScheduledExecutorServiceProvider {
@@ -64,5 +105,8 @@ class DefaultScheduledExecutorServiceProvider : ScheduledExecutorServiceProvider
             }
 
             override fun shutdown() = executor.shutdown()
+
+            override fun awaitTermination(timeout: Long, unit: TimeUnit): Boolean =
+                executor.awaitTermination(timeout, unit)
         }
 }
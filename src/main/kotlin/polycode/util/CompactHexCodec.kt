@@ -0,0 +1,36 @@
+package polycode.util
+
+import java.util.HexFormat
+
+/**
+ * Stores hex strings (without `0x` prefix) in their binary form, prefixed by a single tag byte. Values which are not
+ * valid hex strings are stored as UTF-8 text with a different tag byte, so that any value can be round-tripped.
+ * Legacy values, which were stored as UTF-8 bytes of the hex string, never start with one of the tag bytes and are
+ * decoded as text with the `legacyPrefix` removed.
+ */
+object CompactHexCodec {
+
+    private const val BINARY_TAG: Byte = 0x00
+    private const val TEXT_TAG: Byte = 0x01
+    private val hexFormat = HexFormat.of()
+
+    fun encode(hex: String): ByteArray =
+        if (hex.isCompactable()) {
+            val binary = ByteArray(hex.length / 2 + 1)
+            binary[0] = BINARY_TAG
+            hexFormat.parseHex(hex).copyInto(binary, destinationOffset = 1)
+            binary
+        } else {
+            byteArrayOf(TEXT_TAG) + hex.toByteArray()
+        }
+
+    fun decode(binary: ByteArray, legacyPrefix: String = ""): String =
+        when (binary.firstOrNull()) {
+            BINARY_TAG -> hexFormat.formatHex(binary, 1, binary.size)
+            TEXT_TAG -> String(binary, 1, binary.size - 1)
+            else -> String(binary).removePrefix(legacyPrefix)
+        }
+
+    private fun String.isCompactable(): Boolean =
+        length % 2 == 0 && all { it in '0'..'9' || it in 'a'..'f' }
+}
@@ -6,6 +6,7 @@ import org.jooq.JSON
 import polycode.config.JsonConfig
 import polycode.features.contract.deployment.model.json.ArtifactJson
 import polycode.features.contract.deployment.model.json.ManifestJson
+import polycode.features.functions.decoding.model.FunctionSignature
 import polycode.features.payout.util.AssetSnapshotFailureCause
 import polycode.features.payout.util.AssetSnapshotStatus
 import polycode.features.payout.util.HashFunction
@@ -61,6 +62,11 @@ fun ArtifactJsonConverter() = converter(
     { JSON.valueOf(objectMapper.writeValueAsString(it)) }
 )
 
+fun FunctionSignatureConverter() = converter(
+    { it: JSON -> objectMapper.readValue(it.data(), FunctionSignature::class.java) },
+    { JSON.valueOf(objectMapper.writeValueAsString(it)) }
+)
+
 fun MerkleHashConverter() = converter({ it: String -> MerkleHash(it) }, { it.value })
 
 fun IpfsHashConverter() = converter({ it: String -> IpfsHash(it) }, { it.value })
@@ -0,0 +1,37 @@
+package polycode.util
+
+import java.math.BigInteger
+
+object KarySearch {
+    operator fun <T> invoke(
+        lowerBound: BigInteger,
+        upperBound: BigInteger,
+        pivotsPerRound: Int,
+        getValues: (List<BigInteger>) -> List<T>,
+        updateLowerBound: (T) -> Boolean,
+        updateUpperBound: (T) -> Boolean
+    ): BigInteger {
+        val segments = BigInteger.valueOf(pivotsPerRound.coerceAtLeast(1) + 1L)
+
+        tailrec fun find(lower: BigInteger, upper: BigInteger): BigInteger =
+            if (upper - lower <= BigInteger.ONE) {
+                lower.min(upper)
+            } else {
+                val interval = upper - lower
+                val pivots = (1 until segments.toInt())
+                    .map { lower + interval * BigInteger.valueOf(it.toLong()) / segments }
+                    .filter { it > lower && it < upper }
+                    .distinct()
+                val values = pivots.zip(getValues(pivots))
+                val firstUpperIndex = values.indexOfFirst { updateUpperBound(it.second) }
+                val lowerCandidates = if (firstUpperIndex < 0) values else values.subList(0, firstUpperIndex)
+
+                find(
+                    lower = lowerCandidates.lastOrNull { updateLowerBound(it.second) }?.first ?: lower,
+                    upper = values.getOrNull(firstUpperIndex)?.first ?: upper
+                )
+            }
+
+        return find(lowerBound, upperBound)
+    }
+}
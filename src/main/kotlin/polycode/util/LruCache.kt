@@ -0,0 +1,62 @@
+package polycode.util
+
+class LruCache<K, V>(
+    private val maxSize: Int,
+    private val maxWeight: Long = Long.MAX_VALUE,
+    private val weigher: (K, V) -> Long = { _, _ -> 0L }
+) {
+
+    companion object {
+        private const val INITIAL_CAPACITY = 16
+        private const val LOAD_FACTOR = 0.75f
+    }
+
+    private val storage = object : LinkedHashMap<K, V>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<K, V>?): Boolean = false
+    }
+
+    private var totalWeight = 0L
+
+    val size: Int
+        get() = synchronized(storage) { storage.size }
+
+    val weight: Long
+        get() = synchronized(storage) { totalWeight }
+
+    operator fun get(key: K): V? = synchronized(storage) { storage[key] }
+
+    operator fun set(key: K, value: V) {
+        val valueWeight = weigher(key, value)
+
+        synchronized(storage) {
+            if (valueWeight > maxWeight) {
+                // value which can never fit into the cache would only evict all other values
+                storage.remove(key)?.let { totalWeight -= weigher(key, it) }
+                return
+            }
+
+            storage.put(key, value)?.let { totalWeight -= weigher(key, it) }
+            totalWeight += valueWeight
+            evict()
+        }
+    }
+
+    fun remove(key: K): V? = synchronized(storage) {
+        storage.remove(key)?.also { totalWeight -= weigher(key, it) }
+    }
+
+    fun clear() = synchronized(storage) {
+        storage.clear()
+        totalWeight = 0L
+    }
+
+    private fun evict() {
+        val iterator = storage.entries.iterator()
+
+        while ((storage.size > maxSize || totalWeight > maxWeight) && iterator.hasNext()) {
+            val eldest = iterator.next()
+            totalWeight -= weigher(eldest.key, eldest.value)
+            iterator.remove()
+        }
+    }
+}
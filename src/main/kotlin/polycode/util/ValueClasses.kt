@@ -132,10 +132,10 @@ value class FunctionData private constructor(val value: String) {
         operator fun invoke(value: String) = FunctionData("0x" + value.removePrefix("0x").lowercase())
     }
 
-    constructor(binary: ByteArray) : this(String(binary))
+    constructor(binary: ByteArray) : this("0x" + CompactHexCodec.decode(binary, legacyPrefix = "0x"))
 
-    val binary: ByteArray // TODO compact conversion
-        get() = value.toByteArray()
+    val binary: ByteArray
+        get() = CompactHexCodec.encode(withoutPrefix)
 
     val withoutPrefix
         get(): String = value.removePrefix("0x")
@@ -177,10 +177,10 @@ value class ContractBinaryData private constructor(val value: String) {
         operator fun invoke(value: String) = ContractBinaryData(value.removePrefix("0x").lowercase())
     }
 
-    constructor(binary: ByteArray) : this(String(binary))
+    constructor(binary: ByteArray) : this(CompactHexCodec.decode(binary))
 
-    val binary: ByteArray // TODO compact conversion
-        get() = value.toByteArray()
+    val binary: ByteArray
+        get() = CompactHexCodec.encode(value)
 
     val withPrefix: String
         get() = "0x$value"
@@ -219,5 +219,6 @@ value class Keccak256Hash private constructor(val value: String) {
     companion object {
         operator fun invoke(value: String) = Keccak256Hash(Hash.sha3String(value).lowercase().removePrefix("0x"))
         fun raw(value: String) = Keccak256Hash(value.lowercase().removePrefix("0x"))
+        fun ofHexBytes(value: String) = Keccak256Hash(Hash.sha3(value).lowercase().removePrefix("0x"))
     }
 }
@@ -5,7 +5,7 @@ import com.fasterxml.jackson.core.JsonParser
 import com.fasterxml.jackson.databind.DeserializationContext
 import com.fasterxml.jackson.databind.JsonDeserializer
 import com.fasterxml.jackson.databind.JsonNode
-import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.node.JsonNodeFactory
 import com.fasterxml.jackson.databind.node.ObjectNode
 import org.web3j.abi.datatypes.Bytes
 import org.web3j.abi.datatypes.DynamicArray
@@ -16,17 +16,15 @@ import org.web3j.abi.datatypes.Utf8String
 import polycode.features.functions.encoding.model.FunctionArgument
 import polycode.util.SizedStaticArray
 
-@Suppress("TooManyFunctions")
 class FunctionArgumentJsonDeserializer : JsonDeserializer<FunctionArgument>() {
 
     companion object {
         private const val ARRAY_VALUE_ERROR = "invalid value type; expected array"
-        private val ARRAY_REGEX_WITH_SIZE = "^(.+?)\\[(\\d*)]$".toRegex()
-        private val ARRAY_SUFFIX_REGEX = "^(.+?)(\\[\\d*])$".toRegex()
-        private val OBJECT_MAPPER = ObjectMapper()
+        private val EMPTY_ARRAY = JsonNodeFactory.instance.arrayNode()
     }
 
     override fun deserialize(p: JsonParser, ctxt: DeserializationContext): FunctionArgument {
+        // JSON tree must be kept since it is stored as raw pre-deserialization value of the argument
         val jsonTree = p.readValueAsTree<JsonNode>()
 
         if (jsonTree !is ObjectNode) {
@@ -36,36 +34,43 @@ class FunctionArgumentJsonDeserializer : JsonDeserializer<FunctionArgument>() {
         val argumentType = jsonTree["type"]?.asText() ?: throw JsonParseException(p, "missing type")
         val argumentValue = jsonTree["value"] ?: throw JsonParseException(p, "missing value")
 
-        return FunctionArgument(deserializeType(p, argumentType, argumentValue), jsonTree)
+        return FunctionArgument(deserializeType(p, FunctionArgumentType.of(argumentType), argumentValue), jsonTree)
     }
 
-    private fun deserializeType(p: JsonParser, argumentType: String, argumentValue: JsonNode): Type<*> {
-        val arrayMatchingResult = ARRAY_REGEX_WITH_SIZE.find(argumentType)
-
-        return if (arrayMatchingResult != null) {
-            val (_, arrayElementType, arraySize) = arrayMatchingResult.groupValues
-            argumentValue.parseArray(p, arrayElementType, arraySize.toIntOrNull())
-        } else if (argumentType == "tuple") {
-            argumentValue.parseTuple(p)
-        } else {
-            Web3TypeMappings[argumentType]
-                ?.let { it(argumentValue, p) }
-                ?: throw JsonParseException(p, "unknown type: $argumentType")
+    private fun deserializeType(p: JsonParser, argumentType: FunctionArgumentType, argumentValue: JsonNode): Type<*> =
+        when (argumentType) {
+            is FunctionArgumentType.Array -> argumentValue.parseArray(p, argumentType)
+            is FunctionArgumentType.Tuple -> argumentValue.parseTuple(p)
+            is FunctionArgumentType.Simple -> argumentType.parse(argumentValue, p)
+            is FunctionArgumentType.Unknown -> throw JsonParseException(p, "unknown type: ${argumentType.name}")
         }
-    }
 
-    private fun JsonNode.parseArray(p: JsonParser, elementType: String, length: Int?): Type<*> =
-        if (this.isArray) {
-            this.elements().asSequence().map { Pair(it, deserializeType(p, elementType, it)) }.toList().takeIf {
-                length == null || it.size == length
-            }
-                ?.checkTupleCompatibility(p, elementType)
-                ?.createArray(elementType.web3ElementType(p, this), length)
-                ?: throw JsonParseException(p, "invalid array length")
-        } else {
+    private fun JsonNode.parseArray(p: JsonParser, arrayType: FunctionArgumentType.Array): Type<*> {
+        if (!this.isArray) {
             throw JsonParseException(p, ARRAY_VALUE_ERROR)
         }
 
+        val elementType = arrayType.elementType
+        val elements = ArrayList<Type<*>>(this.size())
+
+        for (element in this) {
+            elements.add(deserializeType(p, elementType, element))
+        }
+
+        if (arrayType.length != null && elements.size != arrayType.length) {
+            throw JsonParseException(p, "invalid array length")
+        }
+
+        if (elementType == FunctionArgumentType.Tuple && this.hasInvalidTupleTypeHierarchy()) {
+            throw JsonParseException(p, "mismatching tuple elements in array")
+        }
+
+        val web3ElementType = elementType.arrayElementClass
+            ?: throw JsonParseException(p, "unknown type: ${elementType.name}")
+
+        return elements.createArray(web3ElementType, arrayType.length)
+    }
+
     @Suppress("UNCHECKED_CAST")
     private fun List<Type<*>>.createArray(web3ElementType: Class<out Type<*>>, length: Int?): Type<*> {
         val web3FixedStructElementType = web3ElementType.fixStructType(this)
@@ -81,75 +86,43 @@ class FunctionArgumentJsonDeserializer : JsonDeserializer<FunctionArgument>() {
         elems.firstOrNull()?.javaClass?.takeIf { it == DynamicStruct::class.java || it == StaticStruct::class.java }
             ?: this
 
-    private fun List<Pair<JsonNode, Type<*>>>.checkTupleCompatibility(
-        p: JsonParser,
-        elementType: String
-    ): List<Type<*>> {
-        if (elementType == "tuple" && this.hasInvalidTupleTypeHierarchy()) {
-            throw JsonParseException(p, "mismatching tuple elements in array")
-        }
-
-        return this.map { it.second }
-    }
-
-    private fun String.web3ElementType(p: JsonParser, node: JsonNode): Class<out Type<*>> =
-        if (this.endsWith("[]")) {
-            DynamicArray::class.java
-        } else if (ARRAY_REGEX_WITH_SIZE.matches(this)) {
-            SizedStaticArray::class.java
-        } else if (this == "tuple") {
-            DynamicStruct::class.java
-        } else {
-            Web3TypeMappings.getWeb3Type(p, node, this)
-                ?: throw JsonParseException(p, "unknown type: $this")
-        }
-
     private fun JsonNode.parseTuple(p: JsonParser): Type<*> =
         if (this.isArray) {
-            val tupleElements = this.elements().asSequence().map {
+            val tupleElements = this.map {
                 val tupleArgumentType = it["type"]?.asText() ?: throw JsonParseException(p, "missing type")
                 val tupleArgumentValue = it["value"] ?: throw JsonParseException(p, "missing value")
-                deserializeType(p, tupleArgumentType, tupleArgumentValue)
-            }.toList().takeIf { it.isNotEmpty() } ?: throw JsonParseException(p, "tuples cannot be empty")
+                deserializeType(p, FunctionArgumentType.of(tupleArgumentType), tupleArgumentValue)
+            }.takeIf { it.isNotEmpty() } ?: throw JsonParseException(p, "tuples cannot be empty")
 
             if (tupleElements.any { it.isDynamic() }) DynamicStruct(tupleElements) else StaticStruct(tupleElements)
         } else {
             throw JsonParseException(p, ARRAY_VALUE_ERROR)
         }
 
-    private fun List<Pair<JsonNode, Type<*>>>.hasInvalidTupleTypeHierarchy() =
-        this.map {
-            getTypeHierarchy(
-                OBJECT_MAPPER.createObjectNode().apply {
-                    set<JsonNode>("value", it.first)
-                    set<JsonNode>("type", textNode("tuple"))
-                }
-            )
-        }.toSet().size > 1
-
-    internal fun getTypeHierarchy(node: JsonNode): String {
-        val type = node["type"].asText()
-        val arrayMatchingResult = ARRAY_SUFFIX_REGEX.find(type)
-
-        return if (arrayMatchingResult != null) {
-            val (_, arrayElementType, arraySuffix) = arrayMatchingResult.groupValues
-            val arrayNode = OBJECT_MAPPER.createObjectNode().apply {
-                set<JsonNode>(
-                    "value",
-                    node["value"].elements().asSequence().toList().getOrNull(0) ?: OBJECT_MAPPER.createArrayNode()
-                )
-                set<JsonNode>("type", textNode(arrayElementType))
+    private fun JsonNode.hasInvalidTupleTypeHierarchy(): Boolean {
+        val hierarchies = this.map { getTypeHierarchy(FunctionArgumentType.Tuple, it) }
+        return hierarchies.any { it != hierarchies.first() }
+    }
+
+    internal fun getTypeHierarchy(node: JsonNode): String =
+        getTypeHierarchy(FunctionArgumentType.of(node["type"].asText()), node["value"])
+
+    private fun getTypeHierarchy(type: FunctionArgumentType, value: JsonNode): String =
+        when (type) {
+            is FunctionArgumentType.Array -> {
+                val elements = value.elements()
+                val firstElement = if (elements.hasNext()) elements.next() else EMPTY_ARRAY
+
+                getTypeHierarchy(type.elementType, firstElement) + type.suffix
             }
 
-            getTypeHierarchy(arrayNode) + arraySuffix
-        } else if (type == "tuple") {
-            node["value"].elements().asSequence().map { getTypeHierarchy(it) }
-                .ifEmpty { sequenceOf("*") }
-                .joinToString(prefix = "tuple(", separator = ",", postfix = ")")
-        } else {
-            type
+            is FunctionArgumentType.Tuple ->
+                value.elements().asSequence().map { getTypeHierarchy(it) }
+                    .ifEmpty { sequenceOf("*") }
+                    .joinToString(prefix = "tuple(", separator = ",", postfix = ")")
+
+            else -> type.name
         }
-    }
 
     private fun Type<*>.isDynamic() =
         when (this) {
@@ -0,0 +1,79 @@
+package polycode.util.json
+
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.databind.JsonNode
+import org.web3j.abi.datatypes.DynamicArray
+import org.web3j.abi.datatypes.DynamicStruct
+import org.web3j.abi.datatypes.Type
+import polycode.util.SizedStaticArray
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Parsed representation of a function argument type string. Parsing of type strings is done only once per distinct
+ * type string, so that array elements and repeated arguments do not need to run regex matching and web3j type
+ * lookups for each value.
+ */
+internal sealed interface FunctionArgumentType {
+
+    val name: String
+    val arrayElementClass: Class<out Type<*>>?
+
+    data class Simple(
+        override val name: String,
+        val parse: (JsonNode, JsonParser) -> Type<*>,
+        override val arrayElementClass: Class<out Type<*>>?
+    ) : FunctionArgumentType
+
+    data class Array(
+        override val name: String,
+        val elementTypeName: String,
+        val length: Int?,
+        val suffix: String
+    ) : FunctionArgumentType {
+        // resolved lazily so that nesting of parsed types never goes deeper than nesting of the parsed value
+        val elementType: FunctionArgumentType by lazy { FunctionArgumentType.of(elementTypeName) }
+
+        override val arrayElementClass: Class<out Type<*>> =
+            if (name.endsWith("[]")) DynamicArray::class.java else SizedStaticArray::class.java
+    }
+
+    object Tuple : FunctionArgumentType {
+        override val name = "tuple"
+        override val arrayElementClass: Class<out Type<*>> = DynamicStruct::class.java
+    }
+
+    data class Unknown(override val name: String) : FunctionArgumentType {
+        override val arrayElementClass: Class<out Type<*>>? =
+            if (name.endsWith("[]")) DynamicArray::class.java else null
+    }
+
+    companion object {
+        private const val MAX_CACHED_TYPES = 1_000
+        private val ARRAY_REGEX_WITH_SIZE = "^(.+?)\\[(\\d*)]$".toRegex()
+
+        // lock-free reads, since type lookup is done for each argument and tuple element of every request
+        private val CACHE = ConcurrentHashMap<String, FunctionArgumentType>()
+
+        fun of(name: String): FunctionArgumentType =
+            CACHE[name] ?: parse(name).let { cache(name, it) }
+
+        // type strings come from user input, so once the cache is full any new type strings are parsed on each use
+        private fun cache(name: String, type: FunctionArgumentType): FunctionArgumentType =
+            if (CACHE.size < MAX_CACHED_TYPES) CACHE.putIfAbsent(name, type) ?: type else type
+
+        private fun parse(name: String): FunctionArgumentType {
+            val arrayMatchingResult = ARRAY_REGEX_WITH_SIZE.find(name)
+
+            return if (arrayMatchingResult != null) {
+                val (_, arrayElementType, arraySize) = arrayMatchingResult.groupValues
+                Array(name, arrayElementType, arraySize.toIntOrNull(), "[$arraySize]")
+            } else if (name == Tuple.name) {
+                Tuple
+            } else {
+                Web3TypeMappings[name]
+                    ?.let { Simple(name, it, Web3TypeMappings.getWeb3Type(name)) }
+                    ?: Unknown(name)
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package polycode.util.json
 import com.fasterxml.jackson.core.JsonParseException
 import com.fasterxml.jackson.core.JsonParser
 import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.NullNode
 import org.web3j.abi.datatypes.Address
 import org.web3j.abi.datatypes.Bool
 import org.web3j.abi.datatypes.DynamicBytes
@@ -126,6 +127,7 @@ object Web3TypeMappings {
     )
 
     private const val VALUE_ERROR = "invalid value type"
+    private val DEFAULT_VALUE: JsonNode = NullNode.instance
     private val SIMPLE_TYPE_MAPPINGS: Map<String, TypeInfo> = mapOf(
         "address" to TypeInfo(AddressType) { v: JsonNode, p: JsonParser, t: Boolean -> Address(v.parseText(p, t)) },
         "bool" to TypeInfo(BoolType) { v: JsonNode, p: JsonParser, t: Boolean -> Bool(v.parseBoolean(p, t)) },
@@ -313,8 +315,8 @@ object Web3TypeMappings {
     operator fun get(argumentType: String): ((JsonNode, JsonParser) -> Type<*>)? =
         TYPE_MAPPINGS[argumentType]?.let { { v: JsonNode, p: JsonParser -> it.parseFn.invoke(v, p, false) } }
 
-    fun getWeb3Type(p: JsonParser, value: JsonNode, argumentType: String): Class<Type<*>>? =
-        TYPE_MAPPINGS[argumentType]?.parseFn?.invoke(value, p, true)?.javaClass
+    fun getWeb3Type(argumentType: String): Class<Type<*>>? =
+        TYPE_MAPPINGS[argumentType]?.parseFn?.invoke(DEFAULT_VALUE, DEFAULT_VALUE.traverse(), true)?.javaClass
 
     fun getAbiType(argumentType: String): AbiType? = TYPE_MAPPINGS[argumentType]?.abiType
 
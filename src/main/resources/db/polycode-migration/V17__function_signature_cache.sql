@@ -0,0 +1,5 @@
+CREATE TABLE polycode.function_signature_cache (
+    function_selector  VARCHAR                  NOT NULL PRIMARY KEY,
+    function_signature JSON                         NULL,
+    cached_at          TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,7 @@
+CREATE TABLE polycode.decompiled_contract_cache (
+    bytecode_hash VARCHAR                  NOT NULL PRIMARY KEY,
+    manifest_json JSON                     NOT NULL,
+    artifact_json JSON                     NOT NULL,
+    info_markdown VARCHAR                      NULL,
+    cached_at     TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,52 @@
+-- runs outside of a transaction (see V19__compact_binary_data.sql.conf) so that each batch is committed separately;
+-- all statements are safe to re-run after a partially applied migration
+
+-- original values are hex text, so they never start with \x00 or \x01 bytes which mark already compacted values
+CREATE OR REPLACE FUNCTION polycode.compact_hex_value(data BYTEA, prefix_length INT) RETURNS BYTEA AS $$
+    SELECT CASE
+        WHEN data IS NULL THEN NULL
+        WHEN substring(data FROM 1 FOR 1) IN ('\x00'::BYTEA, '\x01'::BYTEA) THEN data
+        WHEN convert_from(substring(data FROM prefix_length + 1), 'UTF8') ~ '^([0-9a-f]{2})*$'
+            THEN '\x00'::BYTEA || decode(convert_from(substring(data FROM prefix_length + 1), 'UTF8'), 'hex')
+        ELSE '\x01'::BYTEA || substring(data FROM prefix_length + 1)
+    END
+$$ LANGUAGE SQL IMMUTABLE;
+
+CREATE OR REPLACE PROCEDURE polycode.compact_hex_column(
+    table_name    VARCHAR,
+    column_name   VARCHAR,
+    prefix_length INT,
+    batch_size    INT
+) AS $$
+DECLARE
+    last_id       UUID := NULL;
+    batch_last_id UUID;
+BEGIN
+    LOOP
+        EXECUTE format(
+            'WITH batch AS ('
+                '    SELECT id FROM polycode.%1$I WHERE $1 IS NULL OR id > $1 ORDER BY id LIMIT $3'
+                '), updated AS ('
+                '    UPDATE polycode.%1$I t SET %2$I = polycode.compact_hex_value(t.%2$I, $2)'
+                '    FROM batch WHERE t.id = batch.id RETURNING t.id'
+                ') SELECT id FROM updated ORDER BY id DESC LIMIT 1',
+            table_name,
+            column_name
+        ) INTO batch_last_id USING last_id, prefix_length, batch_size;
+
+        EXIT WHEN batch_last_id IS NULL;
+        last_id := batch_last_id;
+
+        COMMIT;
+    END LOOP;
+END
+$$ LANGUAGE plpgsql;
+
+CALL polycode.compact_hex_column('contract_deployment_request', 'contract_data', 0, 1000);
+CALL polycode.compact_hex_column('contract_arbitrary_call_request', 'function_data', 2, 1000);
+CALL polycode.compact_hex_column('fetch_transaction_info_cache', 'tx_data', 2, 1000);
+CALL polycode.compact_hex_column('contract_deployment_transaction_cache', 'tx_data', 2, 1000);
+CALL polycode.compact_hex_column('contract_deployment_transaction_cache', 'contract_binary', 0, 1000);
+
+DROP PROCEDURE polycode.compact_hex_column(VARCHAR, VARCHAR, INT, INT);
+DROP FUNCTION polycode.compact_hex_value(BYTEA, INT);
@@ -0,0 +1,16 @@
+CREATE DOMAIN polycode.FETCH_READONLY_CALL_CACHE_ID AS UUID;
+
+CREATE TABLE polycode.fetch_readonly_call_cache (
+    id                 FETCH_READONLY_CALL_CACHE_ID NOT NULL PRIMARY KEY,
+    chain_id           BIGINT                       NOT NULL,
+    custom_rpc_url     VARCHAR                      NOT NULL,
+    contract_address   VARCHAR                      NOT NULL,
+    caller_address     VARCHAR                      NOT NULL,
+    function_data_hash VARCHAR                      NOT NULL,
+    block_number       NUMERIC(78)                  NOT NULL,
+    return_data        BYTEA                        NOT NULL
+);
+
+CREATE UNIQUE INDEX ON polycode.fetch_readonly_call_cache(
+    chain_id, custom_rpc_url, contract_address, caller_address, function_data_hash, block_number
+);
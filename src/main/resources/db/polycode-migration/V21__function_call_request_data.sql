@@ -0,0 +1 @@
+ALTER TABLE polycode.contract_function_call_request ADD COLUMN function_data BYTEA NULL;
@@ -0,0 +1,117 @@
+-- runs outside of a transaction (see V22__partitioned_api_call_tables.sql.conf) so that the index and the bound
+-- constraint needed to attach existing call logs as a partition are built without blocking API call inserts; only the
+-- final swap to partitioned tables is done in a single short transaction which does not need to scan any table
+
+-- existing call logs become a single partition which covers everything up to the end of the current day, or the next
+-- one when close to midnight so that new calls are not rejected by the bound constraint while it is being validated;
+-- daily partitions are created by the API call log maintenance job from then on
+SELECT set_config(
+    'polycode.api_call_legacy_upper_bound',
+    (
+        (date_trunc('day', (now() + INTERVAL '1 hour') AT TIME ZONE 'UTC') + INTERVAL '1 day') AT TIME ZONE 'UTC'
+    )::VARCHAR,
+    FALSE
+);
+
+-- (user_id, created_at) index already exists on call log tables
+CREATE INDEX CONCURRENTLY IF NOT EXISTS api_write_call_legacy_created_at_idx ON polycode.api_write_call(created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS api_read_call_legacy_created_at_idx ON polycode.api_read_call(created_at);
+
+DO $$
+DECLARE
+    upper_bound VARCHAR := current_setting('polycode.api_call_legacy_upper_bound');
+BEGIN
+    ALTER TABLE polycode.api_write_call DROP CONSTRAINT IF EXISTS api_write_call_legacy_upper_bound;
+    EXECUTE format(
+        'ALTER TABLE polycode.api_write_call ADD CONSTRAINT api_write_call_legacy_upper_bound'
+            ' CHECK (created_at < %L) NOT VALID',
+        upper_bound
+    );
+
+    ALTER TABLE polycode.api_read_call DROP CONSTRAINT IF EXISTS api_read_call_legacy_upper_bound;
+    EXECUTE format(
+        'ALTER TABLE polycode.api_read_call ADD CONSTRAINT api_read_call_legacy_upper_bound'
+            ' CHECK (created_at < %L) NOT VALID',
+        upper_bound
+    );
+END $$;
+
+-- validation scans the tables, but it does not block inserts
+ALTER TABLE polycode.api_write_call VALIDATE CONSTRAINT api_write_call_legacy_upper_bound;
+ALTER TABLE polycode.api_read_call VALIDATE CONSTRAINT api_read_call_legacy_upper_bound;
+
+-- indexes and validated bound constraints of existing tables match the partitioned tables, so attaching them only
+-- updates the catalog
+DO $$
+DECLARE
+    upper_bound      TIMESTAMPTZ := current_setting('polycode.api_call_legacy_upper_bound')::TIMESTAMPTZ;
+    partition_suffix VARCHAR     := to_char((upper_bound - INTERVAL '1 day') AT TIME ZONE 'UTC', 'YYYYMMDD');
+BEGIN
+    EXECUTE format('ALTER TABLE polycode.api_write_call RENAME TO %I', 'api_write_call_p' || partition_suffix);
+    EXECUTE format('ALTER TABLE polycode.api_read_call RENAME TO %I', 'api_read_call_p' || partition_suffix);
+
+    CREATE TABLE polycode.api_write_call (
+        user_id        USER_ID                  NOT NULL REFERENCES polycode.user_identifier(id),
+        request_method REQUEST_METHOD           NOT NULL,
+        request_path   VARCHAR                  NOT NULL,
+        created_at     TIMESTAMP WITH TIME ZONE NOT NULL
+    ) PARTITION BY RANGE (created_at);
+
+    CREATE INDEX ON polycode.api_write_call(user_id, created_at);
+    CREATE INDEX ON polycode.api_write_call(created_at);
+
+    CREATE TABLE polycode.api_read_call (
+        user_id      USER_ID                  NOT NULL REFERENCES polycode.user_identifier(id),
+        request_path VARCHAR                  NOT NULL,
+        created_at   TIMESTAMP WITH TIME ZONE NOT NULL
+    ) PARTITION BY RANGE (created_at);
+
+    CREATE INDEX ON polycode.api_read_call(user_id, created_at);
+    CREATE INDEX ON polycode.api_read_call(created_at);
+
+    EXECUTE format(
+        'ALTER TABLE polycode.api_write_call ATTACH PARTITION polycode.%I FOR VALUES FROM (MINVALUE) TO (%L)',
+        'api_write_call_p' || partition_suffix,
+        upper_bound
+    );
+    EXECUTE format(
+        'ALTER TABLE polycode.%I DROP CONSTRAINT api_write_call_legacy_upper_bound',
+        'api_write_call_p' || partition_suffix
+    );
+
+    EXECUTE format(
+        'ALTER TABLE polycode.api_read_call ATTACH PARTITION polycode.%I FOR VALUES FROM (MINVALUE) TO (%L)',
+        'api_read_call_p' || partition_suffix,
+        upper_bound
+    );
+    EXECUTE format(
+        'ALTER TABLE polycode.%I DROP CONSTRAINT api_read_call_legacy_upper_bound',
+        'api_read_call_p' || partition_suffix
+    );
+
+    -- catches calls which do not fall into any daily partition, e.g. when maintenance job is lagging behind
+    CREATE TABLE polycode.api_write_call_default PARTITION OF polycode.api_write_call DEFAULT;
+    CREATE TABLE polycode.api_read_call_default PARTITION OF polycode.api_read_call DEFAULT;
+END $$;
+
+CREATE TABLE polycode.api_write_call_daily_rollup (
+    user_id        USER_ID        NOT NULL REFERENCES polycode.user_identifier(id),
+    request_method REQUEST_METHOD NOT NULL,
+    request_path   VARCHAR        NOT NULL,
+    call_date      DATE           NOT NULL,
+    call_count     BIGINT         NOT NULL,
+    PRIMARY KEY (user_id, call_date, request_method, request_path)
+);
+
+CREATE TABLE polycode.api_read_call_daily_rollup (
+    user_id      USER_ID NOT NULL REFERENCES polycode.user_identifier(id),
+    request_path VARCHAR NOT NULL,
+    call_date    DATE    NOT NULL,
+    call_count   BIGINT  NOT NULL,
+    PRIMARY KEY (user_id, call_date, request_path)
+);
+
+CREATE TABLE polycode.api_call_rollup_day (
+    call_date    DATE                     NOT NULL PRIMARY KEY,
+    rolled_up_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
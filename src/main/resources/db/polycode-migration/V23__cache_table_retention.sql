@@ -0,0 +1,34 @@
+ALTER TABLE polycode.fetch_account_balance_cache
+    ADD COLUMN cached_at        TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    ADD COLUMN last_accessed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+CREATE INDEX ON polycode.fetch_account_balance_cache(cached_at);
+CREATE INDEX ON polycode.fetch_account_balance_cache(last_accessed_at);
+
+ALTER TABLE polycode.fetch_erc20_account_balance_cache
+    ADD COLUMN cached_at        TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    ADD COLUMN last_accessed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+CREATE INDEX ON polycode.fetch_erc20_account_balance_cache(cached_at);
+CREATE INDEX ON polycode.fetch_erc20_account_balance_cache(last_accessed_at);
+
+ALTER TABLE polycode.fetch_transaction_info_cache
+    ADD COLUMN cached_at        TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    ADD COLUMN last_accessed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+CREATE INDEX ON polycode.fetch_transaction_info_cache(cached_at);
+CREATE INDEX ON polycode.fetch_transaction_info_cache(last_accessed_at);
+
+ALTER TABLE polycode.contract_deployment_transaction_cache
+    ADD COLUMN cached_at        TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    ADD COLUMN last_accessed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+CREATE INDEX ON polycode.contract_deployment_transaction_cache(cached_at);
+CREATE INDEX ON polycode.contract_deployment_transaction_cache(last_accessed_at);
+
+ALTER TABLE polycode.fetch_readonly_call_cache
+    ADD COLUMN cached_at        TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    ADD COLUMN last_accessed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+CREATE INDEX ON polycode.fetch_readonly_call_cache(cached_at);
+CREATE INDEX ON polycode.fetch_readonly_call_cache(last_accessed_at);
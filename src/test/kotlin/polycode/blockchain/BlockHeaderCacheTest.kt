@@ -0,0 +1,118 @@
+package polycode.blockchain
+
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import polycode.TestBase
+import polycode.TestData
+import polycode.blockchain.properties.ChainSpec
+import polycode.config.BlockHeaderCacheProperties
+import polycode.service.UtcDateTimeProvider
+import polycode.util.BlockNumber
+import polycode.util.ChainId
+import polycode.util.UtcDateTime
+import java.math.BigInteger
+import java.time.Duration
+
+class BlockHeaderCacheTest : TestBase() {
+
+    companion object {
+        private val CHAIN_SPEC = ChainSpec(ChainId(1L), null)
+        private val VALIDITY = Duration.ofSeconds(5L)
+    }
+
+    @Test
+    fun mustReturnFinalHeaderRegardlessOfAge() {
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+        val cache = BlockHeaderCache(utcDateTimeProvider, BlockHeaderCacheProperties())
+        val header = header(number = 1L, hash = "0x1", parentHash = "0x0")
+
+        suppose("header is cached as final") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+            cache.put(CHAIN_SPEC, header, isFinal = true)
+        }
+
+        suppose("a lot of time has passed") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(UtcDateTime(TestData.TIMESTAMP.value.plusDays(1L)))
+        }
+
+        verify("final header is returned") {
+            expectThat(cache.get(CHAIN_SPEC, header.number, VALIDITY))
+                .isEqualTo(header)
+        }
+    }
+
+    @Test
+    fun mustNotReturnExpiredUnconfirmedHeader() {
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+        val cache = BlockHeaderCache(utcDateTimeProvider, BlockHeaderCacheProperties())
+        val header = header(number = 1L, hash = "0x1", parentHash = "0x0")
+
+        suppose("header is cached as unconfirmed") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+            cache.put(CHAIN_SPEC, header, isFinal = false)
+        }
+
+        verify("unconfirmed header is returned within validity duration") {
+            expectThat(cache.get(CHAIN_SPEC, header.number, VALIDITY))
+                .isEqualTo(header)
+        }
+
+        suppose("validity duration has passed") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(UtcDateTime(TestData.TIMESTAMP.value + VALIDITY.plusSeconds(1L)))
+        }
+
+        verify("unconfirmed header is no longer returned") {
+            expectThat(cache.get(CHAIN_SPEC, header.number, VALIDITY))
+                .isNull()
+        }
+    }
+
+    @Test
+    fun mustRemoveReorganizedUnconfirmedHeaders() {
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+        val cache = BlockHeaderCache(utcDateTimeProvider, BlockHeaderCacheProperties())
+        val finalHeader = header(number = 1L, hash = "0x1", parentHash = "0x0")
+        val staleParent = header(number = 2L, hash = "0x2a", parentHash = "0x1")
+        val staleChild = header(number = 4L, hash = "0x4a", parentHash = "0x3a")
+        val staleGrandchild = header(number = 5L, hash = "0x5a", parentHash = "0x4a")
+        val newHeader = header(number = 3L, hash = "0x3b", parentHash = "0x2b")
+
+        suppose("some headers are cached") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+            cache.put(CHAIN_SPEC, finalHeader, isFinal = true)
+            cache.put(CHAIN_SPEC, staleParent, isFinal = false)
+            cache.put(CHAIN_SPEC, staleChild, isFinal = false)
+            cache.put(CHAIN_SPEC, staleGrandchild, isFinal = false)
+        }
+
+        suppose("header from reorganized chain is cached") {
+            cache.put(CHAIN_SPEC, newHeader, isFinal = false)
+        }
+
+        verify("headers which do not link to the new header are removed") {
+            expectThat(cache.get(CHAIN_SPEC, finalHeader.number, VALIDITY))
+                .isEqualTo(finalHeader)
+            expectThat(cache.get(CHAIN_SPEC, staleParent.number, VALIDITY))
+                .isNull()
+            expectThat(cache.get(CHAIN_SPEC, newHeader.number, VALIDITY))
+                .isEqualTo(newHeader)
+            expectThat(cache.get(CHAIN_SPEC, staleChild.number, VALIDITY))
+                .isNull()
+            expectThat(cache.get(CHAIN_SPEC, staleGrandchild.number, VALIDITY))
+                .isNull()
+        }
+    }
+
+    private fun header(number: Long, hash: String, parentHash: String) =
+        BlockHeader(
+            number = BlockNumber(BigInteger.valueOf(number)),
+            hash = hash,
+            parentHash = parentHash,
+            timestamp = TestData.TIMESTAMP
+        )
+}
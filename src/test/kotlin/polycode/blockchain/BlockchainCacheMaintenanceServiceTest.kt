@@ -0,0 +1,135 @@
+package polycode.blockchain
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import polycode.TestBase
+import polycode.TestData
+import polycode.config.CacheRetentionProperties
+import polycode.config.CacheTableRetention
+import polycode.features.payout.service.ManualFixedScheduler
+import polycode.model.BlockchainCacheTable
+import polycode.model.result.CacheTableStats
+import polycode.repository.BlockchainCacheMaintenanceRepository
+import polycode.service.ScheduledExecutorServiceProvider
+import polycode.service.UtcDateTimeProvider
+import java.time.Duration
+import kotlin.time.Duration.Companion.days
+
+class BlockchainCacheMaintenanceServiceTest : TestBase() {
+
+    companion object {
+        private val NO_RETENTION = CacheTableRetention(maxAge = null, maxIdle = null)
+        private val PROPERTIES = CacheRetentionProperties(
+            deleteBatchSize = 2,
+            maxDeleteBatchesPerRun = 3,
+            deleteBatchPause = Duration.ZERO,
+            accountBalance = CacheTableRetention(maxAge = Duration.ofDays(7L), maxIdle = Duration.ofDays(1L)),
+            erc20AccountBalance = NO_RETENTION,
+            readonlyCall = NO_RETENTION,
+            transactionInfo = NO_RETENTION,
+            contractDeploymentTransaction = CacheTableRetention(maxAge = null, maxIdle = Duration.ofDays(30L))
+        )
+    }
+
+    @Test
+    fun mustEvictExpiredEntriesInBatchesAndReportTableStats() {
+        val repository = mock<BlockchainCacheMaintenanceRepository>()
+
+        suppose("account balance cache has more expired entries than allowed per run") {
+            call(
+                repository.deleteExpiredEntries(
+                    table = BlockchainCacheTable.FETCH_ACCOUNT_BALANCE,
+                    cachedBefore = TestData.TIMESTAMP - 7.days,
+                    accessedBefore = TestData.TIMESTAMP - 1.days,
+                    limit = PROPERTIES.deleteBatchSize
+                )
+            ).willReturn(2, 2, 2)
+        }
+
+        suppose("contract deployment transaction cache has a single batch of expired entries") {
+            call(
+                repository.deleteExpiredEntries(
+                    table = BlockchainCacheTable.CONTRACT_DEPLOYMENT_TRANSACTION,
+                    cachedBefore = null,
+                    accessedBefore = TestData.TIMESTAMP - 30.days,
+                    limit = PROPERTIES.deleteBatchSize
+                )
+            ).willReturn(1)
+        }
+
+        suppose("some table stats will be returned") {
+            call(repository.getTableStats(any()))
+                .willReturn(CacheTableStats(estimatedRows = 10L, totalSizeBytes = 1_000L))
+            call(repository.getSharedBuffersSizeBytes())
+                .willReturn(100_000L)
+        }
+
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        val scheduler = ManualFixedScheduler()
+        val scheduledExecutorServiceProvider = mock<ScheduledExecutorServiceProvider>()
+
+        suppose("manual scheduler will be used") {
+            call(scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor(any()))
+                .willReturn(scheduler)
+        }
+
+        val meterRegistry = SimpleMeterRegistry()
+
+        BlockchainCacheMaintenanceService(
+            blockchainCacheMaintenanceRepository = repository,
+            utcDateTimeProvider = utcDateTimeProvider,
+            cacheRetentionProperties = PROPERTIES,
+            meterRegistry = meterRegistry,
+            scheduledExecutorServiceProvider = scheduledExecutorServiceProvider
+        )
+
+        verify("expired entries are evicted in batches and table stats are refreshed") {
+            scheduler.execute()
+
+            expectInteractions(repository) {
+                3.times.deleteExpiredEntries(
+                    table = BlockchainCacheTable.FETCH_ACCOUNT_BALANCE,
+                    cachedBefore = TestData.TIMESTAMP - 7.days,
+                    accessedBefore = TestData.TIMESTAMP - 1.days,
+                    limit = PROPERTIES.deleteBatchSize
+                )
+                once.deleteExpiredEntries(
+                    table = BlockchainCacheTable.CONTRACT_DEPLOYMENT_TRANSACTION,
+                    cachedBefore = null,
+                    accessedBefore = TestData.TIMESTAMP - 30.days,
+                    limit = PROPERTIES.deleteBatchSize
+                )
+                BlockchainCacheTable.values().forEach { once.getTableStats(it) }
+                once.getSharedBuffersSizeBytes()
+            }
+        }
+
+        verify("metrics are reported") {
+            fun evicted(table: BlockchainCacheTable) =
+                meterRegistry.get("polycode.cache.table.evicted").tag("table", table.tableName).counter().count()
+
+            expectThat(evicted(BlockchainCacheTable.FETCH_ACCOUNT_BALANCE))
+                .isEqualTo(6.0)
+            expectThat(evicted(BlockchainCacheTable.CONTRACT_DEPLOYMENT_TRANSACTION))
+                .isEqualTo(1.0)
+            expectThat(evicted(BlockchainCacheTable.FETCH_READONLY_CALL))
+                .isEqualTo(0.0)
+            expectThat(
+                meterRegistry.get("polycode.cache.table.size")
+                    .tag("table", BlockchainCacheTable.FETCH_READONLY_CALL.tableName)
+                    .gauge()
+                    .value()
+            ).isEqualTo(1_000.0)
+            expectThat(meterRegistry.get("polycode.cache.shared.buffers").gauge().value())
+                .isEqualTo(100_000.0)
+        }
+    }
+}
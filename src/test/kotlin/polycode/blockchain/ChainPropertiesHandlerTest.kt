@@ -1,11 +1,16 @@
 package polycode.blockchain
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.junit.jupiter.api.Test
 import polycode.TestBase
 import polycode.blockchain.properties.ChainPropertiesHandler
 import polycode.blockchain.properties.ChainSpec
+import polycode.blockchain.rpc.RpcMetrics
+import polycode.blockchain.rpc.Web3jServiceFactory
 import polycode.config.ApplicationProperties
 import polycode.config.ChainProperties
+import polycode.config.RpcMetricsProperties
+import polycode.config.RpcRoutingProperties
 import polycode.exception.ErrorCode
 import polycode.exception.UnsupportedChainIdException
 import polycode.util.ChainId
@@ -14,6 +19,10 @@ class ChainPropertiesHandlerTest : TestBase() {
 
     companion object {
         private val CHAIN_ID = ChainId(1L)
+        private val WEB3J_SERVICE_FACTORY = Web3jServiceFactory(
+            rpcMetrics = RpcMetrics(SimpleMeterRegistry(), RpcMetricsProperties()),
+            rpcRoutingProperties = RpcRoutingProperties()
+        )
         private val CHAINS = mapOf(
             CHAIN_ID to ChainProperties(
                 name = "ETHEREUM_MAIN",
@@ -34,7 +43,8 @@ class ChainPropertiesHandlerTest : TestBase() {
                 ApplicationProperties().apply {
                     infuraId = ""
                     chain = CHAINS
-                }
+                },
+                WEB3J_SERVICE_FACTORY
             )
         }
 
@@ -47,7 +57,7 @@ class ChainPropertiesHandlerTest : TestBase() {
     @Test
     fun mustCorrectlyCreateChainPropertiesWithServicesWhenCustomRpcUrlIsSpecified() {
         val chainPropertiesHandler = suppose("chain properties handler is created from application properties") {
-            ChainPropertiesHandler(ApplicationProperties().apply { infuraId = "" })
+            ChainPropertiesHandler(ApplicationProperties().apply { infuraId = "" }, WEB3J_SERVICE_FACTORY)
         }
 
         verify("chain properties with services are correctly created") {
@@ -68,7 +78,8 @@ class ChainPropertiesHandlerTest : TestBase() {
                 ApplicationProperties().apply {
                     infuraId = ""
                     chain = CHAINS
-                }
+                },
+                WEB3J_SERVICE_FACTORY
             )
         }
 
@@ -86,7 +97,7 @@ class ChainPropertiesHandlerTest : TestBase() {
     @Test
     fun mustThrowExceptionForInvalidChainId() {
         val chainPropertiesHandler = suppose("chain properties handler is created from application properties") {
-            ChainPropertiesHandler(ApplicationProperties())
+            ChainPropertiesHandler(ApplicationProperties(), WEB3J_SERVICE_FACTORY)
         }
 
         verify("InternalException is thrown") {
@@ -106,7 +117,7 @@ class ChainPropertiesHandlerTest : TestBase() {
             }
 
         val chainPropertiesHandler = suppose("chain properties handler is created from application properties") {
-            ChainPropertiesHandler(applicationProperties)
+            ChainPropertiesHandler(applicationProperties, WEB3J_SERVICE_FACTORY)
         }
 
         verify("correct RPC URL is returned") {
@@ -125,7 +136,7 @@ class ChainPropertiesHandlerTest : TestBase() {
             }
 
         val chainPropertiesHandler = suppose("chain properties handler is created from application properties") {
-            ChainPropertiesHandler(applicationProperties)
+            ChainPropertiesHandler(applicationProperties, WEB3J_SERVICE_FACTORY)
         }
 
         verify("correct RPC URL is returned") {
@@ -145,7 +156,7 @@ class ChainPropertiesHandlerTest : TestBase() {
             }
 
         val chainPropertiesHandler = suppose("chain properties handler is created from application properties") {
-            ChainPropertiesHandler(applicationProperties)
+            ChainPropertiesHandler(applicationProperties, WEB3J_SERVICE_FACTORY)
         }
 
         verify("correct Infura RPC URL is returned") {
@@ -155,5 +166,27 @@ class ChainPropertiesHandlerTest : TestBase() {
         }
     }
 
+    @Test
+    fun mustReturnPrimaryAndAdditionalRpcUrls() {
+        val infuraId = "some-id"
+        val applicationProperties = ApplicationProperties()
+            .apply {
+                this.infuraId = infuraId
+                chain = mapOf(
+                    CHAIN_ID to CHAINS[CHAIN_ID]!!.copy(additionalRpcUrls = listOf("rpc-url-2", "rpc-url-2"))
+                )
+            }
+
+        val chainPropertiesHandler = suppose("chain properties handler is created from application properties") {
+            ChainPropertiesHandler(applicationProperties, WEB3J_SERVICE_FACTORY)
+        }
+
+        verify("correct RPC URLs are returned") {
+            val chainProperties = applicationProperties.chain[CHAIN_ID]!!
+            val rpcUrls = chainPropertiesHandler.getChainRpcUrls(chainProperties)
+            expectThat(rpcUrls).isEqualTo(listOf(chainProperties.infuraUrl + infuraId, "rpc-url-2"))
+        }
+    }
+
     private fun ChainId.toSpec() = ChainSpec(this, null)
 }
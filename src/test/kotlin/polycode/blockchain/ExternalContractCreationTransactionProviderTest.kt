@@ -0,0 +1,108 @@
+package polycode.blockchain
+
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import org.springframework.http.ResponseEntity
+import org.springframework.web.client.RestTemplate
+import polycode.TestBase
+import polycode.TestData
+import polycode.blockchain.ExternalContractCreationTransactionProvider.Companion.ContractCreationResponse
+import polycode.blockchain.ExternalContractCreationTransactionProvider.Companion.Response
+import polycode.blockchain.properties.ChainSpec
+import polycode.config.ApplicationProperties
+import polycode.config.ChainProperties
+import polycode.util.ContractAddress
+import polycode.util.TransactionHash
+
+class ExternalContractCreationTransactionProviderTest : TestBase() {
+
+    companion object {
+        private val CHAIN_SPEC = ChainSpec(TestData.CHAIN_ID, null)
+        private val CONTRACT_ADDRESS = ContractAddress("a")
+        private val TX_HASH = TransactionHash("tx-hash")
+        private const val API_URL = "https://explorer.example/api"
+        private const val QUERY_PARAMS = "?module=contract&action=getcontractcreation&contractaddresses="
+        private val RESPONSE = Response(
+            status = "1",
+            message = "OK",
+            result = listOf(
+                ContractCreationResponse(
+                    contractAddress = CONTRACT_ADDRESS.rawValue,
+                    contractCreator = null,
+                    txHash = TX_HASH.value
+                )
+            )
+        )
+    }
+
+    @Test
+    fun mustFetchContractCreationTransactionHashWithApiKey() {
+        val restTemplate = mock<RestTemplate>()
+        val url = "$API_URL$QUERY_PARAMS${CONTRACT_ADDRESS.rawValue}&apikey=api-key"
+
+        suppose("chain explorer will return contract creation") {
+            call(restTemplate.getForEntity(url, Response::class.java))
+                .willReturn(ResponseEntity.ok(RESPONSE))
+        }
+
+        val provider = ExternalContractCreationTransactionProvider(restTemplate, applicationProperties("api-key"))
+
+        verify("contract creation transaction hash is returned") {
+            expectThat(provider.getContractCreationTransactionHash(CHAIN_SPEC, CONTRACT_ADDRESS))
+                .isEqualTo(TX_HASH)
+        }
+    }
+
+    @Test
+    fun mustFetchContractCreationTransactionHashWithoutApiKey() {
+        val restTemplate = mock<RestTemplate>()
+        val url = "$API_URL$QUERY_PARAMS${CONTRACT_ADDRESS.rawValue}"
+
+        suppose("chain explorer will return contract creation") {
+            call(restTemplate.getForEntity(url, Response::class.java))
+                .willReturn(ResponseEntity.ok(RESPONSE))
+        }
+
+        val provider = ExternalContractCreationTransactionProvider(restTemplate, applicationProperties(apiKey = null))
+
+        verify("contract creation transaction hash is returned and API key is not sent") {
+            expectThat(provider.getContractCreationTransactionHash(CHAIN_SPEC, CONTRACT_ADDRESS))
+                .isEqualTo(TX_HASH)
+
+            expectInteractions(restTemplate) {
+                once.getForEntity(url, Response::class.java)
+            }
+        }
+    }
+
+    @Test
+    fun mustReturnNullWhenChainExplorerIsNotSet() {
+        val restTemplate = mock<RestTemplate>()
+        val provider = ExternalContractCreationTransactionProvider(
+            restTemplate,
+            applicationProperties(apiKey = "api-key", apiUrl = null)
+        )
+
+        verify("null is returned without calling chain explorer") {
+            expectThat(provider.getContractCreationTransactionHash(CHAIN_SPEC, CONTRACT_ADDRESS))
+                .isNull()
+
+            expectNoInteractions(restTemplate)
+        }
+    }
+
+    private fun applicationProperties(apiKey: String?, apiUrl: String? = API_URL) =
+        ApplicationProperties().apply {
+            chain = mapOf(
+                TestData.CHAIN_ID to ChainProperties(
+                    name = "TEST",
+                    rpcUrl = "rpc-url",
+                    infuraUrl = null,
+                    startBlockNumber = null,
+                    minBlockConfirmationsForCaching = null,
+                    chainExplorerApiUrl = apiUrl,
+                    chainExplorerApiKey = apiKey
+                )
+            )
+        }
+}
@@ -0,0 +1,348 @@
+package polycode.blockchain
+
+import io.reactivex.Flowable
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.Web3jService
+import org.web3j.protocol.core.BatchRequest
+import org.web3j.protocol.core.BatchResponse
+import org.web3j.protocol.core.Request
+import org.web3j.protocol.core.Response
+import org.web3j.protocol.core.methods.request.Transaction
+import org.web3j.protocol.core.methods.response.EthBlock
+import org.web3j.protocol.core.methods.response.EthCall
+import org.web3j.protocol.websocket.events.Notification
+import org.web3j.utils.Numeric
+import polycode.TestBase
+import polycode.TestData
+import polycode.blockchain.properties.ChainPropertiesHandler
+import polycode.blockchain.properties.ChainPropertiesWithServices
+import polycode.blockchain.properties.ChainSpec
+import polycode.config.BlockHeaderCacheProperties
+import polycode.config.CacheRetentionProperties
+import polycode.config.ReadonlyCallCacheProperties
+import polycode.features.contract.readcall.model.params.ExecuteReadonlyFunctionCallParams
+import polycode.generated.jooq.id.FetchReadonlyCallCacheId
+import polycode.repository.Web3jBlockchainServiceCacheRepository
+import polycode.service.RandomUuidProvider
+import polycode.service.UtcDateTimeProvider
+import polycode.service.UuidProvider
+import polycode.util.BlockName
+import polycode.util.BlockNumber
+import polycode.util.ContractAddress
+import polycode.util.FunctionData
+import polycode.util.UtcDateTime
+import polycode.util.WalletAddress
+import java.io.IOException
+import java.math.BigInteger
+import java.time.Duration
+import java.util.UUID
+import java.util.concurrent.CompletableFuture
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.minutes
+
+class Web3jBlockchainServiceTest : TestBase() {
+
+    companion object {
+        private val CHAIN_SPEC = ChainSpec(TestData.CHAIN_ID, null)
+        private val PARAMS = ExecuteReadonlyFunctionCallParams(
+            contractAddress = ContractAddress("a"),
+            callerAddress = WalletAddress("b"),
+            functionName = "example",
+            functionData = FunctionData("0x1234"),
+            outputParams = emptyList()
+        )
+        private const val CALL_RESULT = "0x0000000000000000000000000000000000000000000000000000000000000001"
+        private val LATEST_BLOCK_NUMBER = BlockNumber(BigInteger.valueOf(100L))
+        private val MIN_BLOCK_CONFIRMATIONS_FOR_CACHING = BigInteger.TWO
+
+        private class FakeRpcService(private val latestBlockNumber: Long) : Web3jService {
+
+            val ethCalls = mutableListOf<List<*>>()
+
+            @Suppress("UNCHECKED_CAST")
+            override fun <T : Response<*>> send(request: Request<*, *>, responseType: Class<T>): T =
+                when (request.method) {
+                    "eth_getBlockByNumber" -> blockResponse(request.params[0] as String)
+                    "eth_call" -> EthCall().apply { result = CALL_RESULT }.also { ethCalls.add(request.params) }
+                    else -> throw IOException("Unexpected request: ${request.method}")
+                } as T
+
+            override fun <T : Response<*>> sendAsync(
+                request: Request<*, *>,
+                responseType: Class<T>
+            ): CompletableFuture<T> = CompletableFuture.completedFuture(send(request, responseType))
+
+            override fun sendBatch(batchRequest: BatchRequest): BatchResponse =
+                throw IOException("Batch requests are not supported")
+
+            override fun sendBatchAsync(batchRequest: BatchRequest): CompletableFuture<BatchResponse> =
+                CompletableFuture.failedFuture(IOException("Batch requests are not supported"))
+
+            override fun <T : Notification<*>> subscribe(
+                request: Request<*, *>,
+                unsubscribeMethod: String,
+                responseType: Class<T>
+            ): Flowable<T> = Flowable.error(IOException("Subscriptions are not supported"))
+
+            override fun close() {}
+
+            // blocks above the latest one are not yet known to this node, so null block is returned for them
+            private fun blockResponse(blockParameter: String): EthBlock {
+                val number = if (blockParameter == "latest") {
+                    BigInteger.valueOf(latestBlockNumber)
+                } else {
+                    Numeric.decodeQuantity(blockParameter)
+                }
+
+                val timestamp = BigInteger.valueOf(TestData.TIMESTAMP.value.toEpochSecond())
+
+                return EthBlock().apply {
+                    result = EthBlock.Block().takeIf { number <= BigInteger.valueOf(latestBlockNumber) }?.apply {
+                        setNumber(Numeric.encodeQuantity(number))
+                        setTimestamp(Numeric.encodeQuantity(timestamp))
+                        hash = Numeric.toHexStringWithPrefix(number)
+                        parentHash = Numeric.toHexStringWithPrefix(number.dec())
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    fun mustFallBackToLatestBlockWhenEndpointDoesNotHaveTrackedHeadBlock() {
+        val rpcService = FakeRpcService(latestBlockNumber = 100L)
+        val chainHandler = mock<ChainPropertiesHandler>()
+        val chainHeadTracker = mock<ChainHeadTracker>()
+
+        suppose("chain properties will be returned") {
+            call(chainHandler.getBlockchainProperties(CHAIN_SPEC))
+                .willReturn(chainProperties(rpcService, minBlockConfirmationsForCaching = null))
+        }
+
+        suppose("chain head tracker will return block which is not yet known to the endpoint") {
+            call(chainHeadTracker.getLatestBlockNumber(CHAIN_SPEC))
+                .willReturn(BlockNumber(BigInteger.valueOf(102L)))
+        }
+
+        val service = createService(chainHandler, chainHeadTracker)
+
+        verify("read-only function is called on latest block known to the endpoint") {
+            val result = service.callReadonlyFunction(CHAIN_SPEC, PARAMS, BlockName.LATEST)
+
+            expectThat(result.blockNumber)
+                .isEqualTo(BlockNumber(BigInteger.valueOf(100L)))
+            expectThat(result.timestamp)
+                .isEqualTo(TestData.TIMESTAMP)
+            expectThat(result.rawReturnValue)
+                .isEqualTo(CALL_RESULT)
+        }
+    }
+
+    @Test
+    fun mustServeReadonlyCallOnConfirmedBlockFromCache() {
+        val rpcService = FakeRpcService(latestBlockNumber = LATEST_BLOCK_NUMBER.value.longValueExact())
+        val cacheRepository = mock<Web3jBlockchainServiceCacheRepository>()
+        val service = createService(
+            chainHandler = chainHandler(rpcService, MIN_BLOCK_CONFIRMATIONS_FOR_CACHING),
+            chainHeadTracker = chainHeadTracker(LATEST_BLOCK_NUMBER),
+            cacheRepository = cacheRepository,
+            readonlyCallCacheProperties = ReadonlyCallCacheProperties(persistent = false)
+        )
+        val confirmedBlock = BlockNumber(BigInteger.valueOf(90L))
+
+        verify("read-only function is called only once and then served from cache") {
+            expectThat(service.callReadonlyFunction(CHAIN_SPEC, PARAMS, confirmedBlock).rawReturnValue)
+                .isEqualTo(CALL_RESULT)
+            expectThat(service.callReadonlyFunction(CHAIN_SPEC, PARAMS, confirmedBlock).rawReturnValue)
+                .isEqualTo(CALL_RESULT)
+            expectThat(rpcService.ethCalls)
+                .hasSize(1)
+
+            expectNoInteractions(cacheRepository)
+        }
+    }
+
+    @Test
+    fun mustNotCacheReadonlyCallOnLatestOrInsufficientlyConfirmedBlock() {
+        val rpcService = FakeRpcService(latestBlockNumber = LATEST_BLOCK_NUMBER.value.longValueExact())
+        val cacheRepository = mock<Web3jBlockchainServiceCacheRepository>()
+        val service = createService(
+            chainHandler = chainHandler(rpcService, MIN_BLOCK_CONFIRMATIONS_FOR_CACHING),
+            chainHeadTracker = chainHeadTracker(LATEST_BLOCK_NUMBER),
+            cacheRepository = cacheRepository
+        )
+        val shallowBlock = BlockNumber(BigInteger.valueOf(99L))
+
+        verify("read-only function is called every time and nothing is cached") {
+            service.callReadonlyFunction(CHAIN_SPEC, PARAMS, BlockName.LATEST)
+            service.callReadonlyFunction(CHAIN_SPEC, PARAMS, BlockName.LATEST)
+            service.callReadonlyFunction(CHAIN_SPEC, PARAMS, shallowBlock)
+            service.callReadonlyFunction(CHAIN_SPEC, PARAMS, shallowBlock)
+
+            expectThat(rpcService.ethCalls)
+                .hasSize(4)
+
+            expectNoInteractions(cacheRepository)
+        }
+    }
+
+    @Test
+    fun mustIncludeCallerAddressAndFunctionDataInReadonlyCallCacheKey() {
+        val rpcService = FakeRpcService(latestBlockNumber = LATEST_BLOCK_NUMBER.value.longValueExact())
+        val service = createService(
+            chainHandler = chainHandler(rpcService, MIN_BLOCK_CONFIRMATIONS_FOR_CACHING),
+            chainHeadTracker = chainHeadTracker(LATEST_BLOCK_NUMBER),
+            readonlyCallCacheProperties = ReadonlyCallCacheProperties(persistent = false)
+        )
+        val confirmedBlock = BlockNumber(BigInteger.valueOf(90L))
+        val otherCallerParams = PARAMS.copy(callerAddress = WalletAddress("c"))
+        val otherFunctionDataParams = PARAMS.copy(functionData = FunctionData("0x5678"))
+
+        verify("read-only function is called once for each distinct caller and function data") {
+            service.callReadonlyFunction(CHAIN_SPEC, PARAMS, confirmedBlock)
+            service.callReadonlyFunction(CHAIN_SPEC, otherCallerParams, confirmedBlock)
+            service.callReadonlyFunction(CHAIN_SPEC, otherFunctionDataParams, confirmedBlock)
+            service.callReadonlyFunction(CHAIN_SPEC, PARAMS, confirmedBlock)
+            service.callReadonlyFunction(CHAIN_SPEC, otherCallerParams, confirmedBlock)
+            service.callReadonlyFunction(CHAIN_SPEC, otherFunctionDataParams, confirmedBlock)
+
+            expectThat(rpcService.ethCalls.map { (it[0] as Transaction).let { tx -> Pair(tx.from, tx.data) } })
+                .isEqualTo(
+                    listOf(PARAMS, otherCallerParams, otherFunctionDataParams).map {
+                        Pair(it.callerAddress.rawValue, it.functionData.value)
+                    }
+                )
+        }
+    }
+
+    @Test
+    fun mustRefreshLastAccessTimeOfPersistedReadonlyCallServedFromMemoryCache() {
+        val rpcService = FakeRpcService(latestBlockNumber = LATEST_BLOCK_NUMBER.value.longValueExact())
+        val cacheRepository = mock<Web3jBlockchainServiceCacheRepository>()
+        val cacheId = FetchReadonlyCallCacheId(UUID.randomUUID())
+        val uuidProvider = mock<UuidProvider>()
+
+        suppose("some UUID will be returned") {
+            call(uuidProvider.getUuid(FetchReadonlyCallCacheId))
+                .willReturn(cacheId)
+        }
+
+        var now = TestData.TIMESTAMP
+        val service = createService(
+            chainHandler = chainHandler(rpcService, MIN_BLOCK_CONFIRMATIONS_FOR_CACHING),
+            chainHeadTracker = chainHeadTracker(LATEST_BLOCK_NUMBER),
+            cacheRepository = cacheRepository,
+            uuidProvider = uuidProvider,
+            utcDateTimeProvider = utcDateTimeProviderAt { now }
+        )
+        val confirmedBlock = BlockNumber(BigInteger.valueOf(90L))
+
+        suppose("read-only function is called and then served from memory cache over time") {
+            service.callReadonlyFunction(CHAIN_SPEC, PARAMS, confirmedBlock)
+            now = TestData.TIMESTAMP + 30.minutes
+            service.callReadonlyFunction(CHAIN_SPEC, PARAMS, confirmedBlock)
+            now = TestData.TIMESTAMP + 2.hours
+            service.callReadonlyFunction(CHAIN_SPEC, PARAMS, confirmedBlock)
+            now = TestData.TIMESTAMP + 150.minutes
+            service.callReadonlyFunction(CHAIN_SPEC, PARAMS, confirmedBlock)
+        }
+
+        verify("persisted read-only call is touched only once access resolution has passed") {
+            expectThat(rpcService.ethCalls)
+                .hasSize(1)
+
+            expectInteractions(cacheRepository) {
+                once.getCachedReadonlyFunctionCall(
+                    chainSpec = CHAIN_SPEC,
+                    contractAddress = PARAMS.contractAddress,
+                    callerAddress = PARAMS.callerAddress,
+                    functionData = PARAMS.functionData,
+                    blockNumber = confirmedBlock
+                )
+                once.cacheReadonlyFunctionCall(
+                    id = cacheId,
+                    chainSpec = CHAIN_SPEC,
+                    contractAddress = PARAMS.contractAddress,
+                    callerAddress = PARAMS.callerAddress,
+                    functionData = PARAMS.functionData,
+                    blockNumber = confirmedBlock,
+                    rawReturnValue = CALL_RESULT
+                )
+                once.touchReadonlyFunctionCall(
+                    chainSpec = CHAIN_SPEC,
+                    contractAddress = PARAMS.contractAddress,
+                    callerAddress = PARAMS.callerAddress,
+                    functionData = PARAMS.functionData,
+                    blockNumber = confirmedBlock
+                )
+            }
+        }
+    }
+
+    private fun chainHandler(
+        rpcService: FakeRpcService,
+        minBlockConfirmationsForCaching: BigInteger?
+    ): ChainPropertiesHandler {
+        val chainHandler = mock<ChainPropertiesHandler>()
+
+        suppose("chain properties will be returned") {
+            call(chainHandler.getBlockchainProperties(CHAIN_SPEC))
+                .willReturn(chainProperties(rpcService, minBlockConfirmationsForCaching))
+        }
+
+        return chainHandler
+    }
+
+    private fun chainHeadTracker(latestBlockNumber: BlockNumber): ChainHeadTracker {
+        val chainHeadTracker = mock<ChainHeadTracker>()
+
+        suppose("chain head tracker will return latest block number") {
+            call(chainHeadTracker.getLatestBlockNumber(CHAIN_SPEC))
+                .willReturn(latestBlockNumber)
+        }
+
+        return chainHeadTracker
+    }
+
+    private fun chainProperties(rpcService: FakeRpcService, minBlockConfirmationsForCaching: BigInteger?) =
+        ChainPropertiesWithServices(
+            web3j = Web3j.build(rpcService),
+            web3jService = rpcService,
+            latestBlockCacheDuration = Duration.ofSeconds(5L),
+            minBlockConfirmationsForCaching = minBlockConfirmationsForCaching
+        )
+
+    private fun utcDateTimeProviderAt(now: () -> UtcDateTime): UtcDateTimeProvider {
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willAnswer { now() }
+        }
+
+        return utcDateTimeProvider
+    }
+
+    private fun createService(
+        chainHandler: ChainPropertiesHandler,
+        chainHeadTracker: ChainHeadTracker,
+        cacheRepository: Web3jBlockchainServiceCacheRepository = mock(),
+        readonlyCallCacheProperties: ReadonlyCallCacheProperties = ReadonlyCallCacheProperties(),
+        uuidProvider: UuidProvider = RandomUuidProvider(),
+        utcDateTimeProvider: UtcDateTimeProvider = utcDateTimeProviderAt { TestData.TIMESTAMP }
+    ): Web3jBlockchainService =
+        Web3jBlockchainService(
+            abiDecoderService = mock(),
+            uuidProvider = uuidProvider,
+            utcDateTimeProvider = utcDateTimeProvider,
+            web3jBlockchainServiceCacheRepository = cacheRepository,
+            contractCreationTransactionProvider = mock(),
+            chainHandler = chainHandler,
+            chainHeadTracker = chainHeadTracker,
+            blockHeaderCache = BlockHeaderCache(utcDateTimeProvider, BlockHeaderCacheProperties()),
+            readonlyCallCacheProperties = readonlyCallCacheProperties,
+            cacheRetentionProperties = CacheRetentionProperties()
+        )
+}
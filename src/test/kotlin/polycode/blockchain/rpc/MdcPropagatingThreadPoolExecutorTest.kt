@@ -0,0 +1,58 @@
+package polycode.blockchain.rpc
+
+import org.junit.jupiter.api.Test
+import org.slf4j.MDC
+import polycode.TestBase
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+class MdcPropagatingThreadPoolExecutorTest : TestBase() {
+
+    @Test
+    fun mustRunTaskWithMdcOfSubmittingThread() {
+        val executor = MdcPropagatingThreadPoolExecutor(1, Executors.defaultThreadFactory())
+
+        try {
+            suppose("submitting thread has correlation ID in MDC") {
+                MDC.put("CID", "test-cid")
+            }
+
+            verify("task sees correlation ID and pooled thread MDC is cleared afterwards") {
+                expectThat(executor.submit(Callable { MDC.get("CID") }).get(1L, TimeUnit.SECONDS))
+                    .isEqualTo("test-cid")
+
+                MDC.clear()
+
+                expectThat(executor.submit(Callable { MDC.get("CID") }).get(1L, TimeUnit.SECONDS))
+                    .isNull()
+            }
+        } finally {
+            MDC.clear()
+            executor.shutdownNow()
+        }
+    }
+
+    @Test
+    fun mustRejectTaskWhenAllThreadsAreBusy() {
+        val executor = MdcPropagatingThreadPoolExecutor(1, Executors.defaultThreadFactory())
+        val release = CountDownLatch(1)
+
+        try {
+            suppose("only thread is busy") {
+                executor.execute { release.await() }
+            }
+
+            verify("next task is rejected") {
+                expectThrows<RejectedExecutionException> {
+                    executor.execute {}
+                }
+            }
+        } finally {
+            release.countDown()
+            executor.shutdownNow()
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package polycode.blockchain.rpc
+
+import org.junit.jupiter.api.AfterAll
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.web3j.protocol.Web3jService
+import org.web3j.protocol.core.Request
+import org.web3j.protocol.core.Response
+import org.web3j.protocol.core.methods.response.EthBlockNumber
+import org.web3j.protocol.core.methods.response.EthSendTransaction
+import polycode.TestBase
+import polycode.config.RpcRoutingProperties
+import java.io.IOException
+import java.math.BigInteger
+import java.time.Duration
+import java.util.concurrent.Executors
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RoutingWeb3jServiceTest : TestBase() {
+
+    companion object {
+        private val PROPERTIES = RpcRoutingProperties(
+            minHedgeDelay = Duration.ofMillis(10L),
+            maxHedgeDelay = Duration.ofMillis(50L)
+        )
+    }
+
+    private val executorService = Executors.newCachedThreadPool()
+
+    @AfterAll
+    fun afterAll() {
+        executorService.shutdownNow()
+    }
+
+    @Test
+    fun mustFailOverToNextEndpointWhenWriteRequestFails() {
+        val failingService = mock<Web3jService>()
+        val workingService = mock<Web3jService>()
+        val request = sendTransactionRequest(failingService)
+        val response = EthSendTransaction().apply { result = "0x1" }
+
+        suppose("first endpoint will fail") {
+            call(failingService.send(request, EthSendTransaction::class.java))
+                .willThrow(IOException())
+        }
+
+        suppose("second endpoint will return response") {
+            call(workingService.send(request, EthSendTransaction::class.java))
+                .willReturn(response)
+        }
+
+        val service = RoutingWeb3jService(
+            endpoints = listOf(RpcEndpoint(failingService, PROPERTIES), RpcEndpoint(workingService, PROPERTIES)),
+            rpcRoutingProperties = PROPERTIES,
+            executorService = executorService
+        )
+
+        verify("response from second endpoint is returned") {
+            expectThat(service.send(request, EthSendTransaction::class.java))
+                .isEqualTo(response)
+        }
+    }
+
+    @Test
+    fun mustHedgeReadRequestWhenFirstEndpointIsSlow() {
+        val slowService = mock<Web3jService>()
+        val fastService = mock<Web3jService>()
+        val request = blockNumberRequest(slowService)
+        val slowResponse = EthBlockNumber().apply { result = "0x1" }
+        val fastResponse = EthBlockNumber().apply { result = "0x2" }
+
+        suppose("first endpoint will be slow") {
+            call(slowService.send(request, EthBlockNumber::class.java))
+                .willAnswer {
+                    Thread.sleep(5_000L)
+                    slowResponse
+                }
+        }
+
+        suppose("second endpoint will be fast") {
+            call(fastService.send(request, EthBlockNumber::class.java))
+                .willReturn(fastResponse)
+        }
+
+        val service = RoutingWeb3jService(
+            endpoints = listOf(RpcEndpoint(slowService, PROPERTIES), RpcEndpoint(fastService, PROPERTIES)),
+            rpcRoutingProperties = PROPERTIES,
+            executorService = executorService
+        )
+
+        verify("response from second endpoint is returned without waiting for the first one") {
+            val startTime = System.nanoTime()
+
+            expectThat(service.send(request, EthBlockNumber::class.java))
+                .isEqualTo(fastResponse)
+            expectThat(Duration.ofNanos(System.nanoTime() - startTime) < Duration.ofSeconds(5L))
+                .isTrue()
+        }
+    }
+
+    @Test
+    fun mustNotRouteRequestsToLaggingEndpoint() {
+        val laggingService = mock<Web3jService>()
+        val syncedService = mock<Web3jService>()
+        val request = blockNumberRequest(syncedService)
+        val response = EthBlockNumber().apply { result = "0x64" }
+
+        suppose("synced endpoint will return response") {
+            call(syncedService.send(request, EthBlockNumber::class.java))
+                .willReturn(response)
+        }
+
+        val laggingEndpoint = RpcEndpoint(laggingService, PROPERTIES)
+        val syncedEndpoint = RpcEndpoint(syncedService, PROPERTIES)
+
+        suppose("first endpoint is lagging behind chain head") {
+            laggingEndpoint.observeBlockNumber(BigInteger.valueOf(10L))
+            syncedEndpoint.observeBlockNumber(BigInteger.valueOf(100L))
+        }
+
+        val service = RoutingWeb3jService(
+            endpoints = listOf(laggingEndpoint, syncedEndpoint),
+            rpcRoutingProperties = PROPERTIES.copy(maxHedgeDelay = Duration.ofSeconds(5L)),
+            executorService = executorService
+        )
+
+        verify("request is sent to synced endpoint") {
+            expectThat(service.send(request, EthBlockNumber::class.java))
+                .isEqualTo(response)
+            expectNoInteractions(laggingService)
+        }
+    }
+
+    @Test
+    fun mustFailOverToNextEndpointWhenReadRequestReturnsNodeError() {
+        val rateLimitedService = mock<Web3jService>()
+        val workingService = mock<Web3jService>()
+        val request = blockNumberRequest(rateLimitedService)
+        val errorResponse = EthBlockNumber().apply { error = Response.Error(-32005, "rate limit exceeded") }
+        val response = EthBlockNumber().apply { result = "0x1" }
+
+        suppose("first endpoint will return rate limit error") {
+            call(rateLimitedService.send(request, EthBlockNumber::class.java))
+                .willReturn(errorResponse)
+        }
+
+        suppose("second endpoint will return response") {
+            call(workingService.send(request, EthBlockNumber::class.java))
+                .willReturn(response)
+        }
+
+        val service = RoutingWeb3jService(
+            endpoints = listOf(
+                RpcEndpoint(rateLimitedService, PROPERTIES),
+                RpcEndpoint(workingService, PROPERTIES)
+            ),
+            rpcRoutingProperties = PROPERTIES.copy(maxHedgeDelay = Duration.ofSeconds(5L)),
+            executorService = executorService
+        )
+
+        verify("response from second endpoint is returned") {
+            expectThat(service.send(request, EthBlockNumber::class.java))
+                .isEqualTo(response)
+        }
+    }
+
+    @Test
+    fun mustReturnErrorResponseWhenAllEndpointsReturnNodeErrors() {
+        val firstService = mock<Web3jService>()
+        val secondService = mock<Web3jService>()
+        val request = sendTransactionRequest(firstService)
+        val errorResponse = EthSendTransaction().apply { error = Response.Error(-32603, "internal error") }
+
+        suppose("both endpoints will return internal error") {
+            call(firstService.send(request, EthSendTransaction::class.java))
+                .willReturn(errorResponse)
+            call(secondService.send(request, EthSendTransaction::class.java))
+                .willReturn(errorResponse)
+        }
+
+        val service = RoutingWeb3jService(
+            endpoints = listOf(RpcEndpoint(firstService, PROPERTIES), RpcEndpoint(secondService, PROPERTIES)),
+            rpcRoutingProperties = PROPERTIES,
+            executorService = executorService
+        )
+
+        verify("error response is returned") {
+            expectThat(service.send(request, EthSendTransaction::class.java))
+                .isEqualTo(errorResponse)
+        }
+    }
+
+    @Test
+    fun mustNotFailOverWhenRequestItselfIsRejected() {
+        val firstService = mock<Web3jService>()
+        val secondService = mock<Web3jService>()
+        val request = sendTransactionRequest(firstService)
+        val errorResponse = EthSendTransaction().apply { error = Response.Error(-32000, "nonce too low") }
+
+        suppose("first endpoint will reject transaction") {
+            call(firstService.send(request, EthSendTransaction::class.java))
+                .willReturn(errorResponse)
+        }
+
+        val service = RoutingWeb3jService(
+            endpoints = listOf(RpcEndpoint(firstService, PROPERTIES), RpcEndpoint(secondService, PROPERTIES)),
+            rpcRoutingProperties = PROPERTIES,
+            executorService = executorService
+        )
+
+        verify("error response is returned without sending request to second endpoint") {
+            expectThat(service.send(request, EthSendTransaction::class.java))
+                .isEqualTo(errorResponse)
+            expectNoInteractions(secondService)
+        }
+    }
+
+    private fun blockNumberRequest(service: Web3jService) =
+        Request("eth_blockNumber", emptyList<String>(), service, EthBlockNumber::class.java)
+
+    private fun sendTransactionRequest(service: Web3jService) =
+        Request("eth_sendRawTransaction", listOf("0x"), service, EthSendTransaction::class.java)
+}
@@ -0,0 +1,77 @@
+package polycode.blockchain.rpc
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Test
+import polycode.TestBase
+import polycode.config.RpcMetricsProperties
+import polycode.util.ChainId
+import java.net.SocketTimeoutException
+
+class RpcMetricsTest : TestBase() {
+
+    companion object {
+        private val CHAIN_ID = ChainId(1L)
+    }
+
+    @Test
+    fun mustRecordSuccessfulAndRpcErrorCalls() {
+        val meterRegistry = SimpleMeterRegistry()
+        val rpcMetrics = RpcMetrics(meterRegistry, RpcMetricsProperties())
+
+        suppose("some RPC calls are recorded") {
+            rpcMetrics.record(CHAIN_ID, "eth_call", { false }) { "result" }
+            rpcMetrics.record(CHAIN_ID, "eth_call", { false }) { "result" }
+            rpcMetrics.record(CHAIN_ID, "eth_call", { true }) { "error" }
+        }
+
+        verify("RPC calls are recorded per chain, method and outcome") {
+            expectThat(
+                meterRegistry.get("polycode.rpc.requests")
+                    .tags("chain", "1", "method", "eth_call", "outcome", "success")
+                    .timer()
+                    .count()
+            ).isEqualTo(2L)
+            expectThat(
+                meterRegistry.get("polycode.rpc.requests")
+                    .tags("chain", "1", "method", "eth_call", "outcome", "rpc_error")
+                    .timer()
+                    .count()
+            ).isEqualTo(1L)
+            expectThat(
+                meterRegistry.get("polycode.rpc.errors")
+                    .tags("chain", "1", "type", "rpc_error")
+                    .counter()
+                    .count()
+            ).isEqualTo(1.0)
+            expectThat(
+                meterRegistry.get("polycode.rpc.in.flight")
+                    .tags("chain", "1")
+                    .gauge()
+                    .value()
+            ).isEqualTo(0.0)
+        }
+    }
+
+    @Test
+    fun mustRecordTimedOutCalls() {
+        val meterRegistry = SimpleMeterRegistry()
+        val rpcMetrics = RpcMetrics(meterRegistry, RpcMetricsProperties())
+
+        verify("timeout exception is propagated") {
+            expectThrows<SocketTimeoutException> {
+                rpcMetrics.record<String>(CHAIN_ID, "eth_blockNumber", { false }) {
+                    throw SocketTimeoutException()
+                }
+            }
+        }
+
+        verify("timeout is recorded") {
+            expectThat(
+                meterRegistry.get("polycode.rpc.errors")
+                    .tags("chain", "1", "type", "timeout")
+                    .counter()
+                    .count()
+            ).isEqualTo(1.0)
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package polycode.config
+
+import org.junit.jupiter.api.Test
+import org.springframework.http.HttpHeaders
+import org.springframework.http.HttpStatus
+import org.springframework.http.MediaType
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import polycode.TestBase
+import polycode.features.contract.deployment.repository.InMemoryContractDecoratorRepository
+import polycode.service.RandomUuidProvider
+import polycode.util.ContractId
+import java.util.zip.GZIPInputStream
+import javax.servlet.FilterChain
+import javax.servlet.ServletRequest
+import javax.servlet.ServletResponse
+
+class ContractDecoratorCatalogCacheFilterTest : TestBase() {
+
+    companion object {
+        private const val PATH = "/v1/deployable-contracts/manifest.json"
+        private const val BODY = "{\"manifests\":[]}"
+    }
+
+    private class CountingFilterChain(private val body: String) : FilterChain {
+        var invocations = 0
+
+        override fun doFilter(request: ServletRequest, response: ServletResponse) {
+            invocations += 1
+            response.contentType = MediaType.APPLICATION_JSON_VALUE
+            response.writer.write(body)
+            response.writer.flush()
+        }
+    }
+
+    @Test
+    fun mustServeCachedResponseForRepeatedRequest() {
+        val repository = InMemoryContractDecoratorRepository()
+        val filter = createFilter(repository)
+        val filterChain = CountingFilterChain(BODY)
+
+        val firstResponse = MockHttpServletResponse()
+        val secondResponse = MockHttpServletResponse()
+
+        suppose("same catalog request is made twice") {
+            filter.doFilter(request(), firstResponse, filterChain)
+            filter.doFilter(request(), secondResponse, filterChain)
+        }
+
+        verify("controller was invoked only once and same response is returned") {
+            expectThat(filterChain.invocations)
+                .isEqualTo(1)
+            expectThat(firstResponse.contentAsString)
+                .isEqualTo(BODY)
+            expectThat(secondResponse.contentAsString)
+                .isEqualTo(BODY)
+            expectThat(secondResponse.contentType)
+                .isEqualTo(MediaType.APPLICATION_JSON_VALUE)
+            expectThat(secondResponse.getHeader(HttpHeaders.ETAG))
+                .isEqualTo(firstResponse.getHeader(HttpHeaders.ETAG))
+            expectThat(secondResponse.getHeader(CustomHeaders.CORRELATION_ID_HEADER))
+                .isNotNull()
+        }
+    }
+
+    @Test
+    fun mustReturnNotModifiedForMatchingETag() {
+        val repository = InMemoryContractDecoratorRepository()
+        val filter = createFilter(repository)
+        val filterChain = CountingFilterChain(BODY)
+        val firstResponse = MockHttpServletResponse()
+
+        suppose("catalog request is made") {
+            filter.doFilter(request(), firstResponse, filterChain)
+        }
+
+        val conditionalResponse = MockHttpServletResponse()
+
+        suppose("conditional catalog request is made") {
+            val request = request().apply {
+                addHeader(HttpHeaders.IF_NONE_MATCH, firstResponse.getHeader(HttpHeaders.ETAG)!!)
+            }
+            filter.doFilter(request, conditionalResponse, filterChain)
+        }
+
+        verify("not modified response is returned") {
+            expectThat(conditionalResponse.status)
+                .isEqualTo(HttpStatus.NOT_MODIFIED.value())
+            expectThat(conditionalResponse.contentAsString)
+                .isEmpty()
+        }
+    }
+
+    @Test
+    fun mustRebuildResponseWhenRepositoryRevisionChanges() {
+        val repository = InMemoryContractDecoratorRepository()
+        val filter = createFilter(repository)
+        val filterChain = CountingFilterChain(BODY)
+
+        suppose("catalog request is made") {
+            filter.doFilter(request(), MockHttpServletResponse(), filterChain)
+        }
+
+        suppose("contract decorator repository is modified") {
+            repository.store(ContractId("example"), "info-md")
+        }
+
+        suppose("catalog request is made again") {
+            filter.doFilter(request(), MockHttpServletResponse(), filterChain)
+        }
+
+        verify("controller was invoked again") {
+            expectThat(filterChain.invocations)
+                .isEqualTo(2)
+        }
+    }
+
+    @Test
+    fun mustServeGzippedResponseWhenAccepted() {
+        val repository = InMemoryContractDecoratorRepository()
+        val filter = createFilter(repository)
+        val body = "{\"manifests\":[${List(200) { "\"value-$it\"" }.joinToString(",")}]}"
+        val filterChain = CountingFilterChain(body)
+
+        suppose("catalog request is made") {
+            filter.doFilter(request(), MockHttpServletResponse(), filterChain)
+        }
+
+        val gzippedResponse = MockHttpServletResponse()
+
+        suppose("catalog request accepting gzip is made") {
+            val request = request().apply { addHeader(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=1.0") }
+            filter.doFilter(request, gzippedResponse, filterChain)
+        }
+
+        verify("gzipped response is returned") {
+            expectThat(gzippedResponse.getHeader(HttpHeaders.CONTENT_ENCODING))
+                .isEqualTo("gzip")
+            expectThat(String(GZIPInputStream(gzippedResponse.contentAsByteArray.inputStream()).readAllBytes()))
+                .isEqualTo(body)
+        }
+    }
+
+    @Test
+    fun mustNotCacheRequestsWithProjectId() {
+        val repository = InMemoryContractDecoratorRepository()
+        val filter = createFilter(repository)
+        val filterChain = CountingFilterChain(BODY)
+
+        suppose("same catalog request with project ID is made twice") {
+            val request = request().apply { setParameter("projectId", "cca8ad5c-5d8a-4a8e-9b7e-6d0d8c3b1c0f") }
+            filter.doFilter(request, MockHttpServletResponse(), filterChain)
+            filter.doFilter(request, MockHttpServletResponse(), filterChain)
+        }
+
+        verify("controller was invoked for both requests") {
+            expectThat(filterChain.invocations)
+                .isEqualTo(2)
+        }
+    }
+
+    @Test
+    fun mustServeCachedResponseForPermutedFiltersAndUnknownParameters() {
+        val repository = InMemoryContractDecoratorRepository()
+        val filter = createFilter(repository)
+        val filterChain = CountingFilterChain(BODY)
+
+        suppose("catalog request is made") {
+            val request = request().apply {
+                addParameter("tags", "tag-a AND tag-b", "tag-c")
+                addParameter("implements", "interface-a")
+            }
+            filter.doFilter(request, MockHttpServletResponse(), filterChain)
+        }
+
+        suppose("catalog request with permuted filters and unknown parameters is made") {
+            val request = request().apply {
+                addParameter("tags", "tag-c,tag-b AND tag-a")
+                addParameter("implements", "interface-a")
+                addParameter("unknown", "value")
+            }
+            filter.doFilter(request, MockHttpServletResponse(), filterChain)
+        }
+
+        verify("controller was invoked only once") {
+            expectThat(filterChain.invocations)
+                .isEqualTo(1)
+        }
+    }
+
+    @Test
+    fun mustNotServeCachedResponseForDifferentFilters() {
+        val repository = InMemoryContractDecoratorRepository()
+        val filter = createFilter(repository)
+        val filterChain = CountingFilterChain(BODY)
+
+        suppose("catalog request is made") {
+            val request = request().apply { addParameter("tags", "tag-a AND tag-b") }
+            filter.doFilter(request, MockHttpServletResponse(), filterChain)
+        }
+
+        suppose("catalog request with different filters is made") {
+            val request = request().apply { addParameter("tags", "tag-a", "tag-b") }
+            filter.doFilter(request, MockHttpServletResponse(), filterChain)
+        }
+
+        verify("controller was invoked for both requests") {
+            expectThat(filterChain.invocations)
+                .isEqualTo(2)
+        }
+    }
+
+    @Test
+    fun mustNotServeCachedResponseForDifferentAcceptedMediaTypes() {
+        val repository = InMemoryContractDecoratorRepository()
+        val filter = createFilter(repository)
+        val filterChain = CountingFilterChain(BODY)
+
+        suppose("catalog request accepting any media type is made") {
+            filter.doFilter(request(), MockHttpServletResponse(), filterChain)
+        }
+
+        suppose("catalog request accepting only markdown is made") {
+            val request = request().apply { addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_MARKDOWN_VALUE) }
+            filter.doFilter(request, MockHttpServletResponse(), filterChain)
+        }
+
+        suppose("catalog request accepting JSON with extra parameters is made") {
+            val request = request().apply { addHeader(HttpHeaders.ACCEPT, "application/json;q=0.9, text/plain") }
+            filter.doFilter(request, MockHttpServletResponse(), filterChain)
+        }
+
+        verify("controller was invoked for requests accepting different media types") {
+            expectThat(filterChain.invocations)
+                .isEqualTo(3)
+        }
+    }
+
+    @Test
+    fun mustNotCacheRequestsWhichDoNotAcceptProducedMediaTypes() {
+        val repository = InMemoryContractDecoratorRepository()
+        val filter = createFilter(repository)
+        val filterChain = CountingFilterChain(BODY)
+
+        suppose("same catalog request accepting only XML is made twice") {
+            val request = request().apply { addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_XML_VALUE) }
+            filter.doFilter(request, MockHttpServletResponse(), filterChain)
+            filter.doFilter(request, MockHttpServletResponse(), filterChain)
+        }
+
+        verify("controller was invoked for both requests") {
+            expectThat(filterChain.invocations)
+                .isEqualTo(2)
+        }
+    }
+
+    private fun createFilter(repository: InMemoryContractDecoratorRepository) =
+        ContractDecoratorCatalogCacheFilter(
+            contractDecoratorRepository = repository,
+            uuidProvider = RandomUuidProvider(),
+            contractDecoratorProperties = ContractDecoratorProperties(
+                contractsDirectory = null,
+                interfacesDirectory = null
+            )
+        )
+
+    private fun request() = MockHttpServletRequest("GET", PATH)
+}
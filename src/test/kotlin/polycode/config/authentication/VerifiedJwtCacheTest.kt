@@ -0,0 +1,108 @@
+package polycode.config.authentication
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import polycode.TestBase
+import polycode.TestData
+import polycode.exception.JwtTokenException
+import polycode.service.UtcDateTimeProvider
+import polycode.util.UtcDateTime
+import polycode.util.WalletAddress
+import java.security.KeyPair
+import java.security.KeyPairGenerator
+import java.security.interfaces.RSAPrivateKey
+import java.security.interfaces.RSAPublicKey
+import kotlin.time.Duration.Companion.days
+
+class VerifiedJwtCacheTest : TestBase() {
+
+    companion object {
+        private const val KEY_SIZE = 2048
+        private val KEY_PAIR = generateKeyPair()
+        private val OTHER_KEY_PAIR = generateKeyPair()
+
+        private fun generateKeyPair(): KeyPair =
+            KeyPairGenerator.getInstance("RSA").apply { initialize(KEY_SIZE) }.generateKeyPair()
+    }
+
+    private val meterRegistry = SimpleMeterRegistry()
+    private val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+    private val cache = VerifiedJwtCache(
+        publicKey = KEY_PAIR.public as RSAPublicKey,
+        utcDateTimeProvider = utcDateTimeProvider,
+        maxSize = 10,
+        meterRegistry = meterRegistry
+    )
+
+    @Test
+    fun mustReturnCachedTokenForRepeatedVerification() {
+        val token = JwtTokenUtils.encodeToken(WalletAddress("a"), KEY_PAIR.private as RSAPrivateKey, 1.days)
+
+        suppose("some timestamp before token expiry will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        verify("token is verified only once") {
+            val first = cache.getOrVerify(token.token)
+            val second = cache.getOrVerify(token.token)
+
+            expectThat(second)
+                .isSameAs(first)
+            expectThat(first.id)
+                .isEqualTo(token.id)
+            expectThat(meterRegistry.get("polycode.jwt.cache").tag("result", "hit").counter().count())
+                .isEqualTo(1.0)
+            expectThat(meterRegistry.get("polycode.jwt.cache").tag("result", "miss").counter().count())
+                .isEqualTo(1.0)
+            expectThat(meterRegistry.get("polycode.jwt.verification").timer().count())
+                .isEqualTo(1L)
+        }
+    }
+
+    @Test
+    fun mustVerifyExpiredCachedTokenAgain() {
+        val token = JwtTokenUtils.encodeToken(WalletAddress("a"), KEY_PAIR.private as RSAPrivateKey, 1.days)
+
+        suppose("some timestamp before token expiry will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        suppose("token is cached") {
+            cache.getOrVerify(token.token)
+        }
+
+        suppose("token expiry timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(UtcDateTime(token.validUntil.value))
+        }
+
+        verify("expired cached token is not returned") {
+            cache.getOrVerify(token.token)
+
+            expectThat(meterRegistry.get("polycode.jwt.cache").tag("result", "hit").counter().count())
+                .isEqualTo(0.0)
+            expectThat(meterRegistry.get("polycode.jwt.verification").timer().count())
+                .isEqualTo(2L)
+        }
+    }
+
+    @Test
+    fun mustNotCacheTokenSignedWithOtherKey() {
+        val token = JwtTokenUtils.encodeToken(WalletAddress("a"), OTHER_KEY_PAIR.private as RSAPrivateKey, 1.days)
+
+        verify("token signed with other key is rejected on each verification") {
+            expectThrows<JwtTokenException> {
+                cache.getOrVerify(token.token)
+            }
+            expectThrows<JwtTokenException> {
+                cache.getOrVerify(token.token)
+            }
+
+            expectThat(meterRegistry.get("polycode.jwt.verification").timer().count())
+                .isEqualTo(2L)
+        }
+    }
+}
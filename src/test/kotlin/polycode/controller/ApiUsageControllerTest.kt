@@ -3,21 +3,27 @@ package polycode.controller
 import org.junit.jupiter.api.Test
 import org.mockito.kotlin.mock
 import org.springframework.http.ResponseEntity
+import org.springframework.web.bind.annotation.RequestMethod
 import polycode.JsonSchemaDocumentation
 import polycode.TestBase
 import polycode.TestData
 import polycode.features.api.access.model.result.Project
 import polycode.features.api.access.model.result.UserWalletAddressIdentifier
 import polycode.features.api.usage.controller.ApiUsageController
+import polycode.features.api.usage.model.response.ApiDailyUsageResponse
 import polycode.features.api.usage.model.response.ApiUsagePeriodResponse
+import polycode.features.api.usage.model.result.ApiDailyUsage
 import polycode.features.api.usage.model.result.ApiUsagePeriod
+import polycode.features.api.usage.model.result.EndpointDailyUsage
 import polycode.features.api.usage.model.result.RequestUsage
+import polycode.features.api.usage.repository.ApiCallLogRepository
 import polycode.features.api.usage.repository.ApiRateLimitRepository
 import polycode.generated.jooq.id.ProjectId
 import polycode.generated.jooq.id.UserId
 import polycode.service.UtcDateTimeProvider
 import polycode.util.BaseUrl
 import polycode.util.WalletAddress
+import java.time.LocalDate
 import java.util.UUID
 import kotlin.time.Duration.Companion.days
 
@@ -52,6 +58,38 @@ class ApiUsageControllerTest : TestBase() {
                 endDate = (TestData.TIMESTAMP + 30.days).value
             )
         )
+        private val FROM_DATE = LocalDate.parse("2022-01-03")
+        private val TO_DATE = LocalDate.parse("2022-02-02")
+        private val API_DAILY_USAGE = ApiDailyUsage(
+            userId = USER_IDENTIFIER.id,
+            fromDate = FROM_DATE,
+            toDate = TO_DATE,
+            readCalls = listOf(
+                EndpointDailyUsage(
+                    date = FROM_DATE,
+                    requestMethod = null,
+                    requestPath = "/v1/read",
+                    callCount = 10L
+                )
+            ),
+            writeCalls = listOf(
+                EndpointDailyUsage(
+                    date = FROM_DATE,
+                    requestMethod = RequestMethod.POST,
+                    requestPath = "/v1/write",
+                    callCount = 2L
+                )
+            )
+        )
+        private val DAILY_RESPONSE = ResponseEntity.ok(
+            ApiDailyUsageResponse(
+                userId = USER_IDENTIFIER.id,
+                fromDate = FROM_DATE,
+                toDate = TO_DATE,
+                readCalls = API_DAILY_USAGE.readCalls,
+                writeCalls = API_DAILY_USAGE.writeCalls
+            )
+        )
     }
 
     @Test
@@ -70,7 +108,7 @@ class ApiUsageControllerTest : TestBase() {
                 .willReturn(TestData.TIMESTAMP)
         }
 
-        val controller = ApiUsageController(apiRateLimitRepository, utcDateTimeProvider)
+        val controller = ApiUsageController(apiRateLimitRepository, mock(), utcDateTimeProvider)
 
         verify("controller returns correct response") {
             val response = controller.getCurrentApiUsageInfoForUser(USER_IDENTIFIER)
@@ -98,7 +136,7 @@ class ApiUsageControllerTest : TestBase() {
                 .willReturn(TestData.TIMESTAMP)
         }
 
-        val controller = ApiUsageController(apiRateLimitRepository, utcDateTimeProvider)
+        val controller = ApiUsageController(apiRateLimitRepository, mock(), utcDateTimeProvider)
 
         verify("controller returns correct response") {
             val response = controller.getCurrentApiUsageInfoForApiKey(PROJECT)
@@ -109,4 +147,51 @@ class ApiUsageControllerTest : TestBase() {
                 .isEqualTo(RESPONSE)
         }
     }
+
+    @Test
+    fun mustCorrectlyGetDailyApiUsageInfoForUser() {
+        val apiCallLogRepository = mock<ApiCallLogRepository>()
+
+        suppose("some daily api usage will be returned") {
+            call(apiCallLogRepository.getDailyUsage(USER_IDENTIFIER.id, FROM_DATE, TO_DATE))
+                .willReturn(API_DAILY_USAGE)
+        }
+
+        val controller = ApiUsageController(mock(), apiCallLogRepository, mock())
+
+        verify("controller returns correct response") {
+            val response = controller.getDailyApiUsageInfoForUser(USER_IDENTIFIER, FROM_DATE, TO_DATE)
+
+            JsonSchemaDocumentation.createSchema(response.body!!.javaClass)
+
+            expectThat(response)
+                .isEqualTo(DAILY_RESPONSE)
+        }
+    }
+
+    @Test
+    fun mustCorrectlyGetDailyApiUsageInfoForApiKeyWithDefaultDateRange() {
+        val apiCallLogRepository = mock<ApiCallLogRepository>()
+
+        suppose("some daily api usage will be returned") {
+            call(apiCallLogRepository.getDailyUsage(USER_IDENTIFIER.id, FROM_DATE, TO_DATE))
+                .willReturn(API_DAILY_USAGE)
+        }
+
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        val controller = ApiUsageController(mock(), apiCallLogRepository, utcDateTimeProvider)
+
+        verify("controller returns correct response for last 30 days") {
+            val response = controller.getDailyApiUsageInfoForApiKey(PROJECT, null, null)
+
+            expectThat(response)
+                .isEqualTo(DAILY_RESPONSE)
+        }
+    }
 }
@@ -72,6 +72,7 @@ class ContractFunctionCallRequestControllerTest : TestBase() {
                 txHash = TransactionHash("tx-hash"),
                 functionName = "test",
                 functionParams = TestData.EMPTY_JSON_ARRAY,
+                functionData = FunctionData("00"),
                 ethAmount = Balance(BigInteger.TEN),
                 callerAddress = WalletAddress("a")
             ),
@@ -169,6 +170,7 @@ class ContractFunctionCallRequestControllerTest : TestBase() {
                 txHash = txHash,
                 functionName = "test",
                 functionParams = TestData.EMPTY_JSON_ARRAY,
+                functionData = FunctionData("00"),
                 ethAmount = Balance(BigInteger.TEN),
                 callerAddress = WalletAddress("a")
             ),
@@ -255,6 +257,7 @@ class ContractFunctionCallRequestControllerTest : TestBase() {
                 txHash = txHash,
                 functionName = "test",
                 functionParams = TestData.EMPTY_JSON_ARRAY,
+                functionData = FunctionData("00"),
                 ethAmount = Balance(BigInteger.TEN),
                 callerAddress = WalletAddress("a")
             ),
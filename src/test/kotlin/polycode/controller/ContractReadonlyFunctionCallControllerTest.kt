@@ -13,10 +13,17 @@ import polycode.features.contract.abi.model.StringType
 import polycode.features.contract.abi.model.UintType
 import polycode.features.contract.deployment.model.params.DeployedContractIdIdentifier
 import polycode.features.contract.readcall.controller.ContractReadonlyFunctionCallController
+import polycode.features.contract.readcall.model.params.CreateReadonlyFunctionCallBatchParams
 import polycode.features.contract.readcall.model.params.CreateReadonlyFunctionCallParams
 import polycode.features.contract.readcall.model.params.OutputParameter
+import polycode.features.contract.readcall.model.request.ReadonlyFunctionCallBatchItemRequest
+import polycode.features.contract.readcall.model.request.ReadonlyFunctionCallBatchRequest
 import polycode.features.contract.readcall.model.request.ReadonlyFunctionCallRequest
+import polycode.features.contract.readcall.model.response.ReadonlyFunctionCallBatchItemResponse
+import polycode.features.contract.readcall.model.response.ReadonlyFunctionCallBatchResponse
 import polycode.features.contract.readcall.model.response.ReadonlyFunctionCallResponse
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchItemResult
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchResult
 import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallResult
 import polycode.features.contract.readcall.service.ContractReadonlyFunctionCallService
 import polycode.generated.jooq.id.ContractDeploymentRequestId
@@ -107,4 +114,92 @@ class ContractReadonlyFunctionCallControllerTest : TestBase() {
                 )
         }
     }
+
+    @Test
+    fun mustCorrectlyCallContractReadonlyFunctions() {
+        val deployedContractId = ContractDeploymentRequestId(UUID.randomUUID())
+        val blockNumber = BlockNumber(BigInteger.TEN)
+        val callParams = CreateReadonlyFunctionCallParams(
+            identifier = DeployedContractIdIdentifier(deployedContractId),
+            blockNumber = blockNumber,
+            functionName = "example",
+            functionParams = emptyList(),
+            outputParams = listOf(OutputParameter(UintType)),
+            callerAddress = WalletAddress("a")
+        )
+        val params = CreateReadonlyFunctionCallBatchParams(
+            blockNumber = blockNumber,
+            calls = listOf(callParams)
+        )
+        val result = ReadonlyFunctionCallBatchResult(
+            blockNumber = blockNumber,
+            timestamp = TestData.TIMESTAMP,
+            results = listOf(
+                ReadonlyFunctionCallBatchItemResult(
+                    deployedContractId = deployedContractId,
+                    contractAddress = ContractAddress("cafebafe"),
+                    rawReturnValue = "0x1",
+                    returnValues = listOf(1),
+                    error = null
+                )
+            )
+        )
+        val project = Project(
+            id = ProjectId(UUID.randomUUID()),
+            ownerId = UserId(UUID.randomUUID()),
+            baseRedirectUrl = BaseUrl("base-redirect-url"),
+            chainId = ChainId(1337L),
+            customRpcUrl = "custom-rpc-url",
+            createdAt = TestData.TIMESTAMP
+        )
+        val service = mock<ContractReadonlyFunctionCallService>()
+
+        suppose("contract readonly function batch call request executed") {
+            call(service.callReadonlyContractFunctions(params, project))
+                .willReturn(result)
+        }
+
+        val controller = ContractReadonlyFunctionCallController(service, JsonConfig().objectMapper())
+
+        verify("controller returns correct response") {
+            val request = ReadonlyFunctionCallBatchRequest(
+                blockNumber = blockNumber.value,
+                calls = listOf(
+                    ReadonlyFunctionCallBatchItemRequest(
+                        deployedContractId = deployedContractId,
+                        deployedContractAlias = null,
+                        contractAddress = null,
+                        functionName = callParams.functionName,
+                        functionParams = callParams.functionParams,
+                        outputParams = callParams.outputParams,
+                        callerAddress = callParams.callerAddress.rawValue
+                    )
+                )
+            )
+            val response = controller.callReadonlyContractFunctions(project, request)
+
+            JsonSchemaDocumentation.createSchema(request.javaClass)
+            JsonSchemaDocumentation.createSchema(response.body!!.javaClass)
+
+            expectThat(response)
+                .isEqualTo(
+                    ResponseEntity.ok(
+                        ReadonlyFunctionCallBatchResponse(
+                            blockNumber = blockNumber.value,
+                            timestamp = TestData.TIMESTAMP.value,
+                            results = listOf(
+                                ReadonlyFunctionCallBatchItemResponse(
+                                    deployedContractId = deployedContractId,
+                                    contractAddress = ContractAddress("cafebafe").rawValue,
+                                    outputParams = response.body!!.results[0].outputParams,
+                                    returnValues = listOf(1),
+                                    rawReturnValue = "0x1",
+                                    error = null
+                                )
+                            )
+                        )
+                    )
+                )
+        }
+    }
 }
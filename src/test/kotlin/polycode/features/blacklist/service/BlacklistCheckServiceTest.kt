@@ -30,11 +30,11 @@ class BlacklistCheckServiceTest : TestBase() {
                 .willReturn(true)
         }
 
-        val basicJsonRestTemplate = mock<RestTemplate>()
+        val blacklistRestTemplate = mock<RestTemplate>()
 
         val service = BlacklistCheckServiceImpl(
             blacklistedAddressRepository = blacklistedAddressRepository,
-            basicJsonRestTemplate = basicJsonRestTemplate,
+            blacklistRestTemplate = blacklistRestTemplate,
             blacklistApiProperties = BlacklistApiProperties()
         )
 
@@ -46,7 +46,7 @@ class BlacklistCheckServiceTest : TestBase() {
                 once.exists(ADDRESS)
             }
 
-            expectNoInteractions(basicJsonRestTemplate)
+            expectNoInteractions(blacklistRestTemplate)
         }
     }
 
@@ -59,12 +59,12 @@ class BlacklistCheckServiceTest : TestBase() {
                 .willReturn(false)
         }
 
-        val basicJsonRestTemplate = mock<RestTemplate>()
+        val blacklistRestTemplate = mock<RestTemplate>()
         val blacklistApiProperties = BlacklistApiProperties()
 
         suppose("API will return some suspicious address") {
             call(
-                basicJsonRestTemplate.getForEntity(
+                blacklistRestTemplate.getForEntity(
                     "${blacklistApiProperties.url.removeSuffix("/")}/${ADDRESS.rawValue}",
                     Array<SuspiciousActivityResponse>::class.java
                 )
@@ -78,7 +78,7 @@ class BlacklistCheckServiceTest : TestBase() {
 
         val service = BlacklistCheckServiceImpl(
             blacklistedAddressRepository = blacklistedAddressRepository,
-            basicJsonRestTemplate = basicJsonRestTemplate,
+            blacklistRestTemplate = blacklistRestTemplate,
             blacklistApiProperties = BlacklistApiProperties()
         )
 
@@ -91,7 +91,7 @@ class BlacklistCheckServiceTest : TestBase() {
                 once.addAddress(ADDRESS)
             }
 
-            expectInteractions(basicJsonRestTemplate) {
+            expectInteractions(blacklistRestTemplate) {
                 once.getForEntity(
                     "${blacklistApiProperties.url.removeSuffix("/")}/${ADDRESS.rawValue}",
                     Array<SuspiciousActivityResponse>::class.java
@@ -109,12 +109,12 @@ class BlacklistCheckServiceTest : TestBase() {
                 .willReturn(false)
         }
 
-        val basicJsonRestTemplate = mock<RestTemplate>()
+        val blacklistRestTemplate = mock<RestTemplate>()
         val blacklistApiProperties = BlacklistApiProperties()
 
         suppose("API will return some non-suspicious address") {
             call(
-                basicJsonRestTemplate.getForEntity(
+                blacklistRestTemplate.getForEntity(
                     "${blacklistApiProperties.url.removeSuffix("/")}/${ADDRESS.rawValue}",
                     Array<SuspiciousActivityResponse>::class.java
                 )
@@ -128,7 +128,7 @@ class BlacklistCheckServiceTest : TestBase() {
 
         val service = BlacklistCheckServiceImpl(
             blacklistedAddressRepository = blacklistedAddressRepository,
-            basicJsonRestTemplate = basicJsonRestTemplate,
+            blacklistRestTemplate = blacklistRestTemplate,
             blacklistApiProperties = BlacklistApiProperties()
         )
 
@@ -140,7 +140,7 @@ class BlacklistCheckServiceTest : TestBase() {
                 once.exists(ADDRESS)
             }
 
-            expectInteractions(basicJsonRestTemplate) {
+            expectInteractions(blacklistRestTemplate) {
                 once.getForEntity(
                     "${blacklistApiProperties.url.removeSuffix("/")}/${ADDRESS.rawValue}",
                     Array<SuspiciousActivityResponse>::class.java
@@ -158,12 +158,12 @@ class BlacklistCheckServiceTest : TestBase() {
                 .willReturn(false)
         }
 
-        val basicJsonRestTemplate = mock<RestTemplate>()
+        val blacklistRestTemplate = mock<RestTemplate>()
         val blacklistApiProperties = BlacklistApiProperties()
 
         suppose("API will return some non-suspicious address") {
             call(
-                basicJsonRestTemplate.getForEntity(
+                blacklistRestTemplate.getForEntity(
                     "${blacklistApiProperties.url.removeSuffix("/")}/${ADDRESS.rawValue}",
                     Array<SuspiciousActivityResponse>::class.java
                 )
@@ -173,7 +173,7 @@ class BlacklistCheckServiceTest : TestBase() {
 
         val service = BlacklistCheckServiceImpl(
             blacklistedAddressRepository = blacklistedAddressRepository,
-            basicJsonRestTemplate = basicJsonRestTemplate,
+            blacklistRestTemplate = blacklistRestTemplate,
             blacklistApiProperties = BlacklistApiProperties()
         )
 
@@ -185,7 +185,7 @@ class BlacklistCheckServiceTest : TestBase() {
                 once.exists(ADDRESS)
             }
 
-            expectInteractions(basicJsonRestTemplate) {
+            expectInteractions(blacklistRestTemplate) {
                 once.getForEntity(
                     "${blacklistApiProperties.url.removeSuffix("/")}/${ADDRESS.rawValue}",
                     Array<SuspiciousActivityResponse>::class.java
@@ -203,12 +203,12 @@ class BlacklistCheckServiceTest : TestBase() {
                 .willReturn(false)
         }
 
-        val basicJsonRestTemplate = mock<RestTemplate>()
+        val blacklistRestTemplate = mock<RestTemplate>()
         val blacklistApiProperties = BlacklistApiProperties()
 
         suppose("API will return some suspicious address") {
             call(
-                basicJsonRestTemplate.getForEntity(
+                blacklistRestTemplate.getForEntity(
                     "${blacklistApiProperties.url.removeSuffix("/")}/${ADDRESS.rawValue}",
                     Array<SuspiciousActivityResponse>::class.java
                 )
@@ -224,7 +224,7 @@ class BlacklistCheckServiceTest : TestBase() {
 
         val service = BlacklistCheckServiceImpl(
             blacklistedAddressRepository = blacklistedAddressRepository,
-            basicJsonRestTemplate = basicJsonRestTemplate,
+            blacklistRestTemplate = blacklistRestTemplate,
             blacklistApiProperties = BlacklistApiProperties(timeout = 1.milliseconds.toJavaDuration())
         )
 
@@ -239,7 +239,7 @@ class BlacklistCheckServiceTest : TestBase() {
                 once.addAddress(ADDRESS)
             }
 
-            expectInteractions(basicJsonRestTemplate) {
+            expectInteractions(blacklistRestTemplate) {
                 once.getForEntity(
                     "${blacklistApiProperties.url.removeSuffix("/")}/${ADDRESS.rawValue}",
                     Array<SuspiciousActivityResponse>::class.java
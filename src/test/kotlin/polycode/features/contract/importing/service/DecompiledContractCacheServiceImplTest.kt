@@ -0,0 +1,108 @@
+package polycode.features.contract.importing.service
+
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import polycode.TestBase
+import polycode.TestData
+import polycode.config.ContractManifestServiceProperties
+import polycode.features.contract.deployment.model.json.ArtifactJson
+import polycode.features.contract.deployment.model.json.ManifestJson
+import polycode.features.contract.importing.model.json.DecompiledContractJson
+import polycode.features.contract.importing.repository.DecompiledContractCacheRepository
+import polycode.service.UtcDateTimeProvider
+import polycode.util.ContractBinaryData
+import polycode.util.Keccak256Hash
+
+class DecompiledContractCacheServiceImplTest : TestBase() {
+
+    companion object {
+        private val DEPLOYED_BYTECODE = ContractBinaryData("0123456789abcdef")
+        private val BYTECODE_HASH = Keccak256Hash.ofHexBytes(DEPLOYED_BYTECODE.withPrefix)
+        private val DECOMPILED_CONTRACT = DecompiledContractJson(
+            manifest = ManifestJson.EMPTY.copy(name = "name"),
+            artifact = ArtifactJson.EMPTY.copy(contractName = "contractName"),
+            infoMarkdown = "infoMd"
+        )
+        private val PROPERTIES = ContractManifestServiceProperties(baseUrl = "http://localhost")
+    }
+
+    @Test
+    fun mustServeDecompiledContractFromDatabaseAndThenFromMemoryCache() {
+        val repository = mock<DecompiledContractCacheRepository>()
+
+        suppose("decompiled contract is cached in the database") {
+            call(repository.getCachedDecompiledContract(BYTECODE_HASH))
+                .willReturn(DECOMPILED_CONTRACT)
+        }
+
+        val service = DecompiledContractCacheServiceImpl(repository, mock(), PROPERTIES)
+
+        verify("decompiled contract is fetched from the database only once") {
+            expectThat(service.getCachedDecompiledContract(DEPLOYED_BYTECODE))
+                .isEqualTo(DECOMPILED_CONTRACT)
+            expectThat(service.getCachedDecompiledContract(DEPLOYED_BYTECODE))
+                .isEqualTo(DECOMPILED_CONTRACT)
+
+            expectInteractions(repository) {
+                once.getCachedDecompiledContract(BYTECODE_HASH)
+            }
+        }
+    }
+
+    @Test
+    fun mustReturnNullForNonCachedDecompiledContract() {
+        val repository = mock<DecompiledContractCacheRepository>()
+
+        suppose("decompiled contract is not cached in the database") {
+            call(repository.getCachedDecompiledContract(BYTECODE_HASH))
+                .willReturn(null)
+        }
+
+        val service = DecompiledContractCacheServiceImpl(repository, mock(), PROPERTIES)
+
+        verify("null is returned and database is checked on each call") {
+            expectThat(service.getCachedDecompiledContract(DEPLOYED_BYTECODE))
+                .isNull()
+            expectThat(service.getCachedDecompiledContract(DEPLOYED_BYTECODE))
+                .isNull()
+
+            expectInteractions(repository) {
+                twice.getCachedDecompiledContract(BYTECODE_HASH)
+            }
+        }
+    }
+
+    @Test
+    fun mustCacheDecompiledContractWithoutBytecode() {
+        val repository = mock<DecompiledContractCacheRepository>()
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some UTC date-time will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        val service = DecompiledContractCacheServiceImpl(repository, utcDateTimeProvider, PROPERTIES)
+
+        suppose("decompiled contract with bytecode is cached") {
+            service.cacheDecompiledContract(
+                deployedBytecode = DEPLOYED_BYTECODE,
+                decompiledContract = DECOMPILED_CONTRACT.copy(
+                    artifact = DECOMPILED_CONTRACT.artifact.copy(
+                        bytecode = "abcdef${DEPLOYED_BYTECODE.value}",
+                        deployedBytecode = DEPLOYED_BYTECODE.value
+                    )
+                )
+            )
+        }
+
+        verify("decompiled contract is stored without bytecode and served from memory cache") {
+            expectThat(service.getCachedDecompiledContract(DEPLOYED_BYTECODE))
+                .isEqualTo(DECOMPILED_CONTRACT)
+
+            expectInteractions(repository) {
+                once.cacheDecompiledContract(BYTECODE_HASH, DECOMPILED_CONTRACT, TestData.TIMESTAMP)
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package polycode.features.functions.decoding.service
+
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import org.springframework.http.HttpHeaders
+import org.springframework.http.HttpStatus
+import org.springframework.http.ResponseEntity
+import org.springframework.web.client.HttpClientErrorException
+import org.springframework.web.client.RestTemplate
+import polycode.TestBase
+import polycode.TestData
+import polycode.config.ContractManifestServiceProperties
+import polycode.config.JsonConfig
+import polycode.features.functions.decoding.model.CachedFunctionSignature
+import polycode.features.functions.decoding.model.EthFunction
+import polycode.features.functions.decoding.model.FunctionSignature
+import polycode.features.functions.decoding.repository.FunctionSignatureCacheRepository
+import polycode.features.functions.decoding.service.ExternalFunctionDecoderService.Companion.Response
+import polycode.service.UtcDateTimeProvider
+import polycode.util.FunctionData
+import polycode.util.UtcDateTime
+
+class ExternalFunctionDecoderServiceTest : TestBase() {
+
+    companion object {
+        private const val SELECTOR = "0x12345678"
+        private const val PATH = "/function-signature/$SELECTOR"
+        private val DATA = FunctionData(SELECTOR)
+        private val PROPERTIES = ContractManifestServiceProperties(baseUrl = "http://localhost")
+        private val SIGNATURE = FunctionSignature(name = "example", inputs = emptyList())
+        private val FUNCTION = EthFunction(name = "example", arguments = emptyList())
+    }
+
+    @Test
+    fun mustFetchSignatureOnlyOnceAndServeItFromMemoryCache() {
+        val repository = mock<FunctionSignatureCacheRepository>()
+        val restTemplate = mock<RestTemplate>()
+
+        suppose("function signature will be returned by the API") {
+            call(restTemplate.getForEntity(PATH, Response::class.java))
+                .willReturn(ResponseEntity.ok(Response(name = SIGNATURE.name, inputs = SIGNATURE.inputs)))
+        }
+
+        val service = createService(restTemplate, repository, utcDateTimeProvider(TestData.TIMESTAMP))
+
+        verify("function is decoded and signature is fetched only once") {
+            expectThat(service.decode(DATA))
+                .isEqualTo(FUNCTION)
+            expectThat(service.decode(DATA))
+                .isEqualTo(FUNCTION)
+
+            expectInteractions(restTemplate) {
+                once.getForEntity(PATH, Response::class.java)
+            }
+            expectInteractions(repository) {
+                once.getCachedFunctionSignature(SELECTOR)
+                once.cacheFunctionSignature(SELECTOR, SIGNATURE, TestData.TIMESTAMP)
+            }
+        }
+    }
+
+    @Test
+    fun mustServeSignatureFromDatabaseCache() {
+        val repository = mock<FunctionSignatureCacheRepository>()
+
+        suppose("function signature is cached in the database") {
+            call(repository.getCachedFunctionSignature(SELECTOR))
+                .willReturn(CachedFunctionSignature(SIGNATURE, TestData.TIMESTAMP))
+        }
+
+        val restTemplate = mock<RestTemplate>()
+        val service = createService(restTemplate, repository, utcDateTimeProvider(TestData.TIMESTAMP))
+
+        verify("function is decoded without calling the API") {
+            expectThat(service.decode(DATA))
+                .isEqualTo(FUNCTION)
+
+            expectNoInteractions(restTemplate)
+        }
+    }
+
+    @Test
+    fun mustCacheUnknownSignatureUntilItExpires() {
+        val repository = mock<FunctionSignatureCacheRepository>()
+        val restTemplate = mock<RestTemplate>()
+
+        suppose("API will return not found") {
+            call(restTemplate.getForEntity(PATH, Response::class.java))
+                .willThrow(clientError(HttpStatus.NOT_FOUND))
+        }
+
+        val expiredAt = UtcDateTime(
+            TestData.TIMESTAMP.value + PROPERTIES.unknownFunctionSignatureCacheDuration.plusSeconds(1L)
+        )
+        val service = createService(
+            restTemplate = restTemplate,
+            repository = repository,
+            utcDateTimeProvider = utcDateTimeProvider(TestData.TIMESTAMP, TestData.TIMESTAMP, expiredAt)
+        )
+
+        verify("unknown signature is cached until it expires") {
+            expectThat(service.decode(DATA))
+                .isNull()
+            expectThat(service.decode(DATA))
+                .isNull()
+            expectThat(service.decode(DATA))
+                .isNull()
+
+            expectInteractions(restTemplate) {
+                twice.getForEntity(PATH, Response::class.java)
+            }
+            expectInteractions(repository) {
+                twice.getCachedFunctionSignature(SELECTOR)
+                once.cacheFunctionSignature(SELECTOR, null, TestData.TIMESTAMP)
+                once.cacheFunctionSignature(SELECTOR, null, expiredAt)
+            }
+        }
+    }
+
+    @Test
+    fun mustNotCacheSignatureWhenApiReturnsTransientError() {
+        val repository = mock<FunctionSignatureCacheRepository>()
+        val restTemplate = mock<RestTemplate>()
+
+        suppose("API will return too many requests") {
+            call(restTemplate.getForEntity(PATH, Response::class.java))
+                .willThrow(clientError(HttpStatus.TOO_MANY_REQUESTS))
+        }
+
+        val service = createService(restTemplate, repository, utcDateTimeProvider(TestData.TIMESTAMP))
+
+        verify("nothing is cached and API is called again") {
+            expectThat(service.decode(DATA))
+                .isNull()
+            expectThat(service.decode(DATA))
+                .isNull()
+
+            expectInteractions(restTemplate) {
+                twice.getForEntity(PATH, Response::class.java)
+            }
+            expectInteractions(repository) {
+                twice.getCachedFunctionSignature(SELECTOR)
+            }
+        }
+    }
+
+    private fun clientError(status: HttpStatus) =
+        HttpClientErrorException.create(status, status.reasonPhrase, HttpHeaders.EMPTY, ByteArray(0), null)
+
+    private fun utcDateTimeProvider(first: UtcDateTime, vararg next: UtcDateTime): UtcDateTimeProvider {
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some timestamps will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(first, *next)
+        }
+
+        return utcDateTimeProvider
+    }
+
+    private fun createService(
+        restTemplate: RestTemplate,
+        repository: FunctionSignatureCacheRepository,
+        utcDateTimeProvider: UtcDateTimeProvider
+    ) = ExternalFunctionDecoderService(
+        functionSignatureRestTemplate = restTemplate,
+        contractManifestServiceProperties = PROPERTIES,
+        abiDecoderService = mock(),
+        functionSignatureCacheRepository = repository,
+        utcDateTimeProvider = utcDateTimeProvider,
+        objectMapper = JsonConfig().objectMapper()
+    )
+}
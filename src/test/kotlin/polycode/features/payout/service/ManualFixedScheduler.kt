@@ -13,5 +13,7 @@ class ManualFixedScheduler : FixedScheduler {
 
     override fun shutdown() {}
 
+    override fun awaitTermination(timeout: Long, unit: TimeUnit): Boolean = true
+
     fun execute() = command?.run()
 }
@@ -559,6 +559,49 @@ class InMemoryContractDecoratorRepositoryTest : TestBase() {
         }
     }
 
+    @Test
+    fun mustCorrectlyUpdateFilterResultsWhenContractDecoratorsAreReplacedOrDeleted() {
+        val replaced = decorator(tags = listOf(ContractTag("1")), implements = listOf(InterfaceId("a")))
+        val deleted = decorator(tags = listOf(ContractTag("1")), implements = listOf(InterfaceId("a")))
+        val unchanged = decorator(tags = listOf(ContractTag("1")), implements = listOf(InterfaceId("b")))
+
+        val repository = InMemoryContractDecoratorRepository()
+
+        suppose("some contract decorators are stored") {
+            listOf(replaced, deleted, unchanged).forEach { repository.store(it) }
+        }
+
+        val replacement = replaced.copy(tags = listOf(ContractTag("2")))
+
+        suppose("some contract decorator is replaced and some is deleted") {
+            repository.store(replacement)
+            repository.delete(deleted.id)
+        }
+
+        verify("correct contract decorators are returned") {
+            expectThat(
+                repository.getAll(
+                    ContractDecoratorFilters(
+                        contractTags = OrList(AndList(ContractTag("1"))),
+                        contractImplements = OrList()
+                    )
+                )
+            )
+                .containsExactlyInAnyOrderElementsOf(listOf(unchanged))
+            expectThat(
+                repository.getAll(
+                    ContractDecoratorFilters(
+                        contractTags = OrList(AndList(ContractTag("2")), AndList(ContractTag("1"))),
+                        contractImplements = OrList(AndList(InterfaceId("a")))
+                    )
+                )
+            )
+                .containsExactlyInAnyOrderElementsOf(listOf(replacement))
+            expectThat(repository.getAll(ContractDecoratorFilters(OrList(), OrList())))
+                .containsExactlyInAnyOrderElementsOf(listOf(replacement, unchanged))
+        }
+    }
+
     private fun decorator(tags: List<ContractTag> = emptyList(), implements: List<InterfaceId> = emptyList()) =
         ContractDecorator(
             id = ContractId(UUID.randomUUID().toString()),
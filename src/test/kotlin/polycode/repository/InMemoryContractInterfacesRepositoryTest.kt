@@ -304,6 +304,70 @@ class InMemoryContractInterfacesRepositoryTest : TestBase() {
         }
     }
 
+    @Test
+    fun mustCorrectlyGetAllPartiallyContractInterfacesAfterInterfaceIsReplacedOrDeleted() {
+        val repository = InMemoryContractInterfacesRepository()
+
+        val id1 = InterfaceId("id-1")
+        val interfaceManifest1 = InterfaceManifestJson(
+            name = "name-1",
+            description = "description-1",
+            tags = setOf("interface-tag-1"),
+            eventDecorators = listOf(
+                simpleEventDecorator("Event(string)")
+            ),
+            functionDecorators = listOf(
+                simpleFunctionDecorator("nonMatchingFunction(string)")
+            )
+        )
+        val replacedInterfaceManifest1 = interfaceManifest1.copy(
+            functionDecorators = listOf(
+                simpleFunctionDecorator("function(string)")
+            )
+        )
+
+        val id2 = InterfaceId("id-2")
+        val interfaceManifest2 = InterfaceManifestJson(
+            name = "name-2",
+            description = "description-2",
+            tags = setOf("interface-tag-2"),
+            eventDecorators = emptyList(),
+            functionDecorators = listOf(
+                simpleFunctionDecorator("function(string)")
+            )
+        )
+
+        suppose("some contract interfaces are stored") {
+            repository.store(id1, interfaceManifest1)
+            repository.store(id2, interfaceManifest2)
+        }
+
+        suppose("contract interfaces are replaced and deleted") {
+            repository.store(id1, replacedInterfaceManifest1)
+            repository.delete(id2)
+        }
+
+        verify("correct contract interfaces are returned") {
+            expectThat(
+                repository.getAllWithPartiallyMatchingInterfaces(
+                    abiFunctionSignatures = setOf("function(string)"),
+                    abiEventSignatures = setOf("Event(string)")
+                )
+            ).containsExactlyInAnyOrderElementsOf(
+                listOf(
+                    InterfaceManifestJsonWithId(
+                        id = id1,
+                        name = "name-1",
+                        description = "description-1",
+                        tags = replacedInterfaceManifest1.tags,
+                        matchingEventDecorators = replacedInterfaceManifest1.eventDecorators,
+                        matchingFunctionDecorators = replacedInterfaceManifest1.functionDecorators
+                    )
+                )
+            )
+        }
+    }
+
     @Test
     fun mustNotGetPartiallyContractInterfacesWhenInterfaceHasSignaturesMoreThanAbi() {
         val repository = InMemoryContractInterfacesRepository()
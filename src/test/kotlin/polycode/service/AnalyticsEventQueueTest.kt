@@ -0,0 +1,129 @@
+package polycode.service
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import polycode.TestBase
+import polycode.config.AnalyticsQueueProperties
+import polycode.config.JsonConfig
+import polycode.features.api.analytics.model.AnalyticsEvent
+import polycode.features.api.analytics.service.AnalyticsEventQueue
+import java.nio.file.Path
+
+class AnalyticsEventQueueTest : TestBase() {
+
+    companion object {
+        private val OBJECT_MAPPER = JsonConfig().objectMapper()
+    }
+
+    @Test
+    fun mustDropOldestEventWhenQueueIsFull() {
+        val meterRegistry = SimpleMeterRegistry()
+        val queue = AnalyticsEventQueue(AnalyticsQueueProperties(capacity = 2), OBJECT_MAPPER, meterRegistry)
+
+        suppose("more events than queue capacity are offered") {
+            queue.offer(event(1L))
+            queue.offer(event(2L))
+            queue.offer(event(3L))
+        }
+
+        verify("oldest event is dropped") {
+            expectThat(queue.pollBatch(10))
+                .isEqualTo(listOf(event(2L), event(3L)))
+            expectThat(meterRegistry.get("polycode.analytics.queue.dropped").counter().count())
+                .isEqualTo(1.0)
+        }
+    }
+
+    @Test
+    fun mustSpillOldestEventWhenQueueIsFullAndRestoreItWhenQueueIsDrained(@TempDir spillDirectory: Path) {
+        val meterRegistry = SimpleMeterRegistry()
+        val queue = AnalyticsEventQueue(
+            analyticsQueueProperties = AnalyticsQueueProperties(capacity = 2, spillDirectory = spillDirectory),
+            objectMapper = OBJECT_MAPPER,
+            meterRegistry = meterRegistry
+        )
+
+        suppose("more events than queue capacity are offered") {
+            queue.offer(event(1L))
+            queue.offer(event(2L))
+            queue.offer(event(3L))
+        }
+
+        verify("offering events does not write to disk") {
+            expectThat(meterRegistry.get("polycode.analytics.queue.spilled").gauge().value())
+                .isEqualTo(0.0)
+        }
+
+        suppose("overflowing events are spilled") {
+            queue.spillOverflow()
+        }
+
+        verify("oldest event is spilled to disk") {
+            expectThat(meterRegistry.get("polycode.analytics.queue.spilled").gauge().value())
+                .isEqualTo(1.0)
+            expectThat(meterRegistry.get("polycode.analytics.queue.dropped").counter().count())
+                .isEqualTo(0.0)
+        }
+
+        verify("spilled event is restored after in-memory events are drained") {
+            expectThat(queue.pollBatch(10))
+                .isEqualTo(listOf(event(2L), event(3L)))
+            expectThat(queue.pollBatch(10))
+                .isEqualTo(listOf(event(1L)))
+            expectThat(meterRegistry.get("polycode.analytics.queue.spilled").gauge().value())
+                .isEqualTo(0.0)
+        }
+    }
+
+    @Test
+    fun mustReturnOverflowingEventsWhenQueueIsDrainedBeforeSpilling(@TempDir spillDirectory: Path) {
+        val queue = AnalyticsEventQueue(
+            analyticsQueueProperties = AnalyticsQueueProperties(capacity = 2, spillDirectory = spillDirectory),
+            objectMapper = OBJECT_MAPPER,
+            meterRegistry = SimpleMeterRegistry()
+        )
+
+        suppose("more events than queue capacity are offered") {
+            queue.offer(event(1L))
+            queue.offer(event(2L))
+            queue.offer(event(3L))
+        }
+
+        verify("overflowing event is returned after in-memory events are drained") {
+            expectThat(queue.pollBatch(10))
+                .isEqualTo(listOf(event(2L), event(3L)))
+            expectThat(queue.pollBatch(10))
+                .isEqualTo(listOf(event(1L)))
+        }
+    }
+
+    @Test
+    fun mustRestoreRemainingEventsSpilledBeforeRestart(@TempDir spillDirectory: Path) {
+        val properties = AnalyticsQueueProperties(capacity = 10, spillDirectory = spillDirectory)
+        val queue = AnalyticsEventQueue(properties, OBJECT_MAPPER, SimpleMeterRegistry())
+
+        suppose("remaining events are spilled on shutdown") {
+            queue.offer(event(2L))
+            queue.spillRemaining(listOf(event(1L)))
+        }
+
+        verify("spilled events are restored by new queue instance") {
+            val restartedQueue = AnalyticsEventQueue(properties, OBJECT_MAPPER, SimpleMeterRegistry())
+
+            expectThat(restartedQueue.pollBatch(10))
+                .isEqualTo(listOf(event(1L), event(2L)))
+        }
+    }
+
+    private fun event(eventTime: Long) =
+        AnalyticsEvent(
+            eventName = "Login",
+            eventTime = eventTime,
+            externalId = "external-id",
+            userAgent = "user-agent",
+            remoteAddr = "127.0.0.1",
+            sourceUrl = null,
+            customProperties = mapOf("projectId" to "project-id")
+        )
+}
@@ -0,0 +1,252 @@
+package polycode.service
+
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import polycode.TestBase
+import polycode.TestData
+import polycode.config.ApiCallLogProperties
+import polycode.config.ApiRateProperties
+import polycode.features.api.usage.repository.ApiCallLogRepository
+import polycode.features.api.usage.service.ApiCallLogMaintenanceService
+import polycode.features.payout.service.ManualFixedScheduler
+import java.time.Duration
+
+class ApiCallLogMaintenanceServiceTest : TestBase() {
+
+    companion object {
+        private val TODAY = TestData.TIMESTAMP.value.toLocalDate()
+        private val PROPERTIES = ApiCallLogProperties(partitionsAhead = 3, retentionDays = 30L)
+    }
+
+    @Test
+    fun mustCreatePartitionsRollupCompletedDaysAndDropExpiredPartitions() {
+        val apiCallLogRepository = mock<ApiCallLogRepository>()
+
+        suppose("maintenance lock will be acquired") {
+            call(apiCallLogRepository.tryWithMaintenanceLock(any()))
+                .willAnswer {
+                    it.getArgument<() -> Unit>(0).invoke()
+                    true
+                }
+        }
+        val lastRolledUpDate = TODAY.minusDays(3L)
+
+        suppose("some days are already rolled up") {
+            call(apiCallLogRepository.getLastRolledUpDate())
+                .willReturn(lastRolledUpDate, TODAY.minusDays(1L))
+        }
+
+        suppose("some partitions will be dropped") {
+            call(apiCallLogRepository.dropDailyPartitionsBefore(TODAY.minusDays(PROPERTIES.retentionDays)))
+                .willReturn(listOf("api_read_call_p20220101"))
+        }
+
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        val scheduler = ManualFixedScheduler()
+        val scheduledExecutorServiceProvider = mock<ScheduledExecutorServiceProvider>()
+
+        suppose("manual scheduler will be used") {
+            call(scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor(any()))
+                .willReturn(scheduler)
+        }
+
+        ApiCallLogMaintenanceService(
+            apiCallLogRepository = apiCallLogRepository,
+            utcDateTimeProvider = utcDateTimeProvider,
+            apiCallLogProperties = PROPERTIES,
+            apiRateProperties = ApiRateProperties(),
+            scheduledExecutorServiceProvider = scheduledExecutorServiceProvider
+        )
+
+        verify("partitions are created, completed days are rolled up and expired partitions are dropped") {
+            scheduler.execute()
+
+            expectInteractions(apiCallLogRepository) {
+                once.tryWithMaintenanceLock(any())
+                twice.getLastRolledUpDate()
+                once.createDailyPartitions(TODAY, TODAY.plusDays(3L))
+                once.rollupDailyCalls(TODAY.minusDays(2L), TestData.TIMESTAMP)
+                once.rollupDailyCalls(TODAY.minusDays(1L), TestData.TIMESTAMP)
+                once.dropDailyPartitionsBefore(TODAY.minusDays(PROPERTIES.retentionDays))
+            }
+        }
+    }
+
+    @Test
+    fun mustRollupFromFirstCallDateWhenNothingIsRolledUp() {
+        val apiCallLogRepository = mock<ApiCallLogRepository>()
+
+        suppose("maintenance lock will be acquired") {
+            call(apiCallLogRepository.tryWithMaintenanceLock(any()))
+                .willAnswer {
+                    it.getArgument<() -> Unit>(0).invoke()
+                    true
+                }
+        }
+        val firstCallDate = TODAY.minusDays(1L)
+
+        suppose("no days are rolled up before the first rollup") {
+            call(apiCallLogRepository.getLastRolledUpDate())
+                .willReturn(null, firstCallDate)
+        }
+
+        suppose("first call date will be returned") {
+            call(apiCallLogRepository.getFirstCallDate())
+                .willReturn(firstCallDate)
+        }
+
+        suppose("no partitions will be dropped") {
+            call(apiCallLogRepository.dropDailyPartitionsBefore(any()))
+                .willReturn(emptyList())
+        }
+
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        val scheduler = ManualFixedScheduler()
+        val scheduledExecutorServiceProvider = mock<ScheduledExecutorServiceProvider>()
+
+        suppose("manual scheduler will be used") {
+            call(scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor(any()))
+                .willReturn(scheduler)
+        }
+
+        ApiCallLogMaintenanceService(
+            apiCallLogRepository = apiCallLogRepository,
+            utcDateTimeProvider = utcDateTimeProvider,
+            apiCallLogProperties = PROPERTIES,
+            apiRateProperties = ApiRateProperties(),
+            scheduledExecutorServiceProvider = scheduledExecutorServiceProvider
+        )
+
+        verify("calls are rolled up from first call date") {
+            scheduler.execute()
+
+            expectInteractions(apiCallLogRepository) {
+                once.tryWithMaintenanceLock(any())
+                twice.getLastRolledUpDate()
+                once.getFirstCallDate()
+                once.createDailyPartitions(TODAY, TODAY.plusDays(3L))
+                once.rollupDailyCalls(firstCallDate, TestData.TIMESTAMP)
+                once.dropDailyPartitionsBefore(TODAY.minusDays(PROPERTIES.retentionDays))
+            }
+        }
+    }
+
+    @Test
+    fun mustNotDropPartitionsWhenNoCallsExist() {
+        val apiCallLogRepository = mock<ApiCallLogRepository>()
+
+        suppose("maintenance lock will be acquired") {
+            call(apiCallLogRepository.tryWithMaintenanceLock(any()))
+                .willAnswer {
+                    it.getArgument<() -> Unit>(0).invoke()
+                    true
+                }
+        }
+
+        suppose("no days are rolled up") {
+            call(apiCallLogRepository.getLastRolledUpDate())
+                .willReturn(null)
+        }
+
+        suppose("no calls exist") {
+            call(apiCallLogRepository.getFirstCallDate())
+                .willReturn(null)
+        }
+
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some timestamp will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        val scheduler = ManualFixedScheduler()
+        val scheduledExecutorServiceProvider = mock<ScheduledExecutorServiceProvider>()
+
+        suppose("manual scheduler will be used") {
+            call(scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor(any()))
+                .willReturn(scheduler)
+        }
+
+        ApiCallLogMaintenanceService(
+            apiCallLogRepository = apiCallLogRepository,
+            utcDateTimeProvider = utcDateTimeProvider,
+            apiCallLogProperties = PROPERTIES,
+            apiRateProperties = ApiRateProperties(),
+            scheduledExecutorServiceProvider = scheduledExecutorServiceProvider
+        )
+
+        verify("only partitions are created") {
+            scheduler.execute()
+
+            expectInteractions(apiCallLogRepository) {
+                once.tryWithMaintenanceLock(any())
+                twice.getLastRolledUpDate()
+                once.getFirstCallDate()
+                once.createDailyPartitions(TODAY, TODAY.plusDays(3L))
+            }
+        }
+    }
+
+    @Test
+    fun mustNotPerformMaintenanceWhenLockIsHeldByAnotherInstance() {
+        val apiCallLogRepository = mock<ApiCallLogRepository>()
+
+        suppose("maintenance lock will not be acquired") {
+            call(apiCallLogRepository.tryWithMaintenanceLock(any()))
+                .willReturn(false)
+        }
+
+        val scheduler = ManualFixedScheduler()
+        val scheduledExecutorServiceProvider = mock<ScheduledExecutorServiceProvider>()
+
+        suppose("manual scheduler will be used") {
+            call(scheduledExecutorServiceProvider.newSingleThreadScheduledExecutor(any()))
+                .willReturn(scheduler)
+        }
+
+        ApiCallLogMaintenanceService(
+            apiCallLogRepository = apiCallLogRepository,
+            utcDateTimeProvider = mock(),
+            apiCallLogProperties = PROPERTIES,
+            apiRateProperties = ApiRateProperties(),
+            scheduledExecutorServiceProvider = scheduledExecutorServiceProvider
+        )
+
+        verify("no maintenance is performed") {
+            scheduler.execute()
+
+            expectInteractions(apiCallLogRepository) {
+                once.tryWithMaintenanceLock(any())
+            }
+        }
+    }
+
+    @Test
+    fun mustRejectRetentionShorterThanApiUsagePeriod() {
+        verify("service cannot be created") {
+            expectThrows<IllegalArgumentException> {
+                ApiCallLogMaintenanceService(
+                    apiCallLogRepository = mock(),
+                    utcDateTimeProvider = mock(),
+                    apiCallLogProperties = PROPERTIES.copy(retentionDays = 7L),
+                    apiRateProperties = ApiRateProperties(usagePeriodDuration = Duration.ofDays(30L)),
+                    scheduledExecutorServiceProvider = mock()
+                )
+            }
+        }
+    }
+}
@@ -86,6 +86,7 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
             contractAddress = CONTRACT_ADDRESS,
             functionName = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionName,
             functionParams = RAW_FUNCTION_PARAMS,
+            functionData = ENCODED_FUNCTION_DATA,
             ethAmount = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.ethAmount,
             chainId = PROJECT.chainId,
             redirectUrl = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.redirectUrl!!.replace("\${id}", ID.value.toString()),
@@ -102,6 +103,7 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
             contractAddress = CONTRACT_ADDRESS,
             functionName = STORE_PARAMS.functionName,
             functionParams = STORE_PARAMS.functionParams,
+            functionData = STORE_PARAMS.functionData,
             ethAmount = STORE_PARAMS.ethAmount,
             chainId = STORE_PARAMS.chainId,
             redirectUrl = STORE_PARAMS.redirectUrl,
@@ -351,6 +353,45 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(request)
         }
 
+        val service = ContractFunctionCallRequestServiceImpl(
+            functionEncoderService = mock(),
+            contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
+            deployedContractIdentifierResolverService = service(mock()),
+            contractDeploymentRequestRepository = mock(),
+            contractDecoratorRepository = mock(),
+            importedContractDecoratorRepository = mock(),
+            blacklistCheckService = mock(),
+            ethCommonService = EthCommonServiceImpl(
+                uuidProvider = mock(),
+                utcDateTimeProvider = mock(),
+                blockchainService = mock()
+            ),
+            projectRepository = projectRepositoryMock(PROJECT.id),
+            objectMapper = JsonConfig().objectMapper()
+        )
+
+        verify("contract function call request with pending status is returned") {
+            expectThat(service.getContractFunctionCallRequest(ID))
+                .isEqualTo(
+                    request.withTransactionAndFunctionData(
+                        status = Status.PENDING,
+                        data = ENCODED_FUNCTION_DATA,
+                        transactionInfo = null
+                    )
+                )
+        }
+    }
+
+    @Test
+    fun mustEncodeFunctionDataForContractFunctionCallRequestWithoutStoredFunctionData() {
+        val contractFunctionCallRequestRepository = mock<ContractFunctionCallRequestRepository>()
+        val request = STORED_REQUEST.copy(functionData = null, txHash = null)
+
+        suppose("contract function call request without function data exists in the database") {
+            call(contractFunctionCallRequestRepository.getById(ID))
+                .willReturn(request)
+        }
+
         val functionEncoderService = mock<FunctionEncoderService>()
 
         suppose("function will be encoded") {
@@ -380,7 +421,7 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
             objectMapper = JsonConfig().objectMapper()
         )
 
-        verify("contract function call request with pending status is returned") {
+        verify("contract function call request with encoded function data is returned") {
             expectThat(service.getContractFunctionCallRequest(ID))
                 .isEqualTo(
                     request.withTransactionAndFunctionData(
@@ -409,20 +450,8 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(null)
         }
 
-        val functionEncoderService = mock<FunctionEncoderService>()
-
-        suppose("function will be encoded") {
-            call(
-                functionEncoderService.encode(
-                    functionName = request.functionName,
-                    arguments = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionParams
-                )
-            )
-                .willReturn(ENCODED_FUNCTION_DATA)
-        }
-
         val service = ContractFunctionCallRequestServiceImpl(
-            functionEncoderService = functionEncoderService,
+            functionEncoderService = mock(),
             contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
             deployedContractIdentifierResolverService = service(mock()),
             contractDeploymentRequestRepository = mock(),
@@ -468,20 +497,8 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(transactionInfo)
         }
 
-        val functionEncoderService = mock<FunctionEncoderService>()
-
-        suppose("function will be encoded") {
-            call(
-                functionEncoderService.encode(
-                    functionName = request.functionName,
-                    arguments = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionParams
-                )
-            )
-                .willReturn(ENCODED_FUNCTION_DATA)
-        }
-
         val service = ContractFunctionCallRequestServiceImpl(
-            functionEncoderService = functionEncoderService,
+            functionEncoderService = mock(),
             contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
             deployedContractIdentifierResolverService = service(mock()),
             contractDeploymentRequestRepository = mock(),
@@ -527,20 +544,8 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(transactionInfo)
         }
 
-        val functionEncoderService = mock<FunctionEncoderService>()
-
-        suppose("function will be encoded") {
-            call(
-                functionEncoderService.encode(
-                    functionName = request.functionName,
-                    arguments = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionParams
-                )
-            )
-                .willReturn(ENCODED_FUNCTION_DATA)
-        }
-
         val service = ContractFunctionCallRequestServiceImpl(
-            functionEncoderService = functionEncoderService,
+            functionEncoderService = mock(),
             contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
             deployedContractIdentifierResolverService = service(mock()),
             contractDeploymentRequestRepository = mock(),
@@ -586,20 +591,8 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(transactionInfo)
         }
 
-        val functionEncoderService = mock<FunctionEncoderService>()
-
-        suppose("function will be encoded") {
-            call(
-                functionEncoderService.encode(
-                    functionName = request.functionName,
-                    arguments = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionParams
-                )
-            )
-                .willReturn(ENCODED_FUNCTION_DATA)
-        }
-
         val service = ContractFunctionCallRequestServiceImpl(
-            functionEncoderService = functionEncoderService,
+            functionEncoderService = mock(),
             contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
             deployedContractIdentifierResolverService = service(mock()),
             contractDeploymentRequestRepository = mock(),
@@ -645,20 +638,8 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(transactionInfo)
         }
 
-        val functionEncoderService = mock<FunctionEncoderService>()
-
-        suppose("function will be encoded") {
-            call(
-                functionEncoderService.encode(
-                    functionName = request.functionName,
-                    arguments = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionParams
-                )
-            )
-                .willReturn(ENCODED_FUNCTION_DATA)
-        }
-
         val service = ContractFunctionCallRequestServiceImpl(
-            functionEncoderService = functionEncoderService,
+            functionEncoderService = mock(),
             contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
             deployedContractIdentifierResolverService = service(mock()),
             contractDeploymentRequestRepository = mock(),
@@ -704,20 +685,8 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(transactionInfo)
         }
 
-        val functionEncoderService = mock<FunctionEncoderService>()
-
-        suppose("function will be encoded") {
-            call(
-                functionEncoderService.encode(
-                    functionName = request.functionName,
-                    arguments = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionParams
-                )
-            )
-                .willReturn(ENCODED_FUNCTION_DATA)
-        }
-
         val service = ContractFunctionCallRequestServiceImpl(
-            functionEncoderService = functionEncoderService,
+            functionEncoderService = mock(),
             contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
             deployedContractIdentifierResolverService = service(mock()),
             contractDeploymentRequestRepository = mock(),
@@ -763,20 +732,8 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(transactionInfo)
         }
 
-        val functionEncoderService = mock<FunctionEncoderService>()
-
-        suppose("function will be encoded") {
-            call(
-                functionEncoderService.encode(
-                    functionName = request.functionName,
-                    arguments = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionParams
-                )
-            )
-                .willReturn(ENCODED_FUNCTION_DATA)
-        }
-
         val service = ContractFunctionCallRequestServiceImpl(
-            functionEncoderService = functionEncoderService,
+            functionEncoderService = mock(),
             contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
             deployedContractIdentifierResolverService = service(mock()),
             contractDeploymentRequestRepository = mock(),
@@ -822,20 +779,8 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(transactionInfo)
         }
 
-        val functionEncoderService = mock<FunctionEncoderService>()
-
-        suppose("function will be encoded") {
-            call(
-                functionEncoderService.encode(
-                    functionName = request.functionName,
-                    arguments = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionParams
-                )
-            )
-                .willReturn(ENCODED_FUNCTION_DATA)
-        }
-
         val service = ContractFunctionCallRequestServiceImpl(
-            functionEncoderService = functionEncoderService,
+            functionEncoderService = mock(),
             contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
             deployedContractIdentifierResolverService = service(mock()),
             contractDeploymentRequestRepository = mock(),
@@ -881,20 +826,8 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(transactionInfo)
         }
 
-        val functionEncoderService = mock<FunctionEncoderService>()
-
-        suppose("function will be encoded") {
-            call(
-                functionEncoderService.encode(
-                    functionName = request.functionName,
-                    arguments = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionParams
-                )
-            )
-                .willReturn(ENCODED_FUNCTION_DATA)
-        }
-
         val service = ContractFunctionCallRequestServiceImpl(
-            functionEncoderService = functionEncoderService,
+            functionEncoderService = mock(),
             contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
             deployedContractIdentifierResolverService = service(mock()),
             contractDeploymentRequestRepository = mock(),
@@ -937,20 +870,8 @@ class ContractFunctionCallRequestServiceTest : TestBase() {
                 .willReturn(listOf(request))
         }
 
-        val functionEncoderService = mock<FunctionEncoderService>()
-
-        suppose("function will be encoded") {
-            call(
-                functionEncoderService.encode(
-                    functionName = request.functionName,
-                    arguments = DEPLOYED_CONTRACT_ID_CREATE_PARAMS.functionParams
-                )
-            )
-                .willReturn(ENCODED_FUNCTION_DATA)
-        }
-
         val service = ContractFunctionCallRequestServiceImpl(
-            functionEncoderService = functionEncoderService,
+            functionEncoderService = mock(),
             contractFunctionCallRequestRepository = contractFunctionCallRequestRepository,
             deployedContractIdentifierResolverService = service(mock()),
             contractDeploymentRequestRepository = mock(),
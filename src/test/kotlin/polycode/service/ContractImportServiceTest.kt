@@ -35,6 +35,7 @@ import polycode.features.contract.importing.model.params.ImportContractParams
 import polycode.features.contract.importing.service.ContractDecompilerService
 import polycode.features.contract.importing.service.ContractImportServiceImpl
 import polycode.features.contract.importing.service.ContractImportServiceImpl.Companion.TypeAndValue
+import polycode.features.contract.importing.service.DecompiledContractCacheService
 import polycode.features.contract.readcall.model.params.ExecuteReadonlyFunctionCallParams
 import polycode.features.contract.readcall.model.params.OutputParameter
 import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallResult
@@ -387,6 +388,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = mock(),
@@ -538,6 +540,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = contractMetadataRepository,
@@ -682,6 +685,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = contractMetadataRepository,
@@ -736,6 +740,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = mock(),
@@ -798,6 +803,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = contractMetadataRepository,
@@ -854,6 +860,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = mock(),
             contractMetadataRepository = mock(),
@@ -892,6 +899,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = mock(),
             contractMetadataRepository = contractMetadataRepository,
@@ -938,6 +946,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = mock(),
             contractMetadataRepository = contractMetadataRepository,
@@ -984,6 +993,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = mock(),
             contractMetadataRepository = contractMetadataRepository,
@@ -1083,6 +1093,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = contractDecompilerService,
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = contractMetadataRepository,
@@ -1226,6 +1237,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = contractDecompilerService,
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = contractMetadataRepository,
@@ -1340,6 +1352,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = contractDecompilerService,
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = contractMetadataRepository,
@@ -1539,6 +1552,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = contractDecompilerService,
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = functionEncoderService,
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = contractMetadataRepository,
@@ -1712,6 +1726,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = contractDecompilerService,
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = contractMetadataRepository,
@@ -1916,6 +1931,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = contractDecompilerService,
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = functionEncoderService,
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = contractMetadataRepository,
@@ -1984,6 +2000,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = mock(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = mock(),
             contractMetadataRepository = mock(),
@@ -2029,6 +2046,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = mock(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = mock(),
             contractMetadataRepository = mock(),
@@ -2106,6 +2124,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = mock(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = mock(),
             contractMetadataRepository = mock(),
@@ -2163,6 +2182,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = mock(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = mock(),
             contractMetadataRepository = mock(),
@@ -2280,6 +2300,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = mock(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = mock(),
             contractMetadataRepository = mock(),
@@ -2531,6 +2552,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = mock(),
@@ -2577,6 +2599,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = mock(),
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = mock(),
@@ -2673,6 +2696,7 @@ class ContractImportServiceTest : TestBase() {
             abiDecoderService = EthereumAbiDecoderService(),
             contractDecompilerService = contractDecompilerService,
             abiProviderService = mock(),
+            decompiledContractCacheService = mock(),
             functionEncoderService = mock(),
             contractDeploymentRequestRepository = contractDeploymentRequestRepository,
             contractMetadataRepository = mock(),
@@ -2690,6 +2714,229 @@ class ContractImportServiceTest : TestBase() {
         }
     }
 
+    @Test
+    fun mustCorrectlyPreviewContractImportUsingCachedDecompiledContract() {
+        val contractDeploymentRequestRepository = mock<ContractDeploymentRequestRepository>()
+
+        suppose("null will be returned from contract deployment request repository") {
+            call(contractDeploymentRequestRepository.getByContractAddressAndChainId(CONTRACT_ADDRESS, CHAIN_ID))
+                .willReturn(null)
+        }
+
+        val blockchainService = mock<BlockchainService>()
+        val chainSpec = ChainSpec(CHAIN_ID, null)
+
+        suppose("contract deployment transaction will be found on blockchain") {
+            call(blockchainService.findContractDeploymentTransaction(chainSpec, CONTRACT_ADDRESS, EVENTS))
+                .willReturn(CONTRACT_DEPLOYMENT_TRANSACTION_INFO)
+        }
+
+        val decompiledContractCacheService = mock<DecompiledContractCacheService>()
+
+        suppose("decompiled contract will be returned from cache") {
+            call(
+                decompiledContractCacheService.getCachedDecompiledContract(CONTRACT_DEPLOYMENT_TRANSACTION_INFO.binary)
+            )
+                .willReturn(
+                    DecompiledContractJson(
+                        manifest = MANIFEST_JSON,
+                        artifact = ARTIFACT_JSON.copy(bytecode = "", deployedBytecode = ""),
+                        infoMarkdown = "infoMd"
+                    )
+                )
+        }
+
+        val contractDecompilerService = mock<ContractDecompilerService>()
+
+        val importedContractDecoratorRepository = mock<ImportedContractDecoratorRepository>()
+        val contractId = ContractId("imported-${CONTRACT_ADDRESS.rawValue}-${CHAIN_ID.value}")
+
+        suppose("imported contract decorator does not exist in the database") {
+            call(importedContractDecoratorRepository.getByContractIdAndProjectId(contractId, Constants.NIL_PROJECT_ID))
+                .willReturn(null)
+        }
+
+        val contractDecorator = CONTRACT_DECORATOR.copy(id = contractId)
+        val contractDecoratorId = ImportedContractDecoratorId(UUID.randomUUID())
+        val adjustedArtifactJson = ARTIFACT_JSON.copy(
+            bytecode = "$CONSTRUCTOR_BYTECODE$CONTRACT_BYTECODE",
+            deployedBytecode = CONTRACT_BYTECODE
+        )
+
+        suppose("imported contract decorator will be previewed in the database") {
+            call(
+                importedContractDecoratorRepository.store(
+                    id = contractDecoratorId,
+                    projectId = Constants.NIL_PROJECT_ID,
+                    contractId = contractId,
+                    manifestJson = MANIFEST_JSON,
+                    artifactJson = adjustedArtifactJson,
+                    infoMarkdown = "infoMd",
+                    importedAt = TestData.TIMESTAMP,
+                    previewOnly = true
+                )
+            )
+                .willReturn(contractDecorator)
+        }
+
+        val uuidProvider = mock<UuidProvider>()
+
+        suppose("some UUID will be returned") {
+            call(uuidProvider.getUuid(ImportedContractDecoratorId))
+                .willReturn(contractDecoratorId)
+        }
+
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some UTC date-time will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        val service = ContractImportServiceImpl(
+            abiDecoderService = EthereumAbiDecoderService(),
+            contractDecompilerService = contractDecompilerService,
+            abiProviderService = mock(),
+            decompiledContractCacheService = decompiledContractCacheService,
+            functionEncoderService = mock(),
+            contractDeploymentRequestRepository = contractDeploymentRequestRepository,
+            contractMetadataRepository = mock(),
+            contractDecoratorRepository = mock(),
+            importedContractDecoratorRepository = importedContractDecoratorRepository,
+            blockchainService = blockchainService,
+            uuidProvider = uuidProvider,
+            utcDateTimeProvider = utcDateTimeProvider,
+            objectMapper = objectMapper
+        )
+
+        verify("contract import is correctly previewed") {
+            expectThat(service.previewImport(CONTRACT_ADDRESS, chainSpec))
+                .isEqualTo(contractDecorator)
+        }
+
+        verify("contract was not decompiled nor cached again") {
+            expectNoInteractions(contractDecompilerService)
+            expectInteractions(decompiledContractCacheService) {
+                once.getCachedDecompiledContract(CONTRACT_DEPLOYMENT_TRANSACTION_INFO.binary)
+            }
+        }
+    }
+
+    @Test
+    fun mustDecompileAndCacheContractWhenPreviewingNonCachedContractImport() {
+        val contractDeploymentRequestRepository = mock<ContractDeploymentRequestRepository>()
+
+        suppose("null will be returned from contract deployment request repository") {
+            call(contractDeploymentRequestRepository.getByContractAddressAndChainId(CONTRACT_ADDRESS, CHAIN_ID))
+                .willReturn(null)
+        }
+
+        val blockchainService = mock<BlockchainService>()
+        val chainSpec = ChainSpec(CHAIN_ID, null)
+
+        suppose("contract deployment transaction will be found on blockchain") {
+            call(blockchainService.findContractDeploymentTransaction(chainSpec, CONTRACT_ADDRESS, EVENTS))
+                .willReturn(CONTRACT_DEPLOYMENT_TRANSACTION_INFO)
+        }
+
+        val decompiledContractCacheService = mock<DecompiledContractCacheService>()
+
+        suppose("decompiled contract is not cached") {
+            call(
+                decompiledContractCacheService.getCachedDecompiledContract(CONTRACT_DEPLOYMENT_TRANSACTION_INFO.binary)
+            )
+                .willReturn(null)
+        }
+
+        val contractDecompilerService = mock<ContractDecompilerService>()
+        val decompiledContract = DecompiledContractJson(
+            manifest = MANIFEST_JSON,
+            artifact = ARTIFACT_JSON,
+            infoMarkdown = "infoMd"
+        )
+
+        suppose("contract will be decompiled") {
+            call(contractDecompilerService.decompile(CONTRACT_DEPLOYMENT_TRANSACTION_INFO.binary))
+                .willReturn(decompiledContract)
+        }
+
+        val importedContractDecoratorRepository = mock<ImportedContractDecoratorRepository>()
+        val contractId = ContractId("imported-${CONTRACT_ADDRESS.rawValue}-${CHAIN_ID.value}")
+
+        suppose("imported contract decorator does not exist in the database") {
+            call(importedContractDecoratorRepository.getByContractIdAndProjectId(contractId, Constants.NIL_PROJECT_ID))
+                .willReturn(null)
+        }
+
+        val contractDecorator = CONTRACT_DECORATOR.copy(id = contractId)
+        val contractDecoratorId = ImportedContractDecoratorId(UUID.randomUUID())
+        val adjustedArtifactJson = ARTIFACT_JSON.copy(
+            bytecode = "$CONSTRUCTOR_BYTECODE$CONTRACT_BYTECODE",
+            deployedBytecode = CONTRACT_BYTECODE
+        )
+
+        suppose("imported contract decorator will be previewed in the database") {
+            call(
+                importedContractDecoratorRepository.store(
+                    id = contractDecoratorId,
+                    projectId = Constants.NIL_PROJECT_ID,
+                    contractId = contractId,
+                    manifestJson = MANIFEST_JSON,
+                    artifactJson = adjustedArtifactJson,
+                    infoMarkdown = "infoMd",
+                    importedAt = TestData.TIMESTAMP,
+                    previewOnly = true
+                )
+            )
+                .willReturn(contractDecorator)
+        }
+
+        val uuidProvider = mock<UuidProvider>()
+
+        suppose("some UUID will be returned") {
+            call(uuidProvider.getUuid(ImportedContractDecoratorId))
+                .willReturn(contractDecoratorId)
+        }
+
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some UTC date-time will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        val service = ContractImportServiceImpl(
+            abiDecoderService = EthereumAbiDecoderService(),
+            contractDecompilerService = contractDecompilerService,
+            abiProviderService = mock(),
+            decompiledContractCacheService = decompiledContractCacheService,
+            functionEncoderService = mock(),
+            contractDeploymentRequestRepository = contractDeploymentRequestRepository,
+            contractMetadataRepository = mock(),
+            contractDecoratorRepository = mock(),
+            importedContractDecoratorRepository = importedContractDecoratorRepository,
+            blockchainService = blockchainService,
+            uuidProvider = uuidProvider,
+            utcDateTimeProvider = utcDateTimeProvider,
+            objectMapper = objectMapper
+        )
+
+        verify("contract import is correctly previewed") {
+            expectThat(service.previewImport(CONTRACT_ADDRESS, chainSpec))
+                .isEqualTo(contractDecorator)
+        }
+
+        verify("contract was decompiled and cached") {
+            expectInteractions(contractDecompilerService) {
+                once.decompile(CONTRACT_DEPLOYMENT_TRANSACTION_INFO.binary)
+            }
+            expectInteractions(decompiledContractCacheService) {
+                once.getCachedDecompiledContract(CONTRACT_DEPLOYMENT_TRANSACTION_INFO.binary)
+                once.cacheDecompiledContract(CONTRACT_DEPLOYMENT_TRANSACTION_INFO.binary, decompiledContract)
+            }
+        }
+    }
+
     private fun param(solidityType: String, parameters: List<ContractParameter>? = null) = ContractParameter(
         name = "",
         description = "",
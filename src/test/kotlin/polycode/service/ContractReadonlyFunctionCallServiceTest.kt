@@ -7,15 +7,21 @@ import polycode.TestBase
 import polycode.TestData
 import polycode.blockchain.BlockchainService
 import polycode.blockchain.properties.ChainSpec
+import polycode.exception.ErrorCode
+import polycode.exception.ErrorResponse
 import polycode.features.api.access.model.result.Project
 import polycode.features.contract.abi.model.UintType
+import polycode.features.contract.deployment.model.params.DeployedContractAliasIdentifier
 import polycode.features.contract.deployment.model.params.DeployedContractIdIdentifier
 import polycode.features.contract.deployment.model.result.ContractDeploymentRequest
 import polycode.features.contract.deployment.repository.ContractDeploymentRequestRepository
 import polycode.features.contract.deployment.service.DeployedContractIdentifierResolverServiceImpl
+import polycode.features.contract.readcall.model.params.CreateReadonlyFunctionCallBatchParams
 import polycode.features.contract.readcall.model.params.CreateReadonlyFunctionCallParams
 import polycode.features.contract.readcall.model.params.ExecuteReadonlyFunctionCallParams
 import polycode.features.contract.readcall.model.params.OutputParameter
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchItemResult
+import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallBatchResult
 import polycode.features.contract.readcall.model.result.ReadonlyFunctionCallResult
 import polycode.features.contract.readcall.service.ContractReadonlyFunctionCallServiceImpl
 import polycode.features.functions.encoding.model.FunctionArgument
@@ -154,6 +160,216 @@ class ContractReadonlyFunctionCallServiceTest : TestBase() {
         }
     }
 
+    @Test
+    fun mustCorrectlyCallReadonlyFunctionsAndReturnErrorForUnresolvedContract() {
+        val functionEncoderService = mock<FunctionEncoderService>()
+        val missingIdentifier = DeployedContractAliasIdentifier("missing-alias")
+        val createParams = CreateReadonlyFunctionCallBatchParams(
+            blockNumber = BlockNumber(BigInteger.TEN),
+            calls = listOf(
+                CREATE_PARAMS,
+                CREATE_PARAMS.copy(identifier = missingIdentifier)
+            )
+        )
+
+        suppose("function will be encoded") {
+            call(
+                functionEncoderService.encode(
+                    functionName = CREATE_PARAMS.functionName,
+                    arguments = CREATE_PARAMS.functionParams
+                )
+            )
+                .willReturn(ENCODED_FUNCTION_DATA)
+        }
+
+        val contractDeploymentRequestRepository = mock<ContractDeploymentRequestRepository>()
+
+        suppose("deployed contracts are returned from database") {
+            call(
+                contractDeploymentRequestRepository.getAllByIdentifiers(
+                    ids = setOf(DEPLOYED_CONTRACT_ID),
+                    aliases = setOf(missingIdentifier.alias),
+                    contractAddresses = emptySet(),
+                    chainId = PROJECT.chainId,
+                    projectId = PROJECT.id
+                )
+            )
+                .willReturn(listOf(DEPLOYED_CONTRACT))
+        }
+
+        val blockchainService = mock<BlockchainService>()
+        val executedCallResult = ReadonlyFunctionCallBatchItemResult(
+            deployedContractId = null,
+            contractAddress = CONTRACT_ADDRESS,
+            rawReturnValue = "0x0",
+            returnValues = listOf(BigInteger.TWO),
+            error = null
+        )
+
+        suppose("blockchain service will return some value for resolved readonly function call") {
+            call(
+                blockchainService.callReadonlyFunctions(
+                    chainSpec = CHAIN_SPEC,
+                    params = listOf(
+                        ExecuteReadonlyFunctionCallParams(
+                            contractAddress = CONTRACT_ADDRESS,
+                            callerAddress = CALLER_ADDRESS,
+                            functionName = CREATE_PARAMS.functionName,
+                            functionData = ENCODED_FUNCTION_DATA,
+                            outputParams = listOf(OutputParameter(UintType))
+                        )
+                    ),
+                    blockParameter = BlockNumber(BigInteger.TEN)
+                )
+            ).willReturn(
+                ReadonlyFunctionCallBatchResult(
+                    blockNumber = BlockNumber(BigInteger.TEN),
+                    timestamp = TestData.TIMESTAMP,
+                    results = listOf(executedCallResult)
+                )
+            )
+        }
+
+        val service = ContractReadonlyFunctionCallServiceImpl(
+            functionEncoderService = functionEncoderService,
+            deployedContractIdentifierResolverService = service(contractDeploymentRequestRepository),
+            blockchainService = blockchainService
+        )
+
+        verify("contract readonly function calls are correctly executed") {
+            expectThat(
+                service.callReadonlyContractFunctions(createParams, PROJECT)
+            ).isEqualTo(
+                ReadonlyFunctionCallBatchResult(
+                    blockNumber = BlockNumber(BigInteger.TEN),
+                    timestamp = TestData.TIMESTAMP,
+                    results = listOf(
+                        executedCallResult.copy(deployedContractId = DEPLOYED_CONTRACT_ID),
+                        ReadonlyFunctionCallBatchItemResult(
+                            deployedContractId = null,
+                            contractAddress = null,
+                            rawReturnValue = null,
+                            returnValues = null,
+                            error = ErrorResponse(
+                                errorCode = ErrorCode.RESOURCE_NOT_FOUND,
+                                message = "Deployed contract not found or not yet deployed for identifier:" +
+                                    " $missingIdentifier"
+                            )
+                        )
+                    )
+                )
+            )
+        }
+    }
+
+    @Test
+    fun mustCorrectlyCallReadonlyFunctionsAndReturnErrorForCallWhichCannotBeEncoded() {
+        val functionEncoderService = mock<FunctionEncoderService>()
+        val brokenParams = CREATE_PARAMS.copy(functionName = "broken")
+        val createParams = CreateReadonlyFunctionCallBatchParams(
+            blockNumber = BlockNumber(BigInteger.TEN),
+            calls = listOf(CREATE_PARAMS, brokenParams)
+        )
+
+        suppose("first function will be encoded") {
+            call(
+                functionEncoderService.encode(
+                    functionName = CREATE_PARAMS.functionName,
+                    arguments = CREATE_PARAMS.functionParams
+                )
+            )
+                .willReturn(ENCODED_FUNCTION_DATA)
+        }
+
+        suppose("second function cannot be encoded") {
+            call(
+                functionEncoderService.encode(
+                    functionName = brokenParams.functionName,
+                    arguments = brokenParams.functionParams
+                )
+            )
+                .willThrow(IllegalArgumentException("cannot encode"))
+        }
+
+        val contractDeploymentRequestRepository = mock<ContractDeploymentRequestRepository>()
+
+        suppose("deployed contract is returned from database") {
+            call(
+                contractDeploymentRequestRepository.getAllByIdentifiers(
+                    ids = setOf(DEPLOYED_CONTRACT_ID),
+                    aliases = emptySet(),
+                    contractAddresses = emptySet(),
+                    chainId = PROJECT.chainId,
+                    projectId = PROJECT.id
+                )
+            )
+                .willReturn(listOf(DEPLOYED_CONTRACT))
+        }
+
+        val blockchainService = mock<BlockchainService>()
+        val executedCallResult = ReadonlyFunctionCallBatchItemResult(
+            deployedContractId = null,
+            contractAddress = CONTRACT_ADDRESS,
+            rawReturnValue = "0x0",
+            returnValues = listOf(BigInteger.TWO),
+            error = null
+        )
+
+        suppose("blockchain service will return some value for encoded readonly function call") {
+            call(
+                blockchainService.callReadonlyFunctions(
+                    chainSpec = CHAIN_SPEC,
+                    params = listOf(
+                        ExecuteReadonlyFunctionCallParams(
+                            contractAddress = CONTRACT_ADDRESS,
+                            callerAddress = CALLER_ADDRESS,
+                            functionName = CREATE_PARAMS.functionName,
+                            functionData = ENCODED_FUNCTION_DATA,
+                            outputParams = listOf(OutputParameter(UintType))
+                        )
+                    ),
+                    blockParameter = BlockNumber(BigInteger.TEN)
+                )
+            ).willReturn(
+                ReadonlyFunctionCallBatchResult(
+                    blockNumber = BlockNumber(BigInteger.TEN),
+                    timestamp = TestData.TIMESTAMP,
+                    results = listOf(executedCallResult)
+                )
+            )
+        }
+
+        val service = ContractReadonlyFunctionCallServiceImpl(
+            functionEncoderService = functionEncoderService,
+            deployedContractIdentifierResolverService = service(contractDeploymentRequestRepository),
+            blockchainService = blockchainService
+        )
+
+        verify("encodable call is executed and error is returned for the other one") {
+            expectThat(
+                service.callReadonlyContractFunctions(createParams, PROJECT)
+            ).isEqualTo(
+                ReadonlyFunctionCallBatchResult(
+                    blockNumber = BlockNumber(BigInteger.TEN),
+                    timestamp = TestData.TIMESTAMP,
+                    results = listOf(
+                        executedCallResult.copy(deployedContractId = DEPLOYED_CONTRACT_ID),
+                        ReadonlyFunctionCallBatchItemResult(
+                            deployedContractId = DEPLOYED_CONTRACT_ID,
+                            contractAddress = CONTRACT_ADDRESS,
+                            rawReturnValue = null,
+                            returnValues = null,
+                            error = ErrorResponse(
+                                errorCode = ErrorCode.INVALID_REQUEST_BODY,
+                                message = "Unable to encode arguments for function: ${brokenParams.functionName}"
+                            )
+                        )
+                    )
+                )
+            )
+        }
+    }
+
     private fun service(repository: ContractDeploymentRequestRepository) =
         DeployedContractIdentifierResolverServiceImpl(repository, mock())
 }
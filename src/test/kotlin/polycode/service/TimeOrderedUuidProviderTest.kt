@@ -0,0 +1,51 @@
+package polycode.service
+
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import polycode.TestBase
+import polycode.TestData
+import polycode.generated.jooq.id.ProjectId
+
+class TimeOrderedUuidProviderTest : TestBase() {
+
+    @Test
+    fun mustGenerateVersion7UuidWithCurrentTimestamp() {
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("some date-time will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        val uuid = TimeOrderedUuidProvider(utcDateTimeProvider).getRawUuid()
+
+        verify("UUID has correct version, variant and timestamp") {
+            expectThat(uuid.version())
+                .isEqualTo(7)
+            expectThat(uuid.variant())
+                .isEqualTo(2)
+            expectThat(uuid.mostSignificantBits ushr 16)
+                .isEqualTo(TestData.TIMESTAMP.value.toInstant().toEpochMilli())
+        }
+    }
+
+    @Test
+    fun mustGenerateStrictlyIncreasingUuidsWithinSameMillisecond() {
+        val utcDateTimeProvider = mock<UtcDateTimeProvider>()
+
+        suppose("same date-time will be returned") {
+            call(utcDateTimeProvider.getUtcDateTime())
+                .willReturn(TestData.TIMESTAMP)
+        }
+
+        val provider = TimeOrderedUuidProvider(utcDateTimeProvider)
+        val uuids = List(10_000) { provider.getUuid(ProjectId) }
+
+        verify("UUIDs are strictly increasing") {
+            expectThat(uuids.zipWithNext().all { it.first.value < it.second.value })
+                .isTrue()
+            expectThat(uuids.toSet().size)
+                .isEqualTo(uuids.size)
+        }
+    }
+}
@@ -3,9 +3,12 @@ package polycode.testcontainers
 import org.jooq.DSLContext
 import org.testcontainers.containers.PostgreSQLContainer
 import polycode.generated.jooq.tables.AddressBookTable
+import polycode.generated.jooq.tables.ApiCallRollupDayTable
 import polycode.generated.jooq.tables.ApiKeyTable
+import polycode.generated.jooq.tables.ApiReadCallDailyRollupTable
 import polycode.generated.jooq.tables.ApiReadCallTable
 import polycode.generated.jooq.tables.ApiUsagePeriodTable
+import polycode.generated.jooq.tables.ApiWriteCallDailyRollupTable
 import polycode.generated.jooq.tables.ApiWriteCallTable
 import polycode.generated.jooq.tables.AssetBalanceRequestTable
 import polycode.generated.jooq.tables.AssetMultiSendRequestTable
@@ -18,10 +21,12 @@ import polycode.generated.jooq.tables.ContractDeploymentRequestTable
 import polycode.generated.jooq.tables.ContractDeploymentTransactionCacheTable
 import polycode.generated.jooq.tables.ContractFunctionCallRequestTable
 import polycode.generated.jooq.tables.ContractMetadataTable
+import polycode.generated.jooq.tables.DecompiledContractCacheTable
 import polycode.generated.jooq.tables.Erc20LockRequestTable
 import polycode.generated.jooq.tables.FetchAccountBalanceCacheTable
 import polycode.generated.jooq.tables.FetchErc20AccountBalanceCacheTable
 import polycode.generated.jooq.tables.FetchTransactionInfoCacheTable
+import polycode.generated.jooq.tables.FunctionSignatureCacheTable
 import polycode.generated.jooq.tables.ImportedContractDecoratorTable
 import polycode.generated.jooq.tables.MerkleTreeLeafNodeTable
 import polycode.generated.jooq.tables.MerkleTreeRootTable
@@ -56,10 +61,15 @@ class PostgresTestContainer : PostgreSQLContainer<PostgresTestContainer>("postgr
             deleteFrom(ApiUsagePeriodTable).execute()
             deleteFrom(ApiWriteCallTable).execute()
             deleteFrom(ApiReadCallTable).execute()
+            deleteFrom(ApiWriteCallDailyRollupTable).execute()
+            deleteFrom(ApiReadCallDailyRollupTable).execute()
+            deleteFrom(ApiCallRollupDayTable).execute()
             deleteFrom(FetchAccountBalanceCacheTable).execute()
             deleteFrom(FetchErc20AccountBalanceCacheTable).execute()
             deleteFrom(FetchTransactionInfoCacheTable).execute()
             deleteFrom(ContractDeploymentTransactionCacheTable).execute()
+            deleteFrom(FunctionSignatureCacheTable).execute()
+            deleteFrom(DecompiledContractCacheTable).execute()
             deleteFrom(AssetSnapshotTable).execute()
             deleteFrom(MerkleTreeLeafNodeTable).execute()
             deleteFrom(MerkleTreeRootTable).execute()
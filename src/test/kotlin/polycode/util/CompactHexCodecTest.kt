@@ -0,0 +1,52 @@
+package polycode.util
+
+import org.junit.jupiter.api.Test
+import polycode.TestBase
+
+class CompactHexCodecTest : TestBase() {
+
+    @Test
+    fun mustStoreHexDataInBinaryForm() {
+        val functionData = FunctionData("0x13af4035000000000000000000000000000000000000000000000000000000000000000b")
+        val contractBinaryData = ContractBinaryData("001122")
+
+        verify("hex data is stored as tag byte followed by binary data") {
+            expectThat(functionData.binary.size)
+                .isEqualTo(functionData.withoutPrefix.length / 2 + 1)
+            expectThat(contractBinaryData.binary.size)
+                .isEqualTo(4)
+        }
+
+        verify("hex data is correctly decoded") {
+            expectThat(FunctionData(functionData.binary))
+                .isEqualTo(functionData)
+            expectThat(ContractBinaryData(contractBinaryData.binary))
+                .isEqualTo(contractBinaryData)
+            expectThat(FunctionData(FunctionData.EMPTY.binary))
+                .isEqualTo(FunctionData.EMPTY)
+        }
+    }
+
+    @Test
+    fun mustRoundTripNonHexData() {
+        val functionData = FunctionData("encoded")
+        val oddLengthContractBinaryData = ContractBinaryData("0x0123456")
+
+        verify("non-hex data is correctly decoded") {
+            expectThat(FunctionData(functionData.binary))
+                .isEqualTo(functionData)
+            expectThat(ContractBinaryData(oddLengthContractBinaryData.binary))
+                .isEqualTo(oddLengthContractBinaryData)
+        }
+    }
+
+    @Test
+    fun mustDecodeLegacyData() {
+        verify("legacy data is correctly decoded") {
+            expectThat(FunctionData("0x1234".toByteArray()))
+                .isEqualTo(FunctionData("0x1234"))
+            expectThat(ContractBinaryData("001122".toByteArray()))
+                .isEqualTo(ContractBinaryData("001122"))
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package polycode.util
+
+import org.junit.jupiter.api.Test
+import polycode.TestBase
+import java.math.BigInteger
+
+class KarySearchTest : TestBase() {
+
+    companion object {
+        private const val PIVOTS_PER_ROUND = 4
+
+        private enum class SearchDirection {
+            LOWER, UPPER
+        }
+
+        private fun withTarget(target: BigInteger): (List<BigInteger>) -> List<SearchDirection> =
+            { pivots -> pivots.map { if (it > target) SearchDirection.UPPER else SearchDirection.LOWER } }
+
+        private val isLower: (SearchDirection) -> Boolean = { it == SearchDirection.LOWER }
+        private val isUpper: (SearchDirection) -> Boolean = { it == SearchDirection.UPPER }
+    }
+
+    @Test
+    fun karySearchWorksCorrectlyForEvenNumberInterval() {
+        val lowerBound = BigInteger("100")
+        val upperBound = BigInteger("500")
+        val target = BigInteger("400")
+
+        verify("k-ary search will find correct value for even number interval") {
+            val result = KarySearch(
+                lowerBound = lowerBound,
+                upperBound = upperBound,
+                pivotsPerRound = PIVOTS_PER_ROUND,
+                getValues = withTarget(target),
+                updateLowerBound = isLower,
+                updateUpperBound = isUpper
+            )
+
+            expectThat(result)
+                .isEqualTo(target)
+        }
+    }
+
+    @Test
+    fun karySearchWorksCorrectlyForOddNumberInterval() {
+        val lowerBound = BigInteger("98")
+        val upperBound = BigInteger("503")
+        val target = BigInteger("400")
+
+        verify("k-ary search will find correct value for odd number interval") {
+            val result = KarySearch(
+                lowerBound = lowerBound,
+                upperBound = upperBound,
+                pivotsPerRound = PIVOTS_PER_ROUND,
+                getValues = withTarget(target),
+                updateLowerBound = isLower,
+                updateUpperBound = isUpper
+            )
+
+            expectThat(result)
+                .isEqualTo(target)
+        }
+    }
+
+    @Test
+    fun karySearchWorksCorrectlyForSameLowerAndUpperBounds() {
+        val lowerBound = BigInteger("400")
+        val upperBound = BigInteger("400")
+        val target = BigInteger("400")
+
+        verify("k-ary search will find correct value for same lower and upper bounds") {
+            val result = KarySearch(
+                lowerBound = lowerBound,
+                upperBound = upperBound,
+                pivotsPerRound = PIVOTS_PER_ROUND,
+                getValues = withTarget(target),
+                updateLowerBound = isLower,
+                updateUpperBound = isUpper
+            )
+
+            expectThat(result)
+                .isEqualTo(target)
+        }
+    }
+
+    @Test
+    fun karySearchReturnsLowerBoundForReversedBounds() {
+        val lowerBound = BigInteger("500")
+        val upperBound = BigInteger("100")
+        val target = BigInteger("400")
+
+        verify("k-ary search will return numerically lower bound for reversed bounds") {
+            val result = KarySearch(
+                lowerBound = lowerBound,
+                upperBound = upperBound,
+                pivotsPerRound = PIVOTS_PER_ROUND,
+                getValues = withTarget(target),
+                updateLowerBound = isLower,
+                updateUpperBound = isUpper
+            )
+
+            expectThat(result)
+                .isEqualTo(BigInteger("100"))
+        }
+    }
+
+    @Test
+    fun karySearchWorksCorrectlyWithSinglePivotPerRound() {
+        val lowerBound = BigInteger("0")
+        val upperBound = BigInteger("1000")
+        val target = BigInteger("737")
+
+        verify("k-ary search with single pivot per round will find correct value") {
+            val result = KarySearch(
+                lowerBound = lowerBound,
+                upperBound = upperBound,
+                pivotsPerRound = 1,
+                getValues = withTarget(target),
+                updateLowerBound = isLower,
+                updateUpperBound = isUpper
+            )
+
+            expectThat(result)
+                .isEqualTo(target)
+        }
+    }
+
+    @Test
+    fun karySearchUsesFewerRoundsThanBinarySearch() {
+        val lowerBound = BigInteger("0")
+        val upperBound = BigInteger("20000000")
+        val target = BigInteger("12345678")
+        var rounds = 0
+
+        verify("k-ary search will find correct value in fewer rounds") {
+            val result = KarySearch(
+                lowerBound = lowerBound,
+                upperBound = upperBound,
+                pivotsPerRound = 15,
+                getValues = { pivots ->
+                    rounds += 1
+                    withTarget(target)(pivots)
+                },
+                updateLowerBound = isLower,
+                updateUpperBound = isUpper
+            )
+
+            expectThat(result)
+                .isEqualTo(target)
+            expectThat(rounds)
+                .isEqualTo(6)
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package polycode.util
+
+import org.junit.jupiter.api.Test
+import polycode.TestBase
+
+class LruCacheTest : TestBase() {
+
+    @Test
+    fun mustReturnStoredValues() {
+        val cache = LruCache<String, Int>(2)
+
+        suppose("some values are stored in the cache") {
+            cache["a"] = 1
+            cache["b"] = 2
+        }
+
+        verify("stored values are returned") {
+            expectThat(cache["a"])
+                .isEqualTo(1)
+            expectThat(cache["b"])
+                .isEqualTo(2)
+            expectThat(cache["c"])
+                .isNull()
+        }
+    }
+
+    @Test
+    fun mustEvictLeastRecentlyUsedValue() {
+        val cache = LruCache<String, Int>(2)
+
+        suppose("cache is filled") {
+            cache["a"] = 1
+            cache["b"] = 2
+        }
+
+        suppose("first value is accessed and new value is stored") {
+            cache["a"]
+            cache["c"] = 3
+        }
+
+        verify("least recently used value is evicted") {
+            expectThat(cache.size)
+                .isEqualTo(2)
+            expectThat(cache["a"])
+                .isEqualTo(1)
+            expectThat(cache["b"])
+                .isNull()
+            expectThat(cache["c"])
+                .isEqualTo(3)
+        }
+    }
+
+    @Test
+    fun mustRemoveValues() {
+        val cache = LruCache<String, Int>(2)
+
+        suppose("some values are stored in the cache") {
+            cache["a"] = 1
+            cache["b"] = 2
+        }
+
+        suppose("some value is removed") {
+            cache.remove("a")
+        }
+
+        verify("value is removed") {
+            expectThat(cache["a"])
+                .isNull()
+            expectThat(cache["b"])
+                .isEqualTo(2)
+        }
+    }
+
+    @Test
+    fun mustEvictLeastRecentlyUsedValuesWhenMaxWeightIsExceeded() {
+        val cache = LruCache<String, String>(maxSize = 10, maxWeight = 6L) { _, value -> value.length.toLong() }
+
+        suppose("cache is filled up to max weight") {
+            cache["a"] = "aa"
+            cache["b"] = "bb"
+            cache["c"] = "cc"
+        }
+
+        suppose("first value is accessed and new value is stored") {
+            cache["a"]
+            cache["d"] = "dddd"
+        }
+
+        verify("least recently used values are evicted") {
+            expectThat(cache.weight)
+                .isEqualTo(6L)
+            expectThat(cache["a"])
+                .isEqualTo("aa")
+            expectThat(cache["b"])
+                .isNull()
+            expectThat(cache["c"])
+                .isNull()
+            expectThat(cache["d"])
+                .isEqualTo("dddd")
+        }
+    }
+
+    @Test
+    fun mustNotStoreValueHeavierThanMaxWeight() {
+        val cache = LruCache<String, String>(maxSize = 10, maxWeight = 4L) { _, value -> value.length.toLong() }
+
+        suppose("some value is stored in the cache") {
+            cache["a"] = "aa"
+        }
+
+        suppose("value heavier than max weight is stored") {
+            cache["b"] = "bbbbb"
+        }
+
+        verify("heavy value is not stored and other values are kept") {
+            expectThat(cache["a"])
+                .isEqualTo("aa")
+            expectThat(cache["b"])
+                .isNull()
+            expectThat(cache.weight)
+                .isEqualTo(2L)
+        }
+    }
+}
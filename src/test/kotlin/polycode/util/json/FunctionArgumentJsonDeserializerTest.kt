@@ -1233,6 +1233,37 @@ class FunctionArgumentJsonDeserializerTest : TestBase() {
         }
     }
 
+    @Test
+    fun mustCorrectlyParseLargeArraysOfRepeatedTypes() {
+        val addresses = List(1_000) { "0x" + it.toString(16).padStart(40, '0') }
+        val uints = List(1_000) { BigInteger.valueOf(it.toLong()) }
+        val argumentJson =
+            """{
+              |  "type": "address[]",
+              |  "value": ${addresses.joinToString(prefix = "[\"", separator = "\",\"", postfix = "\"]")}
+              |},
+              |{
+              |  "type": "uint256[1000]",
+              |  "value": ${uints.joinToString(prefix = "[", separator = ",", postfix = "]")}
+              |}
+            """.trimMargin()
+        val json = "{\"args\": [$argumentJson, $argumentJson]}"
+
+        verify("must correctly parse large arrays of repeated types") {
+            val result = objectMapper.readValue(json, Result::class.java).args
+
+            val expectedValues = listOf(
+                DynamicArray(Address::class.java, addresses.map { Address(it) }),
+                SizedStaticArray(Uint256::class.java, uints.map { Uint256(it) })
+            )
+
+            expectThat(result.map { it.value })
+                .isEqualTo(expectedValues + expectedValues)
+            expectThat(result.map { it.rawJson })
+                .isEqualTo(objectMapper.readTree(json)["args"].toList())
+        }
+    }
+
     @Test
     fun mustCorrectlyGetTypeHierarchy() {
         val deserializer = FunctionArgumentJsonDeserializer()
@@ -0,0 +1,82 @@
+package polycode.util.json
+
+import org.junit.jupiter.api.Test
+import org.web3j.abi.datatypes.Address
+import org.web3j.abi.datatypes.DynamicArray
+import org.web3j.abi.datatypes.DynamicStruct
+import polycode.TestBase
+import polycode.util.SizedStaticArray
+
+class FunctionArgumentTypeTest : TestBase() {
+
+    @Test
+    fun mustCorrectlyParseSimpleType() {
+        verify("simple type is correctly parsed") {
+            val type = FunctionArgumentType.of("address")
+
+            expectThat(type)
+                .isInstanceOf(FunctionArgumentType.Simple::class.java)
+            expectThat(type.name)
+                .isEqualTo("address")
+            expectThat(type.arrayElementClass)
+                .isEqualTo(Address::class.java)
+        }
+    }
+
+    @Test
+    fun mustCorrectlyParseTupleType() {
+        verify("tuple type is correctly parsed") {
+            val type = FunctionArgumentType.of("tuple")
+
+            expectThat(type)
+                .isEqualTo(FunctionArgumentType.Tuple)
+            expectThat(type.arrayElementClass)
+                .isEqualTo(DynamicStruct::class.java)
+        }
+    }
+
+    @Test
+    fun mustCorrectlyParseNestedArrayType() {
+        verify("nested array type is correctly parsed") {
+            val type = FunctionArgumentType.of("uint256[2][]") as FunctionArgumentType.Array
+            val elementType = type.elementType as FunctionArgumentType.Array
+
+            expectThat(type.length)
+                .isNull()
+            expectThat(type.suffix)
+                .isEqualTo("[]")
+            expectThat(type.arrayElementClass)
+                .isEqualTo(DynamicArray::class.java)
+            expectThat(elementType.name)
+                .isEqualTo("uint256[2]")
+            expectThat(elementType.length)
+                .isEqualTo(2)
+            expectThat(elementType.suffix)
+                .isEqualTo("[2]")
+            expectThat(elementType.arrayElementClass)
+                .isEqualTo(SizedStaticArray::class.java)
+            expectThat(elementType.elementType.name)
+                .isEqualTo("uint256")
+        }
+    }
+
+    @Test
+    fun mustReturnUnknownTypeForInvalidTypeString() {
+        verify("unknown type is returned") {
+            val type = FunctionArgumentType.of("dummy-type")
+
+            expectThat(type)
+                .isEqualTo(FunctionArgumentType.Unknown("dummy-type"))
+            expectThat(type.arrayElementClass)
+                .isNull()
+        }
+    }
+
+    @Test
+    fun mustReturnCachedTypeForRepeatedTypeString() {
+        verify("same type instance is returned for repeated type string") {
+            expectThat(FunctionArgumentType.of("address[]"))
+                .isSameAs(FunctionArgumentType.of("address[]"))
+        }
+    }
+}